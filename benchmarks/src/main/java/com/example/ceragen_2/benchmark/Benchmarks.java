@@ -0,0 +1,36 @@
+package com.example.ceragen_2.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Punto de entrada de {@code benchmarks.jar}.
+ *
+ * <p>Acepta las mismas opciones que la linea de comandos de JMH (filtro por
+ * nombre, {@code -f}, {@code -wi}, {@code -p}, ...) y siempre agrega el
+ * profiler de GC, que reporta {@code gc.alloc.rate.norm} (bytes asignados por
+ * operacion). Los resultados quedan tambien en {@code jmh-result.json} para
+ * compararlos entre versiones.</p>
+ */
+public final class Benchmarks {
+
+    private Benchmarks() {
+    }
+
+    public static void main(final String[] args) throws RunnerException, CommandLineOptionException {
+        final CommandLineOptions cli = new CommandLineOptions(args);
+        final Options opciones = new OptionsBuilder()
+                .parent(cli)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(cli.getResultFormat().orElse(ResultFormatType.JSON))
+                .result(cli.getResult().orElse("jmh-result.json"))
+                .build();
+        new Runner(opciones).run();
+    }
+}
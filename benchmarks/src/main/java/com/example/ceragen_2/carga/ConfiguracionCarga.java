@@ -0,0 +1,103 @@
+package com.example.ceragen_2.carga;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Parametros de una prueba de carga, leidos de argumentos {@code clave=valor}:
+ *
+ * <pre>
+ * usuarios.recepcion=8   usuarios.medico=4
+ * duracion=5m            rampa=60s           pensar=3s
+ * salida=carga           semilla=42
+ * </pre>
+ *
+ * <p>Las duraciones aceptan {@code ms}, {@code s} y {@code m}. {@code pensar}
+ * es el promedio de la pausa entre operaciones de un usuario; la pausa real
+ * sigue una distribucion exponencial, como la llegada de pacientes a
+ * recepcion.</p>
+ *
+ * @param usuarios Usuarios virtuales por perfil
+ * @param duracion Duracion total, incluida la rampa
+ * @param rampa    Tiempo en que se van sumando los usuarios hasta llegar al total
+ * @param pensar   Pausa promedio entre operaciones de un mismo usuario
+ * @param salida   Directorio donde se escriben carga.csv y carga.html
+ * @param semilla  Semilla de los datos aleatorios
+ */
+record ConfiguracionCarga(
+        Map<Perfil, Integer> usuarios,
+        Duration duracion,
+        Duration rampa,
+        Duration pensar,
+        Path salida,
+        long semilla) {
+
+    ConfiguracionCarga {
+        usuarios = Map.copyOf(usuarios);
+        if (rampa.compareTo(duracion) > 0) {
+            throw new IllegalArgumentException("La rampa no puede durar mas que la prueba");
+        }
+        if (totalUsuarios(usuarios) == 0) {
+            throw new IllegalArgumentException("Se necesita al menos un usuario virtual");
+        }
+    }
+
+    static ConfiguracionCarga desdeArgumentos(final String... args) {
+        final Map<Perfil, Integer> usuarios = new EnumMap<>(Perfil.class);
+        usuarios.put(Perfil.RECEPCION, 8);
+        usuarios.put(Perfil.MEDICO, 4);
+        Duration duracion = Duration.ofMinutes(5);
+        Duration rampa = Duration.ofSeconds(60);
+        Duration pensar = Duration.ofSeconds(3);
+        Path salida = Path.of("carga");
+        long semilla = 42;
+
+        for (final String arg : args) {
+            final int igual = arg.indexOf('=');
+            if (igual <= 0) {
+                throw new IllegalArgumentException("Argumento sin formato clave=valor: " + arg);
+            }
+            final String clave = arg.substring(0, igual).trim().toLowerCase(Locale.ROOT);
+            final String valor = arg.substring(igual + 1).trim();
+            if (clave.startsWith("usuarios.")) {
+                final Perfil perfil = Perfil.valueOf(clave.substring("usuarios.".length()).toUpperCase(Locale.ROOT));
+                usuarios.put(perfil, Integer.parseInt(valor));
+                continue;
+            }
+            switch (clave) {
+                case "duracion" -> duracion = duracion(valor);
+                case "rampa" -> rampa = duracion(valor);
+                case "pensar" -> pensar = duracion(valor);
+                case "salida" -> salida = Path.of(valor);
+                case "semilla" -> semilla = Long.parseLong(valor);
+                default -> throw new IllegalArgumentException("Argumento desconocido: " + clave);
+            }
+        }
+        return new ConfiguracionCarga(usuarios, duracion, rampa, pensar, salida, semilla);
+    }
+
+    int totalUsuarios() {
+        return totalUsuarios(usuarios);
+    }
+
+    private static int totalUsuarios(final Map<Perfil, Integer> usuarios) {
+        return usuarios.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    static Duration duracion(final String texto) {
+        final String t = texto.toLowerCase(Locale.ROOT);
+        if (t.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(t.substring(0, t.length() - 2)));
+        }
+        if (t.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(t.substring(0, t.length() - 1)));
+        }
+        if (t.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(t.substring(0, t.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(t));
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.ceragen_2.carga;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cuenta los logs ERROR de cada hilo. Los servicios capturan las
+ * {@code SQLException} y solo las registran, asi que es la forma de saber si
+ * una consulta fallo aunque haya devuelto una lista vacia.
+ */
+final class ContadorErrores extends UnsynchronizedAppenderBase<ILoggingEvent> {
+    private final ThreadLocal<int[]> errores = ThreadLocal.withInitial(() -> new int[1]);
+
+    /**
+     * Instala el contador en el logger raiz y sube a {@code WARN} los loggers
+     * de la aplicacion: los DEBUG/INFO de cada consulta ensuciarian la consola
+     * y pesarian en la medicion.
+     * El avance de la prueba ({@code com.example.ceragen_2.carga}) sigue en INFO.
+     */
+    static ContadorErrores instalar() {
+        final Logger raiz = (Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        final ContadorErrores contador = new ContadorErrores();
+        contador.setContext(raiz.getLoggerContext());
+        contador.setName("contador-errores-carga");
+        contador.start();
+        raiz.addAppender(contador);
+        raiz.setLevel(Level.WARN);
+        for (final String nombre : new String[]{"com.example.ceragen_2", "java.sql"}) {
+            ((Logger) LoggerFactory.getLogger(nombre)).setLevel(Level.WARN);
+        }
+        ((Logger) LoggerFactory.getLogger(ContadorErrores.class.getPackageName())).setLevel(Level.INFO);
+        return contador;
+    }
+
+    @Override
+    protected void append(final ILoggingEvent evento) {
+        if (evento.getLevel().isGreaterOrEqual(Level.ERROR)) {
+            errores.get()[0]++;
+        }
+    }
+
+    /**
+     * Errores registrados por el hilo actual desde que empezo.
+     */
+    int delHilo() {
+        return errores.get()[0];
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.ceragen_2.carga;
+
+import com.example.ceragen_2.model.Cliente;
+import com.example.ceragen_2.model.Paciente;
+import com.example.ceragen_2.model.Profesional;
+import com.example.ceragen_2.service.ClienteService;
+import com.example.ceragen_2.service.PacienteService;
+import com.example.ceragen_2.service.ProfesionalService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.random.RandomGenerator;
+
+/**
+ * IDs y terminos de busqueda tomados de la base antes de empezar, para que
+ * las operaciones usen registros que existen.
+ */
+final class DatosCarga {
+    private static final int MUESTRA = 500;
+
+    private final int[] pacientes;
+    private final int[] profesionales;
+    private final int[] clientes;
+    private final String[] terminosPacientes;
+    private final String[] terminosClientes;
+
+    private DatosCarga(final int[] pacientes, final int[] profesionales, final int[] clientes,
+                       final String[] terminosPacientes, final String[] terminosClientes) {
+        this.pacientes = pacientes;
+        this.profesionales = profesionales;
+        this.clientes = clientes;
+        this.terminosPacientes = terminosPacientes;
+        this.terminosClientes = terminosClientes;
+    }
+
+    static DatosCarga cargar() {
+        final List<Paciente> listaPacientes = PacienteService.getInstance().getPacientes(0, MUESTRA, null, null);
+        final List<Profesional> listaProfesionales = ProfesionalService.getInstance().getAllProfesionales();
+        final List<Cliente> listaClientes = ClienteService.getInstance().getClientesPaginados(0, MUESTRA, null);
+        if (listaPacientes.isEmpty() || listaProfesionales.isEmpty() || listaClientes.isEmpty()) {
+            throw new IllegalStateException("La base necesita pacientes, profesionales y clientes para la prueba"
+                    + " (pacientes=" + listaPacientes.size() + ", profesionales=" + listaProfesionales.size()
+                    + ", clientes=" + listaClientes.size() + ")");
+        }
+
+        final List<String> terminosPac = new ArrayList<>();
+        for (final Paciente p : listaPacientes) {
+            agregarTermino(terminosPac, p.getApellidos());
+        }
+        final List<String> terminosCli = new ArrayList<>();
+        for (final Cliente c : listaClientes) {
+            agregarTermino(terminosCli, c.getApellidos());
+        }
+
+        return new DatosCarga(
+                listaPacientes.stream().mapToInt(Paciente::getId).toArray(),
+                listaProfesionales.stream().mapToInt(Profesional::getId).toArray(),
+                listaClientes.stream().mapToInt(Cliente::getId).toArray(),
+                terminosPac.toArray(String[]::new),
+                terminosCli.toArray(String[]::new));
+    }
+
+    /**
+     * Las recepcionistas buscan por las primeras letras del apellido.
+     */
+    private static void agregarTermino(final List<String> terminos, final String apellidos) {
+        if (apellidos != null && apellidos.length() >= 3) {
+            terminos.add(apellidos.substring(0, Math.min(5, apellidos.length())).toLowerCase(Locale.ROOT));
+        }
+    }
+
+    int paciente(final RandomGenerator random) {
+        return pacientes[random.nextInt(pacientes.length)];
+    }
+
+    int profesional(final RandomGenerator random) {
+        return profesionales[random.nextInt(profesionales.length)];
+    }
+
+    int cliente(final RandomGenerator random) {
+        return clientes[random.nextInt(clientes.length)];
+    }
+
+    String terminoPaciente(final RandomGenerator random) {
+        return terminosPacientes.length == 0 ? null : terminosPacientes[random.nextInt(terminosPacientes.length)];
+    }
+
+    String terminoCliente(final RandomGenerator random) {
+        return terminosClientes.length == 0 ? "a" : terminosClientes[random.nextInt(terminosClientes.length)];
+    }
+
+    @Override
+    public String toString() {
+        return pacientes.length + " pacientes, " + profesionales.length + " profesionales, "
+                + clientes.length + " clientes";
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.ceragen_2.carga;
+
+import java.util.Arrays;
+
+/**
+ * Latencias y esperas de conexion de una operacion. Guarda todas las
+ * muestras: una prueba de minutos con decenas de usuarios son pocas decenas
+ * de miles, y asi los percentiles son exactos.
+ */
+final class Muestras {
+    private long[] latencias = new long[1024];
+    private long[] esperas = new long[1024];
+    private int cantidad;
+    private int errores;
+
+    synchronized void agregar(final long latenciaNanos, final long esperaNanos, final boolean ok) {
+        if (cantidad == latencias.length) {
+            latencias = Arrays.copyOf(latencias, cantidad * 2);
+            esperas = Arrays.copyOf(esperas, cantidad * 2);
+        }
+        latencias[cantidad] = latenciaNanos;
+        esperas[cantidad] = esperaNanos;
+        cantidad++;
+        if (!ok) {
+            errores++;
+        }
+    }
+
+    synchronized Resumen resumir(final double segundos) {
+        final long[] lat = Arrays.copyOf(latencias, cantidad);
+        final long[] esp = Arrays.copyOf(esperas, cantidad);
+        Arrays.sort(lat);
+        Arrays.sort(esp);
+        return new Resumen(
+                cantidad,
+                errores,
+                segundos > 0 ? cantidad / segundos : 0,
+                percentil(lat, 0.50),
+                percentil(lat, 0.95),
+                percentil(lat, 0.99),
+                cantidad == 0 ? 0 : lat[cantidad - 1] / 1_000_000.0,
+                cantidad == 0 ? 0 : Arrays.stream(esp).average().orElse(0) / 1_000_000.0,
+                percentil(esp, 0.95));
+    }
+
+    /**
+     * Percentil por rango mas cercano, en milisegundos.
+     */
+    static double percentil(final long[] ordenados, final double p) {
+        if (ordenados.length == 0) {
+            return 0;
+        }
+        final int rango = (int) Math.ceil(p * ordenados.length);
+        return ordenados[Math.max(rango, 1) - 1] / 1_000_000.0;
+    }
+
+    /**
+     * Resultado de una operacion; los tiempos en milisegundos.
+     */
+    record Resumen(
+            int ejecuciones,
+            int errores,
+            double porSegundo,
+            double p50,
+            double p95,
+            double p99,
+            double max,
+            double esperaPromedio,
+            double esperaP95) {
+
+        double tasaError() {
+            return ejecuciones == 0 ? 0 : (double) errores / ejecuciones;
+        }
+    }
+}
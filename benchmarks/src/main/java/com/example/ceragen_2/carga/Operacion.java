@@ -0,0 +1,95 @@
+package com.example.ceragen_2.carga;
+
+import com.example.ceragen_2.model.Cita;
+import com.example.ceragen_2.service.CitaService;
+import com.example.ceragen_2.service.ClienteService;
+import com.example.ceragen_2.service.FacturaService;
+import com.example.ceragen_2.service.PacienteService;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Operaciones de servicio que ejecuta un usuario virtual. Cada una devuelve
+ * {@code false} cuando el servicio informa un fallo; los servicios capturan
+ * las {@code SQLException}, asi que ademas se cuenta como error cualquier
+ * log ERROR del hilo durante la operacion ({@link ContadorErrores}).
+ */
+enum Operacion {
+    BUSCAR_CLIENTES {
+        @Override
+        boolean ejecutar(final DatosCarga datos, final RandomGenerator random) {
+            ClienteService.getInstance().buscarClientes(datos.terminoCliente(random));
+            return true;
+        }
+    },
+    LISTAR_PACIENTES {
+        @Override
+        boolean ejecutar(final DatosCarga datos, final RandomGenerator random) {
+            final String busqueda = random.nextBoolean() ? datos.terminoPaciente(random) : null;
+            PacienteService.getInstance().getPacientes(random.nextInt(5) * PAGINA, PAGINA, busqueda, null);
+            return true;
+        }
+    },
+    LISTAR_CITAS {
+        @Override
+        boolean ejecutar(final DatosCarga datos, final RandomGenerator random) {
+            final LocalDateTime hoy = LocalDate.now().atStartOfDay();
+            CitaService.getInstance().getCitas(0, PAGINA, null, datos.profesional(random), "TODOS",
+                    hoy, hoy.plusDays(7));
+            return true;
+        }
+    },
+    CREAR_CITA {
+        @Override
+        boolean ejecutar(final DatosCarga datos, final RandomGenerator random) {
+            // Como en el formulario: se revisa el horario y solo se agenda si esta libre
+            final CitaService citas = CitaService.getInstance();
+            final int profesional = datos.profesional(random);
+            final LocalDateTime fecha = horarioFuturo(random);
+            if (citas.existeConflictoHorario(profesional, fecha, null)) {
+                return true;
+            }
+            return citas.crearCita(datos.paciente(random), profesional, fecha, "Prueba de carga",
+                    COSTO, null);
+        }
+    },
+    CREAR_FACTURA {
+        @Override
+        boolean ejecutar(final DatosCarga datos, final RandomGenerator random) {
+            final int cantidad = 1 + random.nextInt(3);
+            final List<Cita> citas = new ArrayList<>(cantidad);
+            for (int i = 0; i < cantidad; i++) {
+                final Cita cita = new Cita();
+                cita.setPacienteId(datos.paciente(random));
+                cita.setProfesionalId(datos.profesional(random));
+                cita.setFechaHora(horarioFuturo(random));
+                cita.setMotivo("Prueba de carga");
+                cita.setCosto(COSTO);
+                citas.add(cita);
+            }
+            final double subtotal = COSTO.doubleValue() * cantidad;
+            final double iva = subtotal * 0.15;
+            return FacturaService.getInstance().crearFactura(datos.cliente(random), "Quito",
+                    subtotal, iva, 0, subtotal + iva, "EFECTIVO", citas) != null;
+        }
+    };
+
+    private static final int PAGINA = 20;
+    private static final BigDecimal COSTO = new BigDecimal("35.00");
+
+    abstract boolean ejecutar(DatosCarga datos, RandomGenerator random);
+
+    /**
+     * Horario de atencion (8h a 18h, cada 15 minutos) en el proximo anio,
+     * para que los conflictos sean raros como en la agenda real.
+     */
+    private static LocalDateTime horarioFuturo(final RandomGenerator random) {
+        return LocalDate.now().plusDays(1 + random.nextInt(365))
+                .atTime(8 + random.nextInt(10), random.nextInt(4) * 15);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.ceragen_2.carga;
+
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Tipos de usuario virtual y la mezcla de operaciones de cada uno.
+ *
+ * <p>Los pesos salen de una jornada de recepcion: buscar al paciente o al
+ * cliente es lo mas frecuente, agendar le sigue y facturar ocurre una vez
+ * por atencion. El medico consulta su agenda y la ficha de sus pacientes.</p>
+ */
+enum Perfil {
+    RECEPCION(Map.of(
+            Operacion.BUSCAR_CLIENTES, 30,
+            Operacion.LISTAR_PACIENTES, 25,
+            Operacion.LISTAR_CITAS, 15,
+            Operacion.CREAR_CITA, 20,
+            Operacion.CREAR_FACTURA, 10)),
+    MEDICO(Map.of(
+            Operacion.LISTAR_CITAS, 70,
+            Operacion.LISTAR_PACIENTES, 30));
+
+    private final Operacion[] operaciones;
+    private final int[] acumulados;
+
+    Perfil(final Map<Operacion, Integer> pesos) {
+        operaciones = new Operacion[pesos.size()];
+        acumulados = new int[pesos.size()];
+        int i = 0;
+        int suma = 0;
+        // Orden fijo (el de Operacion) para que la misma semilla repita la misma secuencia
+        for (final Operacion op : Operacion.values()) {
+            final Integer peso = pesos.get(op);
+            if (peso != null) {
+                suma += peso;
+                operaciones[i] = op;
+                acumulados[i++] = suma;
+            }
+        }
+    }
+
+    Operacion elegir(final RandomGenerator random) {
+        final int r = random.nextInt(acumulados[acumulados.length - 1]);
+        for (int i = 0; i < acumulados.length; i++) {
+            if (r < acumulados[i]) {
+                return operaciones[i];
+            }
+        }
+        return operaciones[operaciones.length - 1];
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.ceragen_2.carga;
+
+import com.example.ceragen_2.config.DatabaseConfig;
+import com.example.ceragen_2.service.CitaService;
+import com.example.ceragen_2.service.ClienteService;
+import com.example.ceragen_2.service.FacturaService;
+import com.example.ceragen_2.service.PacienteService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Prueba de carga de la capa de servicios: simula recepcionistas y medicos
+ * trabajando a la vez contra la base configurada en el .env.
+ *
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.example.ceragen_2.carga.PruebaCarga \
+ *      usuarios.recepcion=12 usuarios.medico=6 duracion=10m rampa=2m pensar=3s
+ * </pre>
+ *
+ * <p>Cada usuario virtual es un hilo que elige operaciones segun la mezcla de
+ * su {@link Perfil} y espera entre una y otra. Los usuarios se suman de a uno
+ * durante la rampa. Al terminar escribe {@code carga.csv} y
+ * {@code carga.html} con operaciones por segundo, percentiles de latencia,
+ * tasa de error y espera por conexion de cada operacion.</p>
+ *
+ * <p>Crea citas y facturas reales: usar una base de prueba.</p>
+ */
+public final class PruebaCarga {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PruebaCarga.class);
+    private static final long AVANCE_MS = 10_000;
+
+    private final ConfiguracionCarga config;
+    private final DatosCarga datos;
+    private final ContadorErrores contador;
+    private final Map<Operacion, Muestras> muestras = new EnumMap<>(Operacion.class);
+    private final LongAdder ejecutadas = new LongAdder();
+
+    PruebaCarga(final ConfiguracionCarga config, final DatosCarga datos, final ContadorErrores contador) {
+        this.config = config;
+        this.datos = datos;
+        this.contador = contador;
+        for (final Operacion op : Operacion.values()) {
+            muestras.put(op, new Muestras());
+        }
+    }
+
+    public static void main(final String[] args) throws InterruptedException, IOException {
+        final ConfiguracionCarga config = ConfiguracionCarga.desdeArgumentos(args);
+        final ContadorErrores contador = ContadorErrores.instalar();
+
+        // Algunos getInstance no son sincronizados: se crean aqui antes de lanzar los hilos
+        CitaService.getInstance();
+        ClienteService.getInstance();
+        FacturaService.getInstance();
+        PacienteService.getInstance();
+        final DatosCarga datos = DatosCarga.cargar();
+        LOGGER.info("Datos para la prueba: {}", datos);
+
+        new PruebaCarga(config, datos, contador).ejecutar();
+        DatabaseConfig.getInstance().closeConnection();
+    }
+
+    void ejecutar() throws InterruptedException, IOException {
+        final long inicio = System.nanoTime();
+        final long fin = inicio + config.duracion().toNanos();
+        final List<Thread> hilos = lanzarUsuarios(inicio, fin);
+        LOGGER.info("Prueba iniciada: {} usuarios virtuales, {} s", config.totalUsuarios(),
+                config.duracion().toSeconds());
+
+        while (System.nanoTime() < fin) {
+            Thread.sleep(Math.min(AVANCE_MS, Math.max(1, TimeUnit.NANOSECONDS.toMillis(fin - System.nanoTime()))));
+            LOGGER.info("{} s: {} operaciones, pool {}", TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - inicio),
+                    ejecutadas.sum(), DatabaseConfig.getInstance().getPoolStats());
+        }
+        for (final Thread hilo : hilos) {
+            // Una operacion en curso puede pasarse del final; se espera a que termine
+            hilo.join(TimeUnit.SECONDS.toMillis(60));
+        }
+        final double segundos = (System.nanoTime() - inicio) / 1_000_000_000.0;
+
+        final Map<Operacion, Muestras.Resumen> resumenes = new EnumMap<>(Operacion.class);
+        muestras.forEach((op, m) -> {
+            final Muestras.Resumen r = m.resumir(segundos);
+            if (r.ejecuciones() > 0) {
+                resumenes.put(op, r);
+                LOGGER.info("{}: {}", op, r);
+            }
+        });
+        new ReporteCarga(config, resumenes, segundos, DatabaseConfig.getInstance().getPoolStats()).escribir();
+        LOGGER.info("Reporte escrito en {}", config.salida().toAbsolutePath());
+    }
+
+    private List<Thread> lanzarUsuarios(final long inicio, final long fin) {
+        // Perfiles intercalados para que la rampa sume de todos por igual
+        final List<Perfil> orden = new ArrayList<>();
+        final Map<Perfil, Integer> pendientes = new EnumMap<>(config.usuarios());
+        while (orden.size() < config.totalUsuarios()) {
+            for (final Perfil perfil : Perfil.values()) {
+                final int n = pendientes.getOrDefault(perfil, 0);
+                if (n > 0) {
+                    orden.add(perfil);
+                    pendientes.put(perfil, n - 1);
+                }
+            }
+        }
+
+        final List<Thread> hilos = new ArrayList<>(orden.size());
+        final long pasoRampa = config.rampa().toNanos() / orden.size();
+        for (int i = 0; i < orden.size(); i++) {
+            final Perfil perfil = orden.get(i);
+            final long arranque = inicio + pasoRampa * i;
+            final SplittableRandom random = new SplittableRandom(config.semilla() + i);
+            final Thread hilo = new Thread(() -> usuario(perfil, random, arranque, fin),
+                    "carga-" + perfil.name().toLowerCase(Locale.ROOT) + "-" + i);
+            hilo.setDaemon(true);
+            hilo.start();
+            hilos.add(hilo);
+        }
+        return hilos;
+    }
+
+    private void usuario(final Perfil perfil, final SplittableRandom random, final long arranque, final long fin) {
+        try {
+            dormirHasta(arranque);
+            final DatabaseConfig db = DatabaseConfig.getInstance();
+            while (System.nanoTime() < fin) {
+                final Operacion op = perfil.elegir(random);
+                final int erroresAntes = contador.delHilo();
+                final long esperaAntes = db.getCurrentThreadWaitNanos();
+                final long t0 = System.nanoTime();
+                boolean ok;
+                try {
+                    ok = op.ejecutar(datos, random);
+                } catch (RuntimeException e) {
+                    LOGGER.warn("{} lanzo una excepcion", op, e);
+                    ok = false;
+                }
+                final long latencia = System.nanoTime() - t0;
+                ok &= contador.delHilo() == erroresAntes;
+                muestras.get(op).agregar(latencia, db.getCurrentThreadWaitNanos() - esperaAntes, ok);
+                ejecutadas.increment();
+
+                final long pausa = (long) (random.nextExponential() * config.pensar().toNanos());
+                dormirHasta(Math.min(System.nanoTime() + pausa, fin));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void dormirHasta(final long nanos) throws InterruptedException {
+        final long restante = nanos - System.nanoTime();
+        if (restante > 0) {
+            TimeUnit.NANOSECONDS.sleep(restante);
+        }
+    }
+}
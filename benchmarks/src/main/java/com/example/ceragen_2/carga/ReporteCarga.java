@@ -0,0 +1,127 @@
+package com.example.ceragen_2.carga;
+
+import com.example.ceragen_2.config.PoolStats;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Escribe el resultado de una prueba como {@code carga.csv} (para comparar
+ * corridas en una planilla) y {@code carga.html} (para leerlo).
+ */
+final class ReporteCarga {
+    private static final String[] COLUMNAS = {
+        "operacion", "ejecuciones", "errores", "tasa_error", "ops_por_segundo",
+        "p50_ms", "p95_ms", "p99_ms", "max_ms", "espera_conexion_prom_ms", "espera_conexion_p95_ms"
+    };
+
+    private final ConfiguracionCarga config;
+    private final Map<Operacion, Muestras.Resumen> resumenes;
+    private final double segundos;
+    private final PoolStats pool;
+
+    ReporteCarga(final ConfiguracionCarga config, final Map<Operacion, Muestras.Resumen> resumenes,
+                 final double segundos, final PoolStats pool) {
+        this.config = config;
+        this.resumenes = resumenes;
+        this.segundos = segundos;
+        this.pool = pool;
+    }
+
+    void escribir() throws IOException {
+        Files.createDirectories(config.salida());
+        try (Writer csv = Files.newBufferedWriter(config.salida().resolve("carga.csv"), StandardCharsets.UTF_8)) {
+            escribirCsv(csv);
+        }
+        try (Writer html = Files.newBufferedWriter(config.salida().resolve("carga.html"), StandardCharsets.UTF_8)) {
+            escribirHtml(html);
+        }
+    }
+
+    void escribirCsv(final Writer out) throws IOException {
+        out.write(String.join(",", COLUMNAS));
+        out.write('\n');
+        for (final Map.Entry<Operacion, Muestras.Resumen> e : resumenes.entrySet()) {
+            out.write(e.getKey().name());
+            for (final String valor : valores(e.getValue())) {
+                out.write(',');
+                out.write(valor);
+            }
+            out.write('\n');
+        }
+    }
+
+    void escribirHtml(final Writer out) throws IOException {
+        out.write("<!DOCTYPE html>\n<html lang=\"es\"><head><meta charset=\"UTF-8\">"
+                + "<title>Prueba de carga Ceragen</title><style>"
+                + "body{font-family:sans-serif;margin:2em}table{border-collapse:collapse}"
+                + "th,td{border:1px solid #ccc;padding:4px 8px;text-align:right}"
+                + "th:first-child,td:first-child{text-align:left}.error{color:#b00020}"
+                + "</style></head><body>\n");
+        out.write("<h1>Prueba de carga</h1>\n<p>");
+        out.write(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")));
+        out.write(" &middot; ");
+        out.write(describirUsuarios());
+        out.write(String.format(Locale.ROOT, " &middot; %.0f s (rampa %d s) &middot; pausa promedio %d ms</p>\n",
+                segundos, config.rampa().toSeconds(), config.pensar().toMillis()));
+
+        out.write("<table><tr>");
+        for (final String columna : COLUMNAS) {
+            out.write("<th>" + columna + "</th>");
+        }
+        out.write("</tr>\n");
+        for (final Map.Entry<Operacion, Muestras.Resumen> e : resumenes.entrySet()) {
+            out.write(e.getValue().errores() > 0 ? "<tr class=\"error\">" : "<tr>");
+            out.write("<td>" + e.getKey().name() + "</td>");
+            for (final String valor : valores(e.getValue())) {
+                out.write("<td>" + valor + "</td>");
+            }
+            out.write("</tr>\n");
+        }
+        out.write("</table>\n");
+
+        out.write("<h2>Pool de conexiones</h2>\n<p>");
+        out.write(String.format(Locale.ROOT,
+                "%d conexiones, %d prestamos, espera promedio %.2f ms, espera maxima %.2f ms, %d timeouts, "
+                        + "%d fallas de validacion",
+                pool.total(), pool.borrows(), pool.averageWaitMillis(), pool.maxWaitMillis(),
+                pool.timeouts(), pool.validationFailures()));
+        out.write("</p>\n</body></html>\n");
+    }
+
+    private String describirUsuarios() {
+        final StringBuilder sb = new StringBuilder();
+        for (final Perfil perfil : Perfil.values()) {
+            final int n = config.usuarios().getOrDefault(perfil, 0);
+            if (n > 0) {
+                if (!sb.isEmpty()) {
+                    sb.append(", ");
+                }
+                sb.append(n).append(' ').append(perfil.name().toLowerCase(Locale.ROOT));
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String[] valores(final Muestras.Resumen r) {
+        return new String[]{
+            Integer.toString(r.ejecuciones()),
+            Integer.toString(r.errores()),
+            String.format(Locale.ROOT, "%.4f", r.tasaError()),
+            String.format(Locale.ROOT, "%.2f", r.porSegundo()),
+            String.format(Locale.ROOT, "%.2f", r.p50()),
+            String.format(Locale.ROOT, "%.2f", r.p95()),
+            String.format(Locale.ROOT, "%.2f", r.p99()),
+            String.format(Locale.ROOT, "%.2f", r.max()),
+            String.format(Locale.ROOT, "%.3f", r.esperaPromedio()),
+            String.format(Locale.ROOT, "%.3f", r.esperaP95())
+        };
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.ceragen_2.datos;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Valores y distribuciones para los datos sinteticos: nombres y apellidos
+ * frecuentes en Ecuador, provincias por poblacion, cedulas validas,
+ * especialidades y horarios de atencion.
+ */
+final class Catalogos {
+
+    static final String[] NOMBRES_M = {
+        "Jose", "Luis", "Carlos", "Juan", "Jorge", "Miguel", "Angel", "Pedro", "Diego", "Andres",
+        "Fernando", "Marco", "Patricio", "Santiago", "Mateo", "Sebastian", "Daniel", "David", "Pablo", "Ricardo",
+        "Xavier", "Francisco", "Manuel", "Edison", "Wilson", "Byron", "Fabian", "Cristian", "Alexis", "Esteban"
+    };
+    static final String[] NOMBRES_F = {
+        "Maria", "Ana", "Rosa", "Carmen", "Gabriela", "Daniela", "Andrea", "Paola", "Veronica", "Diana",
+        "Sofia", "Valentina", "Camila", "Fernanda", "Lucia", "Martha", "Elena", "Patricia", "Monica", "Jessica",
+        "Karina", "Lorena", "Silvia", "Johanna", "Mayra", "Tatiana", "Nathaly", "Alejandra", "Isabel", "Gloria"
+    };
+    /** Ordenados por frecuencia; se eligen con una distribucion de Zipf. */
+    static final String[] APELLIDOS = {
+        "Zambrano", "Vera", "Mendoza", "Rodriguez", "Sanchez", "Garcia", "Lopez", "Torres", "Cedeño", "Moreira",
+        "Macias", "Gonzalez", "Ramirez", "Perez", "Castro", "Jimenez", "Guaman", "Chavez", "Vargas", "Alvarado",
+        "Ortiz", "Vasquez", "Morales", "Flores", "Herrera", "Suarez", "Cevallos", "Romero", "Reyes", "Espinoza",
+        "Salazar", "Ruiz", "Aguilar", "Guerrero", "Mora", "Pazmiño", "Quishpe", "Andrade", "Villacis", "Carrillo",
+        "Paredes", "Benitez", "Toapanta", "Cabrera", "Pilataxi", "Yepez", "Cordova", "Naranjo", "Ponce", "Montalvo",
+        "Loor", "Bravo", "Intriago", "Calle", "Tenesaca", "Chiluisa", "Arias", "Solorzano", "Burbano", "Velasco"
+    };
+    private static final double[] ZIPF_APELLIDOS = zipf(APELLIDOS.length, 0.9);
+    private static final double[] ZIPF_NOMBRES = zipf(NOMBRES_M.length, 0.7);
+
+    /** Codigo de provincia de la cedula (01 a 24) y su peso por poblacion. */
+    private static final int[] PROVINCIAS = {17, 9, 13, 1, 18, 7, 12, 11, 23, 6, 8, 10, 5, 3, 4, 21, 2, 16, 14, 19, 15, 24, 22, 20};
+    private static final double[] PESO_PROVINCIAS = acumular(
+            18.5, 25.2, 9.6, 5.2, 3.5, 4.2, 5.3, 3.1, 2.6, 3.2, 3.4, 2.8, 2.8, 1.6, 1.1, 1.2, 1.2, 0.8, 1.0, 0.7,
+            0.9, 2.3, 0.9, 0.2);
+
+    static final String[] CIUDADES = {
+        "Quito", "Guayaquil", "Cuenca", "Santo Domingo", "Ambato", "Portoviejo", "Machala", "Manta", "Loja", "Ibarra"
+    };
+    private static final double[] PESO_CIUDADES = acumular(30, 28, 8, 6, 5, 5, 5, 5, 4, 4);
+    private static final String[] CALLES = {
+        "Av. Amazonas", "Av. 10 de Agosto", "Av. 6 de Diciembre", "Av. 9 de Octubre", "Calle Bolivar", "Calle Sucre",
+        "Av. de las Americas", "Calle Rocafuerte", "Av. Eloy Alfaro", "Calle Olmedo", "Av. Simon Bolivar", "Calle Chile"
+    };
+
+    static final String[] GRUPOS_SANGUINEOS = {"O+", "A+", "B+", "O-", "AB+", "A-", "B-", "AB-"};
+    /** Ecuador es mayoritariamente O+. */
+    private static final double[] PESO_GRUPOS = acumular(75, 14, 6, 2, 1.5, 0.8, 0.5, 0.2);
+    static final String[] ALERGIAS = {"Penicilina", "Ibuprofeno", "Mariscos", "Polen", "Latex", "Sulfas", "Aspirina"};
+
+    /**
+     * Especialidades que se agregan si faltan: nombre, codigo, duracion en
+     * minutos, tarifa y peso de demanda (Medicina General y Pediatria reciben
+     * la mayor parte de las citas).
+     */
+    record Especialidad(String nombre, String codigo, String descripcion, int duracion, BigDecimal tarifa, double demanda) {
+    }
+
+    static final Especialidad[] ESPECIALIDADES = {
+        new Especialidad("Medicina General", "MED-GEN", "Atencion primaria de salud", 30, new BigDecimal("50.00"), 30),
+        new Especialidad("Pediatria", "PED", "Cuidado de bebes, ninos y adolescentes", 30, new BigDecimal("60.00"), 14),
+        new Especialidad("Ginecologia", "GIN", "Salud reproductiva femenina", 30, new BigDecimal("70.00"), 9),
+        new Especialidad("Odontologia", "ODO", "Enfermedades dentales", 30, new BigDecimal("40.00"), 8),
+        new Especialidad("Traumatologia", "TRAUM", "Lesiones musculo-esqueleticas", 30, new BigDecimal("75.00"), 6),
+        new Especialidad("Cardiologia", "CARD", "Enfermedades del corazon", 45, new BigDecimal("80.00"), 5),
+        new Especialidad("Dermatologia", "DERM", "Enfermedades de la piel", 30, new BigDecimal("65.00"), 5),
+        new Especialidad("Oftalmologia", "OFT", "Enfermedades de los ojos", 30, new BigDecimal("55.00"), 4),
+        new Especialidad("Nutricion", "NUT", "Asesoramiento nutricional", 30, new BigDecimal("45.00"), 3),
+        new Especialidad("Psiquiatria", "PSI", "Trastornos mentales", 60, new BigDecimal("90.00"), 3),
+        new Especialidad("Psicologia", "PSIC", "Terapia psicologica", 60, new BigDecimal("45.00"), 3),
+        new Especialidad("Medicina Interna", "MED-INT", "Enfermedades de adultos", 30, new BigDecimal("65.00"), 2),
+        new Especialidad("Endocrinologia", "ENDO", "Glandulas y hormonas", 30, new BigDecimal("75.00"), 2),
+        new Especialidad("Gastroenterologia", "GAST", "Aparato digestivo", 30, new BigDecimal("75.00"), 2),
+        new Especialidad("Neurologia", "NEUR", "Sistema nervioso", 45, new BigDecimal("85.00"), 1.5),
+        new Especialidad("Urologia", "URO", "Vias urinarias", 30, new BigDecimal("70.00"), 1.5),
+        new Especialidad("Otorrinolaringologia", "ORL", "Oido, nariz y garganta", 30, new BigDecimal("65.00"), 1.5),
+        new Especialidad("Fisioterapia", "FISIO", "Rehabilitacion fisica", 45, new BigDecimal("35.00"), 1.5),
+        new Especialidad("Neumologia", "NEUM", "Aparato respiratorio", 30, new BigDecimal("75.00"), 1),
+        new Especialidad("Reumatologia", "REUMA", "Articulaciones y tejido conectivo", 30, new BigDecimal("80.00"), 1)
+    };
+
+    /** Peso de cada hora del dia (7h a 18h): picos a media manana y media tarde. */
+    private static final double[] PESO_HORAS = acumular(3, 12, 14, 14, 12, 6, 3, 10, 11, 9, 5, 1);
+    private static final int PRIMERA_HORA = 7;
+
+    private Catalogos() {
+    }
+
+    /**
+     * Semilla de una fila: mezcla SplitMix64 de la semilla general, la tabla y
+     * la clave, para que cada fila salga igual sin importar el hilo ni el orden.
+     */
+    static SplittableRandom random(final long semilla, final int tabla, final long clave) {
+        long z = semilla + 0x9E3779B97F4A7C15L * (tabla + 1) + 0xBF58476D1CE4E5B9L * clave;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return new SplittableRandom(z ^ (z >>> 31));
+    }
+
+    static double[] acumular(final double... pesos) {
+        final double[] acumulados = new double[pesos.length];
+        double suma = 0;
+        for (int i = 0; i < pesos.length; i++) {
+            suma += pesos[i];
+            acumulados[i] = suma;
+        }
+        return acumulados;
+    }
+
+    static double[] zipf(final int n, final double exponente) {
+        final double[] pesos = new double[n];
+        for (int i = 0; i < n; i++) {
+            pesos[i] = 1.0 / Math.pow(i + 1, exponente);
+        }
+        return acumular(pesos);
+    }
+
+    /**
+     * Indice elegido segun pesos acumulados.
+     */
+    static int elegir(final SplittableRandom random, final double[] acumulados) {
+        final double r = random.nextDouble() * acumulados[acumulados.length - 1];
+        final int i = Arrays.binarySearch(acumulados, r);
+        return Math.min(i >= 0 ? i + 1 : -i - 1, acumulados.length - 1);
+    }
+
+    static String apellido(final SplittableRandom random) {
+        return APELLIDOS[elegir(random, ZIPF_APELLIDOS)];
+    }
+
+    static String nombre(final SplittableRandom random, final boolean femenino) {
+        return (femenino ? NOMBRES_F : NOMBRES_M)[elegir(random, ZIPF_NOMBRES)];
+    }
+
+    static String ciudad(final SplittableRandom random) {
+        return CIUDADES[elegir(random, PESO_CIUDADES)];
+    }
+
+    static String direccion(final SplittableRandom random) {
+        return CALLES[random.nextInt(CALLES.length)] + " N" + (1 + random.nextInt(80)) + "-" + (10 + random.nextInt(190))
+                + ", " + ciudad(random);
+    }
+
+    static String grupoSanguineo(final SplittableRandom random) {
+        return GRUPOS_SANGUINEOS[elegir(random, PESO_GRUPOS)];
+    }
+
+    /**
+     * Hora de inicio de una cita: 7h a 18h con picos a media manana y media
+     * tarde, en bloques de 15 minutos.
+     */
+    static int minutoDelDia(final SplittableRandom random) {
+        return (PRIMERA_HORA + elegir(random, PESO_HORAS)) * 60 + random.nextInt(4) * 15;
+    }
+
+    /**
+     * Cedula ecuatoriana valida y unica por {@code clave} (0 a 5.999.999):
+     * provincia segun poblacion, tercer digito de persona natural (0 a 5),
+     * secuencia y digito verificador modulo 10.
+     */
+    static String cedula(final long clave, final SplittableRandom random) {
+        final int provincia = PROVINCIAS[elegir(random, PESO_PROVINCIAS)];
+        final long secuencia = clave % 6_000_000L;
+        final String base = String.format("%02d%d%06d", provincia, secuencia / 1_000_000L, secuencia % 1_000_000L);
+        return base + digitoVerificador(base);
+    }
+
+    static int digitoVerificador(final String nueveDigitos) {
+        int suma = 0;
+        for (int i = 0; i < 9; i++) {
+            int d = (nueveDigitos.charAt(i) - '0') * (i % 2 == 0 ? 2 : 1);
+            suma += d > 9 ? d - 9 : d;
+        }
+        return (10 - suma % 10) % 10;
+    }
+
+    /**
+     * Celular ecuatoriano de 10 digitos (09xxxxxxxx).
+     */
+    static String celular(final SplittableRandom random) {
+        return String.format("09%08d", random.nextInt(100_000_000));
+    }
+
+    static String sinTildes(final String texto) {
+        return texto.replace('ñ', 'n').replace('Ñ', 'N');
+    }
+}
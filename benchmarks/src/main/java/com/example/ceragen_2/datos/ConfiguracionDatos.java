@@ -0,0 +1,108 @@
+package com.example.ceragen_2.datos;
+
+import java.time.LocalDate;
+import java.util.Locale;
+
+/**
+ * Tamanio y parametros del conjunto de datos sintetico, leidos de argumentos
+ * {@code clave=valor}:
+ *
+ * <pre>
+ * pacientes=200000  clientes=120000  profesionales=400  especialidades=20
+ * citas=1000000     documentos=300000
+ * anios=3           hasta=2026-01-31  semilla=42
+ * hilos=8           lote=1000         resumen=true
+ * </pre>
+ *
+ * <p>Con la misma semilla, los mismos tamanios y la misma fecha {@code hasta}
+ * se generan exactamente los mismos datos, sin importar la cantidad de
+ * hilos.</p>
+ *
+ * @param pacientes      Pacientes a generar (hasta 3 millones)
+ * @param clientes       Clientes a generar (hasta 2,5 millones)
+ * @param profesionales  Profesionales a generar (hasta 500 mil)
+ * @param especialidades Especialidades que debe haber en total (se reutilizan las existentes)
+ * @param citas          Citas a generar; las facturas salen de agruparlas (1 a 4 por factura)
+ * @param documentos     Documentos de pacientes a generar
+ * @param anios          Anios de historia hacia atras desde {@code hasta}
+ * @param hasta          Fecha de referencia ("hoy" de los datos); hay citas agendadas hasta 60 dias despues
+ * @param semilla        Semilla de todos los valores aleatorios
+ * @param hilos          Conexiones que insertan en paralelo (a lo sumo {@code DB_POOL_MAX_SIZE})
+ * @param lote           Filas por INSERT multi-fila
+ * @param resumen        Recalcular los resumenes del dashboard al terminar
+ */
+record ConfiguracionDatos(
+        int pacientes,
+        int clientes,
+        int profesionales,
+        int especialidades,
+        int citas,
+        int documentos,
+        int anios,
+        LocalDate hasta,
+        long semilla,
+        int hilos,
+        int lote,
+        boolean resumen) {
+
+    static final int MAX_PACIENTES = 3_000_000;
+    static final int MAX_CLIENTES = 2_500_000;
+    static final int MAX_PROFESIONALES = 500_000;
+
+    ConfiguracionDatos {
+        if (pacientes < 1 || clientes < 1 || profesionales < 1 || especialidades < 1) {
+            throw new IllegalArgumentException("Se necesita al menos un paciente, cliente, profesional y especialidad");
+        }
+        if (pacientes > MAX_PACIENTES || clientes > MAX_CLIENTES || profesionales > MAX_PROFESIONALES) {
+            throw new IllegalArgumentException("Maximo " + MAX_PACIENTES + " pacientes, " + MAX_CLIENTES
+                    + " clientes y " + MAX_PROFESIONALES + " profesionales (cedulas unicas)");
+        }
+        if (citas < 0 || documentos < 0 || anios < 1 || hilos < 1 || lote < 1) {
+            throw new IllegalArgumentException("citas/documentos no pueden ser negativos; anios, hilos y lote >= 1");
+        }
+    }
+
+    static ConfiguracionDatos desdeArgumentos(final int hilosPorDefecto, final String... args) {
+        int pacientes = 200_000;
+        int clientes = 120_000;
+        int profesionales = 400;
+        int especialidades = 20;
+        int citas = 1_000_000;
+        int documentos = 300_000;
+        int anios = 3;
+        LocalDate hasta = LocalDate.now();
+        long semilla = 42;
+        int hilos = hilosPorDefecto;
+        int lote = 1_000;
+        boolean resumen = true;
+
+        for (final String arg : args) {
+            final int igual = arg.indexOf('=');
+            if (igual <= 0) {
+                throw new IllegalArgumentException("Argumento sin formato clave=valor: " + arg);
+            }
+            final String valor = arg.substring(igual + 1).trim().replace("_", "");
+            switch (arg.substring(0, igual).trim().toLowerCase(Locale.ROOT)) {
+                case "pacientes" -> pacientes = Integer.parseInt(valor);
+                case "clientes" -> clientes = Integer.parseInt(valor);
+                case "profesionales" -> profesionales = Integer.parseInt(valor);
+                case "especialidades" -> especialidades = Integer.parseInt(valor);
+                case "citas" -> citas = Integer.parseInt(valor);
+                case "documentos" -> documentos = Integer.parseInt(valor);
+                case "anios" -> anios = Integer.parseInt(valor);
+                case "hasta" -> hasta = LocalDate.parse(valor);
+                case "semilla" -> semilla = Long.parseLong(valor);
+                case "hilos" -> hilos = Integer.parseInt(valor);
+                case "lote" -> lote = Integer.parseInt(valor);
+                case "resumen" -> resumen = Boolean.parseBoolean(valor);
+                default -> throw new IllegalArgumentException("Argumento desconocido: " + arg);
+            }
+        }
+        return new ConfiguracionDatos(pacientes, clientes, profesionales, especialidades, citas, documentos,
+                anios, hasta, semilla, hilos, lote, resumen);
+    }
+
+    LocalDate desde() {
+        return hasta.minusYears(anios);
+    }
+}
@@ -0,0 +1,859 @@
+package com.example.ceragen_2.datos;
+
+import com.example.ceragen_2.config.DatabaseConfig;
+import com.example.ceragen_2.service.DashboardService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Llena la base con datos sinteticos a escala de produccion: pacientes,
+ * clientes, especialidades, profesionales con su disponibilidad, facturas
+ * con sus citas y detalle, y documentos de pacientes.
+ *
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.example.ceragen_2.datos.GeneradorDatos \
+ *      pacientes=200000 citas=1000000 documentos=300000 hilos=8
+ * </pre>
+ *
+ * <p>Cada fila se genera a partir de la semilla, su tabla y su numero
+ * ({@link Catalogos#random}), y los IDs se asignan aqui a partir del mayor
+ * existente, asi que las referencias entre tablas se conocen sin leer nada
+ * de vuelta y el resultado no depende del orden en que terminen los hilos.
+ * Cada tarea inserta un rango de filas en su propia conexion con INSERT
+ * multi-fila ({@code rewriteBatchedStatements}) y sin revisar claves
+ * foraneas, que ya son validas por construccion.</p>
+ *
+ * <p>Requiere el esquema y un usuario ADMIN ({@code seed_data_fixed.sql}).
+ * Las filas existentes se conservan.</p>
+ */
+public final class GeneradorDatos {
+    private static final Logger LOGGER = LoggerFactory.getLogger(GeneradorDatos.class);
+
+    private static final int FILAS_POR_TAREA = 20_000;
+    private static final int FACTURAS_POR_TAREA = 10_000;
+    /** Dias despues de {@code hasta} con citas ya agendadas. */
+    private static final int DIAS_AGENDADOS = 60;
+    private static final BigDecimal IVA = new BigDecimal("0.15");
+    private static final BigDecimal TARIFA_POR_DEFECTO = new BigDecimal("50.00");
+
+    // Numero de tabla para Catalogos.random
+    private static final int T_PACIENTE = 1;
+    private static final int T_CLIENTE = 2;
+    private static final int T_PROFESIONAL = 3;
+    private static final int T_FACTURA = 4;
+    private static final int T_DOCUMENTO = 5;
+    private static final int T_PLAN = 6;
+
+    /** Claves de {@link Persona}: rangos separados para que las cedulas no se repitan. */
+    private static final long CLAVE_CLIENTES = ConfiguracionDatos.MAX_PACIENTES;
+    private static final long CLAVE_PROFESIONALES = CLAVE_CLIENTES + ConfiguracionDatos.MAX_CLIENTES;
+
+    private static final String[] MOTIVOS = {
+        "Consulta general", "Control", "Seguimiento", "Primera consulta", "Revision de examenes",
+        "Dolor", "Chequeo anual", "Certificado medico", "Control post tratamiento", "Molestias recurrentes"
+    };
+    private static final String[] OBSERVACIONES = {
+        "Trae examenes previos", "Paciente refiere mejoria", "Requiere ayuno", "Llega con acompanante",
+        "Reagendada a pedido del paciente", "Derivado por medicina general"
+    };
+    private static final String[] METODOS_PAGO = {"EFECTIVO", "TARJETA", "TRANSFERENCIA", "OTRO"};
+    private static final double[] PESO_METODOS = Catalogos.acumular(45, 35, 18, 2);
+    private static final String[] TIPOS_DOCUMENTO = {"EXAMEN", "HISTORIA_CLINICA", "RECETA", "OTRO"};
+    private static final double[] PESO_TIPOS_DOCUMENTO = Catalogos.acumular(45, 25, 22, 8);
+    private static final String[] MODALIDADES = {"PRESENCIAL", "MIXTA", "TELECONSULTA"};
+    private static final double[] PESO_MODALIDADES = Catalogos.acumular(70, 22, 8);
+    /** Citas por factura: la mayoria es una consulta suelta. */
+    private static final double[] PESO_CITAS_POR_FACTURA = Catalogos.acumular(78, 15, 5, 2);
+    private static final String[] DIAS = {"LUNES", "MARTES", "MIERCOLES", "JUEVES", "VIERNES", "SABADO"};
+
+    private final ConfiguracionDatos config;
+    private final DatabaseConfig db;
+    private final LongAdder filas = new LongAdder();
+
+    private final LocalDate desde;
+    private final int diasHistoria;
+    private final LocalDateTime ahora;
+
+    // Plan, calculado antes de insertar
+    private long basePaciente;
+    private long baseCliente;
+    private long baseProfesional;
+    private long baseFactura;
+    private long baseCita;
+    private long primerNumeroFactura;
+    private int usuarioCreador;
+    private int[] especialidadIds;
+    private BigDecimal[] tarifas;
+    private int[] especialidadDeProfesional;
+    private double[] pesoProfesionales;
+    private byte[] citasPorFactura;
+
+    GeneradorDatos(final ConfiguracionDatos config, final DatabaseConfig db) {
+        this.config = config;
+        this.db = db;
+        this.desde = config.desde();
+        this.diasHistoria = (int) ChronoUnit.DAYS.between(desde, config.hasta());
+        this.ahora = config.hasta().atStartOfDay();
+    }
+
+    public static void main(final String[] args) {
+        final DatabaseConfig db = DatabaseConfig.getInstance();
+        final int maxPool = leerEntero(db.getEnv("DB_POOL_MAX_SIZE"), 10);
+        final int hilos = Math.min(Runtime.getRuntime().availableProcessors(), maxPool);
+        final ConfiguracionDatos config = ConfiguracionDatos.desdeArgumentos(hilos, args);
+        if (config.hilos() > maxPool) {
+            LOGGER.warn("hilos={} es mayor que DB_POOL_MAX_SIZE={}: las tareas esperaran conexiones",
+                    config.hilos(), maxPool);
+        }
+
+        final boolean ok = new GeneradorDatos(config, db).generar();
+        db.closeConnection();
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Genera e inserta todo. Devuelve false si alguna tarea fallo; lo ya
+     * confirmado por las tareas anteriores queda en la base.
+     */
+    boolean generar() {
+        final long inicio = System.nanoTime();
+        try {
+            planificar();
+        } catch (SQLException | IllegalStateException e) {
+            LOGGER.error("No se pudo preparar la generacion de datos", e);
+            return false;
+        }
+
+        final ExecutorService ejecutor = Executors.newFixedThreadPool(config.hilos(), r -> {
+            final Thread t = new Thread(r, "generador-datos");
+            t.setDaemon(true);
+            return t;
+        });
+        final ScheduledExecutorService avance = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread t = new Thread(r, "generador-avance");
+            t.setDaemon(true);
+            return t;
+        });
+        avance.scheduleAtFixedRate(() -> LOGGER.info("{} filas insertadas ({} filas/s)", filas.sum(),
+                        (long) (filas.sum() / Math.max(1e-9, (System.nanoTime() - inicio) / 1e9))),
+                5, 5, TimeUnit.SECONDS);
+
+        boolean ok = true;
+        try {
+            for (final Future<Void> tarea : ejecutor.invokeAll(tareas())) {
+                try {
+                    tarea.get();
+                } catch (ExecutionException e) {
+                    LOGGER.error("Fallo una tarea de generacion", e.getCause());
+                    ok = false;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            ok = false;
+        } finally {
+            ejecutor.shutdownNow();
+            avance.shutdownNow();
+        }
+
+        final double segundos = (System.nanoTime() - inicio) / 1e9;
+        LOGGER.info("{} filas insertadas en {} s ({} filas/s)", filas.sum(), Math.round(segundos),
+                Math.round(filas.sum() / segundos));
+        if (ok) {
+            analizarTablas();
+            if (config.resumen()) {
+                ok = DashboardService.getInstance().recalcular();
+            }
+        }
+        return ok;
+    }
+
+    // =====================================================================
+    // PLAN
+    // =====================================================================
+
+    private void planificar() throws SQLException {
+        try (Connection conn = db.getConnection()) {
+            basePaciente = maxId(conn, "pacientes");
+            baseCliente = maxId(conn, "clientes");
+            baseProfesional = maxId(conn, "profesionales");
+            baseFactura = maxId(conn, "facturas");
+            baseCita = maxId(conn, "citas");
+            usuarioCreador = usuarioAdmin(conn);
+            prepararEspecialidades(conn);
+        }
+
+        final double[] demanda = new double[especialidadIds.length];
+        try (Connection conn = db.getConnection()) {
+            leerDemanda(conn, demanda);
+        }
+        final double[] demandaAcumulada = Catalogos.acumular(demanda);
+
+        especialidadDeProfesional = new int[config.profesionales()];
+        final double[] pesos = new double[config.profesionales()];
+        for (int p = 0; p < config.profesionales(); p++) {
+            final SplittableRandom r = Catalogos.random(config.semilla(), T_PLAN, p);
+            especialidadDeProfesional[p] = Catalogos.elegir(r, demandaAcumulada);
+            // Carga distinta entre profesionales de la misma especialidad
+            pesos[p] = 0.4 + r.nextDouble();
+        }
+        pesoProfesionales = Catalogos.acumular(pesos);
+
+        citasPorFactura = planificarFacturas();
+        primerNumeroFactura = reservarNumerosFactura(citasPorFactura.length);
+        LOGGER.info("Plan: {} pacientes, {} clientes, {} profesionales, {} especialidades, {} facturas, "
+                        + "{} citas, {} documentos, {} hilos", config.pacientes(), config.clientes(),
+                config.profesionales(), especialidadIds.length, citasPorFactura.length, config.citas(),
+                config.documentos(), config.hilos());
+    }
+
+    private static long maxId(final Connection conn, final String tabla) throws SQLException {
+        try (Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + tabla)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static int usuarioAdmin(final Connection conn) throws SQLException {
+        try (Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("SELECT id FROM usuarios WHERE rol = 'ADMIN' ORDER BY id LIMIT 1")) {
+            if (!rs.next()) {
+                throw new IllegalStateException("Se necesita un usuario ADMIN (ver database/seed_data_fixed.sql)");
+            }
+            return rs.getInt(1);
+        }
+    }
+
+    /**
+     * Completa las especialidades hasta {@code config.especialidades()} con las
+     * del catalogo que falten y lee todas las activas.
+     */
+    private void prepararEspecialidades(final Connection conn) throws SQLException {
+        final Set<String> nombres = new HashSet<>();
+        final Set<String> codigos = new HashSet<>();
+        try (Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("SELECT nombre, codigo FROM especialidades")) {
+            while (rs.next()) {
+                nombres.add(rs.getString(1));
+                codigos.add(rs.getString(2));
+            }
+        }
+
+        final String sql = "INSERT INTO especialidades (nombre, codigo, descripcion, duracion_estandar_min, "
+                + "tarifa_base, estado, usuario_creador_id) VALUES (?, ?, ?, ?, ?, 'ACTIVO', ?)";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int faltan = config.especialidades() - nombres.size();
+            for (int i = 0; faltan > 0; i++) {
+                final Catalogos.Especialidad e = i < Catalogos.ESPECIALIDADES.length
+                        ? Catalogos.ESPECIALIDADES[i]
+                        : new Catalogos.Especialidad("Especialidad " + (i + 1), "ESP-" + (i + 1),
+                                "Especialidad sintetica", 30, TARIFA_POR_DEFECTO, 1);
+                if (nombres.contains(e.nombre()) || codigos.contains(e.codigo())) {
+                    continue;
+                }
+                stmt.setString(1, e.nombre());
+                stmt.setString(2, e.codigo());
+                stmt.setString(3, e.descripcion());
+                stmt.setInt(4, e.duracion());
+                stmt.setBigDecimal(5, e.tarifa());
+                stmt.setInt(6, usuarioCreador);
+                stmt.addBatch();
+                faltan--;
+            }
+            stmt.executeBatch();
+        }
+
+        final List<Integer> ids = new ArrayList<>();
+        final List<BigDecimal> montos = new ArrayList<>();
+        try (Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery(
+                     "SELECT id, tarifa_base FROM especialidades WHERE estado = 'ACTIVO' ORDER BY id")) {
+            while (rs.next()) {
+                ids.add(rs.getInt(1));
+                final BigDecimal tarifa = rs.getBigDecimal(2);
+                montos.add(tarifa != null ? tarifa : TARIFA_POR_DEFECTO);
+            }
+        }
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("No hay especialidades activas");
+        }
+        especialidadIds = ids.stream().mapToInt(Integer::intValue).toArray();
+        tarifas = montos.toArray(BigDecimal[]::new);
+    }
+
+    /**
+     * Demanda de cada especialidad segun el catalogo; las que no estan en el
+     * catalogo reciben la menor.
+     */
+    private void leerDemanda(final Connection conn, final double[] demanda) throws SQLException {
+        Arrays.fill(demanda, 1);
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT nombre FROM especialidades WHERE id = ?")) {
+            for (int i = 0; i < especialidadIds.length; i++) {
+                stmt.setInt(1, especialidadIds[i]);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (!rs.next()) {
+                        continue;
+                    }
+                    for (final Catalogos.Especialidad e : Catalogos.ESPECIALIDADES) {
+                        if (e.nombre().equalsIgnoreCase(rs.getString(1))) {
+                            demanda[i] = e.demanda();
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Cantidad de citas de cada factura, hasta sumar {@code config.citas()}.
+     */
+    private byte[] planificarFacturas() {
+        final SplittableRandom r = Catalogos.random(config.semilla(), T_PLAN, -1);
+        byte[] cantidades = new byte[Math.max(16, (int) (config.citas() / 1.3))];
+        int facturas = 0;
+        long restantes = config.citas();
+        while (restantes > 0) {
+            final int k = (int) Math.min(restantes, 1 + Catalogos.elegir(r, PESO_CITAS_POR_FACTURA));
+            if (facturas == cantidades.length) {
+                cantidades = Arrays.copyOf(cantidades, cantidades.length + cantidades.length / 4);
+            }
+            cantidades[facturas++] = (byte) k;
+            restantes -= k;
+        }
+        return Arrays.copyOf(cantidades, facturas);
+    }
+
+    /**
+     * Reserva en la secuencia FACTURA los numeros de todas las facturas a
+     * generar, para que la aplicacion siga numerando despues de ellas.
+     */
+    private long reservarNumerosFactura(final int cantidad) throws SQLException {
+        try (Connection conn = db.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                long primero = 1;
+                boolean existe = false;
+                try (PreparedStatement stmt = conn.prepareStatement(
+                        "SELECT siguiente_valor FROM secuencias WHERE nombre = 'FACTURA' FOR UPDATE");
+                     ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next()) {
+                        primero = rs.getLong(1);
+                        existe = true;
+                    }
+                }
+                final String sql = existe
+                        ? "UPDATE secuencias SET siguiente_valor = ? WHERE nombre = 'FACTURA'"
+                        : "INSERT INTO secuencias (siguiente_valor, nombre) VALUES (?, 'FACTURA')";
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    stmt.setLong(1, primero + cantidad);
+                    stmt.executeUpdate();
+                }
+                conn.commit();
+                return primero;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    // =====================================================================
+    // TAREAS
+    // =====================================================================
+
+    private List<Callable<Void>> tareas() {
+        final List<Callable<Void>> tareas = new ArrayList<>();
+        // Primero las mas pesadas, para repartir mejor el final entre los hilos
+        long cita = 0;
+        for (int f = 0; f < citasPorFactura.length; f += FACTURAS_POR_TAREA) {
+            final int desdeF = f;
+            final int hastaF = Math.min(citasPorFactura.length, f + FACTURAS_POR_TAREA);
+            final long primeraCita = cita;
+            for (int i = desdeF; i < hastaF; i++) {
+                cita += citasPorFactura[i];
+            }
+            tareas.add(tarea(conn -> insertarFacturas(conn, desdeF, hastaF, primeraCita)));
+        }
+        agregarRangos(tareas, config.documentos(), this::insertarDocumentos);
+        agregarRangos(tareas, config.pacientes(), this::insertarPacientes);
+        agregarRangos(tareas, config.clientes(), this::insertarClientes);
+        agregarRangos(tareas, config.profesionales(), this::insertarProfesionales);
+        return tareas;
+    }
+
+    @FunctionalInterface
+    private interface Rango {
+        void insertar(Connection conn, int desde, int hasta) throws SQLException;
+    }
+
+    @FunctionalInterface
+    private interface Carga {
+        void cargar(Connection conn) throws SQLException;
+    }
+
+    private void agregarRangos(final List<Callable<Void>> tareas, final int total, final Rango rango) {
+        for (int i = 0; i < total; i += FILAS_POR_TAREA) {
+            final int d = i;
+            final int h = Math.min(total, i + FILAS_POR_TAREA);
+            tareas.add(tarea(conn -> rango.insertar(conn, d, h)));
+        }
+    }
+
+    /**
+     * Una transaccion por tarea, en su propia conexion y sin revisar claves foraneas.
+     */
+    private Callable<Void> tarea(final Carga carga) {
+        return () -> {
+            try (Connection conn = db.getConnection()) {
+                conn.setAutoCommit(false);
+                try (Statement st = conn.createStatement()) {
+                    st.execute("SET foreign_key_checks = 0");
+                }
+                try {
+                    carga.cargar(conn);
+                    conn.commit();
+                } catch (SQLException e) {
+                    conn.rollback();
+                    throw e;
+                } finally {
+                    try (Statement st = conn.createStatement()) {
+                        st.execute("SET foreign_key_checks = 1");
+                    }
+                    conn.setAutoCommit(true);
+                }
+            }
+            return null;
+        };
+    }
+
+    /**
+     * Agrupa los {@code addBatch} en INSERT multi-fila de {@code config.lote()} filas.
+     */
+    private final class Lote implements AutoCloseable {
+        private final PreparedStatement stmt;
+        private int pendientes;
+
+        private Lote(final Connection conn, final String sql) throws SQLException {
+            this.stmt = conn.prepareStatement(sql);
+        }
+
+        PreparedStatement stmt() {
+            return stmt;
+        }
+
+        void agregar() throws SQLException {
+            stmt.addBatch();
+            if (++pendientes == config.lote()) {
+                enviar();
+            }
+        }
+
+        private void enviar() throws SQLException {
+            if (pendientes > 0) {
+                stmt.executeBatch();
+                filas.add(pendientes);
+                pendientes = 0;
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                enviar();
+            } finally {
+                stmt.close();
+            }
+        }
+    }
+
+    // =====================================================================
+    // FILAS
+    // =====================================================================
+
+    private void insertarPacientes(final Connection conn, final int desdeI, final int hastaI) throws SQLException {
+        try (Lote lote = new Lote(conn, "INSERT INTO pacientes (id, cedula, nombres, apellidos, fecha_nacimiento, "
+                + "genero, telefono, email, direccion, grupo_sanguineo, alergias, fecha_registro) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            final PreparedStatement s = lote.stmt();
+            for (int i = desdeI; i < hastaI; i++) {
+                final SplittableRandom r = Catalogos.random(config.semilla(), T_PACIENTE, i);
+                final Persona p = Persona.de(config.semilla(), i, config.hasta());
+                LocalDateTime registro = registro(i, config.pacientes(), r);
+                if (registro.toLocalDate().isBefore(p.fechaNacimiento())) {
+                    registro = p.fechaNacimiento().atTime(registro.toLocalTime());
+                }
+                s.setLong(1, basePaciente + 1 + i);
+                s.setString(2, p.cedula());
+                s.setString(3, p.nombres());
+                s.setString(4, p.apellidos());
+                s.setDate(5, Date.valueOf(p.fechaNacimiento()));
+                s.setString(6, p.genero());
+                s.setString(7, p.telefono());
+                s.setString(8, p.email());
+                s.setString(9, r.nextDouble() < 0.8 ? Catalogos.direccion(r) : null);
+                s.setString(10, r.nextDouble() < 0.7 ? Catalogos.grupoSanguineo(r) : null);
+                s.setString(11, r.nextDouble() < 0.15 ? alergias(r) : null);
+                s.setTimestamp(12, Timestamp.valueOf(registro));
+                lote.agregar();
+            }
+        }
+    }
+
+    /**
+     * El primer valor del random de cada cliente decide si es el mismo paciente
+     * con el mismo numero; se repite aqui para elegir el cliente de sus facturas.
+     */
+    private boolean clienteEsPaciente(final long i, final SplittableRandom r) {
+        return i < config.pacientes() && r.nextDouble() < 0.4;
+    }
+
+    private void insertarClientes(final Connection conn, final int desdeI, final int hastaI) throws SQLException {
+        try (Lote lote = new Lote(conn, "INSERT INTO clientes (id, cedula, nombres, apellidos, telefono, email, "
+                + "direccion, activo, fecha_registro) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            final PreparedStatement s = lote.stmt();
+            for (int i = desdeI; i < hastaI; i++) {
+                final SplittableRandom r = Catalogos.random(config.semilla(), T_CLIENTE, i);
+                final long clave = clienteEsPaciente(i, r) ? i : CLAVE_CLIENTES + i;
+                final Persona p = Persona.de(config.semilla(), clave, config.hasta());
+                s.setLong(1, baseCliente + 1 + i);
+                s.setString(2, p.cedula());
+                s.setString(3, p.nombres());
+                s.setString(4, p.apellidos());
+                s.setString(5, p.telefono());
+                s.setString(6, p.email());
+                s.setString(7, Catalogos.direccion(r));
+                s.setBoolean(8, r.nextDouble() < 0.97);
+                s.setTimestamp(9, Timestamp.valueOf(registro(i, config.clientes(), r)));
+                lote.agregar();
+            }
+        }
+    }
+
+    private void insertarProfesionales(final Connection conn, final int desdeI, final int hastaI)
+            throws SQLException {
+        try (Lote lote = new Lote(conn, "INSERT INTO profesionales (id, tipo_usuario_registra, cedula, nombres, "
+                + "apellidos, email, celular, numero_licencia, especialidad_id, modalidad_atencion, activo, "
+                + "fecha_registro) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+             Lote principal = new Lote(conn, "INSERT INTO profesional_especialidades "
+                     + "(profesional_id, especialidad_id, es_principal) VALUES (?, ?, TRUE)");
+             Lote disponibilidad = new Lote(conn, "INSERT INTO profesional_disponibilidad "
+                     + "(profesional_id, dia_semana, hora_inicio, hora_fin) VALUES (?, ?, ?, ?)")) {
+            final PreparedStatement s = lote.stmt();
+            for (int p = desdeI; p < hastaI; p++) {
+                final SplittableRandom r = Catalogos.random(config.semilla(), T_PROFESIONAL, p);
+                final Persona persona = Persona.de(config.semilla(), CLAVE_PROFESIONALES + p, config.hasta());
+                final long id = baseProfesional + 1 + p;
+                final int especialidadId = especialidadIds[especialidadDeProfesional[p]];
+                final String nombre = persona.nombres().substring(0, persona.nombres().indexOf(' '));
+                final String apellido = persona.apellidos().substring(0, persona.apellidos().indexOf(' '));
+
+                s.setLong(1, id);
+                s.setString(2, r.nextDouble() < 0.6 ? "ADMIN" : "RECEPCIONISTA");
+                s.setString(3, persona.cedula());
+                s.setString(4, persona.nombres());
+                s.setString(5, persona.apellidos());
+                s.setString(6, Catalogos.sinTildes(nombre + "." + apellido + "." + id).toLowerCase() + "@ceragen.ec");
+                s.setString(7, persona.telefono().substring(1));
+                s.setString(8, String.format("MSP-%07d", id));
+                s.setInt(9, especialidadId);
+                s.setString(10, MODALIDADES[Catalogos.elegir(r, PESO_MODALIDADES)]);
+                s.setBoolean(11, r.nextDouble() < 0.95);
+                s.setTimestamp(12, Timestamp.valueOf(desde.minusDays(r.nextInt(730)).atTime(9, 0)));
+                lote.agregar();
+
+                principal.stmt().setLong(1, id);
+                principal.stmt().setInt(2, especialidadId);
+                principal.agregar();
+
+                agregarDisponibilidad(disponibilidad, id, r);
+            }
+        }
+    }
+
+    /**
+     * Lunes a viernes con manana (8h-12h) y/o tarde (14h-18h); algunos atienden
+     * el sabado en la manana.
+     */
+    private static void agregarDisponibilidad(final Lote lote, final long profesionalId, final SplittableRandom r)
+            throws SQLException {
+        final PreparedStatement s = lote.stmt();
+        final int primero = r.nextInt(5);
+        for (int d = 0; d < DIAS.length; d++) {
+            final boolean sabado = d == 5;
+            if (d != primero && r.nextDouble() >= (sabado ? 0.2 : 0.8)) {
+                continue;
+            }
+            final boolean manana = sabado || r.nextDouble() < 0.85;
+            final boolean tarde = !sabado && (!manana || r.nextDouble() < 0.7);
+            if (manana) {
+                s.setLong(1, profesionalId);
+                s.setString(2, DIAS[d]);
+                s.setString(3, "08:00:00");
+                s.setString(4, "12:00:00");
+                lote.agregar();
+            }
+            if (tarde) {
+                s.setLong(1, profesionalId);
+                s.setString(2, DIAS[d]);
+                s.setString(3, "14:00:00");
+                s.setString(4, "18:00:00");
+                lote.agregar();
+            }
+        }
+    }
+
+    private void insertarFacturas(final Connection conn, final int desdeF, final int hastaF, final long primeraCita)
+            throws SQLException {
+        try (Lote facturas = new Lote(conn, "INSERT INTO facturas (id, numero_factura, cliente_id, fecha_emision, "
+                + "ciudad, subtotal, iva, descuento, total, metodo_pago, estado) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, 0, ?, ?, ?)");
+             Lote citas = new Lote(conn, "INSERT INTO citas (id, paciente_id, profesional_id, fecha_hora, motivo, "
+                     + "estado, costo, factura_id, observaciones, fecha_creacion) "
+                     + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+             Lote detalles = new Lote(conn, "INSERT INTO detalle_factura (factura_id, cita_id, precio_unitario, "
+                     + "cantidad) VALUES (?, ?, ?, 1)")) {
+            long citaIndice = primeraCita;
+            for (int f = desdeF; f < hastaF; f++) {
+                final SplittableRandom r = Catalogos.random(config.semilla(), T_FACTURA, f);
+                final long facturaId = baseFactura + 1 + f;
+                final boolean anulada = r.nextDouble() < 0.02;
+
+                final LocalDateTime primeraFecha = fechaCita(r);
+                final int dia = (int) ChronoUnit.DAYS.between(desde, primeraFecha.toLocalDate());
+                final int paciente = sesgado(r, registradosAl(dia, config.pacientes()));
+                final int profesional = Catalogos.elegir(r, pesoProfesionales);
+                final BigDecimal costo = tarifas[especialidadDeProfesional[profesional]];
+                final LocalDateTime emision = emision(primeraFecha, r);
+
+                BigDecimal subtotal = BigDecimal.ZERO;
+                for (int j = 0; j < citasPorFactura[f]; j++) {
+                    final long citaId = baseCita + 1 + citaIndice++;
+                    // Tratamientos: controles semanales con el mismo profesional
+                    final LocalDateTime fecha = primeraFecha.plusWeeks(j);
+                    final int pacienteCita = j == 0 || r.nextDouble() < 0.85
+                            ? paciente
+                            : sesgado(r, registradosAl(dia, config.pacientes()));
+                    final PreparedStatement c = citas.stmt();
+                    c.setLong(1, citaId);
+                    c.setLong(2, basePaciente + 1 + pacienteCita);
+                    c.setLong(3, baseProfesional + 1 + profesional);
+                    c.setTimestamp(4, Timestamp.valueOf(fecha));
+                    c.setString(5, MOTIVOS[r.nextInt(MOTIVOS.length)]);
+                    c.setString(6, anulada ? "CANCELADA" : estado(fecha, r));
+                    c.setBigDecimal(7, costo);
+                    c.setLong(8, facturaId);
+                    if (r.nextDouble() < 0.2) {
+                        c.setString(9, OBSERVACIONES[r.nextInt(OBSERVACIONES.length)]);
+                    } else {
+                        c.setNull(9, Types.VARCHAR);
+                    }
+                    c.setTimestamp(10, Timestamp.valueOf(emision));
+                    citas.agregar();
+
+                    detalles.stmt().setLong(1, facturaId);
+                    detalles.stmt().setLong(2, citaId);
+                    detalles.stmt().setBigDecimal(3, costo);
+                    detalles.agregar();
+                    subtotal = subtotal.add(costo);
+                }
+
+                final BigDecimal iva = subtotal.multiply(IVA).setScale(2, RoundingMode.HALF_UP);
+                final PreparedStatement s = facturas.stmt();
+                s.setLong(1, facturaId);
+                s.setString(2, String.format("FAC-%06d", primerNumeroFactura + f));
+                s.setLong(3, baseCliente + 1 + clienteDeFactura(paciente, emision, r));
+                s.setTimestamp(4, Timestamp.valueOf(emision));
+                s.setString(5, Catalogos.ciudad(r));
+                s.setBigDecimal(6, subtotal);
+                s.setBigDecimal(7, iva);
+                s.setBigDecimal(8, subtotal.add(iva));
+                s.setString(9, METODOS_PAGO[Catalogos.elegir(r, PESO_METODOS)]);
+                s.setString(10, anulada ? "ANULADA" : "ACTIVA");
+                facturas.agregar();
+            }
+        }
+    }
+
+    private void insertarDocumentos(final Connection conn, final int desdeI, final int hastaI) throws SQLException {
+        try (Lote lote = new Lote(conn, "INSERT INTO documentos_paciente (paciente_id, nombre_archivo, "
+                + "tipo_documento, ruta_archivo, tamanio_bytes, fecha_subida) VALUES (?, ?, ?, ?, ?, ?)")) {
+            final PreparedStatement s = lote.stmt();
+            for (int d = desdeI; d < hastaI; d++) {
+                final SplittableRandom r = Catalogos.random(config.semilla(), T_DOCUMENTO, d);
+                final int paciente = sesgado(r, config.pacientes());
+                final String tipo = TIPOS_DOCUMENTO[Catalogos.elegir(r, PESO_TIPOS_DOCUMENTO)];
+                final double u = r.nextDouble();
+                final String extension = u < 0.6 ? ".pdf" : u < 0.9 ? ".jpg" : ".png";
+                final LocalDateTime registro = registro(paciente, config.pacientes(), r);
+                final long diasDesdeRegistro = Math.max(1, ChronoUnit.DAYS.between(registro, ahora));
+                final LocalDateTime subida = registro.plusDays(r.nextLong(diasDesdeRegistro));
+                final long pacienteId = basePaciente + 1 + paciente;
+
+                s.setLong(1, pacienteId);
+                s.setString(2, tipo.toLowerCase() + "_" + subida.toLocalDate() + extension);
+                s.setString(3, tipo);
+                // Solo metadatos: el archivo no existe y la vista previa muestra el icono
+                s.setString(4, "sintetico/" + pacienteId + "/" + d + extension);
+                // Log-normal: mediana ~160 KB, cola de escaneos de varios MB
+                s.setLong(5, (long) Math.exp(12 + 1.2 * r.nextGaussian()));
+                s.setTimestamp(6, Timestamp.valueOf(subida));
+                lote.agregar();
+            }
+        }
+    }
+
+    // =====================================================================
+    // DISTRIBUCIONES
+    // =====================================================================
+
+    /**
+     * Fecha de registro del elemento {@code i} de {@code total}: crece con el
+     * ID a lo largo de la historia, como en la base real.
+     */
+    private LocalDateTime registro(final long i, final long total, final SplittableRandom r) {
+        final long dia = diasHistoria * i / Math.max(1, total);
+        return desde.plusDays(dia).atStartOfDay().plusMinutes(Catalogos.minutoDelDia(r));
+    }
+
+    /**
+     * Cuantos de {@code total} estaban registrados al final del dia {@code dia}.
+     */
+    private int registradosAl(final int dia, final int total) {
+        final long registrados = (long) total * (dia + 1) / Math.max(1, diasHistoria);
+        return (int) Math.max(1, Math.min(total, registrados));
+    }
+
+    /**
+     * Indice en [0, limite) con mas peso en los primeros: pacientes antiguos y
+     * cronicos vuelven mas seguido.
+     */
+    private static int sesgado(final SplittableRandom r, final int limite) {
+        return Math.min(limite - 1, (int) (limite * Math.pow(r.nextDouble(), 1.6)));
+    }
+
+    /**
+     * Dia habil (sabado poco, domingo casi nunca) en la historia o en los
+     * proximos {@link #DIAS_AGENDADOS} dias, en horario de atencion.
+     */
+    private LocalDateTime fechaCita(final SplittableRandom r) {
+        LocalDate dia;
+        while (true) {
+            dia = desde.plusDays(r.nextInt(diasHistoria + DIAS_AGENDADOS));
+            final DayOfWeek semana = dia.getDayOfWeek();
+            final double aceptar = semana == DayOfWeek.SUNDAY ? 0.02 : semana == DayOfWeek.SATURDAY ? 0.3 : 1;
+            if (r.nextDouble() < aceptar) {
+                break;
+            }
+        }
+        return dia.atStartOfDay().plusMinutes(Catalogos.minutoDelDia(r));
+    }
+
+    /**
+     * Estado segun la fecha: en el pasado la mayoria fue atendida, con
+     * cancelaciones y citas que nunca se cerraron (inasistencias); en el
+     * futuro estan pendientes o confirmadas.
+     */
+    private String estado(final LocalDateTime fecha, final SplittableRandom r) {
+        final double u = r.nextDouble();
+        if (fecha.isBefore(ahora)) {
+            return u < 0.78 ? "ATENDIDA" : u < 0.90 ? "CANCELADA" : u < 0.94 ? "PENDIENTE" : "CONFIRMADA";
+        }
+        return u < 0.45 ? "PENDIENTE" : u < 0.95 ? "CONFIRMADA" : "CANCELADA";
+    }
+
+    /**
+     * La factura se emite al agendar, hasta una semana antes de la primera
+     * cita y nunca despues de {@code hasta}.
+     */
+    private LocalDateTime emision(final LocalDateTime primeraCita, final SplittableRandom r) {
+        LocalDateTime emision = primeraCita.minusDays(r.nextInt(8)).toLocalDate().atStartOfDay()
+                .plusMinutes(Catalogos.minutoDelDia(r));
+        if (emision.isAfter(primeraCita)) {
+            emision = primeraCita;
+        }
+        if (emision.isAfter(ahora)) {
+            emision = ahora.minusDays(1 + r.nextInt(7)).plusMinutes(Catalogos.minutoDelDia(r));
+        }
+        return emision.isBefore(desde.atStartOfDay()) ? primeraCita : emision;
+    }
+
+    /**
+     * Si el paciente tambien es cliente suele pagar el mismo; si no, paga un
+     * cliente ya registrado a la fecha de emision.
+     */
+    private int clienteDeFactura(final int paciente, final LocalDateTime emision, final SplittableRandom r) {
+        if (clienteEsPaciente(paciente, Catalogos.random(config.semilla(), T_CLIENTE, paciente))
+                && paciente < config.clientes() && r.nextDouble() < 0.7) {
+            return paciente;
+        }
+        final int dia = (int) ChronoUnit.DAYS.between(desde, emision.toLocalDate());
+        return sesgado(r, registradosAl(dia, config.clientes()));
+    }
+
+    private static String alergias(final SplittableRandom r) {
+        final String primera = Catalogos.ALERGIAS[r.nextInt(Catalogos.ALERGIAS.length)];
+        if (r.nextDouble() < 0.8) {
+            return primera;
+        }
+        final String segunda = Catalogos.ALERGIAS[r.nextInt(Catalogos.ALERGIAS.length)];
+        return segunda.equals(primera) ? primera : primera + ", " + segunda;
+    }
+
+    /**
+     * Actualiza las estadisticas del optimizador despues de la carga masiva.
+     */
+    private void analizarTablas() {
+        try (Connection conn = db.getConnection(); Statement st = conn.createStatement()) {
+            st.execute("ANALYZE TABLE pacientes, clientes, profesionales, profesional_disponibilidad, "
+                    + "profesional_especialidades, especialidades, facturas, citas, detalle_factura, "
+                    + "documentos_paciente");
+        } catch (SQLException e) {
+            LOGGER.warn("No se pudieron analizar las tablas", e);
+        }
+    }
+
+    private static int leerEntero(final String valor, final int defecto) {
+        if (valor == null || valor.isBlank()) {
+            return defecto;
+        }
+        try {
+            return Integer.parseInt(valor.trim());
+        } catch (NumberFormatException e) {
+            return defecto;
+        }
+    }
+}
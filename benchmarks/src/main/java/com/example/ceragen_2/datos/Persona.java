@@ -0,0 +1,64 @@
+package com.example.ceragen_2.datos;
+
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Datos personales sinteticos que dependen solo de la semilla y de la
+ * clave. Un cliente que ademas es paciente se genera con la misma clave y
+ * queda con la misma cedula y el mismo nombre.
+ */
+record Persona(
+        String cedula,
+        String nombres,
+        String apellidos,
+        String genero,
+        LocalDate fechaNacimiento,
+        String telefono,
+        String email) {
+
+    /** Numero de tabla para {@link Catalogos#random}. */
+    private static final int TABLA = 100;
+
+    static Persona de(final long semilla, final long clave, final LocalDate hoy) {
+        final SplittableRandom r = Catalogos.random(semilla, TABLA, clave);
+        final double g = r.nextDouble();
+        final String genero = g < 0.51 ? "F" : g < 0.995 ? "M" : "OTRO";
+        final boolean femenino = "F".equals(genero) || ("OTRO".equals(genero) && r.nextBoolean());
+
+        final String nombre = Catalogos.nombre(r, femenino);
+        String segundo = Catalogos.nombre(r, femenino);
+        if (segundo.equals(nombre)) {
+            segundo = Catalogos.nombre(r, femenino);
+        }
+        final String paterno = Catalogos.apellido(r);
+        final String materno = Catalogos.apellido(r);
+
+        final LocalDate nacimiento = hoy.minusDays(edadEnDias(r));
+        final String email = r.nextDouble() < 0.6
+                ? Catalogos.sinTildes(nombre + "." + paterno).toLowerCase(Locale.ROOT) + clave % 10_000
+                        + (r.nextBoolean() ? "@gmail.com" : "@hotmail.com")
+                : null;
+
+        return new Persona(Catalogos.cedula(clave, r), nombre + " " + segundo, paterno + " " + materno,
+                genero, nacimiento, Catalogos.celular(r), email);
+    }
+
+    /**
+     * Edad de la poblacion atendida: muchos ninos (pediatria), adultos
+     * jovenes y una cola de adultos mayores.
+     */
+    private static long edadEnDias(final SplittableRandom r) {
+        final double u = r.nextDouble();
+        final int anios;
+        if (u < 0.22) {
+            anios = r.nextInt(15);
+        } else if (u < 0.85) {
+            anios = 15 + r.nextInt(45);
+        } else {
+            anios = 60 + r.nextInt(30);
+        }
+        return anios * 365L + r.nextInt(365);
+    }
+}
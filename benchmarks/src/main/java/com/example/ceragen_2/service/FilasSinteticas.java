@@ -0,0 +1,159 @@
+package com.example.ceragen_2.service;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@link ResultSet} y {@link PreparedStatement} en memoria para medir los
+ * mapeos y armados de SQL de los servicios sin base de datos.
+ *
+ * <p>El {@code ResultSet} esta parado siempre en una fila fija y resuelve las
+ * columnas por nombre en un {@link HashMap}, como hace el driver. Es un
+ * {@link Proxy}, asi que cada llamada suma el costo de la invocacion; ese
+ * costo es el mismo entre versiones y no afecta las comparaciones. Se evita
+ * Mockito porque registra cada invocacion y dominaria las asignaciones.</p>
+ */
+final class FilasSinteticas {
+    /** Filas distintas por benchmark, para que el JIT no vea siempre los mismos valores. */
+    static final int FILAS = 64;
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 8, 8, 0);
+
+    private FilasSinteticas() {
+    }
+
+    static ResultSet[] especialidades() {
+        final ResultSet[] filas = new ResultSet[FILAS];
+        for (int i = 0; i < FILAS; i++) {
+            final Map<String, Object> fila = new HashMap<>();
+            fila.put("id", i + 1);
+            fila.put("nombre", "Especialidad " + i);
+            fila.put("codigo", "ESP-" + (100 + i));
+            fila.put("descripcion", "Descripcion de la especialidad numero " + i);
+            fila.put("duracion_estandar_min", i % 4 == 0 ? null : 30 + i % 3 * 15);
+            fila.put("tarifa_base", BigDecimal.valueOf(2500 + i * 125L, 2));
+            fila.put("estado", i % 5 == 0 ? "INACTIVO" : "ACTIVO");
+            fila.put("usuario_creador_id", i % 3 == 0 ? null : 1 + i % 7);
+            fila.put("fecha_creacion", Timestamp.valueOf(BASE.minusDays(i)));
+            filas[i] = resultSet(fila);
+        }
+        return filas;
+    }
+
+    static ResultSet[] profesionales() {
+        final ResultSet[] filas = new ResultSet[FILAS];
+        for (int i = 0; i < FILAS; i++) {
+            final Map<String, Object> fila = new HashMap<>();
+            fila.put("id", i + 1);
+            fila.put("cedula", String.format("17%08d", i));
+            fila.put("nombres", "Nombre" + i + " Segundo");
+            fila.put("apellidos", "Apellido" + i + " Materno");
+            fila.put("celular", String.format("09%08d", i));
+            fila.put("email", "profesional" + i + "@ceragen.ec");
+            fila.put("numero_licencia", "LIC-" + (5000 + i));
+            fila.put("tipo_usuario_registra", "ADMIN");
+            fila.put("modalidad_atencion", i % 2 == 0 ? "PRESENCIAL" : "VIRTUAL");
+            fila.put("especialidad_id", i % 6 == 0 ? null : 1 + i % 9);
+            fila.put("especialidad_nombre", i % 6 == 0 ? null : "Especialidad " + i % 9);
+            fila.put("usuario_id", i % 4 == 0 ? null : 10 + i);
+            fila.put("activo", i % 8 != 0);
+            fila.put("fecha_registro", Timestamp.valueOf(BASE.minusDays(30 + i)));
+            filas[i] = resultSet(fila);
+        }
+        return filas;
+    }
+
+    static ResultSet[] citas() {
+        final ResultSet[] filas = new ResultSet[FILAS];
+        for (int i = 0; i < FILAS; i++) {
+            final Map<String, Object> fila = new HashMap<>();
+            fila.put("id", 1000 + i);
+            fila.put("paciente_id", 1 + i % 40);
+            fila.put("profesional_id", 1 + i % 9);
+            fila.put("fecha_hora", Timestamp.valueOf(BASE.plusHours(i)));
+            fila.put("motivo", "Control de rutina " + i);
+            fila.put("estado", i % 3 == 0 ? "PENDIENTE" : "CONFIRMADA");
+            fila.put("observaciones", i % 2 == 0 ? null : "Trae examenes previos");
+            fila.put("costo", BigDecimal.valueOf(3000 + i * 50L, 2));
+            fila.put("fecha_creacion", Timestamp.valueOf(BASE.minusDays(2)));
+            fila.put("nombres", "Paciente" + i);
+            fila.put("apellidos", "Apellido" + i);
+            fila.put("prof_nombres", "Nombre" + i % 9);
+            fila.put("prof_apellidos", "Apellido" + i % 9);
+            filas[i] = resultSet(fila);
+        }
+        return filas;
+    }
+
+    /**
+     * {@code ResultSet} de una sola fila con los valores indicados por nombre de columna.
+     */
+    static ResultSet resultSet(final Map<String, Object> fila) {
+        return (ResultSet) Proxy.newProxyInstance(FilasSinteticas.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class}, new Fila(fila));
+    }
+
+    /**
+     * {@code PreparedStatement} que acepta y descarta los parametros.
+     */
+    static PreparedStatement sentenciaVacia() {
+        return (PreparedStatement) Proxy.newProxyInstance(FilasSinteticas.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+                    if (method.getName().startsWith("set") || "clearParameters".equals(method.getName())) {
+                        return null;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static final class Fila implements InvocationHandler {
+        private final Map<String, Object> valores;
+        private boolean ultimoNulo;
+
+        private Fila(final Map<String, Object> valores) {
+            this.valores = valores;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) {
+            return switch (method.getName()) {
+                case "getString", "getInt", "getLong", "getBoolean", "getBigDecimal",
+                     "getTimestamp", "getObject" -> leer(method.getReturnType(), (String) args[0]);
+                case "wasNull" -> ultimoNulo;
+                case "next" -> Boolean.TRUE;
+                case "close" -> null;
+                default -> throw new UnsupportedOperationException(method.getName());
+            };
+        }
+
+        private Object leer(final Class<?> tipo, final String columna) {
+            if (!valores.containsKey(columna)) {
+                throw new IllegalArgumentException("Columna no existe: " + columna);
+            }
+            final Object valor = valores.get(columna);
+            ultimoNulo = valor == null;
+            if (valor != null) {
+                return valor;
+            }
+            // Como el driver: las columnas NULL se leen como 0/false en los tipos primitivos
+            if (tipo == int.class) {
+                return 0;
+            }
+            if (tipo == long.class) {
+                return 0L;
+            }
+            if (tipo == boolean.class) {
+                return Boolean.FALSE;
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.ceragen_2.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Armado del SQL dinamico de {@link CitaService#getCitas} ({@code WHERE 1=1}
+ * mas un {@code AND} por filtro) y asignacion de sus parametros.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class FiltrosCitasBenchmark {
+
+    /**
+     * SIN_FILTROS: listado inicial. PROFESIONAL: agenda de un profesional por
+     * estado. TODOS: los cinco filtros presentes.
+     */
+    @Param({"SIN_FILTROS", "PROFESIONAL", "TODOS"})
+    public String filtros;
+
+    private CitaService citaService;
+    private PreparedStatement stmt;
+
+    private Integer pacienteId;
+    private Integer profesionalId;
+    private String estado;
+    private LocalDateTime desde;
+    private LocalDateTime hasta;
+
+    @Setup
+    public void preparar() {
+        citaService = CitaService.getInstance();
+        stmt = FilasSinteticas.sentenciaVacia();
+        final LocalDateTime hoy = LocalDateTime.of(2024, 3, 4, 0, 0);
+        switch (filtros) {
+            case "PROFESIONAL" -> {
+                profesionalId = 7;
+                estado = "PENDIENTE";
+            }
+            case "TODOS" -> {
+                pacienteId = 1234;
+                profesionalId = 7;
+                estado = "CONFIRMADA";
+                desde = hoy;
+                hasta = hoy.plusDays(7);
+            }
+            default -> estado = "TODOS";
+        }
+    }
+
+    @Benchmark
+    public String armarSql() {
+        final StringBuilder sql = new StringBuilder(CitaService.SELECT_CITAS);
+        citaService.agregarFiltros(sql, "c.", pacienteId, profesionalId, estado, desde, hasta);
+        sql.append(" ORDER BY c.fecha_hora DESC, c.id DESC LIMIT ? OFFSET ?");
+        return sql.toString();
+    }
+
+    @Benchmark
+    public int asignarParametros() throws SQLException {
+        return citaService.asignarFiltros(stmt, 1, pacienteId, profesionalId, estado, desde, hasta);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.ceragen_2.service;
+
+import com.example.ceragen_2.model.Cita;
+import com.example.ceragen_2.model.Especialidad;
+import com.example.ceragen_2.model.Profesional;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapeo de una fila de {@link ResultSet} a modelo en los servicios que se
+ * usan en los listados: especialidades, profesionales y citas.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class MapeoBenchmark {
+
+    private EspecialidadService especialidadService;
+    private ProfesionalService profesionalService;
+    private CitaService citaService;
+
+    private ResultSet[] especialidades;
+    private ResultSet[] profesionales;
+    private ResultSet[] citas;
+    private int fila;
+
+    @Setup
+    public void preparar() {
+        especialidadService = EspecialidadService.getInstance();
+        profesionalService = ProfesionalService.getInstance();
+        citaService = CitaService.getInstance();
+        especialidades = FilasSinteticas.especialidades();
+        profesionales = FilasSinteticas.profesionales();
+        citas = FilasSinteticas.citas();
+    }
+
+    private int siguiente() {
+        fila = (fila + 1) & (FilasSinteticas.FILAS - 1);
+        return fila;
+    }
+
+    @Benchmark
+    public Especialidad mapearEspecialidad() throws SQLException {
+        return especialidadService.mapRowToEspecialidad(especialidades[siguiente()]);
+    }
+
+    @Benchmark
+    public Profesional mapearProfesional() throws SQLException {
+        return profesionalService.mapProfesional(profesionales[siguiente()]);
+    }
+
+    @Benchmark
+    public Cita mapearCita() throws SQLException {
+        return citaService.mapCita(citas[siguiente()]);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.ceragen_2.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de {@link PasswordUtil} segun {@code BCRYPT_ROUNDS}. Cada punto de
+ * costo duplica el tiempo; sirve para elegir el valor del .env sabiendo
+ * cuanto espera un usuario al iniciar sesion.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PasswordBenchmark {
+
+    @Param({"4", "10", "12"})
+    public int rounds;
+
+    private static final String CLAVE = "Ceragen#2024";
+
+    private String hash;
+
+    @Setup
+    public void preparar() {
+        hash = PasswordUtil.hashPassword(CLAVE, rounds);
+    }
+
+    @Benchmark
+    public String hashear() {
+        return PasswordUtil.hashPassword(CLAVE, rounds);
+    }
+
+    @Benchmark
+    public boolean verificar() {
+        return PasswordUtil.verifyPassword(CLAVE, hash);
+    }
+
+    @Benchmark
+    public boolean verificarIncorrecta() {
+        return PasswordUtil.verifyPassword("otra-clave", hash);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.ceragen_2.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Expresiones regulares de {@link FormValidationUtil} que se ejecutan en cada
+ * tecla de los formularios y por cada fila de las importaciones CSV.
+ *
+ * <p>Las entradas mezclan valores validos, invalidos, con espacios y vacios,
+ * en la proporcion que llega desde los formularios.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ValidacionBenchmark {
+
+    private static final String[] CEDULAS = {
+        "1712345678", " 0912345678 ", "171234567", "17123456789", "17A2345678", "", "1799999999", "0102030405"
+    };
+    private static final String[] EMAILS = {
+        "paciente@ceragen.ec", " ana.perez+citas@correo.com ", "sin-arroba.com", "", "a@b",
+        "nombre.apellido@sub.dominio.ec", "con espacio@correo.com", "x@"
+    };
+    private static final String[] TELEFONOS = {
+        "0991234567", " 0987654321 ", "099123456", "", "09912345678", "09-9123456", "0222345678", "   "
+    };
+
+    private int i;
+
+    private int siguiente() {
+        i = (i + 1) & 7;
+        return i;
+    }
+
+    @Benchmark
+    public boolean cedula() {
+        return FormValidationUtil.esCedulaValida(CEDULAS[siguiente()]);
+    }
+
+    @Benchmark
+    public boolean email() {
+        return FormValidationUtil.esEmailValido(EMAILS[siguiente()]);
+    }
+
+    @Benchmark
+    public boolean telefono() {
+        return FormValidationUtil.esTelefonoValido(TELEFONOS[siguiente()]);
+    }
+}
@@ -16,7 +16,8 @@ CREATE TABLE usuarios (
     password VARCHAR(255) NOT NULL COMMENT 'bcrypt hashed password',
     rol ENUM('ADMIN', 'RECEPCIONISTA', 'MEDICO') NOT NULL,
     activo BOOLEAN DEFAULT TRUE,
-    fecha_creacion DATETIME DEFAULT CURRENT_TIMESTAMP
+    fecha_creacion DATETIME DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_fecha_creacion (fecha_creacion, id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
 -- =====================================================================
@@ -79,7 +80,11 @@ CREATE TABLE pacientes (
     alergias TEXT,
     fecha_registro DATETIME DEFAULT CURRENT_TIMESTAMP,
     INDEX idx_cedula (cedula),
-    INDEX idx_nombre_completo (nombres, apellidos)
+    INDEX idx_nombre_completo (nombres, apellidos),
+    INDEX idx_apellidos (apellidos),
+    INDEX idx_fecha_registro (fecha_registro, id),
+    -- Busqueda por palabras del nombre (BusquedaTexto)
+    FULLTEXT INDEX ft_nombres (nombres, apellidos)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
 -- =====================================================================
@@ -91,6 +96,9 @@ CREATE TABLE documentos_paciente (
     nombre_archivo VARCHAR(255) NOT NULL,
     tipo_documento ENUM('HISTORIA_CLINICA', 'EXAMEN', 'RECETA', 'OTRO') NOT NULL,
     ruta_archivo VARCHAR(500) NOT NULL,
+    -- Contenido en el almacen de documentos (AlmacenDocumentos); NULL en filas anteriores
+    hash_sha256 CHAR(64) NULL,
+    tamanio_bytes BIGINT NULL,
     fecha_subida DATETIME DEFAULT CURRENT_TIMESTAMP,
     FOREIGN KEY (paciente_id) REFERENCES pacientes(id) ON DELETE CASCADE,
     INDEX idx_paciente (paciente_id)
@@ -110,7 +118,11 @@ CREATE TABLE clientes (
     activo BOOLEAN DEFAULT TRUE,
     fecha_registro DATETIME DEFAULT CURRENT_TIMESTAMP,
     INDEX idx_cedula (cedula),
-    INDEX idx_nombre_completo (nombres, apellidos)
+    INDEX idx_nombre_completo (nombres, apellidos),
+    INDEX idx_apellidos (apellidos),
+    INDEX idx_activo_fecha_registro (activo, fecha_registro, id),
+    -- Busqueda por palabras del nombre (BusquedaTexto)
+    FULLTEXT INDEX ft_nombres (nombres, apellidos)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
 -- =====================================================================
@@ -216,9 +228,22 @@ CREATE TABLE IF NOT EXISTS facturas (
     estado ENUM('ACTIVA', 'ANULADA') DEFAULT 'ACTIVA',
     FOREIGN KEY (cliente_id) REFERENCES clientes(id) ON DELETE CASCADE,
     INDEX idx_numero_factura (numero_factura),
-    INDEX idx_estado (estado)
+    INDEX idx_estado (estado),
+    -- Exportacion por rango de fechas (ExportService)
+    INDEX idx_fecha_emision (fecha_emision, id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- TABLA: secuencias
+-- Contadores para numeracion de documentos (una fila por secuencia).
+-- siguiente_valor es el proximo numero que se entregara.
+CREATE TABLE secuencias (
+    nombre VARCHAR(50) PRIMARY KEY,
+    siguiente_valor BIGINT NOT NULL DEFAULT 1,
+    fecha_actualizacion DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
+INSERT INTO secuencias (nombre, siguiente_valor) VALUES ('FACTURA', 1);
+
 -- TABLA: citas
 CREATE TABLE citas (
     id INT AUTO_INCREMENT PRIMARY KEY,
@@ -235,8 +260,8 @@ CREATE TABLE citas (
     FOREIGN KEY (profesional_id) REFERENCES profesionales(id),
     FOREIGN KEY (factura_id) REFERENCES facturas(id) ON DELETE CASCADE,
     INDEX idx_paciente (paciente_id),
-    INDEX idx_profesional (profesional_id),
-    INDEX idx_fecha_hora (fecha_hora),
+    INDEX idx_profesional_fecha (profesional_id, fecha_hora),
+    INDEX idx_fecha_hora (fecha_hora, id),
     INDEX idx_estado (estado),
     INDEX idx_factura (factura_id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -252,3 +277,36 @@ CREATE TABLE detalle_factura (
     FOREIGN KEY (factura_id) REFERENCES facturas(id) ON DELETE CASCADE,
     FOREIGN KEY (cita_id) REFERENCES citas(id) ON DELETE SET NULL
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- =====================================================================
+--  RESUMENES DIARIOS DEL DASHBOARD
+-- =====================================================================
+-- Se actualizan en la misma transaccion que cada cambio de facturas y citas
+-- (ResumenDiario), asi el dashboard lee una fila por dia en lugar de sumar
+-- todas las facturas y citas. Para poblarlas con datos existentes usar
+-- "Recalcular" en el dashboard.
+
+-- Montos y cantidad solo de facturas activas, por dia de emision
+CREATE TABLE resumen_facturacion_diaria (
+    fecha DATE PRIMARY KEY,
+    facturas INT NOT NULL DEFAULT 0,
+    anuladas INT NOT NULL DEFAULT 0,
+    subtotal DECIMAL(14,2) NOT NULL DEFAULT 0.00,
+    iva DECIMAL(14,2) NOT NULL DEFAULT 0.00,
+    descuento DECIMAL(14,2) NOT NULL DEFAULT 0.00,
+    total DECIMAL(14,2) NOT NULL DEFAULT 0.00
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Citas por dia de atencion, profesional y estado. Las filas que quedan en
+-- cero se borran, y al eliminar un profesional se borran las suyas.
+CREATE TABLE resumen_citas_diaria (
+    fecha DATE NOT NULL,
+    profesional_id INT NOT NULL,
+    total INT NOT NULL DEFAULT 0,
+    pendientes INT NOT NULL DEFAULT 0,
+    confirmadas INT NOT NULL DEFAULT 0,
+    atendidas INT NOT NULL DEFAULT 0,
+    canceladas INT NOT NULL DEFAULT 0,
+    PRIMARY KEY (fecha, profesional_id),
+    FOREIGN KEY (profesional_id) REFERENCES profesionales(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
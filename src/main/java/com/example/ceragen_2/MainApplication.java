@@ -1,7 +1,9 @@
 package com.example.ceragen_2;
 
 import com.example.ceragen_2.config.DatabaseConfig;
+import com.example.ceragen_2.service.BackgroundExecutor;
 import com.example.ceragen_2.service.ViewNavigator;
+import com.example.ceragen_2.util.VigilanteHiloFx;
 import javafx.application.Application;
 import javafx.stage.Stage;
 import org.slf4j.Logger;
@@ -21,12 +23,15 @@ public class MainApplication extends Application {
         navigator.showLogin();
 
         primaryStage.show();
+        VigilanteHiloFx.getInstance().iniciar();
         LOGGER.info("Aplicación iniciada correctamente");
     }
 
     @Override
     public void stop() {
         LOGGER.info("Cerrando aplicación");
+        VigilanteHiloFx.getInstance().detener();
+        BackgroundExecutor.getInstance().shutdown();
         DatabaseConfig.getInstance().closeConnection();
         LOGGER.info("Aplicación cerrada");
     }
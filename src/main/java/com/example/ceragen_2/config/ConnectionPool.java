@@ -0,0 +1,494 @@
+package com.example.ceragen_2.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pool acotado de conexiones JDBC.
+ *
+ * <p>Cada llamada a {@link #borrow()} entrega un envoltorio cuyo {@code close()}
+ * devuelve la conexion fisica al pool en lugar de cerrarla, de modo que los
+ * servicios pueden seguir usando try-with-resources sin reconectar en cada
+ * consulta. Incluye validacion al prestar, deteccion de fugas con la pila del
+ * hilo que tomo la conexion, metricas de espera, metricas de
+ * {@code prepareStatement} por forma de SQL ({@link #getStatementStats()}) y
+ * perfilado de cada ejecucion por metodo de servicio ({@link #getQueryStats()}).</p>
+ */
+public final class ConnectionPool implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConnectionPool.class);
+
+    /**
+     * Crea conexiones fisicas nuevas.
+     */
+    @FunctionalInterface
+    public interface ConnectionFactory {
+        Connection create() throws SQLException;
+    }
+
+    private final ConnectionFactory factory;
+    private final PoolSettings settings;
+    private final LinkedBlockingDeque<PooledEntry> idle = new LinkedBlockingDeque<>();
+    private final Set<PooledEntry> borrowed = ConcurrentHashMap.newKeySet();
+    private final Semaphore permits;
+    private final AtomicInteger total = new AtomicInteger();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final ScheduledExecutorService housekeeper;
+    private final StatementTracker statements;
+    private final StatementProfiler profiler;
+
+    private final LongAdder borrows = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder destroyed = new LongAdder();
+    private final LongAdder validationFailures = new LongAdder();
+    private final LongAdder leaks = new LongAdder();
+    /** Espera acumulada de cada hilo, para atribuirla a la operacion que la sufrio. */
+    private final ThreadLocal<long[]> esperaHilo = ThreadLocal.withInitial(() -> new long[1]);
+
+    public ConnectionPool(final ConnectionFactory factory, final PoolSettings settings) {
+        this(factory, settings, StatementCacheSettings.DESACTIVADA);
+    }
+
+    /**
+     * @param statementCache cache de sentencias configurada en el driver; se usa
+     *                       para estimar sus aciertos en {@link #getStatementStats()}
+     */
+    public ConnectionPool(final ConnectionFactory factory, final PoolSettings settings,
+                          final StatementCacheSettings statementCache) {
+        this(factory, settings, statementCache, ProfilerSettings.DESACTIVADO);
+    }
+
+    /**
+     * @param statementCache cache de sentencias configurada en el driver
+     * @param profiler       perfilado de las sentencias ({@link #getQueryStats()})
+     */
+    public ConnectionPool(final ConnectionFactory factory, final PoolSettings settings,
+                          final StatementCacheSettings statementCache, final ProfilerSettings profiler) {
+        this.factory = factory;
+        this.settings = settings;
+        this.statements = new StatementTracker(statementCache);
+        this.profiler = new StatementProfiler(profiler);
+        this.permits = new Semaphore(settings.maxSize(), true);
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread t = new Thread(r, "db-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        if (settings.housekeepingMs() > 0) {
+            housekeeper.scheduleWithFixedDelay(this::housekeeping,
+                    settings.housekeepingMs(), settings.housekeepingMs(), TimeUnit.MILLISECONDS);
+        }
+        LOGGER.info("Pool de conexiones creado (max={}, minIdle={}, maxIdle={})",
+                settings.maxSize(), settings.minIdle(), settings.maxIdle());
+    }
+
+    /**
+     * Presta una conexion. Bloquea hasta {@code borrowTimeoutMs} si el pool esta agotado.
+     */
+    public Connection borrow() throws SQLException {
+        if (closed.get()) {
+            throw new SQLException("El pool de conexiones esta cerrado");
+        }
+
+        final long inicio = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(settings.borrowTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                esperaHilo.get()[0] += System.nanoTime() - inicio;
+                throw agotado();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrumpido esperando una conexion", e);
+        }
+
+        try {
+            final PooledEntry entry = obtenerEntrada(inicio + TimeUnit.MILLISECONDS.toNanos(settings.borrowTimeoutMs()));
+            registrarEspera(System.nanoTime() - inicio);
+            return prestar(entry);
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private SQLTransientConnectionException agotado() {
+        timeouts.increment();
+        return new SQLTransientConnectionException(
+                "No hay conexiones disponibles tras " + settings.borrowTimeoutMs() + " ms");
+    }
+
+    private PooledEntry obtenerEntrada(final long limiteNanos) throws SQLException {
+        while (true) {
+            PooledEntry entry = idle.pollFirst();
+            if (entry == null) {
+                if (reservar()) {
+                    return crear();
+                }
+                // El cupo lo ocupa una conexion que el mantenimiento esta abriendo;
+                // llegara a las ociosas o, si falla, liberara su lugar
+                entry = esperarOciosa(limiteNanos);
+                if (entry == null) {
+                    continue;
+                }
+            }
+            if (validar(entry)) {
+                return entry;
+            }
+            validationFailures.increment();
+            destruir(entry);
+        }
+    }
+
+    private PooledEntry esperarOciosa(final long limiteNanos) throws SQLException {
+        final long restante = limiteNanos - System.nanoTime();
+        if (restante <= 0) {
+            throw agotado();
+        }
+        try {
+            return idle.pollFirst(Math.min(restante, TimeUnit.MILLISECONDS.toNanos(10)), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrumpido esperando una conexion", e);
+        }
+    }
+
+    private boolean validar(final PooledEntry entry) {
+        final long ociosaMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - entry.lastUsedNanos);
+        if (ociosaMs < settings.validationIntervalMs()) {
+            return true;
+        }
+        try {
+            return entry.raw.isValid(settings.validationTimeoutSec());
+        } catch (SQLException e) {
+            LOGGER.debug("Conexion descartada al validar", e);
+            return false;
+        }
+    }
+
+    /**
+     * Reserva el lugar de una conexion fisica nueva sin pasar de {@code maxSize};
+     * el lugar se ocupa antes de abrirla para que los prestamos y el
+     * mantenimiento no la abran a la vez por encima del limite.
+     */
+    private boolean reservar() {
+        int actual;
+        do {
+            actual = total.get();
+            if (actual >= settings.maxSize()) {
+                return false;
+            }
+        } while (!total.compareAndSet(actual, actual + 1));
+        return true;
+    }
+
+    /**
+     * Abre una conexion fisica en un lugar ya reservado con {@link #reservar()}.
+     */
+    private PooledEntry crear() throws SQLException {
+        final Connection raw;
+        try {
+            raw = factory.create();
+        } catch (SQLException | RuntimeException e) {
+            total.decrementAndGet();
+            throw e;
+        }
+        created.increment();
+        LOGGER.debug("Nueva conexion fisica creada (total={})", total.get());
+        return new PooledEntry(raw, statements.nuevaCache());
+    }
+
+    private Connection prestar(final PooledEntry entry) {
+        entry.borrowedAtNanos = System.nanoTime();
+        entry.borrowThread = Thread.currentThread().getName();
+        entry.borrowStack = settings.leakThresholdMs() > 0 ? new Throwable("Conexion prestada aqui") : null;
+        entry.leakReported = false;
+        borrowed.add(entry);
+        borrows.increment();
+        return (Connection) Proxy.newProxyInstance(
+                ConnectionPool.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new Lease(entry));
+    }
+
+    private void registrarEspera(final long nanos) {
+        esperaHilo.get()[0] += nanos;
+        waitNanos.add(nanos);
+        maxWaitNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    private void devolver(final PooledEntry entry) {
+        borrowed.remove(entry);
+        try {
+            if (closed.get() || entry.raw.isClosed()) {
+                destruir(entry);
+                return;
+            }
+            if (!entry.raw.getAutoCommit()) {
+                entry.raw.rollback();
+                entry.raw.setAutoCommit(true);
+            }
+            entry.raw.clearWarnings();
+            entry.lastUsedNanos = System.nanoTime();
+            if (idle.size() >= settings.maxIdle()) {
+                destruir(entry);
+            } else {
+                idle.offerFirst(entry);
+            }
+        } catch (SQLException e) {
+            LOGGER.warn("No se pudo reiniciar la conexion devuelta, se descarta", e);
+            destruir(entry);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void destruir(final PooledEntry entry) {
+        total.decrementAndGet();
+        destroyed.increment();
+        try {
+            entry.raw.close();
+        } catch (SQLException e) {
+            LOGGER.debug("Error al cerrar conexion fisica", e);
+        }
+    }
+
+    /**
+     * Reporta fugas, cierra conexiones ociosas vencidas y repone el minimo de ociosas.
+     */
+    void housekeeping() {
+        if (closed.get()) {
+            return;
+        }
+        final long ahora = System.nanoTime();
+
+        if (settings.leakThresholdMs() > 0) {
+            for (final PooledEntry entry : borrowed) {
+                final long prestadaMs = TimeUnit.NANOSECONDS.toMillis(ahora - entry.borrowedAtNanos);
+                if (!entry.leakReported && prestadaMs > settings.leakThresholdMs()) {
+                    entry.leakReported = true;
+                    leaks.increment();
+                    LOGGER.warn("Posible fuga de conexion: prestada hace {} ms al hilo {}",
+                            prestadaMs, entry.borrowThread, entry.borrowStack);
+                }
+            }
+        }
+
+        for (final PooledEntry entry : idle) {
+            if (idle.size() <= settings.minIdle()) {
+                break;
+            }
+            final long ociosaMs = TimeUnit.NANOSECONDS.toMillis(ahora - entry.lastUsedNanos);
+            if (ociosaMs > settings.idleTimeoutMs() && idle.remove(entry)) {
+                destruir(entry);
+            }
+        }
+
+        while (idle.size() < settings.minIdle() && reservar()) {
+            try {
+                final PooledEntry entry = crear();
+                entry.lastUsedNanos = System.nanoTime();
+                idle.offerLast(entry);
+            } catch (SQLException e) {
+                LOGGER.warn("No se pudo reponer el minimo de conexiones ociosas", e);
+                break;
+            }
+        }
+
+        LOGGER.debug("Estado del pool: {}", getStats());
+        registrarSentencias();
+    }
+
+    /**
+     * Devuelve las metricas actuales del pool.
+     */
+    public PoolStats getStats() {
+        final long prestamos = borrows.sum();
+        final double promedio = prestamos == 0 ? 0 : waitNanos.sum() / 1_000_000.0 / prestamos;
+        return new PoolStats(
+                total.get(),
+                idle.size(),
+                borrowed.size(),
+                permits.getQueueLength(),
+                prestamos,
+                promedio,
+                maxWaitNanos.get() / 1_000_000.0,
+                timeouts.sum(),
+                created.sum(),
+                destroyed.sum(),
+                validationFailures.sum(),
+                leaks.sum());
+    }
+
+    /**
+     * Tiempo total que el hilo actual espero por conexiones de este pool,
+     * incluidas las esperas que terminaron en timeout. La diferencia entre dos
+     * lecturas es la espera de lo que el hilo hizo en medio.
+     */
+    public long getCurrentThreadWaitNanos() {
+        return esperaHilo.get()[0];
+    }
+
+    /**
+     * Metricas de {@code prepareStatement} por forma de SQL, primero las que mas
+     * tiempo gastaron en analisis del servidor.
+     */
+    public List<StatementStats> getStatementStats() {
+        return statements.getStats();
+    }
+
+    /**
+     * Metricas de ejecucion por metodo de servicio y forma de SQL, primero las
+     * que mas tiempo total tomaron. Vacia si el perfilado esta desactivado.
+     */
+    public List<QueryStats> getQueryStats() {
+        return profiler.getStats();
+    }
+
+    /**
+     * Descarta las metricas de {@link #getQueryStats()} para medir desde cero.
+     */
+    public void resetQueryStats() {
+        profiler.reiniciar();
+    }
+
+    private void registrarSentencias() {
+        if (!LOGGER.isDebugEnabled()) {
+            return;
+        }
+        final List<StatementStats> stats = statements.getStats();
+        for (int i = 0; i < Math.min(5, stats.size()); i++) {
+            LOGGER.debug("Sentencia {}", stats.get(i));
+        }
+    }
+
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        housekeeper.shutdownNow();
+        PooledEntry entry;
+        while ((entry = idle.pollFirst()) != null) {
+            destruir(entry);
+        }
+        if (!borrowed.isEmpty()) {
+            LOGGER.warn("Pool cerrado con {} conexiones aun prestadas; se cerraran al devolverse", borrowed.size());
+        }
+        LOGGER.info("Pool de conexiones cerrado: {}", getStats());
+        final List<StatementStats> sentencias = statements.getStats();
+        for (int i = 0; i < Math.min(10, sentencias.size()); i++) {
+            LOGGER.info("Sentencia {}", sentencias.get(i));
+        }
+        final List<QueryStats> consultas = profiler.getStats();
+        for (int i = 0; i < Math.min(10, consultas.size()); i++) {
+            LOGGER.info("Consulta {}", consultas.get(i));
+        }
+    }
+
+    /**
+     * Conexion fisica junto con su estado dentro del pool.
+     */
+    private static final class PooledEntry {
+        private final Connection raw;
+        /** Copia de la cache de sentencias del driver para esta conexion. */
+        private final Map<String, Boolean> sentencias;
+        private volatile long lastUsedNanos = System.nanoTime();
+        private volatile long borrowedAtNanos;
+        private volatile String borrowThread;
+        private volatile Throwable borrowStack;
+        private volatile boolean leakReported;
+
+        PooledEntry(final Connection raw, final Map<String, Boolean> sentencias) {
+            this.raw = raw;
+            this.sentencias = sentencias;
+        }
+    }
+
+    /**
+     * Envoltorio entregado a los servicios: {@code close()} devuelve la conexion al pool
+     * y cualquier uso posterior falla en lugar de tocar una conexion ajena.
+     */
+    private final class Lease implements InvocationHandler {
+        private final PooledEntry entry;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Lease(final PooledEntry entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (released.compareAndSet(false, true)) {
+                        devolver(entry);
+                    }
+                    return null;
+                case "isClosed":
+                    return released.get() || entry.raw.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + entry.raw + "]";
+                default:
+                    break;
+            }
+            if (released.get()) {
+                throw new SQLException("La conexion ya fue devuelta al pool");
+            }
+            if (args != null && args.length > 0 && args[0] instanceof String sql
+                    && ("prepareStatement".equals(method.getName()) || "prepareCall".equals(method.getName()))) {
+                return preparar(method, args, sql);
+            }
+            final Object resultado;
+            try {
+                resultado = method.invoke(entry.raw, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if ("createStatement".equals(method.getName())) {
+                return profiler.envolver(resultado, method.getReturnType(), null, 0);
+            }
+            return resultado;
+        }
+
+        private Object preparar(final Method method, final Object[] args, final String sql) throws Throwable {
+            final boolean hit = statements.consultar(entry.sentencias, sql);
+            final long inicio = System.nanoTime();
+            try {
+                final Object stmt = method.invoke(entry.raw, args);
+                final long nanos = System.nanoTime() - inicio;
+                statements.registrar(sql, hit, nanos);
+                return profiler.envolver(stmt, method.getReturnType(), sql, nanos);
+            } catch (InvocationTargetException e) {
+                statements.descartar(entry.sentencias, sql);
+                throw e.getCause();
+            }
+        }
+    }
+}
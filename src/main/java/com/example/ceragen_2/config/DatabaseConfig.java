@@ -7,18 +7,23 @@ import org.slf4j.LoggerFactory;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.List;
 
 public final class DatabaseConfig {
     private static final Logger LOGGER = LoggerFactory.getLogger(DatabaseConfig.class);
     private static DatabaseConfig instance;
-    private Connection connection;
     private final Dotenv dotenv;
+    private final StatementCacheSettings statementCache;
+    private final ProfilerSettings profiler;
+    private ConnectionPool pool;
 
     private DatabaseConfig() {
         // Cargar variables de entorno desde .env
         dotenv = Dotenv.configure()
                 .ignoreIfMissing()
                 .load();
+        statementCache = StatementCacheSettings.fromEnv(dotenv);
+        profiler = ProfilerSettings.fromEnv(dotenv);
         LOGGER.info("Configuración de base de datos inicializada");
     }
 
@@ -29,42 +34,98 @@ public final class DatabaseConfig {
         return instance;
     }
 
+    /**
+     * Obtiene una conexion del pool. Cerrarla la devuelve al pool.
+     */
     public Connection getConnection() throws SQLException {
-        if (connection == null || connection.isClosed()) {
-            try {
-                Class.forName("com.mysql.cj.jdbc.Driver");
-
-                final String host = dotenv.get("MYSQLHOST");
-                final String port = dotenv.get("MYSQLPORT");
-                final String database = dotenv.get("MYSQLDATABASE");
-                final String user = dotenv.get("MYSQLUSER");
-                final String password = dotenv.get("MYSQLPASSWORD");
-
-                final String url = String.format(
-                        "jdbc:mysql://%s:%s/%s?useSSL=false&serverTimezone=UTC&allowPublicKeyRetrieval=true&useUnicode=true&characterEncoding=utf8&connectionCollation=utf8mb4_unicode_ci",
-                        host, port, database);
-
-                connection = DriverManager.getConnection(url, user, password);
-                LOGGER.info("Conexión a la base de datos establecida exitosamente");
-            } catch (ClassNotFoundException e) {
-                LOGGER.error("Driver de MySQL no encontrado", e);
-                throw new SQLException("Driver de MySQL no encontrado", e);
-            } catch (SQLException e) {
-                LOGGER.error("Error al conectar con la base de datos", e);
-                throw e;
-            }
+        return getPool().borrow();
+    }
+
+    /**
+     * Metricas del pool (conexiones activas, ociosas, esperas y fugas).
+     */
+    public PoolStats getPoolStats() {
+        return getPool().getStats();
+    }
+
+    /**
+     * Espera acumulada del hilo actual por conexiones del pool, en nanosegundos.
+     */
+    public long getCurrentThreadWaitNanos() {
+        return getPool().getCurrentThreadWaitNanos();
+    }
+
+    /**
+     * Metricas de prepareStatement por forma de SQL (aciertos de la cache de
+     * sentencias y tiempo de analisis en el servidor).
+     */
+    public List<StatementStats> getStatementStats() {
+        return getPool().getStatementStats();
+    }
+
+    /**
+     * Metricas de ejecucion por metodo de servicio y forma de SQL (tiempos,
+     * filas y percentiles), primero las que mas tiempo total tomaron.
+     */
+    public List<QueryStats> getQueryStats() {
+        return getPool().getQueryStats();
+    }
+
+    /**
+     * Descarta las metricas de {@link #getQueryStats()}.
+     */
+    public void resetQueryStats() {
+        getPool().resetQueryStats();
+    }
+
+    /**
+     * Valor de una variable del .env (o del entorno), null si no existe.
+     */
+    public String getEnv(final String clave) {
+        return dotenv.get(clave);
+    }
+
+    private synchronized ConnectionPool getPool() {
+        if (pool == null) {
+            pool = new ConnectionPool(this::crearConexion, PoolSettings.fromEnv(dotenv), statementCache, profiler);
+        }
+        return pool;
+    }
+
+    private Connection crearConexion() throws SQLException {
+        try {
+            Class.forName("com.mysql.cj.jdbc.Driver");
+
+            final String host = dotenv.get("MYSQLHOST");
+            final String port = dotenv.get("MYSQLPORT");
+            final String database = dotenv.get("MYSQLDATABASE");
+            final String user = dotenv.get("MYSQLUSER");
+            final String password = dotenv.get("MYSQLPASSWORD");
+
+            final String url = String.format(
+                    "jdbc:mysql://%s:%s/%s?useSSL=false&serverTimezone=UTC&allowPublicKeyRetrieval=true&useUnicode=true&characterEncoding=utf8&connectionCollation=utf8mb4_unicode_ci&rewriteBatchedStatements=true%s",
+                    host, port, database, statementCache.urlParams());
+
+            final Connection connection = DriverManager.getConnection(url, user, password);
+            LOGGER.info("Conexión a la base de datos establecida exitosamente");
+            return connection;
+        } catch (ClassNotFoundException e) {
+            LOGGER.error("Driver de MySQL no encontrado", e);
+            throw new SQLException("Driver de MySQL no encontrado", e);
+        } catch (SQLException e) {
+            LOGGER.error("Error al conectar con la base de datos", e);
+            throw e;
         }
-        return connection;
     }
 
-    public void closeConnection() {
-        if (connection != null) {
-            try {
-                connection.close();
-                LOGGER.info("Conexión a la base de datos cerrada");
-            } catch (SQLException e) {
-                LOGGER.error("Error al cerrar la conexión", e);
-            }
+    /**
+     * Cierra el pool y todas sus conexiones fisicas.
+     */
+    public synchronized void closeConnection() {
+        if (pool != null) {
+            pool.close();
+            pool = null;
+            LOGGER.info("Conexión a la base de datos cerrada");
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,80 @@
+package com.example.ceragen_2.config;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma de latencias en microsegundos con buckets log-lineales, al
+ * estilo de HdrHistogram: cada potencia de dos se divide en
+ * {@value #SUB_BUCKETS} partes iguales, asi que cualquier percentil tiene un
+ * error relativo menor a 1/16 (6%) sin guardar las muestras. Ocupa lo mismo
+ * con diez ejecuciones que con diez millones y se puede registrar desde
+ * varios hilos sin bloqueo.
+ */
+final class LatencyHistogram {
+    private static final int SUB_BUCKETS = 16;
+    private static final int BITS_SUB = 4;
+    /** Hasta 2^40 us (unos 12 dias); lo que pase de ahi cae en el ultimo bucket. */
+    private static final int MAX_EXPONENTE = 40;
+    private static final int BUCKETS = SUB_BUCKETS + (MAX_EXPONENTE - BITS_SUB + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray conteos = new AtomicLongArray(BUCKETS);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong maximo = new AtomicLong();
+
+    void registrar(final long micros) {
+        final long valor = Math.max(0, micros);
+        conteos.incrementAndGet(indice(valor));
+        total.incrementAndGet();
+        maximo.accumulateAndGet(valor, Math::max);
+    }
+
+    long count() {
+        return total.get();
+    }
+
+    long max() {
+        return maximo.get();
+    }
+
+    /**
+     * Valor bajo el cual queda la fraccion {@code p} (0 a 1) de las muestras:
+     * el limite superior de su bucket, sin pasar del maximo registrado.
+     */
+    long percentil(final double p) {
+        final long n = total.get();
+        if (n == 0) {
+            return 0;
+        }
+        final long objetivo = Math.max(1, (long) Math.ceil(p * n));
+        long acumulado = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            acumulado += conteos.get(i);
+            if (acumulado >= objetivo) {
+                return Math.min(limiteSuperior(i), maximo.get());
+            }
+        }
+        return maximo.get();
+    }
+
+    static int indice(final long valor) {
+        if (valor < SUB_BUCKETS) {
+            return (int) valor;
+        }
+        final int exponente = 63 - Long.numberOfLeadingZeros(valor);
+        if (exponente > MAX_EXPONENTE) {
+            return BUCKETS - 1;
+        }
+        final int sub = (int) (valor >>> (exponente - BITS_SUB)) & (SUB_BUCKETS - 1);
+        return SUB_BUCKETS + (exponente - BITS_SUB) * SUB_BUCKETS + sub;
+    }
+
+    static long limiteSuperior(final int indice) {
+        if (indice < SUB_BUCKETS) {
+            return indice;
+        }
+        final int desplazamiento = (indice - SUB_BUCKETS) / SUB_BUCKETS;
+        final int sub = (indice - SUB_BUCKETS) % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + sub + 1) << desplazamiento) - 1;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.ceragen_2.config;
+
+import io.github.cdimascio.dotenv.Dotenv;
+
+/**
+ * Parametros del pool de conexiones. Se leen del .env con valores por defecto
+ * pensados para una sola estacion de trabajo.
+ *
+ * @param maxSize              Conexiones prestadas simultaneamente como maximo
+ * @param minIdle              Conexiones ociosas que se mantienen abiertas
+ * @param maxIdle              Conexiones ociosas que se conservan al devolverlas
+ * @param borrowTimeoutMs      Tiempo maximo de espera por una conexion libre
+ * @param idleTimeoutMs        Tiempo que una conexion puede estar ociosa antes de cerrarse
+ * @param validationIntervalMs Si la conexion estuvo ociosa menos que esto no se valida al prestarla
+ * @param validationTimeoutSec Segundos para {@link java.sql.Connection#isValid(int)}
+ * @param leakThresholdMs      Tiempo prestada tras el cual se reporta una posible fuga (0 = desactivado).
+ *                             Activarlo guarda la pila de cada prestamo, lo que tiene costo
+ * @param housekeepingMs       Periodo de la tarea de mantenimiento
+ */
+public record PoolSettings(
+        int maxSize,
+        int minIdle,
+        int maxIdle,
+        long borrowTimeoutMs,
+        long idleTimeoutMs,
+        long validationIntervalMs,
+        int validationTimeoutSec,
+        long leakThresholdMs,
+        long housekeepingMs) {
+
+    public PoolSettings {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize debe ser mayor a 0");
+        }
+        if (minIdle < 0 || minIdle > maxSize) {
+            throw new IllegalArgumentException("minIdle debe estar entre 0 y maxSize");
+        }
+        if (maxIdle < minIdle || maxIdle > maxSize) {
+            throw new IllegalArgumentException("maxIdle debe estar entre minIdle y maxSize");
+        }
+    }
+
+    /**
+     * Construye la configuracion a partir de las variables DB_POOL_* del .env.
+     */
+    public static PoolSettings fromEnv(final Dotenv dotenv) {
+        final int maxSize = intValue(dotenv, "DB_POOL_MAX_SIZE", 10);
+        final int minIdle = Math.min(intValue(dotenv, "DB_POOL_MIN_IDLE", 2), maxSize);
+        final int maxIdle = Math.max(minIdle, Math.min(intValue(dotenv, "DB_POOL_MAX_IDLE", 5), maxSize));
+        return new PoolSettings(
+                maxSize,
+                minIdle,
+                maxIdle,
+                longValue(dotenv, "DB_POOL_BORROW_TIMEOUT_MS", 10_000L),
+                longValue(dotenv, "DB_POOL_IDLE_TIMEOUT_MS", 300_000L),
+                longValue(dotenv, "DB_POOL_VALIDATION_INTERVAL_MS", 500L),
+                intValue(dotenv, "DB_POOL_VALIDATION_TIMEOUT_S", 2),
+                longValue(dotenv, "DB_POOL_LEAK_THRESHOLD_MS", 0L),
+                longValue(dotenv, "DB_POOL_HOUSEKEEPING_MS", 30_000L));
+    }
+
+    private static int intValue(final Dotenv dotenv, final String key, final int defecto) {
+        final String valor = dotenv.get(key);
+        if (valor == null || valor.isBlank()) {
+            return defecto;
+        }
+        return Integer.parseInt(valor.trim());
+    }
+
+    private static long longValue(final Dotenv dotenv, final String key, final long defecto) {
+        final String valor = dotenv.get(key);
+        if (valor == null || valor.isBlank()) {
+            return defecto;
+        }
+        return Long.parseLong(valor.trim());
+    }
+}
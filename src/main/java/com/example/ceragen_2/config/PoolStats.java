@@ -0,0 +1,32 @@
+package com.example.ceragen_2.config;
+
+/**
+ * Foto instantanea de las metricas del pool de conexiones.
+ *
+ * @param total              Conexiones fisicas abiertas
+ * @param idle               Conexiones ociosas listas para prestarse
+ * @param active             Conexiones prestadas en este momento
+ * @param waiting            Hilos esperando una conexion
+ * @param borrows            Prestamos atendidos desde el arranque
+ * @param averageWaitMillis  Espera promedio para obtener una conexion
+ * @param maxWaitMillis      Mayor espera registrada para obtener una conexion
+ * @param timeouts           Prestamos que agotaron el tiempo de espera
+ * @param created            Conexiones fisicas creadas
+ * @param destroyed          Conexiones fisicas cerradas
+ * @param validationFailures Conexiones descartadas por fallar la validacion
+ * @param leaks              Posibles fugas reportadas
+ */
+public record PoolStats(
+        int total,
+        int idle,
+        int active,
+        int waiting,
+        long borrows,
+        double averageWaitMillis,
+        double maxWaitMillis,
+        long timeouts,
+        long created,
+        long destroyed,
+        long validationFailures,
+        long leaks) {
+}
@@ -0,0 +1,32 @@
+package com.example.ceragen_2.config;
+
+import io.github.cdimascio.dotenv.Dotenv;
+
+/**
+ * Perfilado de las sentencias JDBC ({@link StatementProfiler}).
+ *
+ * @param activo      Medir preparacion, ejecucion, lectura y filas de cada sentencia
+ * @param lentaMillis Ejecucion mas lectura a partir de la cual se escribe en el log de consultas lentas (0 = no escribir)
+ */
+public record ProfilerSettings(boolean activo, long lentaMillis) {
+
+    /** Sin perfilado: las sentencias se entregan tal como las crea el driver. */
+    public static final ProfilerSettings DESACTIVADO = new ProfilerSettings(false, 0);
+
+    public ProfilerSettings {
+        if (lentaMillis < 0) {
+            throw new IllegalArgumentException("lentaMillis no puede ser negativo");
+        }
+    }
+
+    /**
+     * Construye la configuracion a partir de las variables DB_PROFILER_* del .env.
+     */
+    public static ProfilerSettings fromEnv(final Dotenv dotenv) {
+        final String activo = dotenv.get("DB_PROFILER_ENABLED");
+        final String lenta = dotenv.get("DB_PROFILER_SLOW_MS");
+        return new ProfilerSettings(
+                activo == null || activo.isBlank() || Boolean.parseBoolean(activo.trim()),
+                lenta == null || lenta.isBlank() ? 500L : Long.parseLong(lenta.trim()));
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.ceragen_2.config;
+
+/**
+ * Metricas de una forma de SQL ejecutada desde un metodo de servicio.
+ *
+ * @param sitio              Clase y metodo que ejecuto la sentencia (p. ej. {@code CitaService.getCitas})
+ * @param sql                Texto del SQL (la forma)
+ * @param ejecuciones        Veces que se ejecuto
+ * @param errores            Ejecuciones que lanzaron SQLException
+ * @param lentas             Ejecuciones que superaron el umbral del log de consultas lentas
+ * @param filas              Filas leidas (consultas) o afectadas (actualizaciones) en total
+ * @param avgPrepareMillis   Tiempo promedio de prepareStatement
+ * @param avgExecuteMillis   Tiempo promedio de execute*, hasta la primera respuesta del servidor
+ * @param avgFetchMillis     Tiempo promedio recorriendo el ResultSet
+ * @param p50Millis          Mediana de ejecucion mas lectura
+ * @param p95Millis          Percentil 95 de ejecucion mas lectura
+ * @param p99Millis          Percentil 99 de ejecucion mas lectura
+ * @param maxMillis          Maximo de ejecucion mas lectura
+ * @param totalMillis        Tiempo total de ejecucion mas lectura
+ */
+public record QueryStats(
+        String sitio,
+        String sql,
+        long ejecuciones,
+        long errores,
+        long lentas,
+        long filas,
+        double avgPrepareMillis,
+        double avgExecuteMillis,
+        double avgFetchMillis,
+        double p50Millis,
+        double p95Millis,
+        double p99Millis,
+        double maxMillis,
+        double totalMillis) {
+
+    /**
+     * Filas promedio por ejecucion (0 si no hubo).
+     */
+    public double avgFilas() {
+        return ejecuciones == 0 ? 0 : (double) filas / ejecuciones;
+    }
+
+    /**
+     * SQL acortado para logs y tablas.
+     */
+    public String sqlCorto() {
+        final String compacto = sql.replaceAll("\\s+", " ").trim();
+        return compacto.length() <= 100 ? compacto : compacto.substring(0, 97) + "...";
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d ejecuciones, total %.0f ms, p50 %.2f ms, p99 %.2f ms, max %.2f ms, "
+                        + "%.1f filas, %d lentas, %d errores: %s",
+                sitio, ejecuciones, totalMillis, p50Millis, p99Millis, maxMillis, avgFilas(), lentas, errores,
+                sqlCorto());
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.ceragen_2.config;
+
+import io.github.cdimascio.dotenv.Dotenv;
+
+/**
+ * Cache de sentencias preparadas del driver de MySQL, por conexion fisica.
+ *
+ * <p>Con {@code useServerPrepStmts} el servidor analiza cada forma de SQL una
+ * sola vez por conexion ({@code COM_STMT_PREPARE}); con {@code cachePrepStmts}
+ * el driver guarda las sentencias cerradas y las reutiliza al volver a
+ * preparar el mismo texto. Como el pool mantiene las conexiones abiertas, la
+ * cache dura mientras viva la conexion.</p>
+ *
+ * @param size     Formas de SQL guardadas por conexion (0 desactiva la cache)
+ * @param sqlLimit Largo maximo de un SQL para guardarlo en la cache
+ */
+public record StatementCacheSettings(int size, int sqlLimit) {
+
+    /** Sin cache: cada prepareStatement se vuelve a analizar. */
+    public static final StatementCacheSettings DESACTIVADA = new StatementCacheSettings(0, 0);
+
+    public StatementCacheSettings {
+        if (size < 0 || sqlLimit < 0) {
+            throw new IllegalArgumentException("size y sqlLimit no pueden ser negativos");
+        }
+    }
+
+    /**
+     * Construye la configuracion a partir de las variables DB_STMT_CACHE_* del .env.
+     */
+    public static StatementCacheSettings fromEnv(final Dotenv dotenv) {
+        return new StatementCacheSettings(
+                intValue(dotenv, "DB_STMT_CACHE_SIZE", 256),
+                intValue(dotenv, "DB_STMT_CACHE_SQL_LIMIT", 4096));
+    }
+
+    public boolean activa() {
+        return size > 0;
+    }
+
+    /**
+     * Indica si el driver guarda un SQL de este largo.
+     */
+    public boolean cacheable(final String sql) {
+        return activa() && sql.length() <= sqlLimit;
+    }
+
+    /**
+     * Parametros de la URL JDBC que activan la cache en el driver.
+     */
+    public String urlParams() {
+        if (!activa()) {
+            return "";
+        }
+        return "&useServerPrepStmts=true&cachePrepStmts=true"
+                + "&prepStmtCacheSize=" + size
+                + "&prepStmtCacheSqlLimit=" + sqlLimit;
+    }
+
+    private static int intValue(final Dotenv dotenv, final String key, final int defecto) {
+        final String valor = dotenv.get(key);
+        if (valor == null || valor.isBlank()) {
+            return defecto;
+        }
+        return Integer.parseInt(valor.trim());
+    }
+}
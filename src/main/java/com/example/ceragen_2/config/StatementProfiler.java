@@ -0,0 +1,408 @@
+package com.example.ceragen_2.config;
+
+import com.example.ceragen_2.util.EventosJfr;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Perfilador de sentencias JDBC: envuelve las sentencias que entrega el pool
+ * y mide, por forma de SQL y por metodo de servicio que la ejecuta, el tiempo
+ * de preparacion, de ejecucion y de lectura del ResultSet, las filas y la
+ * distribucion de latencias ({@link LatencyHistogram}).
+ *
+ * <p>El driver de MySQL no escribe en el logger {@code java.sql}, asi que
+ * esta es la unica vista de que consulta es lenta y desde donde se llama. Las
+ * ejecuciones que superan {@link ProfilerSettings#lentaMillis()} se escriben
+ * en el logger {@value #LOGGER_LENTAS} (archivo aparte en logback.xml), sin
+ * los valores de los parametros porque son datos de pacientes. Cada ejecucion
+ * tambien es un evento {@link EventosJfr.ConsultaSql} en el hilo que la hizo.</p>
+ */
+final class StatementProfiler {
+    static final String LOGGER_LENTAS = "com.example.ceragen_2.sql.lentas";
+    /** Formas distintas que se registran; el resto se acumula en {@link #OTRAS}. */
+    static final int MAX_FORMAS = 1_000;
+    static final String OTRAS = "(otras formas)";
+    static final String SITIO_DESCONOCIDO = "(desconocido)";
+
+    private static final Logger LENTAS = LoggerFactory.getLogger(LOGGER_LENTAS);
+    private static final String PAQUETE_APP = "com.example.ceragen_2.";
+    /** Clases que estan entre el servicio y el driver. */
+    private static final List<String> INTERMEDIARIAS = List.of(
+            StatementProfiler.class.getName(), ConnectionPool.class.getName(), DatabaseConfig.class.getName());
+    private static final StackWalker WALKER = StackWalker.getInstance();
+
+    private final ProfilerSettings settings;
+    private final long lentaNanos;
+    private final Map<Clave, Metricas> formas = new ConcurrentHashMap<>();
+
+    StatementProfiler(final ProfilerSettings settings) {
+        this.settings = settings;
+        this.lentaNanos = TimeUnit.MILLISECONDS.toNanos(settings.lentaMillis());
+    }
+
+    boolean activo() {
+        return settings.activo();
+    }
+
+    /**
+     * Envuelve una sentencia recien creada. {@code sql} es null para las de
+     * {@code createStatement}, que reciben el SQL al ejecutar.
+     *
+     * @param tipo         interfaz JDBC que devolvio el metodo de la conexion
+     * @param prepareNanos tiempo que tomo prepararla (0 si no aplica)
+     */
+    Object envolver(final Object stmt, final Class<?> tipo, final String sql, final long prepareNanos) {
+        if (!activo() || !(stmt instanceof Statement sentencia)) {
+            return stmt;
+        }
+        final String sitio = sitio();
+        if (sql != null) {
+            metricas(sitio, sql).registrarPreparacion(prepareNanos);
+        }
+        final Class<?> interfaz = CallableStatement.class.isAssignableFrom(tipo) ? CallableStatement.class
+                : PreparedStatement.class.isAssignableFrom(tipo) ? PreparedStatement.class : Statement.class;
+        return Proxy.newProxyInstance(StatementProfiler.class.getClassLoader(), new Class<?>[]{interfaz},
+                new Sentencia(sentencia, sql, sitio));
+    }
+
+    /**
+     * Primer metodo de la aplicacion en la pila que no sea del pool: el
+     * servicio (o controlador) que ejecuta la sentencia.
+     */
+    static String sitio() {
+        return WALKER.walk(frames -> frames
+                .filter(f -> f.getClassName().startsWith(PAQUETE_APP) && !intermediaria(f.getClassName()))
+                .findFirst()
+                .map(f -> {
+                    final String clase = f.getClassName();
+                    return clase.substring(clase.lastIndexOf('.') + 1) + "." + f.getMethodName();
+                })
+                .orElse(SITIO_DESCONOCIDO));
+    }
+
+    private static boolean intermediaria(final String clase) {
+        for (final String nombre : INTERMEDIARIAS) {
+            if (clase.equals(nombre) || clase.startsWith(nombre + "$")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Metricas metricas(final String sitio, final String sql) {
+        final Clave clave = new Clave(sitio, sql);
+        final Metricas metricas = formas.get(clave);
+        if (metricas != null) {
+            return metricas;
+        }
+        return formas.size() < MAX_FORMAS
+                ? formas.computeIfAbsent(clave, k -> new Metricas())
+                : formas.computeIfAbsent(new Clave(sitio, OTRAS), k -> new Metricas());
+    }
+
+    void registrar(final String sitio, final String sql, final long executeNanos, final long fetchNanos,
+                   final long filas, final boolean error) {
+        final Metricas m = metricas(sitio, sql);
+        final long total = executeNanos + fetchNanos;
+        m.ejecuciones.increment();
+        m.executeNanos.add(executeNanos);
+        m.fetchNanos.add(fetchNanos);
+        m.filas.add(filas);
+        m.latencias.registrar(TimeUnit.NANOSECONDS.toMicros(total));
+        if (error) {
+            m.errores.increment();
+        }
+        if (lentaNanos > 0 && total >= lentaNanos) {
+            m.lentas.increment();
+            LENTAS.warn("{} ms ({} ms ejecucion, {} ms lectura, {} filas{}) en {}: {}",
+                    TimeUnit.NANOSECONDS.toMillis(total), TimeUnit.NANOSECONDS.toMillis(executeNanos),
+                    TimeUnit.NANOSECONDS.toMillis(fetchNanos), filas, error ? ", con error" : "", sitio,
+                    sql.replaceAll("\\s+", " ").trim());
+        }
+    }
+
+    /**
+     * Metricas por sitio y forma, primero las que mas tiempo total tomaron.
+     */
+    List<QueryStats> getStats() {
+        final List<QueryStats> stats = new ArrayList<>(formas.size());
+        formas.forEach((clave, m) -> {
+            final long ejecuciones = m.ejecuciones.sum();
+            final long prepares = m.prepares.sum();
+            final double executeMs = m.executeNanos.sum() / 1_000_000.0;
+            final double fetchMs = m.fetchNanos.sum() / 1_000_000.0;
+            stats.add(new QueryStats(clave.sitio(), clave.sql(), ejecuciones, m.errores.sum(), m.lentas.sum(),
+                    m.filas.sum(),
+                    prepares == 0 ? 0 : m.prepareNanos.sum() / 1_000_000.0 / prepares,
+                    ejecuciones == 0 ? 0 : executeMs / ejecuciones,
+                    ejecuciones == 0 ? 0 : fetchMs / ejecuciones,
+                    m.latencias.percentil(0.50) / 1_000.0,
+                    m.latencias.percentil(0.95) / 1_000.0,
+                    m.latencias.percentil(0.99) / 1_000.0,
+                    m.latencias.max() / 1_000.0,
+                    executeMs + fetchMs));
+        });
+        stats.sort(Comparator.comparingDouble(QueryStats::totalMillis).reversed()
+                .thenComparing(Comparator.comparingLong(QueryStats::ejecuciones).reversed()));
+        return stats;
+    }
+
+    /**
+     * Descarta lo medido hasta ahora.
+     */
+    void reiniciar() {
+        formas.clear();
+    }
+
+    private record Clave(String sitio, String sql) {
+    }
+
+    private static final class Metricas {
+        private final LongAdder prepares = new LongAdder();
+        private final LongAdder prepareNanos = new LongAdder();
+        private final LongAdder ejecuciones = new LongAdder();
+        private final LongAdder errores = new LongAdder();
+        private final LongAdder lentas = new LongAdder();
+        private final LongAdder filas = new LongAdder();
+        private final LongAdder executeNanos = new LongAdder();
+        private final LongAdder fetchNanos = new LongAdder();
+        private final LatencyHistogram latencias = new LatencyHistogram();
+
+        void registrarPreparacion(final long nanos) {
+            prepares.increment();
+            prepareNanos.add(nanos);
+        }
+    }
+
+    /**
+     * Sentencia envuelta: mide cada execute*; si devuelve un ResultSet, la
+     * ejecucion se registra al terminar de leerlo para sumar la lectura.
+     */
+    private final class Sentencia implements InvocationHandler {
+        private final Statement raw;
+        private final String sql;
+        private final String sitio;
+        /** ResultSet en lectura; solo lo usa el hilo que tiene la sentencia. */
+        private Lectura abierta;
+        /** Ejecucion de execute() con ResultSet pendiente de getResultSet. */
+        private long pendienteNanos = -1;
+        private String pendienteSql;
+        private EventosJfr.ConsultaSql pendienteEvento;
+
+        Sentencia(final Statement raw, final String sql, final String sitio) {
+            this.raw = raw;
+            this.sql = sql;
+            this.sitio = sitio;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            final String nombre = method.getName();
+            switch (nombre) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "ProfiledStatement[" + raw + "]";
+                case "close":
+                    terminarLectura();
+                    return invocar(method, args);
+                case "getResultSet":
+                    return resultadoPendiente(invocar(method, args));
+                default:
+                    break;
+            }
+            if (!nombre.startsWith("execute")) {
+                return invocar(method, args);
+            }
+
+            terminarLectura();
+            final String texto = args != null && args.length > 0 && args[0] instanceof String s ? s : sql;
+            if (texto == null) {
+                return invocar(method, args);
+            }
+            final EventosJfr.ConsultaSql evento = new EventosJfr.ConsultaSql();
+            evento.begin();
+            final long inicio = System.nanoTime();
+            final Object resultado;
+            try {
+                resultado = invocar(method, args);
+            } catch (Throwable e) {
+                terminar(evento, texto, System.nanoTime() - inicio, 0, 0, true);
+                throw e;
+            }
+            final long nanos = System.nanoTime() - inicio;
+            if (resultado instanceof ResultSet rs) {
+                return leer(rs, texto, nanos, evento);
+            }
+            if (resultado instanceof Boolean hayResultado && hayResultado) {
+                pendienteNanos = nanos;
+                pendienteSql = texto;
+                pendienteEvento = evento;
+                return resultado;
+            }
+            terminar(evento, texto, nanos, 0, filasAfectadas(resultado), false);
+            return resultado;
+        }
+
+        private Object invocar(final Method method, final Object[] args) throws Throwable {
+            try {
+                return method.invoke(raw, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private Object resultadoPendiente(final Object resultado) {
+            if (pendienteNanos < 0 || !(resultado instanceof ResultSet rs)) {
+                return resultado;
+            }
+            final long nanos = pendienteNanos;
+            pendienteNanos = -1;
+            return leer(rs, pendienteSql, nanos, pendienteEvento);
+        }
+
+        private ResultSet leer(final ResultSet rs, final String texto, final long executeNanos,
+                               final EventosJfr.ConsultaSql evento) {
+            abierta = new Lectura(rs, texto, executeNanos, evento);
+            return (ResultSet) Proxy.newProxyInstance(StatementProfiler.class.getClassLoader(),
+                    new Class<?>[]{ResultSet.class}, abierta);
+        }
+
+        private void terminarLectura() {
+            if (pendienteNanos >= 0) {
+                terminar(pendienteEvento, pendienteSql, pendienteNanos, 0, 0, false);
+                pendienteNanos = -1;
+            }
+            if (abierta != null) {
+                abierta.terminar();
+                abierta = null;
+            }
+        }
+
+        /**
+         * Registra la ejecucion en las metricas y cierra su evento JFR.
+         */
+        private void terminar(final EventosJfr.ConsultaSql evento, final String texto, final long executeNanos,
+                              final long fetchNanos, final long filas, final boolean error) {
+            registrar(sitio, texto, executeNanos, fetchNanos, filas, error);
+            evento.end();
+            if (evento.shouldCommit()) {
+                evento.sitio = sitio;
+                evento.sql = texto;
+                evento.filas = filas;
+                evento.error = error;
+                evento.commit();
+            }
+        }
+
+        private long filasAfectadas(final Object resultado) {
+            if (resultado instanceof Number n) {
+                return Math.max(0, n.longValue());
+            }
+            long filas = 0;
+            if (resultado instanceof int[] conteos) {
+                for (final int c : conteos) {
+                    filas += Math.max(0, c);
+                }
+            } else if (resultado instanceof long[] conteos) {
+                for (final long c : conteos) {
+                    filas += Math.max(0, c);
+                }
+            }
+            return filas;
+        }
+
+        /**
+         * ResultSet envuelto: acumula el tiempo de {@code next()} y las filas.
+         * La ejecucion se registra al llegar al final, al cerrarlo o al cerrar
+         * o volver a ejecutar la sentencia.
+         */
+        private final class Lectura implements InvocationHandler {
+            private final ResultSet rs;
+            private final String texto;
+            private final long executeNanos;
+            private final EventosJfr.ConsultaSql evento;
+            private long fetchNanos;
+            private long filas;
+            private boolean terminada;
+
+            Lectura(final ResultSet rs, final String texto, final long executeNanos,
+                    final EventosJfr.ConsultaSql evento) {
+                this.rs = rs;
+                this.texto = texto;
+                this.executeNanos = executeNanos;
+                this.evento = evento;
+            }
+
+            @Override
+            public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+                switch (method.getName()) {
+                    case "next":
+                        return siguiente();
+                    case "close":
+                        terminar();
+                        break;
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "toString":
+                        return "ProfiledResultSet[" + rs + "]";
+                    default:
+                        break;
+                }
+                try {
+                    return method.invoke(rs, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }
+
+            private boolean siguiente() throws Throwable {
+                final long inicio = System.nanoTime();
+                try {
+                    final boolean hay = rs.next();
+                    fetchNanos += System.nanoTime() - inicio;
+                    if (hay) {
+                        filas++;
+                    } else {
+                        terminar();
+                    }
+                    return hay;
+                } catch (Throwable e) {
+                    fetchNanos += System.nanoTime() - inicio;
+                    if (!terminada) {
+                        terminada = true;
+                        Sentencia.this.terminar(evento, texto, executeNanos, fetchNanos, filas, true);
+                    }
+                    throw e;
+                }
+            }
+
+            void terminar() {
+                if (!terminada) {
+                    terminada = true;
+                    Sentencia.this.terminar(evento, texto, executeNanos, fetchNanos, filas, false);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.ceragen_2.config;
+
+/**
+ * Metricas de {@code prepareStatement} para una forma de SQL.
+ *
+ * @param sql              Texto del SQL (la forma)
+ * @param prepares         Veces que se preparo
+ * @param hits             Preparaciones resueltas desde la cache de la conexion
+ * @param misses           Preparaciones que el servidor tuvo que analizar
+ * @param avgMissMillis    Tiempo promedio de una preparacion sin cache (analisis en el servidor)
+ * @param avgHitMillis     Tiempo promedio de una preparacion desde la cache
+ */
+public record StatementStats(
+        String sql,
+        long prepares,
+        long hits,
+        long misses,
+        double avgMissMillis,
+        double avgHitMillis) {
+
+    /**
+     * Proporcion de preparaciones resueltas desde la cache (0 si no hubo).
+     */
+    public double hitRatio() {
+        return prepares == 0 ? 0 : (double) hits / prepares;
+    }
+
+    /**
+     * Tiempo total gastado en analisis del servidor, en milisegundos.
+     */
+    public double totalMissMillis() {
+        return avgMissMillis * misses;
+    }
+
+    /**
+     * SQL acortado para logs.
+     */
+    public String sqlCorto() {
+        final String compacto = sql.replaceAll("\\s+", " ").trim();
+        return compacto.length() <= 100 ? compacto : compacto.substring(0, 97) + "...";
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%5.1f%% hits, %d prepares, miss %.2f ms, hit %.3f ms: %s",
+                hitRatio() * 100, prepares, avgMissMillis, avgHitMillis, sqlCorto());
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.ceragen_2.config;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Mide {@code prepareStatement} por forma de SQL para saber cuanto aprovecha
+ * la cache de sentencias del driver.
+ *
+ * <p>El driver no expone sus aciertos, asi que cada conexion fisica lleva una
+ * copia de su cache: un LRU con el mismo tamanio y el mismo limite de largo
+ * ({@link StatementCacheSettings}). Si el SQL esta en la copia es un acierto;
+ * si no, el driver lo envia al servidor a analizar y el tiempo medido es el
+ * costo de ese analisis.</p>
+ */
+final class StatementTracker {
+    /** Formas distintas que se registran; el resto se acumula en {@link #OTRAS}. */
+    static final int MAX_FORMAS = 1_000;
+    static final String OTRAS = "(otras formas)";
+
+    private final StatementCacheSettings settings;
+    private final Map<String, Contadores> formas = new ConcurrentHashMap<>();
+
+    StatementTracker(final StatementCacheSettings settings) {
+        this.settings = settings;
+    }
+
+    /**
+     * Copia de la cache del driver para una conexion fisica nueva. Solo la usa
+     * el hilo que tiene prestada la conexion.
+     */
+    Map<String, Boolean> nuevaCache() {
+        final int maximo = settings.size();
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Boolean> eldest) {
+                return size() > maximo;
+            }
+        };
+    }
+
+    /**
+     * Registra la preparacion de {@code sql} en la copia de la cache y devuelve
+     * si el driver la resolvera sin ir al servidor.
+     */
+    boolean consultar(final Map<String, Boolean> cache, final String sql) {
+        if (!settings.cacheable(sql)) {
+            return false;
+        }
+        return cache.put(sql, Boolean.TRUE) != null;
+    }
+
+    /**
+     * La preparacion fallo: el driver no la guarda.
+     */
+    void descartar(final Map<String, Boolean> cache, final String sql) {
+        cache.remove(sql);
+    }
+
+    void registrar(final String sql, final boolean hit, final long nanos) {
+        Contadores contadores = formas.get(sql);
+        if (contadores == null) {
+            contadores = formas.size() < MAX_FORMAS
+                    ? formas.computeIfAbsent(sql, k -> new Contadores())
+                    : formas.computeIfAbsent(OTRAS, k -> new Contadores());
+        }
+        if (hit) {
+            contadores.hits.increment();
+            contadores.hitNanos.add(nanos);
+        } else {
+            contadores.misses.increment();
+            contadores.missNanos.add(nanos);
+        }
+    }
+
+    /**
+     * Metricas por forma, primero las que mas tiempo gastaron en analisis.
+     */
+    List<StatementStats> getStats() {
+        final List<StatementStats> stats = new ArrayList<>(formas.size());
+        formas.forEach((sql, c) -> {
+            final long hits = c.hits.sum();
+            final long misses = c.misses.sum();
+            stats.add(new StatementStats(sql, hits + misses, hits, misses,
+                    misses == 0 ? 0 : c.missNanos.sum() / 1_000_000.0 / misses,
+                    hits == 0 ? 0 : c.hitNanos.sum() / 1_000_000.0 / hits));
+        });
+        stats.sort(Comparator.comparingDouble(StatementStats::totalMissMillis).reversed()
+                .thenComparing(Comparator.comparingLong(StatementStats::prepares).reversed()));
+        return stats;
+    }
+
+    private static final class Contadores {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder hitNanos = new LongAdder();
+        private final LongAdder missNanos = new LongAdder();
+    }
+}
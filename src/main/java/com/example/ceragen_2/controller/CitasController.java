@@ -3,9 +3,14 @@ package com.example.ceragen_2.controller;
 import com.example.ceragen_2.model.Cita;
 import com.example.ceragen_2.model.Paciente;
 import com.example.ceragen_2.model.Profesional;
+import com.example.ceragen_2.service.AgendaSemanal;
 import com.example.ceragen_2.service.AuthService;
+import com.example.ceragen_2.service.BackgroundExecutor;
 import com.example.ceragen_2.service.CitaService;
+import com.example.ceragen_2.service.ExportService;
 import com.example.ceragen_2.service.PacienteService;
+import com.example.ceragen_2.service.PageCursor;
+import com.example.ceragen_2.service.PageResult;
 import com.example.ceragen_2.service.ProfesionalService;
 import com.example.ceragen_2.util.DialogUtil;
 import com.example.ceragen_2.util.FormValidationUtil;
@@ -38,6 +43,7 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
 
 public class CitasController {
@@ -49,10 +55,14 @@ public class CitasController {
     private final CitaService citaService = CitaService.getInstance();
     private final PacienteService pacienteService = PacienteService.getInstance();
     private final ProfesionalService profesionalService = ProfesionalService.getInstance();
+    private final BackgroundExecutor backgroundExecutor = BackgroundExecutor.getInstance();
 
     private int paginaActual;
     private int registrosPorPagina = 10;
     private int totalPaginas;
+    // Tokens de la pagina visible para navegar a la siguiente/anterior sin OFFSET
+    private String tokenSiguiente;
+    private String tokenAnterior;
 
     private String rolUsuario;
     private Integer profesionalIdUsuario;
@@ -114,6 +124,11 @@ public class CitasController {
     private Cita citaEnEdicion;
     private Profesional profesionalSeleccionadoHorario;
 
+    // Nodos de la grilla de horario, se crean una vez y se reutilizan
+    private Text[] encabezadosDias;
+    private VBox[] celdasHorario;
+    private AgendaSemanal agendaMostrada;
+
     @FXML
     public void initialize() {
         LOGGER.info("Inicializando modulo de Citas");
@@ -346,6 +361,21 @@ public class CitasController {
     }
 
     private void cargarDatos() {
+        cargarDatos(null, false);
+    }
+
+    /**
+     * Cambia de pagina sin cambiar filtros: reutiliza el total ya contado.
+     */
+    private void cambiarPagina(final String token) {
+        cargarDatos(token, true);
+    }
+
+    /**
+     * Carga la pagina actual. Con token se pide por cursor (siguiente/anterior);
+     * sin token se salta a la pagina con OFFSET.
+     */
+    private void cargarDatos(final String token, final boolean reutilizarTotal) {
         loadingIndicator.setVisible(true);
         deshabilitarControles(true);
 
@@ -365,14 +395,15 @@ public class CitasController {
         final Task<DatosCitasResult> task = new Task<>() {
             @Override
             protected DatosCitasResult call() {
-                final int totalRegistros = citaService.countCitas(pacienteId, profesionalIdFinal, estadoFilter, null, null);
-                int totalPaginasTemp = (int) Math.ceil((double) totalRegistros / registrosPorPagina);
-                if (totalPaginasTemp == 0) {
-                    totalPaginasTemp = 1;
+                PageResult<Cita> pagina = null;
+                if (token != null) {
+                    pagina = citaService.getCitasPage(token, registrosPorPagina, pacienteId, profesionalIdFinal, estadoFilter, null, null);
                 }
-
-                final List<Cita> citas = citaService.getCitas(offset, registrosPorPagina, pacienteId, profesionalIdFinal, estadoFilter, null, null);
-                return new DatosCitasResult(citas, totalPaginasTemp);
+                if (pagina == null || pagina.items().isEmpty()) {
+                    pagina = citaService.getCitasPage(offset, registrosPorPagina, pacienteId, profesionalIdFinal, estadoFilter,
+                            null, null, reutilizarTotal);
+                }
+                return new DatosCitasResult(pagina.items(), pagina.totalPaginas(registrosPorPagina));
             }
         };
 
@@ -386,6 +417,7 @@ public class CitasController {
 
             tableCitas.getItems().clear();
             tableCitas.getItems().addAll(resultado.citas);
+            actualizarTokens(resultado.citas);
             actualizarInfoPaginacion();
 
             LOGGER.info("Datos cargados: {} citas en pagina {}/{}", resultado.citas.size(), paginaActual + 1, totalPaginas);
@@ -400,7 +432,19 @@ public class CitasController {
             DialogUtil.mostrarError("Error de conexion", "No se pudieron cargar los datos. Verifique su conexion.");
         });
 
-        new Thread(task).start();
+        backgroundExecutor.submitLatest("citas.listado", task);
+    }
+
+    private void actualizarTokens(final List<Cita> citas) {
+        if (citas.isEmpty()) {
+            tokenSiguiente = null;
+            tokenAnterior = null;
+            return;
+        }
+        final Cita primera = citas.get(0);
+        final Cita ultima = citas.get(citas.size() - 1);
+        tokenSiguiente = PageCursor.siguiente(ultima.getFechaHora(), ultima.getId());
+        tokenAnterior = PageCursor.anterior(primera.getFechaHora(), primera.getId());
     }
 
     private void deshabilitarControles(final boolean deshabilitar) {
@@ -437,7 +481,7 @@ public class CitasController {
     @SuppressWarnings("unused")
     private void handlePrimeraPagina() {
         paginaActual = 0;
-        cargarDatos();
+        cambiarPagina(null);
     }
 
     @FXML
@@ -445,7 +489,7 @@ public class CitasController {
     private void handlePaginaAnterior() {
         if (paginaActual > 0) {
             paginaActual--;
-            cargarDatos();
+            cambiarPagina(tokenAnterior);
         }
     }
 
@@ -454,7 +498,7 @@ public class CitasController {
     private void handlePaginaSiguiente() {
         if (paginaActual < totalPaginas - 1) {
             paginaActual++;
-            cargarDatos();
+            cambiarPagina(tokenSiguiente);
         }
     }
 
@@ -462,7 +506,7 @@ public class CitasController {
     @SuppressWarnings("unused")
     private void handleUltimaPagina() {
         paginaActual = totalPaginas - 1;
-        cargarDatos();
+        cambiarPagina(null);
     }
 
     @FXML
@@ -470,7 +514,7 @@ public class CitasController {
     private void handleCambioRegistrosPorPagina() {
         registrosPorPagina = Integer.parseInt(cmbRegistrosPorPagina.getValue());
         paginaActual = 0;
-        cargarDatos();
+        cambiarPagina(null);
     }
 
     private void abrirEdicion(final Cita cita) {
@@ -632,7 +676,7 @@ public class CitasController {
             DialogUtil.mostrarError("Error", "No se pudo actualizar la cita");
         });
 
-        new Thread(task).start();
+        backgroundExecutor.submit(task);
     }
 
     @FXML
@@ -685,7 +729,7 @@ public class CitasController {
                 DialogUtil.mostrarError("Error", "No se pudo eliminar la cita");
             });
 
-            new Thread(task).start();
+            backgroundExecutor.submit(task);
         }
     }
 
@@ -723,7 +767,7 @@ public class CitasController {
             DialogUtil.mostrarError("Error", "No se pudo cambiar el estado de la cita");
         });
 
-        new Thread(task).start();
+        backgroundExecutor.submit(task);
     }
 
     private static class DatosCitasResult {
@@ -737,6 +781,13 @@ public class CitasController {
     }
 
     // Metodos de busqueda por cedula para filtros
+    @FXML
+    @SuppressWarnings("unused")
+    private void handleExportar() {
+        ExportacionDialog.mostrar(tableCitas.getScene().getWindow(), ExportService.Tipo.CITAS,
+                new ArrayList<>(cmbEstadoFiltro.getItems()), cmbEstadoFiltro.getValue());
+    }
+
     @FXML
     @SuppressWarnings("unused")
     private void handleBuscar() {
@@ -890,30 +941,55 @@ public class CitasController {
         // Cargar citas de la semana
         final Integer profesionalId = profesionalSeleccionadoHorario != null ? profesionalSeleccionadoHorario.getId() : null;
 
-        final Task<List<Cita>> task = new Task<>() {
+        final Task<AgendaSemanal> task = new Task<>() {
             @Override
-            protected List<Cita> call() {
+            protected AgendaSemanal call() {
                 final LocalDateTime fechaInicio = inicioSemana.atStartOfDay();
                 final LocalDateTime fechaFin = finSemana.atTime(23, 59, 59);
-                return citaService.getCitas(0, 1000, null, profesionalId, null, fechaInicio, fechaFin);
+                final List<Cita> citas = citaService.getCitas(0, 1000, null, profesionalId, null, fechaInicio, fechaFin);
+                return AgendaSemanal.construir(inicioSemana, citas);
             }
         };
 
-        task.setOnSucceeded(event -> {
-            final List<Cita> citas = task.getValue();
-            generarVistaHorario(inicioSemana, finSemana, citas);
-        });
+        task.setOnSucceeded(event -> generarVistaHorario(task.getValue()));
 
         task.setOnFailed(event -> {
             LOGGER.error("Error al cargar vista de horario", task.getException());
             DialogUtil.mostrarError("Error", "No se pudo cargar la vista de horario");
         });
 
-        new Thread(task).start();
+        backgroundExecutor.submitLatest("citas.horario", task);
     }
 
-    private void generarVistaHorario(final LocalDate inicioSemana, final LocalDate finSemana, final List<Cita> citas) {
+    /**
+     * Pinta la agenda. La grilla se crea la primera vez; despues solo se
+     * reemplaza el contenido de las celdas que cambiaron.
+     */
+    private void generarVistaHorario(final AgendaSemanal agenda) {
+        if (celdasHorario == null) {
+            construirGrillaHorario();
+        }
+
+        final DateTimeFormatter diaFormatter = DateTimeFormatter.ofPattern("EEE dd/MM");
+        for (int i = 0; i < AgendaSemanal.DIAS; i++) {
+            encabezadosDias[i].setText(agenda.getInicioSemana().plusDays(i).format(diaFormatter));
+        }
+
+        for (final int indice : agenda.celdasCambiadas(agendaMostrada)) {
+            final List<Cita> citasEnHora = agenda.getCitasCelda(indice);
+            final VBox[] nodos = new VBox[citasEnHora.size()];
+            for (int i = 0; i < nodos.length; i++) {
+                nodos[i] = crearNodoCita(citasEnHora.get(i));
+            }
+            celdasHorario[indice].getChildren().setAll(nodos);
+        }
+        agendaMostrada = agenda;
+    }
+
+    private void construirGrillaHorario() {
         vboxHorario.getChildren().clear();
+        encabezadosDias = new Text[AgendaSemanal.DIAS];
+        celdasHorario = new VBox[AgendaSemanal.DIAS * AgendaSemanal.HORAS];
 
         // Crear encabezado con dias de la semana
         final HBox encabezado = new HBox(5);
@@ -924,19 +1000,18 @@ public class CitasController {
         lblHora.setWrappingWidth(60);
         encabezado.getChildren().add(lblHora);
 
-        final DateTimeFormatter diaFormatter = DateTimeFormatter.ofPattern("EEE dd/MM");
-        for (int i = 0; i < 7; i++) {
-            final LocalDate dia = inicioSemana.plusDays(i);
-            final Text lblDia = new Text(dia.format(diaFormatter));
+        for (int i = 0; i < AgendaSemanal.DIAS; i++) {
+            final Text lblDia = new Text();
             lblDia.setStyle("-fx-fill: white; -fx-font-weight: bold; -fx-font-size: 12px; -fx-text-alignment: center;");
             lblDia.setWrappingWidth(140);
+            encabezadosDias[i] = lblDia;
             encabezado.getChildren().add(lblDia);
         }
 
         vboxHorario.getChildren().add(encabezado);
 
         // Generar filas de horas (8:00 AM - 6:00 PM)
-        for (int hora = 8; hora <= 18; hora++) {
+        for (int hora = AgendaSemanal.HORA_INICIO; hora <= AgendaSemanal.HORA_FIN; hora++) {
             final HBox filaHora = new HBox(5);
             filaHora.setStyle("-fx-padding: 5; -fx-border-color: #ecf0f1; -fx-border-width: 0 0 1 0;");
 
@@ -945,49 +1020,10 @@ public class CitasController {
             lblHoraTexto.setWrappingWidth(60);
             filaHora.getChildren().add(lblHoraTexto);
 
-            final int horaFinal = hora;
-            for (int i = 0; i < 7; i++) {
-                final LocalDate dia = inicioSemana.plusDays(i);
+            for (int i = 0; i < AgendaSemanal.DIAS; i++) {
                 final VBox celda = new VBox(3);
                 celda.setStyle("-fx-padding: 5; -fx-border-color: #ecf0f1; -fx-border-width: 0 1 0 0; -fx-background-color: white; -fx-pref-width: 140; -fx-min-height: 60;");
-
-                // Buscar citas para esta hora y dia
-                final List<Cita> citasEnHora = citas.stream()
-                    .filter(c -> {
-                        if (c.getFechaHora() == null) {
-                            return false;
-                        }
-                        return c.getFechaHora().toLocalDate().equals(dia) &&
-                               c.getFechaHora().getHour() == horaFinal;
-                    })
-                    .toList();
-
-                for (final Cita cita : citasEnHora) {
-                    final VBox citaBox = new VBox(2);
-                    citaBox.setStyle(getEstiloSegunEstado(cita.getEstado()) + "-fx-padding: 5; -fx-background-radius: 3; -fx-cursor: hand;");
-
-                    final Text txtHora = new Text(cita.getFechaHora().toLocalTime().format(TIME_FORMATTER));
-                    txtHora.setStyle("-fx-font-size: 10px; -fx-font-weight: bold; -fx-fill: white;");
-
-                    final Text txtPaciente = new Text(cita.getPacienteNombre());
-                    txtPaciente.setStyle("-fx-font-size: 10px; -fx-fill: white;");
-                    txtPaciente.setWrappingWidth(120);
-
-                    citaBox.getChildren().addAll(txtHora, txtPaciente);
-                    citaBox.setOnMouseClicked(e -> abrirEdicion(cita));
-
-                    // Tooltip para la cita en el horario
-                    Tooltip tooltip = new Tooltip(
-                        "Paciente: " + cita.getPacienteNombre() +
-                        "\nProfesional: " + cita.getProfesionalNombre() +
-                        "\nEstado: " + cita.getEstado() +
-                        "\nMotivo: " + (cita.getMotivo() != null ? cita.getMotivo() : "No especificado")
-                    );
-                    Tooltip.install(citaBox, tooltip);
-
-                    celda.getChildren().add(citaBox);
-                }
-
+                celdasHorario[AgendaSemanal.indice(i, hora)] = celda;
                 filaHora.getChildren().add(celda);
             }
 
@@ -995,6 +1031,31 @@ public class CitasController {
         }
     }
 
+    private VBox crearNodoCita(final Cita cita) {
+        final VBox citaBox = new VBox(2);
+        citaBox.setStyle(getEstiloSegunEstado(cita.getEstado()) + "-fx-padding: 5; -fx-background-radius: 3; -fx-cursor: hand;");
+
+        final Text txtHora = new Text(cita.getFechaHora().toLocalTime().format(TIME_FORMATTER));
+        txtHora.setStyle("-fx-font-size: 10px; -fx-font-weight: bold; -fx-fill: white;");
+
+        final Text txtPaciente = new Text(cita.getPacienteNombre());
+        txtPaciente.setStyle("-fx-font-size: 10px; -fx-fill: white;");
+        txtPaciente.setWrappingWidth(120);
+
+        citaBox.getChildren().addAll(txtHora, txtPaciente);
+        citaBox.setOnMouseClicked(e -> abrirEdicion(cita));
+
+        // Tooltip para la cita en el horario
+        Tooltip tooltip = new Tooltip(
+            "Paciente: " + cita.getPacienteNombre() +
+            "\nProfesional: " + cita.getProfesionalNombre() +
+            "\nEstado: " + cita.getEstado() +
+            "\nMotivo: " + (cita.getMotivo() != null ? cita.getMotivo() : "No especificado")
+        );
+        Tooltip.install(citaBox, tooltip);
+        return citaBox;
+    }
+
     private String getEstiloSegunEstado(final String estado) {
         return switch (estado) {
             case "PENDIENTE" -> "-fx-background-color: #3498db; ";
@@ -1,7 +1,10 @@
 package com.example.ceragen_2.controller;
 
 import com.example.ceragen_2.model.Cliente;
+import com.example.ceragen_2.service.BackgroundExecutor;
 import com.example.ceragen_2.service.ClienteService;
+import com.example.ceragen_2.service.ImportService;
+import com.example.ceragen_2.service.PageCursor;
 import com.example.ceragen_2.util.DialogUtil;
 import com.example.ceragen_2.util.FormValidationUtil;
 import javafx.beans.property.SimpleStringProperty;
@@ -23,6 +26,7 @@ public class ClienteController {
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
 
     private final ClienteService clienteService = ClienteService.getInstance();
+    private final BackgroundExecutor backgroundExecutor = BackgroundExecutor.getInstance();
 
     // Tab pane
     @FXML private TabPane tabPane;
@@ -79,6 +83,9 @@ public class ClienteController {
     private int registrosPorPagina = 10;
     private int totalRegistros = 0;
     private int totalPaginas = 1;
+    // Tokens de la pagina visible para navegar a la siguiente/anterior sin OFFSET
+    private String tokenSiguiente;
+    private String tokenAnterior;
 
     @FXML
     public void initialize() {
@@ -225,6 +232,14 @@ public class ClienteController {
     }
 
     private void cargarDatos() {
+        cargarDatos(null);
+    }
+
+    /**
+     * Carga la pagina actual. Con token se pide por cursor (siguiente/anterior);
+     * sin token se salta a la pagina con OFFSET.
+     */
+    private void cargarDatos(final String token) {
         loadingIndicator.setVisible(true);
 
         final String cedula = txtBuscarCedula.getText().trim();
@@ -236,6 +251,12 @@ public class ClienteController {
             @Override
             protected List<Cliente> call() {
                 totalRegistros = clienteService.countClientesConFiltros(cedula, nombre, apellido);
+                if (token != null) {
+                    final List<Cliente> pagina = clienteService.getClientesKeyset(token, registrosPorPagina, cedula, nombre, apellido).items();
+                    if (!pagina.isEmpty()) {
+                        return pagina;
+                    }
+                }
                 return clienteService.getClientesPaginadosConFiltros(offset, registrosPorPagina, cedula, nombre, apellido);
             }
         };
@@ -244,6 +265,7 @@ public class ClienteController {
             final List<Cliente> clientes = task.getValue();
             tableClientes.getItems().clear();
             tableClientes.getItems().addAll(clientes);
+            actualizarTokens(clientes);
 
             // Calcular total de paginas
             totalPaginas = (int) Math.ceil((double) totalRegistros / registrosPorPagina);
@@ -261,7 +283,19 @@ public class ClienteController {
             DialogUtil.mostrarError("Error de conexion", "No se pudieron cargar los datos. Verifique su conexion.");
         });
 
-        new Thread(task).start();
+        backgroundExecutor.submitLatest("clientes.listado", task);
+    }
+
+    private void actualizarTokens(final List<Cliente> clientes) {
+        if (clientes.isEmpty()) {
+            tokenSiguiente = null;
+            tokenAnterior = null;
+            return;
+        }
+        final Cliente primero = clientes.get(0);
+        final Cliente ultimo = clientes.get(clientes.size() - 1);
+        tokenSiguiente = PageCursor.siguiente(ultimo.getFechaRegistro(), ultimo.getId());
+        tokenAnterior = PageCursor.anterior(primero.getFechaRegistro(), primero.getId());
     }
 
     private void actualizarControlesPaginacion() {
@@ -287,7 +321,7 @@ public class ClienteController {
     private void handlePaginaAnterior() {
         if (paginaActual > 1) {
             paginaActual--;
-            cargarDatos();
+            cargarDatos(tokenAnterior);
         }
     }
 
@@ -296,7 +330,7 @@ public class ClienteController {
     private void handlePaginaSiguiente() {
         if (paginaActual < totalPaginas) {
             paginaActual++;
-            cargarDatos();
+            cargarDatos(tokenSiguiente);
         }
     }
 
@@ -339,6 +373,15 @@ public class ClienteController {
         cargarDatos();
     }
 
+    @FXML
+    @SuppressWarnings("unused")
+    private void handleImportar() {
+        ImportacionDialog.mostrar(tableClientes.getScene().getWindow(), ImportService.Tipo.CLIENTES, () -> {
+            paginaActual = 1;
+            cargarDatos();
+        });
+    }
+
     @FXML
     @SuppressWarnings("unused")
     private void handleCrearCliente() {
@@ -421,7 +464,7 @@ public class ClienteController {
             DialogUtil.mostrarError("Error", "No se pudo crear el cliente");
         });
 
-        new Thread(task).start();
+        backgroundExecutor.submit(task);
     }
 
     @FXML
@@ -550,7 +593,7 @@ public class ClienteController {
             DialogUtil.mostrarError("Error", "No se pudo actualizar el cliente");
         });
 
-        new Thread(task).start();
+        backgroundExecutor.submit(task);
     }
 
     @FXML
@@ -610,7 +653,7 @@ public class ClienteController {
                 DialogUtil.mostrarError("Error", "No se pudo eliminar el cliente");
             });
 
-            new Thread(task).start();
+            backgroundExecutor.submit(task);
         }
     }
 
@@ -7,6 +7,8 @@ import com.example.ceragen_2.model.Profesional;
 import com.example.ceragen_2.service.EspecialidadService;
 import com.example.ceragen_2.service.PacienteService;
 import com.example.ceragen_2.service.ProfesionalService;
+import com.example.ceragen_2.service.TypeaheadService;
+import com.example.ceragen_2.util.TypeaheadUtil;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
@@ -33,6 +35,7 @@ public class CrearCitaController {
 
     private final PacienteService pacienteService = PacienteService.getInstance();
     private final ProfesionalService profesionalService = ProfesionalService.getInstance();
+    private final TypeaheadService typeaheadService = TypeaheadService.getInstance();
 
     @FXML private TextField txtCrearCedulaPaciente;
     @FXML private Label lblCrearPaciente;
@@ -52,6 +55,25 @@ public class CrearCitaController {
     public void initialize() {
         LOGGER.info("Inicializando CrearCitaController");
         configurarDatePicker();
+        configurarSugerencias();
+    }
+
+    /**
+     * Sugiere pacientes y profesionales por cedula o nombre mientras se escribe.
+     * El boton de buscar sigue disponible para la cedula exacta.
+     */
+    private void configurarSugerencias() {
+        typeaheadService.calentar();
+        TypeaheadUtil.instalarSugerencias(txtCrearCedulaPaciente, typeaheadService::buscarPacientes,
+                Paciente::toString, paciente -> {
+                    txtCrearCedulaPaciente.setText(paciente.getCedula());
+                    mostrarPaciente(paciente);
+                });
+        TypeaheadUtil.instalarSugerencias(txtCrearCedulaProfesional, typeaheadService::buscarProfesionales,
+                profesional -> profesional.getNombreCompleto() + " - " + profesional.getCedula(), profesional -> {
+                    txtCrearCedulaProfesional.setText(profesional.getCedula());
+                    mostrarProfesional(profesional);
+                });
     }
 
     private void configurarDatePicker() {
@@ -92,9 +114,7 @@ public class CrearCitaController {
 
         final Paciente paciente = pacienteService.getPacienteByCedula(cedula);
         if (paciente != null) {
-            pacienteSeleccionado = paciente;
-            lblCrearPaciente.setText(paciente.getNombreCompleto());
-            lblCrearPaciente.setStyle("-fx-font-size: 14px; -fx-padding: 10; -fx-background-color: #d4edda; -fx-background-radius: 3; -fx-pref-width: 380; -fx-pref-height: 40;");
+            mostrarPaciente(paciente);
         } else {
             pacienteSeleccionado = null;
             lblCrearPaciente.setText("No encontrado");
@@ -114,9 +134,7 @@ public class CrearCitaController {
 
         final Profesional profesional = profesionalService.getProfesionalByCedula(cedula);
         if (profesional != null) {
-            profesionalSeleccionado = profesional;
-            lblCrearProfesional.setText(profesional.getNombreCompleto());
-            lblCrearProfesional.setStyle("-fx-font-size: 14px; -fx-padding: 10; -fx-background-color: #d4edda; -fx-background-radius: 3; -fx-pref-width: 380; -fx-pref-height: 40;");
+            mostrarProfesional(profesional);
         } else {
             profesionalSeleccionado = null;
             lblCrearProfesional.setText("No encontrado");
@@ -125,6 +143,18 @@ public class CrearCitaController {
         }
     }
 
+    private void mostrarPaciente(final Paciente paciente) {
+        pacienteSeleccionado = paciente;
+        lblCrearPaciente.setText(paciente.getNombreCompleto());
+        lblCrearPaciente.setStyle("-fx-font-size: 14px; -fx-padding: 10; -fx-background-color: #d4edda; -fx-background-radius: 3; -fx-pref-width: 380; -fx-pref-height: 40;");
+    }
+
+    private void mostrarProfesional(final Profesional profesional) {
+        profesionalSeleccionado = profesional;
+        lblCrearProfesional.setText(profesional.getNombreCompleto());
+        lblCrearProfesional.setStyle("-fx-font-size: 14px; -fx-padding: 10; -fx-background-color: #d4edda; -fx-background-radius: 3; -fx-pref-width: 380; -fx-pref-height: 40;");
+    }
+
     @FXML
     @SuppressWarnings({"unused", "PMD.AvoidCatchingGenericException"})
     private void handleCrearCita() {
@@ -0,0 +1,188 @@
+package com.example.ceragen_2.controller;
+
+import com.example.ceragen_2.service.AuthService;
+import com.example.ceragen_2.service.BackgroundExecutor;
+import com.example.ceragen_2.service.DashboardService;
+import com.example.ceragen_2.service.ResumenDashboard;
+import com.example.ceragen_2.util.DialogUtil;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.concurrent.Task;
+import javafx.fxml.FXML;
+import javafx.scene.chart.BarChart;
+import javafx.scene.chart.XYChart;
+import javafx.scene.control.Button;
+import javafx.scene.control.DatePicker;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.layout.VBox;
+import javafx.scene.text.Text;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Dashboard de facturacion y citas. Lee de las tablas de resumen diario, por
+ * lo que cambiar el rango cuesta lo mismo sin importar cuantas facturas haya.
+ */
+public class DashboardController {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DashboardController.class);
+    private static final int DIAS_POR_DEFECTO = 30;
+    private static final DateTimeFormatter FORMATO_DIA = DateTimeFormatter.ofPattern("dd/MM");
+
+    private final DashboardService dashboardService = DashboardService.getInstance();
+    private final BackgroundExecutor backgroundExecutor = BackgroundExecutor.getInstance();
+
+    @FXML private DatePicker dpDesde;
+    @FXML private DatePicker dpHasta;
+    @FXML private Button btnRecalcular;
+
+    @FXML private Text txtIngresos;
+    @FXML private Text txtIva;
+    @FXML private Text txtFacturas;
+    @FXML private Text txtCitas;
+    @FXML private Text txtCancelacion;
+    @FXML private Text txtInasistencia;
+
+    @FXML private BarChart<String, Number> chartIngresos;
+
+    @FXML private TableView<ResumenDashboard.CitasProfesional> tableProfesionales;
+    @FXML private TableColumn<ResumenDashboard.CitasProfesional, String> colProfesional;
+    @FXML private TableColumn<ResumenDashboard.CitasProfesional, Integer> colCitas;
+    @FXML private TableColumn<ResumenDashboard.CitasProfesional, Integer> colAtendidas;
+    @FXML private TableColumn<ResumenDashboard.CitasProfesional, Integer> colCanceladas;
+    @FXML private TableColumn<ResumenDashboard.CitasProfesional, Integer> colInasistencias;
+    @FXML private TableColumn<ResumenDashboard.CitasProfesional, String> colTasaCancelacion;
+    @FXML private TableColumn<ResumenDashboard.CitasProfesional, String> colTasaInasistencia;
+
+    @FXML private VBox loadingIndicator;
+
+    @FXML
+    public void initialize() {
+        LOGGER.info("Inicializando Dashboard");
+
+        final LocalDate hoy = LocalDate.now();
+        dpDesde.setValue(hoy.minusDays(DIAS_POR_DEFECTO - 1L));
+        dpHasta.setValue(hoy);
+
+        // Recalcular reescribe los resumenes completos: solo para administradores
+        final boolean esAdmin = "ADMIN".equals(AuthService.getInstance().getCurrentUserRole());
+        btnRecalcular.setVisible(esAdmin);
+        btnRecalcular.setManaged(esAdmin);
+
+        configurarTabla();
+        cargarDatos();
+    }
+
+    private void configurarTabla() {
+        colProfesional.setCellValueFactory(data -> new SimpleStringProperty(data.getValue().profesional()));
+        colCitas.setCellValueFactory(data -> new SimpleObjectProperty<>(data.getValue().total()));
+        colAtendidas.setCellValueFactory(data -> new SimpleObjectProperty<>(data.getValue().atendidas()));
+        colCanceladas.setCellValueFactory(data -> new SimpleObjectProperty<>(data.getValue().canceladas()));
+        colInasistencias.setCellValueFactory(data -> new SimpleObjectProperty<>(data.getValue().inasistencias()));
+        colTasaCancelacion.setCellValueFactory(data ->
+                new SimpleStringProperty(porcentaje(data.getValue().tasaCancelacion())));
+        colTasaInasistencia.setCellValueFactory(data ->
+                new SimpleStringProperty(porcentaje(data.getValue().tasaInasistencia())));
+    }
+
+    private void cargarDatos() {
+        final LocalDate desde = dpDesde.getValue();
+        final LocalDate hasta = dpHasta.getValue();
+        if (desde == null || hasta == null || hasta.isBefore(desde)) {
+            DialogUtil.mostrarAdvertencia("Rango invalido", "Seleccione un rango de fechas valido.");
+            return;
+        }
+
+        loadingIndicator.setVisible(true);
+        final Task<ResumenDashboard> task = new Task<>() {
+            @Override
+            protected ResumenDashboard call() {
+                return dashboardService.getResumen(desde, hasta);
+            }
+        };
+
+        task.setOnSucceeded(event -> {
+            loadingIndicator.setVisible(false);
+            final ResumenDashboard resumen = task.getValue();
+            if (resumen == null) {
+                DialogUtil.mostrarError("Error de conexion", "No se pudo cargar el dashboard. Verifique su conexion.");
+                return;
+            }
+            mostrar(resumen);
+        });
+
+        task.setOnFailed(event -> {
+            LOGGER.error("Error al cargar el dashboard", task.getException());
+            loadingIndicator.setVisible(false);
+            DialogUtil.mostrarError("Error de conexion", "No se pudo cargar el dashboard. Verifique su conexion.");
+        });
+
+        backgroundExecutor.submitLatest("dashboard.resumen", task);
+    }
+
+    private void mostrar(final ResumenDashboard resumen) {
+        txtIngresos.setText(String.format("$%.2f", resumen.totalIngresos()));
+        txtIva.setText(String.format("$%.2f", resumen.totalIva()));
+        txtFacturas.setText(resumen.totalFacturas() + " (" + resumen.totalAnuladas() + ")");
+        txtCitas.setText(String.valueOf(resumen.totalCitas()));
+        txtCancelacion.setText(porcentaje(resumen.tasaCancelacion()));
+        txtInasistencia.setText(porcentaje(resumen.tasaInasistencia()));
+
+        final XYChart.Series<String, Number> serie = new XYChart.Series<>();
+        for (ResumenDashboard.IngresoDiario dia : resumen.ingresos()) {
+            serie.getData().add(new XYChart.Data<>(dia.fecha().format(FORMATO_DIA), dia.total()));
+        }
+        chartIngresos.getData().setAll(serie);
+
+        tableProfesionales.getItems().setAll(resumen.citas());
+        LOGGER.info("Dashboard cargado: {} dias, {} profesionales", resumen.ingresos().size(), resumen.citas().size());
+    }
+
+    private static String porcentaje(final double tasa) {
+        return String.format("%.1f%%", tasa * 100);
+    }
+
+    @FXML
+    @SuppressWarnings("unused")
+    private void handleActualizar() {
+        cargarDatos();
+    }
+
+    @FXML
+    @SuppressWarnings("unused")
+    private void handleRecalcular() {
+        if (!DialogUtil.mostrarConfirmacion("Recalcular resumenes",
+                "Se recalcularan los resumenes desde todas las facturas y citas",
+                "Puede tardar con muchos registros. ¿Desea continuar?")) {
+            return;
+        }
+
+        loadingIndicator.setVisible(true);
+        final Task<Boolean> task = new Task<>() {
+            @Override
+            protected Boolean call() {
+                return dashboardService.recalcular();
+            }
+        };
+
+        task.setOnSucceeded(event -> {
+            loadingIndicator.setVisible(false);
+            if (Boolean.TRUE.equals(task.getValue())) {
+                cargarDatos();
+            } else {
+                DialogUtil.mostrarError("Error", "No se pudieron recalcular los resumenes.");
+            }
+        });
+
+        task.setOnFailed(event -> {
+            LOGGER.error("Error al recalcular los resumenes", task.getException());
+            loadingIndicator.setVisible(false);
+            DialogUtil.mostrarError("Error", "No se pudieron recalcular los resumenes.");
+        });
+
+        backgroundExecutor.submit(task);
+    }
+}
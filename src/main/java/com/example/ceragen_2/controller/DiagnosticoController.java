@@ -0,0 +1,137 @@
+package com.example.ceragen_2.controller;
+
+import com.example.ceragen_2.config.DatabaseConfig;
+import com.example.ceragen_2.config.PoolStats;
+import com.example.ceragen_2.config.QueryStats;
+import com.example.ceragen_2.util.BloqueosFxStats;
+import com.example.ceragen_2.util.DialogUtil;
+import com.example.ceragen_2.util.VigilanteHiloFx;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.value.ObservableValue;
+import javafx.fxml.FXML;
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.control.Tooltip;
+import javafx.scene.text.Text;
+import javafx.util.Callback;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Panel de diagnostico para administradores: estado del pool de conexiones,
+ * las consultas que mas tiempo toman, por metodo de servicio, y los bloqueos
+ * de la interfaz detectados por {@link VigilanteHiloFx}. Las metricas
+ * estan en memoria, asi que se leen directamente en el hilo de la interfaz.
+ */
+public class DiagnosticoController {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DiagnosticoController.class);
+    private static final int MAX_FILAS = 100;
+
+    private final DatabaseConfig databaseConfig = DatabaseConfig.getInstance();
+
+    @FXML private Text txtConexiones;
+    @FXML private Text txtEspera;
+    @FXML private Text txtTimeouts;
+    @FXML private Text txtEjecuciones;
+    @FXML private Text txtBloqueosFx;
+
+    @FXML private TableView<QueryStats> tableConsultas;
+    @FXML private TableColumn<QueryStats, String> colSitio;
+    @FXML private TableColumn<QueryStats, Long> colEjecuciones;
+    @FXML private TableColumn<QueryStats, String> colTotal;
+    @FXML private TableColumn<QueryStats, String> colP50;
+    @FXML private TableColumn<QueryStats, String> colP95;
+    @FXML private TableColumn<QueryStats, String> colP99;
+    @FXML private TableColumn<QueryStats, String> colMax;
+    @FXML private TableColumn<QueryStats, String> colLectura;
+    @FXML private TableColumn<QueryStats, String> colFilas;
+    @FXML private TableColumn<QueryStats, Long> colLentas;
+    @FXML private TableColumn<QueryStats, Long> colErrores;
+    @FXML private TableColumn<QueryStats, String> colSql;
+
+    @FXML
+    public void initialize() {
+        configurarTabla();
+        cargarDatos();
+    }
+
+    private void configurarTabla() {
+        colSitio.setCellValueFactory(data -> new SimpleStringProperty(data.getValue().sitio()));
+        colEjecuciones.setCellValueFactory(data -> new SimpleObjectProperty<>(data.getValue().ejecuciones()));
+        colTotal.setCellValueFactory(numero(QueryStats::totalMillis, "%.0f"));
+        colP50.setCellValueFactory(numero(QueryStats::p50Millis, "%.2f"));
+        colP95.setCellValueFactory(numero(QueryStats::p95Millis, "%.2f"));
+        colP99.setCellValueFactory(numero(QueryStats::p99Millis, "%.2f"));
+        colMax.setCellValueFactory(numero(QueryStats::maxMillis, "%.2f"));
+        colLectura.setCellValueFactory(numero(QueryStats::avgFetchMillis, "%.2f"));
+        colFilas.setCellValueFactory(numero(QueryStats::avgFilas, "%.1f"));
+        colLentas.setCellValueFactory(data -> new SimpleObjectProperty<>(data.getValue().lentas()));
+        colErrores.setCellValueFactory(data -> new SimpleObjectProperty<>(data.getValue().errores()));
+        colSql.setCellValueFactory(data -> new SimpleStringProperty(data.getValue().sqlCorto()));
+
+        // El SQL completo en el tooltip
+        colSql.setCellFactory(columna -> new TableCell<>() {
+            @Override
+            protected void updateItem(final String item, final boolean empty) {
+                super.updateItem(item, empty);
+                setText(empty ? null : item);
+                final QueryStats fila = empty || getTableRow() == null ? null : getTableRow().getItem();
+                setTooltip(fila == null ? null : new Tooltip(fila.sql()));
+            }
+        });
+    }
+
+    private static Callback<TableColumn.CellDataFeatures<QueryStats, String>, ObservableValue<String>> numero(
+            final ToDoubleFunction<QueryStats> valor, final String formato) {
+        return data -> new SimpleStringProperty(String.format(formato, valor.applyAsDouble(data.getValue())));
+    }
+
+    private void cargarDatos() {
+        final PoolStats pool = databaseConfig.getPoolStats();
+        txtConexiones.setText(pool.active() + " / " + pool.idle());
+        txtEspera.setText(String.format("%.1f / %.0f ms", pool.averageWaitMillis(), pool.maxWaitMillis()));
+        txtTimeouts.setText(pool.timeouts() + " / " + pool.leaks());
+
+        final List<QueryStats> consultas = databaseConfig.getQueryStats();
+        long ejecuciones = 0;
+        long lentas = 0;
+        long errores = 0;
+        for (final QueryStats q : consultas) {
+            ejecuciones += q.ejecuciones();
+            lentas += q.lentas();
+            errores += q.errores();
+        }
+        txtEjecuciones.setText(ejecuciones + " (" + lentas + " / " + errores + ")");
+
+        final BloqueosFxStats bloqueos = VigilanteHiloFx.getInstance().getStats();
+        txtBloqueosFx.setText(String.format("%d / %.0f ms", bloqueos.bloqueos(), bloqueos.maxMillis()));
+        if (bloqueos.ultimoCulpable() != null) {
+            Tooltip.install(txtBloqueosFx, new Tooltip("Ultimo en " + bloqueos.ultimoCulpable()));
+        }
+        tableConsultas.getItems().setAll(consultas.subList(0, Math.min(MAX_FILAS, consultas.size())));
+        LOGGER.debug("Diagnostico actualizado: {} formas de SQL", consultas.size());
+    }
+
+    @FXML
+    @SuppressWarnings("unused")
+    private void handleActualizar() {
+        cargarDatos();
+    }
+
+    @FXML
+    @SuppressWarnings("unused")
+    private void handleReiniciar() {
+        if (!DialogUtil.mostrarConfirmacion("Reiniciar metricas",
+                "Se descartaran las metricas de consultas medidas hasta ahora",
+                "¿Desea continuar?")) {
+            return;
+        }
+        databaseConfig.resetQueryStats();
+        cargarDatos();
+    }
+}
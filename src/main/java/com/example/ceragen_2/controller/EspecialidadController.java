@@ -1,12 +1,13 @@
 package com.example.ceragen_2.controller;
 
 import com.example.ceragen_2.model.Especialidad;
+import com.example.ceragen_2.service.BackgroundExecutor;
 import com.example.ceragen_2.service.EspecialidadService;
-import javafx.application.Platform;
 import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.concurrent.Task;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
@@ -28,6 +29,8 @@ public class EspecialidadController {
     // ----------------- Service -----------------
     private final EspecialidadService especialidadService =
             EspecialidadService.getInstance();
+    private final BackgroundExecutor backgroundExecutor =
+            BackgroundExecutor.getInstance();
 
     // ----------------- General / Tabs -----------------
     @FXML
@@ -119,7 +122,6 @@ public class EspecialidadController {
     // ----------------- Datos internos / paginación -----------------
     private final ObservableList<Especialidad> especialidades =
             FXCollections.observableArrayList();
-    private List<Especialidad> listaCompleta = new ArrayList<>();
 
     private int paginaActual = 1;
     private int totalPaginas = 1;
@@ -339,71 +341,78 @@ public class EspecialidadController {
                         ? txtFiltroDescripcion.getText()
                         : null);
 
-        new Thread(() -> {
-            List<Especialidad> todos =
-                    especialidadService.getAllEspecialidades();
-
-            List<Especialidad> filtrados = new ArrayList<>();
-            for (Especialidad e : todos) {
-
-                if (nombreFiltro != null
-                        && (e.getNombre() == null
-                        || !e.getNombre()
-                        .toLowerCase()
-                        .contains(
-                                nombreFiltro.toLowerCase()
-                        ))) {
-                    continue;
-                }
+        final int porPagina = registrosPorPagina;
+        final int paginaSolicitada = paginaActual;
 
-                if (descripcionFiltro != null
-                        && (e.getDescripcion() == null
-                        || !e.getDescripcion()
-                        .toLowerCase()
-                        .contains(
-                                descripcionFiltro.toLowerCase()
-                        ))) {
-                    continue;
-                }
+        final Task<PaginaEspecialidades> task = new Task<>() {
+            @Override
+            protected PaginaEspecialidades call() {
+                final int total = especialidadService.countEspecialidades(
+                        nombreFiltro,
+                        descripcionFiltro
+                );
+                final int paginas = Math.max(
+                        1,
+                        (int) Math.ceil((double) total / porPagina)
+                );
+                final int pagina = Math.min(
+                        Math.max(paginaSolicitada, 1),
+                        paginas
+                );
 
-                filtrados.add(e);
+                final List<Especialidad> items = total == 0
+                        ? new ArrayList<>()
+                        : especialidadService.getEspecialidades(
+                        (pagina - 1) * porPagina,
+                        porPagina,
+                        nombreFiltro,
+                        descripcionFiltro
+                );
+                return new PaginaEspecialidades(
+                        items, total, pagina, paginas
+                );
             }
+        };
 
-            listaCompleta = filtrados;
-            totalRegistros = listaCompleta.size();
-            totalPaginas = (int) Math.max(
-                    1,
-                    Math.ceil(
-                            (double) totalRegistros / registrosPorPagina
-                    )
-            );
+        task.setOnSucceeded(event -> {
+            final PaginaEspecialidades resultado = task.getValue();
+            totalRegistros = resultado.total;
+            totalPaginas = resultado.totalPaginas;
+            paginaActual = resultado.pagina;
 
-            if (paginaActual > totalPaginas) {
-                paginaActual = totalPaginas;
-            }
-            if (paginaActual < 1) {
-                paginaActual = 1;
-            }
-
-            int fromIndex = (paginaActual - 1) * registrosPorPagina;
-            int toIndex = Math.min(
-                    fromIndex + registrosPorPagina,
-                    listaCompleta.size()
-            );
+            especialidades.setAll(resultado.items);
+            actualizarTextoPaginacion();
+            mostrarLoading(false);
+        });
 
-            List<Especialidad> pagina = new ArrayList<>();
-            if (fromIndex < toIndex) {
-                pagina = listaCompleta.subList(fromIndex, toIndex);
-            }
+        task.setOnFailed(event -> {
+            mostrarLoading(false);
+            new Alert(
+                    Alert.AlertType.ERROR,
+                    "No se pudieron cargar las especialidades."
+            ).show();
+        });
 
-            final List<Especialidad> paginaFinal = pagina;
+        backgroundExecutor.submitLatest("especialidades.listado", task);
+    }
 
-            Platform.runLater(() -> {
-                especialidades.setAll(paginaFinal);
-                actualizarTextoPaginacion();
-                mostrarLoading(false);
-            });
-        }).start();
+    private static final class PaginaEspecialidades {
+        private final List<Especialidad> items;
+        private final int total;
+        private final int pagina;
+        private final int totalPaginas;
+
+        PaginaEspecialidades(
+                final List<Especialidad> items,
+                final int total,
+                final int pagina,
+                final int totalPaginas
+        ) {
+            this.items = items;
+            this.total = total;
+            this.pagina = pagina;
+            this.totalPaginas = totalPaginas;
+        }
     }
 
     private void mostrarLoading(final boolean mostrar) {
@@ -0,0 +1,129 @@
+package com.example.ceragen_2.controller;
+
+import com.example.ceragen_2.service.ExportService;
+import com.example.ceragen_2.service.FiltroExportacion;
+import com.example.ceragen_2.util.DialogUtil;
+import javafx.beans.binding.Bindings;
+import javafx.concurrent.Task;
+import javafx.geometry.Insets;
+import javafx.scene.control.Button;
+import javafx.scene.control.ButtonType;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.DatePicker;
+import javafx.scene.control.Dialog;
+import javafx.scene.control.Label;
+import javafx.scene.layout.GridPane;
+import javafx.stage.FileChooser;
+import javafx.stage.Window;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Dialogo comun de exportacion: pide rango de fechas y estado, el archivo
+ * destino (CSV o XLSX segun la extension) y muestra el progreso con opcion de
+ * cancelar mientras {@link ExportService} escribe el archivo.
+ */
+final class ExportacionDialog {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExportacionDialog.class);
+    private static final String ESTILOS = "/com/example/ceragen_2/css/styles.css";
+
+    private ExportacionDialog() {
+    }
+
+    /**
+     * @param estados        opciones de estado (la primera es "todos"); vacia si el tipo no tiene estado
+     * @param estadoInicial  estado preseleccionado, normalmente el filtro actual de la pantalla
+     */
+    static void mostrar(final Window owner, final ExportService.Tipo tipo, final List<String> estados,
+                        final String estadoInicial) {
+        final Optional<FiltroExportacion> filtro = pedirFiltro(owner, tipo, estados, estadoInicial);
+        if (filtro.isEmpty()) {
+            return;
+        }
+
+        final FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Exportar " + tipo.getNombre());
+        fileChooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("CSV (*.csv)", "*.csv"),
+                new FileChooser.ExtensionFilter("Excel (*.xlsx)", "*.xlsx"));
+        fileChooser.setInitialFileName(tipo.getNombre() + "_" + LocalDate.now() + ".csv");
+        final File archivo = fileChooser.showSaveDialog(owner);
+        if (archivo == null) {
+            return;
+        }
+
+        Path destino = archivo.toPath();
+        ExportService.Formato formato = ExportService.Formato.deArchivo(destino);
+        // Si el usuario eligio el filtro Excel pero dejo la extension .csv del nombre sugerido
+        if (fileChooser.getSelectedExtensionFilter() != null
+                && fileChooser.getSelectedExtensionFilter().getExtensions().contains("*.xlsx")
+                && formato != ExportService.Formato.XLSX) {
+            formato = ExportService.Formato.XLSX;
+            destino = destino.resolveSibling(destino.getFileName().toString().replaceFirst("\\.csv$", "") + ".xlsx");
+        }
+
+        LOGGER.info("Exportando {} a {} ({})", tipo.getNombre(), destino, formato);
+        mostrarProgreso(owner, ExportService.getInstance().exportar(tipo, formato, filtro.get(), destino), destino);
+    }
+
+    private static Optional<FiltroExportacion> pedirFiltro(final Window owner, final ExportService.Tipo tipo,
+                                                           final List<String> estados, final String estadoInicial) {
+        final Dialog<FiltroExportacion> dialogo = new Dialog<>();
+        dialogo.initOwner(owner);
+        dialogo.setTitle("Exportar " + tipo.getNombre());
+        dialogo.setHeaderText(tipo.tieneEstado()
+                ? "Filtre por fecha y estado (vacio = sin filtro)"
+                : "Filtre por fecha de registro (vacio = sin filtro)");
+        dialogo.getDialogPane().getStylesheets().add(
+                ExportacionDialog.class.getResource(ESTILOS).toExternalForm());
+        dialogo.getDialogPane().getStyleClass().add("dialog-pane");
+
+        final DatePicker dpDesde = new DatePicker();
+        final DatePicker dpHasta = new DatePicker();
+        final ComboBox<String> cmbEstado = new ComboBox<>();
+
+        final GridPane grid = new GridPane();
+        grid.setHgap(10);
+        grid.setVgap(10);
+        grid.setPadding(new Insets(10));
+        grid.addRow(0, new Label("Desde:"), dpDesde);
+        grid.addRow(1, new Label("Hasta:"), dpHasta);
+        if (tipo.tieneEstado() && !estados.isEmpty()) {
+            cmbEstado.getItems().setAll(estados);
+            cmbEstado.setValue(estadoInicial != null && estados.contains(estadoInicial) ? estadoInicial : estados.get(0));
+            grid.addRow(2, new Label("Estado:"), cmbEstado);
+        }
+        dialogo.getDialogPane().setContent(grid);
+        dialogo.getDialogPane().getButtonTypes().addAll(ButtonType.OK, ButtonType.CANCEL);
+
+        final Button btnAceptar = (Button) dialogo.getDialogPane().lookupButton(ButtonType.OK);
+        btnAceptar.setText("Exportar");
+        btnAceptar.disableProperty().bind(Bindings.createBooleanBinding(
+                () -> dpDesde.getValue() != null && dpHasta.getValue() != null
+                        && dpHasta.getValue().isBefore(dpDesde.getValue()),
+                dpDesde.valueProperty(), dpHasta.valueProperty()));
+
+        dialogo.setResultConverter(boton -> boton == ButtonType.OK
+                ? new FiltroExportacion(dpDesde.getValue(), dpHasta.getValue(), cmbEstado.getValue())
+                : null);
+        return dialogo.showAndWait();
+    }
+
+    private static void mostrarProgreso(final Window owner, final Task<Long> task, final Path destino) {
+        task.setOnSucceeded(e -> DialogUtil.mostrarExito("Exportacion completa",
+                "Se exportaron " + task.getValue() + " filas a:\n" + destino));
+        task.setOnFailed(e -> {
+            LOGGER.error("Error al exportar a {}", destino, task.getException());
+            DialogUtil.mostrarError("Error al exportar", "No se pudo generar el archivo: "
+                    + task.getException().getMessage());
+        });
+        task.setOnCancelled(e -> LOGGER.info("Exportacion a {} cancelada", destino));
+        ProgresoDialog.mostrar(owner, "Exportando...", task);
+    }
+}
@@ -6,8 +6,11 @@ import com.example.ceragen_2.model.Cliente;
 import com.example.ceragen_2.model.Paciente;
 import com.example.ceragen_2.model.Profesional;
 
+import com.example.ceragen_2.service.BackgroundExecutor;
 import com.example.ceragen_2.service.ClienteService;
+import com.example.ceragen_2.service.ExportService;
 import com.example.ceragen_2.service.FacturaService;
+import com.example.ceragen_2.util.EventosJfr;
 
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
@@ -52,6 +55,7 @@ public class FacturaController {
 
     /** Servicio para operaciones relacionadas con clientes. */
     private final ClienteService clienteService = ClienteService.getInstance();
+    private final BackgroundExecutor backgroundExecutor = BackgroundExecutor.getInstance();
 
     /** Lista de clientes disponibles para facturación. */
     private List<Cliente> listaClientes;
@@ -373,7 +377,7 @@ public class FacturaController {
             mostrarAlerta("Error", "No se pudieron cargar las facturas");
         });
 
-        new Thread(task).start();
+        backgroundExecutor.submitLatest("facturas.listado", task);
     }
 
     /**
@@ -413,7 +417,17 @@ public class FacturaController {
             mostrarAlerta("Error", "No se pudieron filtrar las facturas");
         });
 
-        new Thread(task).start();
+        backgroundExecutor.submitLatest("facturas.listado", task);
+    }
+
+    /**
+     * Exporta las facturas a CSV o XLSX con el estado del filtro actual.
+     */
+    @SuppressWarnings("PMD.UnusedPrivateMethod")
+    @FXML
+    private void handleExportarFacturas() {
+        ExportacionDialog.mostrar(tableFacturas.getScene().getWindow(), ExportService.Tipo.FACTURAS,
+                new ArrayList<>(cmbFiltroEstado.getItems()), cmbFiltroEstado.getValue());
     }
 
     /**
@@ -464,7 +478,7 @@ public class FacturaController {
                     mostrarAlerta("Error", "Error al anular la factura");
                 });
 
-                new Thread(task).start();
+                backgroundExecutor.submit(task);
             }
         });
     }
@@ -528,7 +542,7 @@ public class FacturaController {
             mostrarAlerta("Error", "No se pudieron cargar los datos de la factura.");
         });
 
-        new Thread(task).start();
+        backgroundExecutor.submitLatest("facturas.detalle", task);
     }
 
     /**
@@ -675,7 +689,7 @@ public class FacturaController {
             mostrarAlerta("Error", "No se pudieron cargar los catálogos");
         });
 
-        new Thread(task).start();
+        backgroundExecutor.submit(task);
     }
 
     /**
@@ -688,7 +702,7 @@ public class FacturaController {
             LOGGER.info("Abriendo modal para crear cita...");
 
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/example/ceragen_2/views/modalNuevaCita.fxml"));
-            Parent root = loader.load();
+            Parent root = EventosJfr.CargaVista.cargar(loader);
 
             // Obtener el controlador del modal
             CrearCitaController crearCitaController = loader.getController();
@@ -724,7 +738,7 @@ public class FacturaController {
             LOGGER.info("Abriendo modal para cliente...");
 
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/example/ceragen_2/views/modalClientes.fxml"));
-            Parent root = loader.load();
+            Parent root = EventosJfr.CargaVista.cargar(loader);
 
             // Obtener el controlador del modal
             ModalClienteController modalClienteController = loader.getController();
@@ -0,0 +1,70 @@
+package com.example.ceragen_2.controller;
+
+import com.example.ceragen_2.service.ImportService;
+import com.example.ceragen_2.service.ResultadoImportacion;
+import com.example.ceragen_2.util.DialogUtil;
+import javafx.concurrent.Task;
+import javafx.stage.FileChooser;
+import javafx.stage.Window;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+
+/**
+ * Dialogo comun de importacion masiva: elige el CSV, muestra el progreso de
+ * {@link ImportService} y al final un resumen con la ruta del reporte de errores.
+ */
+final class ImportacionDialog {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ImportacionDialog.class);
+
+    private ImportacionDialog() {
+    }
+
+    /**
+     * @param alTerminar se ejecuta al terminar, fallar o cancelar (los lotes ya
+     *                   guardados quedan en la base), normalmente para recargar la tabla
+     */
+    static void mostrar(final Window owner, final ImportService.Tipo tipo, final Runnable alTerminar) {
+        final FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Importar " + tipo.getNombre());
+        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV (*.csv)", "*.csv"));
+        final File archivo = fileChooser.showOpenDialog(owner);
+        if (archivo == null) {
+            return;
+        }
+
+        LOGGER.info("Importando {} desde {}", tipo.getNombre(), archivo);
+        final Task<ResultadoImportacion> task = ImportService.getInstance().importar(tipo, archivo.toPath());
+        task.setOnSucceeded(e -> {
+            mostrarResumen(tipo, task.getValue());
+            alTerminar.run();
+        });
+        task.setOnFailed(e -> {
+            LOGGER.error("Error al importar {}", archivo, task.getException());
+            DialogUtil.mostrarError("Error al importar", "La importacion se detuvo: "
+                    + task.getException().getMessage()
+                    + "\nLos lotes guardados antes del error se conservan.");
+            alTerminar.run();
+        });
+        task.setOnCancelled(e -> {
+            DialogUtil.mostrarAdvertencia("Importacion cancelada",
+                    "Los lotes guardados antes de cancelar se conservan.");
+            alTerminar.run();
+        });
+        ProgresoDialog.mostrar(owner, "Importando...", task);
+    }
+
+    private static void mostrarResumen(final ImportService.Tipo tipo, final ResultadoImportacion resultado) {
+        final String mensaje = "Filas leidas: " + resultado.leidas()
+                + "\nImportadas: " + resultado.importadas()
+                + "\nDuplicadas: " + resultado.duplicadas()
+                + "\nInvalidas: " + resultado.invalidas();
+        if (resultado.reporte() == null) {
+            DialogUtil.mostrarExito("Importacion de " + tipo.getNombre() + " completa", mensaje);
+        } else {
+            DialogUtil.mostrarAdvertencia("Importacion de " + tipo.getNombre() + " con errores",
+                    mensaje + "\n\nDetalle de las filas rechazadas en:\n" + resultado.reporte());
+        }
+    }
+}
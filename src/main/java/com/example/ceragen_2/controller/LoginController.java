@@ -1,7 +1,9 @@
 package com.example.ceragen_2.controller;
 
 import com.example.ceragen_2.service.AuthService;
+import com.example.ceragen_2.service.TypeaheadService;
 import com.example.ceragen_2.service.ViewNavigator;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
@@ -37,6 +39,10 @@ public class LoginController {
 
     @FXML
     private void handleLogin() {
+        if (loginButton.isDisable()) {
+            // Ya hay un intento de login en curso
+            return;
+        }
         final String username = usernameField.getText().trim();
         final String password = passwordField.getText();
 
@@ -48,13 +54,19 @@ public class LoginController {
         loginButton.setDisable(true);
         errorLabel.setVisible(false);
 
-        if (AuthService.getInstance().login(username, password)) {
-            LOGGER.info("Login exitoso para usuario: {}", username);
-            ViewNavigator.getInstance().showMainView();
-        } else {
-            showError("Usuario o contraseña incorrectos");
-            loginButton.setDisable(false);
-        }
+        // La verificacion (consulta + BCrypt) corre fuera del hilo de JavaFX
+        AuthService.getInstance().loginAsync(username, password)
+                .thenAccept(exito -> Platform.runLater(() -> {
+                    if (exito) {
+                        LOGGER.info("Login exitoso para usuario: {}", username);
+                        // Indices de sugerencias listos antes de abrir los formularios
+                        TypeaheadService.getInstance().calentar();
+                        ViewNavigator.getInstance().showMainView();
+                    } else {
+                        showError("Usuario o contraseña incorrectos");
+                        loginButton.setDisable(false);
+                    }
+                }));
     }
 
     private void showError(final String message) {
@@ -2,6 +2,7 @@ package com.example.ceragen_2.controller;
 
 import com.example.ceragen_2.service.AuthService;
 import com.example.ceragen_2.service.ViewNavigator;
+import com.example.ceragen_2.util.EventosJfr;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Node;
@@ -43,6 +44,12 @@ public class MainController {
     @FXML
     private Button btnFacturacion;
 
+    @FXML
+    private Button btnDashboard;
+
+    @FXML
+    private Button btnDiagnostico;
+
     @FXML
     private Button btnLogout;
 
@@ -65,7 +72,7 @@ public class MainController {
 
     /**
      * Configura la visibilidad de los botones del navbar según el rol del usuario
-     * - ADMIN: ve todo
+     * - ADMIN: ve todo (incluido el Dashboard y el Diagnostico)
      * - RECEPCIONISTA: Citas, Pacientes, Clientes, Facturación
      * - MEDICO: Citas, Pacientes
      */
@@ -81,6 +88,10 @@ public class MainController {
         btnClientes.setManaged(false);
         btnFacturacion.setVisible(false);
         btnFacturacion.setManaged(false);
+        btnDashboard.setVisible(false);
+        btnDashboard.setManaged(false);
+        btnDiagnostico.setVisible(false);
+        btnDiagnostico.setManaged(false);
 
         // Todos ven: Citas y Pacientes
         btnCitas.setVisible(true);
@@ -101,6 +112,10 @@ public class MainController {
                 btnClientes.setManaged(true);
                 btnFacturacion.setVisible(true);
                 btnFacturacion.setManaged(true);
+                btnDashboard.setVisible(true);
+                btnDashboard.setManaged(true);
+                btnDiagnostico.setVisible(true);
+                btnDiagnostico.setManaged(true);
                 LOGGER.info("Permisos configurados para ADMIN - Acceso completo");
                 break;
 
@@ -132,6 +147,8 @@ public class MainController {
         addHoverEffect(btnEspecialidades);
         addHoverEffect(btnCitas);
         addHoverEffect(btnFacturacion);
+        addHoverEffect(btnDashboard);
+        addHoverEffect(btnDiagnostico);
     }
 
     private void addHoverEffect(final Button button) {
@@ -191,6 +208,20 @@ public class MainController {
         cargarVista("/com/example/ceragen_2/views/factura.fxml");
     }
 
+    @FXML
+    @SuppressWarnings("unused")
+    private void navigateToDashboard() {
+        LOGGER.info("Navegando a Dashboard");
+        cargarVista("/com/example/ceragen_2/views/dashboard.fxml");
+    }
+
+    @FXML
+    @SuppressWarnings("unused")
+    private void navigateToDiagnostico() {
+        LOGGER.info("Navegando a Diagnostico");
+        cargarVista("/com/example/ceragen_2/views/diagnostico.fxml");
+    }
+
     @FXML
     @SuppressWarnings("unused")
     private void handleLogout() {
@@ -202,7 +233,7 @@ public class MainController {
     private void cargarVista(final String fxmlPath) {
         try {
             final FXMLLoader loader = new FXMLLoader(getClass().getResource(fxmlPath));
-            final Node vista = loader.load();
+            final Node vista = EventosJfr.CargaVista.cargar(loader);
             contentArea.getChildren().clear();
             contentArea.getChildren().add(vista);
             LOGGER.info("Vista cargada exitosamente: {}", fxmlPath);
@@ -1,8 +1,11 @@
 package com.example.ceragen_2.controller;
 
 import com.example.ceragen_2.model.Cliente;
+import com.example.ceragen_2.service.BackgroundExecutor;
 import com.example.ceragen_2.service.ClienteService;
+import com.example.ceragen_2.service.TypeaheadService;
 import com.example.ceragen_2.util.DialogUtil;
+import com.example.ceragen_2.util.TypeaheadUtil;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.concurrent.Task;
 import javafx.fxml.FXML;
@@ -20,7 +23,10 @@ import java.util.List;
 public class ModalClienteController {
     private static final Logger LOGGER = LoggerFactory.getLogger(ClienteController.class);
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+    private static final int MAX_RESULTADOS = 200;
     private final ClienteService clienteService = ClienteService.getInstance();
+    private final TypeaheadService typeaheadService = TypeaheadService.getInstance();
+    private final BackgroundExecutor backgroundExecutor = BackgroundExecutor.getInstance();
     // Indicador de carga
     @FXML private VBox loadingIndicator;
     // Tabla
@@ -43,6 +49,7 @@ public class ModalClienteController {
     public void initialize() {
         //LOGGER.info("Inicializando modulo de Clientes");
         configurarTabla();
+        TypeaheadUtil.alEscribir(txtBuscar, this::buscar);
         cargarDatos();
     }
 
@@ -105,7 +112,20 @@ public class ModalClienteController {
         });
     }
 
+    private void mostrarClientes(final List<Cliente> clientes) {
+        tableClientes.getItems().setAll(clientes);
+        loadingIndicator.setVisible(false);
+    }
+
     private void cargarDatos() {
+        // Con el indice en memoria listo no hace falta ir a la base
+        final List<Cliente> enMemoria = typeaheadService.getClientes();
+        if (enMemoria != null) {
+            backgroundExecutor.cancelar("modalClientes.listado");
+            mostrarClientes(enMemoria);
+            return;
+        }
+
         loadingIndicator.setVisible(true);
 
         final Task<List<Cliente>> task = new Task<>() {
@@ -129,19 +149,32 @@ public class ModalClienteController {
             DialogUtil.mostrarError("Error de conexion", "No se pudieron cargar los datos. Verifique su conexion.");
         });
 
-        new Thread(task).start();
+        backgroundExecutor.submitLatest("modalClientes.listado", task);
     }
 
     @FXML
     @SuppressWarnings("unused")
     private void handleBuscar() {
-        final String criterio = txtBuscar.getText().trim();
+        buscar(txtBuscar.getText().trim());
+    }
 
+    /**
+     * Filtra desde el indice en memoria en cada pausa de escritura; si aun no
+     * esta cargado, consulta la base de datos.
+     */
+    private void buscar(final String criterio) {
         if (criterio.isEmpty()) {
             cargarDatos();
             return;
         }
 
+        final List<Cliente> enMemoria = typeaheadService.buscarClientes(criterio, MAX_RESULTADOS);
+        if (enMemoria != null) {
+            backgroundExecutor.cancelar("modalClientes.listado");
+            mostrarClientes(enMemoria);
+            return;
+        }
+
         LOGGER.info("Buscando clientes con criterio: {}", criterio);
         loadingIndicator.setVisible(true);
 
@@ -166,7 +199,7 @@ public class ModalClienteController {
             DialogUtil.mostrarError("Error de busqueda", "No se pudo realizar la busqueda");
         });
 
-        new Thread(task).start();
+        backgroundExecutor.submitLatest("modalClientes.listado", task);
     }
 
 
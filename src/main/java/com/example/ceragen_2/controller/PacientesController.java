@@ -3,26 +3,34 @@ package com.example.ceragen_2.controller;
 import java.awt.Desktop;
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 import java.util.function.UnaryOperator;
 import java.util.regex.Pattern;
 
 import com.example.ceragen_2.model.DocumentoPaciente;
 import com.example.ceragen_2.model.Paciente;
+import com.example.ceragen_2.service.AlmacenDocumentos;
+import com.example.ceragen_2.service.BackgroundExecutor;
+import com.example.ceragen_2.service.CacheMiniaturas;
 import com.example.ceragen_2.service.DocumentoPacienteService;
+import com.example.ceragen_2.service.ExportService;
+import com.example.ceragen_2.service.ImportService;
 import com.example.ceragen_2.service.PacienteService;
+import com.example.ceragen_2.service.PageCursor;
+import com.example.ceragen_2.service.PageResult;
 
+import javafx.application.Platform;
+import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.concurrent.Task;
 import javafx.fxml.FXML;
+import javafx.geometry.Insets;
 import javafx.geometry.Pos;
+import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
 import javafx.scene.control.ButtonType;
@@ -30,6 +38,7 @@ import javafx.scene.control.ComboBox;
 import javafx.scene.control.DatePicker;
 import javafx.scene.control.Label;
 import javafx.scene.control.OverrunStyle;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.control.Tab;
 import javafx.scene.control.TabPane;
 import javafx.scene.control.TableCell;
@@ -39,11 +48,17 @@ import javafx.scene.control.TextArea;
 import javafx.scene.control.TextField;
 import javafx.scene.control.TextFormatter;
 import javafx.scene.control.Tooltip;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
+import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
 import javafx.scene.text.Text;
 import javafx.stage.FileChooser;
+import javafx.stage.Stage;
 
+import org.kordamp.ikonli.javafx.FontIcon;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 public class PacientesController {
@@ -56,11 +71,16 @@ public class PacientesController {
 
     private final PacienteService pacienteService = PacienteService.getInstance();
     private final DocumentoPacienteService documentoService = DocumentoPacienteService.getInstance();
+    private final CacheMiniaturas miniaturas = CacheMiniaturas.getInstance();
+    private final BackgroundExecutor backgroundExecutor = BackgroundExecutor.getInstance();
 
 
     private int paginaActual = 0;
     private int registrosPorPagina = DEFAULT_PAGE_SIZE;
     private int totalPaginas = 0;
+    // Tokens de la pagina visible para navegar a la siguiente/anterior sin OFFSET
+    private String tokenSiguiente;
+    private String tokenAnterior;
 
     @FXML private TabPane tabPane;
     @FXML private Tab tabCrear;
@@ -81,6 +101,7 @@ public class PacientesController {
     @FXML private TableColumn<Paciente, Void> colAcciones;
 
     @FXML private TableView<DocumentoPaciente> tableDocumentos;
+    @FXML private TableColumn<DocumentoPaciente, DocumentoPaciente> colDocVista;
     @FXML private TableColumn<DocumentoPaciente, String> colDocNombre;
     @FXML private TableColumn<DocumentoPaciente, String> colDocTipo;
     @FXML private TableColumn<DocumentoPaciente, String> colDocFecha;
@@ -234,6 +255,21 @@ public class PacientesController {
     }
 
     private void cargarDatos() {
+        cargarDatos(null, false);
+    }
+
+    /**
+     * Cambia de pagina sin cambiar filtros: reutiliza el total ya contado.
+     */
+    private void cambiarPagina(final String token) {
+        cargarDatos(token, true);
+    }
+
+    /**
+     * Carga la pagina actual. Con token se pide por cursor (siguiente/anterior);
+     * sin token se salta a la pagina con OFFSET.
+     */
+    private void cargarDatos(final String token, final boolean reutilizarTotal) {
         loadingIndicator.setVisible(true);
         deshabilitarControles(true);
 
@@ -244,11 +280,14 @@ public class PacientesController {
         Task<DatosPacientesResult> task = new Task<>() {
             @Override
             protected DatosPacientesResult call() {
-                int totalRegistros = pacienteService.countPacientes(searchText, generoFilter);
-                int totalPaginasTemp = (int) Math.ceil((double) totalRegistros / registrosPorPagina);
-                if (totalPaginasTemp == 0) totalPaginasTemp = 1;
-                List<Paciente> pacientes = pacienteService.getPacientes(offset, registrosPorPagina, searchText, generoFilter);
-                return new DatosPacientesResult(pacientes, totalPaginasTemp);
+                PageResult<Paciente> pagina = null;
+                if (token != null) {
+                    pagina = pacienteService.getPacientesPage(token, registrosPorPagina, searchText, generoFilter);
+                }
+                if (pagina == null || pagina.items().isEmpty()) {
+                    pagina = pacienteService.getPacientesPage(offset, registrosPorPagina, searchText, generoFilter, reutilizarTotal);
+                }
+                return new DatosPacientesResult(pagina.items(), pagina.totalPaginas(registrosPorPagina));
             }
         };
 
@@ -259,6 +298,7 @@ public class PacientesController {
             if (paginaActual < 0) paginaActual = 0;
             tablePacientes.getItems().clear();
             tablePacientes.getItems().addAll(res.pacientes);
+            actualizarTokens(res.pacientes);
             actualizarInfoPaginacion();
             loadingIndicator.setVisible(false);
             deshabilitarControles(false);
@@ -273,7 +313,19 @@ public class PacientesController {
             mostrarAlerta("Error", "No se pudieron cargar los datos", Alert.AlertType.ERROR);
         });
 
-        new Thread(task).start();
+        backgroundExecutor.submitLatest("pacientes.listado", task);
+    }
+
+    private void actualizarTokens(final List<Paciente> pacientes) {
+        if (pacientes.isEmpty()) {
+            tokenSiguiente = null;
+            tokenAnterior = null;
+            return;
+        }
+        Paciente primero = pacientes.get(0);
+        Paciente ultimo = pacientes.get(pacientes.size() - 1);
+        tokenSiguiente = PageCursor.siguiente(ultimo.getFechaRegistro(), ultimo.getId());
+        tokenAnterior = PageCursor.anterior(primero.getFechaRegistro(), primero.getId());
     }
 
     private void deshabilitarControles(final boolean deshabilitar) {
@@ -306,6 +358,14 @@ public class PacientesController {
     @SuppressWarnings("PMD.UnusedPrivateMethod")
     @FXML private void handleBuscar() { paginaActual = 0; cargarDatos(); }
     @SuppressWarnings("PMD.UnusedPrivateMethod")
+    @FXML private void handleExportar() {
+        ExportacionDialog.mostrar(tablePacientes.getScene().getWindow(), ExportService.Tipo.PACIENTES, List.of(), null);
+    }
+
+    @FXML private void handleImportar() {
+        ImportacionDialog.mostrar(tablePacientes.getScene().getWindow(), ImportService.Tipo.PACIENTES, this::cargarDatos);
+    }
+
     @FXML private void handleLimpiarFiltros() {
         txtBuscar.clear();
         cmbGeneroFiltro.setValue("TODOS");
@@ -315,32 +375,32 @@ public class PacientesController {
     @SuppressWarnings("PMD.UnusedPrivateMethod")
     @FXML private void handlePrimeraPagina() {
         paginaActual = 0;
-        cargarDatos();
+        cambiarPagina(null);
     }
     @SuppressWarnings("PMD.UnusedPrivateMethod")
     @FXML private void handlePaginaAnterior() {
         if (paginaActual > 0) {
             paginaActual--;
-            cargarDatos();
+            cambiarPagina(tokenAnterior);
         }
     }
     @SuppressWarnings("PMD.UnusedPrivateMethod")
     @FXML private void handlePaginaSiguiente() {
         if (paginaActual < totalPaginas - 1) {
             paginaActual++;
-            cargarDatos();
+            cambiarPagina(tokenSiguiente);
         }
     }
     @SuppressWarnings("PMD.UnusedPrivateMethod")
     @FXML private void handleUltimaPagina() {
         paginaActual = totalPaginas - 1;
-        cargarDatos();
+        cambiarPagina(null);
     }
     @SuppressWarnings("PMD.UnusedPrivateMethod")
     @FXML private void handleCambioRegistrosPorPagina() {
         registrosPorPagina = Integer.parseInt(cmbRegistrosPorPagina.getValue());
         paginaActual = 0;
-        cargarDatos();
+        cambiarPagina(null);
     }
 
     @SuppressWarnings("PMD.UnusedPrivateMethod")
@@ -454,7 +514,7 @@ public class PacientesController {
             mostrarAlerta("Error", "No se pudo crear el paciente", Alert.AlertType.ERROR);
         });
 
-        new Thread(task).start();
+        backgroundExecutor.submit(task);
     }
 
     @SuppressWarnings("PMD.UnusedPrivateMethod")
@@ -505,6 +565,8 @@ public class PacientesController {
         if (tableDocumentos == null) {
             return;
         }
+        colDocVista.setCellValueFactory(data -> new SimpleObjectProperty<>(data.getValue()));
+        colDocVista.setCellFactory(col -> createMiniaturaCell());
         colDocNombre.setCellValueFactory(data -> new SimpleStringProperty(data.getValue().getNombreArchivo()));
         colDocTipo.setCellValueFactory(data -> new SimpleStringProperty(data.getValue().getTipoDocumento()));
         colDocFecha.setCellValueFactory(data -> new SimpleStringProperty(
@@ -550,6 +612,104 @@ public class PacientesController {
         }
     }
 
+    /**
+     * Celda con la miniatura del documento. Si no esta en memoria muestra un
+     * icono y la pide en segundo plano; al llegar solo se pinta si la celda
+     * sigue mostrando el mismo documento (las celdas se reutilizan al desplazar).
+     */
+    private TableCell<DocumentoPaciente, DocumentoPaciente> createMiniaturaCell() {
+        return new TableCell<>() {
+            private final ImageView imageView = new ImageView();
+            {
+                final int lado = CacheMiniaturas.Tamanio.MINIATURA.getLado();
+                imageView.setFitWidth(lado);
+                imageView.setFitHeight(lado);
+                imageView.setPreserveRatio(true);
+                setAlignment(Pos.CENTER);
+                setStyle("-fx-cursor: hand;");
+                setOnMouseClicked(e -> {
+                    if (getItem() != null) {
+                        mostrarVistaPrevia(getItem());
+                    }
+                });
+            }
+
+            @Override
+            protected void updateItem(DocumentoPaciente doc, boolean empty) {
+                super.updateItem(doc, empty);
+                if (empty || doc == null) {
+                    setGraphic(null);
+                    return;
+                }
+                final Image cacheada = miniaturas.enMemoria(doc, CacheMiniaturas.Tamanio.MINIATURA);
+                if (cacheada != null) {
+                    imageView.setImage(cacheada);
+                    setGraphic(imageView);
+                    return;
+                }
+                setGraphic(iconoDocumento(doc));
+                if (CacheMiniaturas.tieneMiniatura(doc)) {
+                    miniaturas.cargar(doc, CacheMiniaturas.Tamanio.MINIATURA).thenAccept(imagen ->
+                            Platform.runLater(() -> {
+                                if (imagen != null && getItem() == doc) {
+                                    imageView.setImage(imagen);
+                                    setGraphic(imageView);
+                                }
+                            }));
+                }
+            }
+        };
+    }
+
+    private static FontIcon iconoDocumento(final DocumentoPaciente doc) {
+        final String ruta = doc.getRutaArchivo() == null ? "" : doc.getRutaArchivo().toLowerCase(Locale.ROOT);
+        final String icono;
+        if (ruta.endsWith(".pdf")) {
+            icono = "fas-file-pdf";
+        } else if (CacheMiniaturas.tieneMiniatura(doc)) {
+            icono = "fas-file-image";
+        } else {
+            icono = "fas-file-alt";
+        }
+        final FontIcon fontIcon = new FontIcon(icono);
+        fontIcon.setIconSize(32);
+        fontIcon.setIconColor(Color.web("#7f8c8d"));
+        return fontIcon;
+    }
+
+    /**
+     * Vista rapida de una imagen sin abrir el archivo completo; los formatos sin
+     * vista previa se abren con la aplicacion del sistema.
+     */
+    private void mostrarVistaPrevia(final DocumentoPaciente doc) {
+        if (!CacheMiniaturas.tieneMiniatura(doc)) {
+            abrirArchivoDocumento(doc);
+            return;
+        }
+        final ImageView vista = new ImageView();
+        vista.setPreserveRatio(true);
+        final StackPane contenido = new StackPane(new ProgressIndicator(), vista);
+        contenido.setPadding(new Insets(10));
+        contenido.setMinSize(240, 240);
+
+        final Stage ventana = new Stage();
+        ventana.initOwner(tableDocumentos.getScene().getWindow());
+        ventana.setTitle(doc.getNombreArchivo());
+        ventana.setScene(new Scene(contenido));
+        ventana.show();
+
+        miniaturas.cargar(doc, CacheMiniaturas.Tamanio.VISTA_PREVIA).thenAccept(imagen -> Platform.runLater(() -> {
+            if (imagen == null) {
+                ventana.close();
+                mostrarAlerta("Error", "No se pudo generar la vista previa", Alert.AlertType.ERROR);
+                return;
+            }
+            contenido.getChildren().setAll(vista);
+            vista.setImage(imagen);
+            ventana.sizeToScene();
+        }));
+    }
+
     private TableCell<DocumentoPaciente, String> createEllipsisCell() {
         return new TableCell<>() {
             private final Label label = new Label();
@@ -596,28 +756,19 @@ public class PacientesController {
         File archivo = fileChooser.showOpenDialog(tabPane.getScene().getWindow());
         if (archivo == null) return;
 
-        try {
-            Path baseDir = Paths.get(System.getProperty("user.home"), "ceragen_docs", "pacientes", String.valueOf(pacienteEnEdicion.getId()));
-            Files.createDirectories(baseDir);
-            Path destino = baseDir.resolve(archivo.getName());
-            Files.copy(archivo.toPath(), destino, StandardCopyOption.REPLACE_EXISTING);
-
-            DocumentoPaciente doc = new DocumentoPaciente();
-            doc.setPacienteId(pacienteEnEdicion.getId());
-            doc.setNombreArchivo(archivo.getName());
-            doc.setTipoDocumento(tipo);
-            doc.setRutaArchivo(destino.toString());
-
-            boolean ok = documentoService.crearDocumento(doc);
-            if (ok) {
-                mostrarAlerta("Éxito", "Documento subido", Alert.AlertType.INFORMATION);
-                cargarDocumentos();
-            } else {
-                mostrarAlerta("Error", "No se pudo registrar el documento", Alert.AlertType.ERROR);
-            }
-        } catch (Exception ex) {
-            mostrarAlerta("Error", "Fallo al copiar el archivo: " + ex.getMessage(), Alert.AlertType.ERROR);
-        }
+        // La copia y el hash corren en segundo plano; la fila se registra al final
+        Task<DocumentoPaciente> task = AlmacenDocumentos.getInstance()
+                .subir(pacienteEnEdicion.getId(), tipo, archivo.toPath());
+        task.setOnSucceeded(e -> {
+            mostrarAlerta("Éxito", "Documento subido", Alert.AlertType.INFORMATION);
+            cargarDocumentos();
+        });
+        task.setOnFailed(e -> {
+            LOGGER.error("Error al subir documento {}", archivo, task.getException());
+            mostrarAlerta("Error", "No se pudo subir el documento: " + task.getException().getMessage(),
+                    Alert.AlertType.ERROR);
+        });
+        ProgresoDialog.mostrar(tabPane.getScene().getWindow(), "Subiendo documento...", task);
     }
 
     private void eliminarDocumento(final DocumentoPaciente d) {
@@ -748,7 +899,7 @@ public class PacientesController {
             mostrarAlerta("Error", "No se pudo actualizar el paciente", Alert.AlertType.ERROR);
         });
 
-        new Thread(task).start();
+        backgroundExecutor.submit(task);
     }
 
     @SuppressWarnings("PMD.UnusedPrivateMethod")
@@ -787,7 +938,7 @@ public class PacientesController {
                 loadingIndicator.setVisible(false);
                 mostrarAlerta("Error", "No se pudo eliminar el paciente", Alert.AlertType.ERROR);
             });
-            new Thread(task).start();
+            backgroundExecutor.submit(task);
         }
     }
 
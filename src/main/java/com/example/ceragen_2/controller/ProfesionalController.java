@@ -1,11 +1,12 @@
 package com.example.ceragen_2.controller;
 
 import com.example.ceragen_2.model.Profesional;
+import com.example.ceragen_2.service.BackgroundExecutor;
 import com.example.ceragen_2.service.ProfesionalService;
-import javafx.application.Platform;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.concurrent.Task;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
@@ -32,7 +33,6 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Locale;
 import java.util.Objects;
 
 /**
@@ -73,6 +73,9 @@ public final class ProfesionalController {
     /** Servicio de profesionales (capa de negocio). */
     private final ProfesionalService profesionalService =
             ProfesionalService.getInstance();
+    /** Ejecutor compartido para cargas en segundo plano. */
+    private final BackgroundExecutor backgroundExecutor =
+            BackgroundExecutor.getInstance();
 
     /** Pestañas principales del módulo. */
     @FXML
@@ -225,8 +228,6 @@ public final class ProfesionalController {
     /** Lista observable utilizada por la tabla. */
     private final ObservableList<Profesional> profesionales =
             FXCollections.observableArrayList();
-    /** Lista completa (sin paginar) de profesionales. */
-    private List<Profesional> listaCompleta = new ArrayList<>();
 
     /** Página actual de la paginación. */
     private int paginaActual = 1;
@@ -485,25 +486,26 @@ public final class ProfesionalController {
         }
         cmbActivoFiltro.getSelectionModel().selectFirst();
 
-        new Thread(() -> {
-            List<Profesional> todos =
-                    profesionalService.getAllProfesionales();
-            List<String> nombres = new ArrayList<>();
-            nombres.add("Todas");
-            for (Profesional p : todos) {
-                String esp = p.getEspecialidadNombre();
-                if (esp != null && !nombres.contains(esp)) {
-                    nombres.add(esp);
-                }
+        final Task<List<String>> task = new Task<>() {
+            @Override
+            protected List<String> call() {
+                final List<String> nombres = new ArrayList<>();
+                nombres.add("Todas");
+                nombres.addAll(
+                        profesionalService.getNombresEspecialidadesAsignadas()
+                );
+                return nombres;
             }
+        };
 
-            Platform.runLater(() -> {
-                cmbEspecialidadFiltro.setItems(
-                        FXCollections.observableArrayList(nombres)
-                );
-                cmbEspecialidadFiltro.getSelectionModel().selectFirst();
-            });
-        }).start();
+        task.setOnSucceeded(event -> {
+            cmbEspecialidadFiltro.setItems(
+                    FXCollections.observableArrayList(task.getValue())
+            );
+            cmbEspecialidadFiltro.getSelectionModel().selectFirst();
+        });
+
+        backgroundExecutor.submitLatest("profesionales.especialidades", task);
 
         ObservableList<String> especialidades =
                 FXCollections.observableArrayList(
@@ -566,101 +568,94 @@ public final class ProfesionalController {
                         .getSelectionModel()
                         .getSelectedItem();
 
-        new Thread(() -> {
-            List<Profesional> todos =
-                    profesionalService.getAllProfesionales();
-
-            List<Profesional> filtrados = new ArrayList<>();
-            for (Profesional p : todos) {
-
-                if (cedulaFiltro != null
-                        && (p.getCedula() == null
-                        || !p.getCedula().contains(cedulaFiltro))) {
-                    continue;
-                }
-
-                if (nombresFiltro != null
-                        && (p.getNombres() == null
-                        || !p.getNombres()
-                        .toLowerCase(Locale.ROOT)
-                        .contains(
-                                nombresFiltro.toLowerCase(Locale.ROOT)
-                        ))) {
-                    continue;
-                }
-
-                if (apellidosFiltro != null
-                        && (p.getApellidos() == null
-                        || !p.getApellidos()
-                        .toLowerCase(Locale.ROOT)
-                        .contains(
-                                apellidosFiltro
-                                        .toLowerCase(Locale.ROOT)
-                        ))) {
-                    continue;
-                }
-
-                if (especialidadFiltro != null
-                        && !"Todas".equalsIgnoreCase(
-                        especialidadFiltro
-                )) {
-                    String espNombre = p.getEspecialidadNombre();
-                    if (espNombre == null
-                            || !espNombre.equalsIgnoreCase(
-                            especialidadFiltro
-                    )) {
-                        continue;
-                    }
-                }
-
-                if ("ACTIVO".equalsIgnoreCase(estadoFiltro)
-                        && !Boolean.TRUE.equals(p.getActivo())) {
-                    continue;
-                }
-
-                if ("INACTIVO".equalsIgnoreCase(estadoFiltro)
-                        && Boolean.TRUE.equals(p.getActivo())) {
-                    continue;
-                }
+        final String especialidad =
+                especialidadFiltro == null
+                        || "Todas".equalsIgnoreCase(especialidadFiltro)
+                        ? null
+                        : especialidadFiltro;
+        final Boolean activo;
+        if ("ACTIVO".equalsIgnoreCase(estadoFiltro)) {
+            activo = Boolean.TRUE;
+        } else if ("INACTIVO".equalsIgnoreCase(estadoFiltro)) {
+            activo = Boolean.FALSE;
+        } else {
+            activo = null;
+        }
+        final int porPagina = registrosPorPagina;
+        final int paginaSolicitada = paginaActual;
+
+        final Task<PaginaProfesionales> task = new Task<>() {
+            @Override
+            protected PaginaProfesionales call() {
+                final int total = profesionalService.countProfesionales(
+                        cedulaFiltro, nombresFiltro, apellidosFiltro,
+                        especialidad, activo
+                );
+                final int paginas = Math.max(
+                        1,
+                        (int) Math.ceil((double) total / porPagina)
+                );
+                final int pagina = Math.min(
+                        Math.max(paginaSolicitada, 1),
+                        paginas
+                );
 
-                filtrados.add(p);
+                final List<Profesional> items =
+                        total == 0
+                                ? new ArrayList<>()
+                                : profesionalService.getProfesionales(
+                                (pagina - 1) * porPagina, porPagina,
+                                cedulaFiltro, nombresFiltro,
+                                apellidosFiltro, especialidad, activo
+                        );
+                return new PaginaProfesionales(items, total, pagina, paginas);
             }
+        };
 
-            listaCompleta = filtrados;
-            totalRegistros = listaCompleta.size();
-            totalPaginas = (int) Math.max(
-                    1,
-                    Math.ceil(
-                            (double) totalRegistros / registrosPorPagina
-                    )
-            );
-
-            if (paginaActual > totalPaginas) {
-                paginaActual = totalPaginas;
-            }
-            if (paginaActual < 1) {
-                paginaActual = 1;
-            }
+        task.setOnSucceeded(event -> {
+            final PaginaProfesionales resultado = task.getValue();
+            totalRegistros = resultado.total;
+            totalPaginas = resultado.totalPaginas;
+            paginaActual = resultado.pagina;
 
-            int fromIndex = (paginaActual - 1) * registrosPorPagina;
-            int toIndex = Math.min(
-                    fromIndex + registrosPorPagina,
-                    listaCompleta.size()
-            );
+            profesionales.setAll(resultado.items);
+            actualizarTextoPaginacion();
+            mostrarLoading(false);
+        });
 
-            List<Profesional> pagina = new ArrayList<>();
-            if (fromIndex < toIndex) {
-                pagina = listaCompleta.subList(fromIndex, toIndex);
-            }
+        task.setOnFailed(event -> {
+            mostrarLoading(false);
+            new Alert(
+                    Alert.AlertType.ERROR,
+                    "No se pudieron cargar los profesionales."
+            ).show();
+        });
 
-            final List<Profesional> paginaFinal = pagina;
+        backgroundExecutor.submitLatest("profesionales.listado", task);
+    }
 
-            Platform.runLater(() -> {
-                profesionales.setAll(paginaFinal);
-                actualizarTextoPaginacion();
-                mostrarLoading(false);
-            });
-        }).start();
+    /**
+     * Resultado de la carga de una página de profesionales.
+     */
+    private static final class PaginaProfesionales {
+        /** Profesionales de la página. */
+        private final List<Profesional> items;
+        /** Total de registros que cumplen los filtros. */
+        private final int total;
+        /** Página efectivamente cargada (1-based). */
+        private final int pagina;
+        /** Total de páginas para los filtros actuales. */
+        private final int totalPaginas;
+
+        PaginaProfesionales(final List<Profesional> items,
+                            final int total,
+                            final int pagina,
+                            final int totalPaginas) {
+            this.items = items;
+            this.total = total;
+            this.pagina = pagina;
+            this.totalPaginas = totalPaginas;
+        }
     }
 
     /**
@@ -0,0 +1,55 @@
+package com.example.ceragen_2.controller;
+
+import javafx.concurrent.Task;
+import javafx.concurrent.WorkerStateEvent;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.layout.VBox;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+
+/**
+ * Ventana de progreso de una tarea larga (exportacion, importacion) con boton
+ * para cancelarla. Se cierra sola cuando la tarea termina, falla o se cancela;
+ * el llamador maneja el resultado con los setOnSucceeded/Failed/Cancelled del Task.
+ */
+final class ProgresoDialog {
+    private static final String ESTILOS = "/com/example/ceragen_2/css/styles.css";
+
+    private ProgresoDialog() {
+    }
+
+    static void mostrar(final Window owner, final String titulo, final Task<?> task) {
+        final Label lblMensaje = new Label();
+        lblMensaje.textProperty().bind(task.messageProperty());
+        final ProgressBar barra = new ProgressBar();
+        barra.setPrefWidth(320);
+        barra.progressProperty().bind(task.progressProperty());
+        final Button btnCancelar = new Button("Cancelar");
+        btnCancelar.getStyleClass().addAll("btn", "btn-secondary");
+        btnCancelar.setOnAction(e -> task.cancel());
+
+        final VBox contenido = new VBox(12, lblMensaje, barra, btnCancelar);
+        contenido.setAlignment(Pos.CENTER);
+        contenido.setPadding(new Insets(20));
+
+        final Stage ventana = new Stage();
+        ventana.initOwner(owner);
+        ventana.setTitle(titulo);
+        ventana.setResizable(false);
+        final Scene scene = new Scene(contenido);
+        scene.getStylesheets().add(ProgresoDialog.class.getResource(ESTILOS).toExternalForm());
+        ventana.setScene(scene);
+        // Cerrar la ventana no deja la tarea corriendo sin control
+        ventana.setOnCloseRequest(e -> task.cancel());
+
+        task.addEventHandler(WorkerStateEvent.WORKER_STATE_SUCCEEDED, e -> ventana.close());
+        task.addEventHandler(WorkerStateEvent.WORKER_STATE_FAILED, e -> ventana.close());
+        task.addEventHandler(WorkerStateEvent.WORKER_STATE_CANCELLED, e -> ventana.close());
+        ventana.show();
+    }
+}
@@ -2,6 +2,9 @@ package com.example.ceragen_2.controller;
 
 import com.example.ceragen_2.model.Usuario;
 import com.example.ceragen_2.service.AuthService;
+import com.example.ceragen_2.service.BackgroundExecutor;
+import com.example.ceragen_2.service.PageCursor;
+import com.example.ceragen_2.service.PageResult;
 import com.example.ceragen_2.service.UsuarioService;
 import com.example.ceragen_2.util.DialogUtil;
 import com.example.ceragen_2.util.FormValidationUtil;
@@ -24,11 +27,15 @@ public class UsuariosController {
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
 
     private final UsuarioService usuarioService = UsuarioService.getInstance();
+    private final BackgroundExecutor backgroundExecutor = BackgroundExecutor.getInstance();
 
     // Paginacion
     private int paginaActual;
     private int registrosPorPagina = 10;
     private int totalPaginas;
+    // Tokens de la pagina visible para navegar a la siguiente/anterior sin OFFSET
+    private String tokenSiguiente;
+    private String tokenAnterior;
 
     // Tab pane
     @FXML private TabPane tabPane;
@@ -232,6 +239,21 @@ public class UsuariosController {
     }
 
     private void cargarDatos() {
+        cargarDatos(null, false);
+    }
+
+    /**
+     * Cambia de pagina sin cambiar filtros: reutiliza el total ya contado.
+     */
+    private void cambiarPagina(final String token) {
+        cargarDatos(token, true);
+    }
+
+    /**
+     * Carga la pagina actual. Con token se pide por cursor (siguiente/anterior);
+     * sin token se salta a la pagina con OFFSET.
+     */
+    private void cargarDatos(final String token, final boolean reutilizarTotal) {
         // Mostrar indicador de carga
         loadingIndicator.setVisible(true);
         deshabilitarControles(true);
@@ -245,17 +267,16 @@ public class UsuariosController {
         Task<DatosUsuariosResult> task = new Task<>() {
             @Override
             protected DatosUsuariosResult call() {
-                // Operaciones de base de datos en segundo plano
-                int totalRegistros = usuarioService.countUsuarios(searchText, rolFilter, activoFilter);
-                int totalPaginasTemp = (int) Math.ceil((double) totalRegistros / registrosPorPagina);
-
-                if (totalPaginasTemp == 0) {
-                    totalPaginasTemp = 1;
+                // Filas y total en una sola consulta (o total cacheado al cambiar de pagina)
+                PageResult<Usuario> pagina = null;
+                if (token != null) {
+                    pagina = usuarioService.getUsuariosPage(token, registrosPorPagina, searchText, rolFilter, activoFilter);
+                }
+                if (pagina == null || pagina.items().isEmpty()) {
+                    pagina = usuarioService.getUsuariosPage(offset, registrosPorPagina, searchText, rolFilter, activoFilter, reutilizarTotal);
                 }
 
-                List<Usuario> usuarios = usuarioService.getUsuarios(offset, registrosPorPagina, searchText, rolFilter, activoFilter);
-
-                return new DatosUsuariosResult(usuarios, totalPaginasTemp);
+                return new DatosUsuariosResult(pagina.items(), pagina.totalPaginas(registrosPorPagina));
             }
         };
 
@@ -275,6 +296,7 @@ public class UsuariosController {
             // Actualizar UI en el hilo de JavaFX
             tableUsuarios.getItems().clear();
             tableUsuarios.getItems().addAll(resultado.usuarios);
+            actualizarTokens(resultado.usuarios);
             actualizarInfoPaginacion();
 
             LOGGER.info("Datos cargados: {} usuarios en pagina {}/{}", resultado.usuarios.size(), paginaActual + 1, totalPaginas);
@@ -293,7 +315,19 @@ public class UsuariosController {
         });
 
         // Ejecutar el Task en un hilo separado
-        new Thread(task).start();
+        backgroundExecutor.submitLatest("usuarios.listado", task);
+    }
+
+    private void actualizarTokens(final List<Usuario> usuarios) {
+        if (usuarios.isEmpty()) {
+            tokenSiguiente = null;
+            tokenAnterior = null;
+            return;
+        }
+        Usuario primero = usuarios.get(0);
+        Usuario ultimo = usuarios.get(usuarios.size() - 1);
+        tokenSiguiente = PageCursor.siguiente(ultimo.getFechaCreacion(), ultimo.getId());
+        tokenAnterior = PageCursor.anterior(primero.getFechaCreacion(), primero.getId());
     }
 
     private void deshabilitarControles(final boolean deshabilitar) {
@@ -354,14 +388,14 @@ public class UsuariosController {
     @FXML
     private void handlePrimeraPagina() {
         paginaActual = 0;
-        cargarDatos();
+        cambiarPagina(null);
     }
 
     @FXML
     private void handlePaginaAnterior() {
         if (paginaActual > 0) {
             paginaActual--;
-            cargarDatos();
+            cambiarPagina(tokenAnterior);
         }
     }
 
@@ -369,14 +403,14 @@ public class UsuariosController {
     private void handlePaginaSiguiente() {
         if (paginaActual < totalPaginas - 1) {
             paginaActual++;
-            cargarDatos();
+            cambiarPagina(tokenSiguiente);
         }
     }
 
     @FXML
     private void handleUltimaPagina() {
         paginaActual = totalPaginas - 1;
-        cargarDatos();
+        cambiarPagina(null);
     }
 
     @FXML
@@ -385,7 +419,7 @@ public class UsuariosController {
         registrosPorPagina = Integer.parseInt(valor);
         paginaActual = 0;
         LOGGER.info("Registros por pagina cambiado a: {}", registrosPorPagina);
-        cargarDatos();
+        cambiarPagina(null);
     }
 
     @FXML
@@ -462,7 +496,7 @@ public class UsuariosController {
             DialogUtil.mostrarError("Error", "No se pudo crear el usuario");
         });
 
-        new Thread(task).start();
+        backgroundExecutor.submit(task);
     }
 
     @FXML
@@ -583,7 +617,7 @@ public class UsuariosController {
             DialogUtil.mostrarError("Error", "No se pudo actualizar el usuario");
         });
 
-        new Thread(task).start();
+        backgroundExecutor.submit(task);
     }
 
     @FXML
@@ -652,7 +686,7 @@ public class UsuariosController {
                 DialogUtil.mostrarError("Error", "No se pudo eliminar el usuario");
             });
 
-            new Thread(task).start();
+            backgroundExecutor.submit(task);
         }
     }
 
@@ -746,7 +780,7 @@ public class UsuariosController {
                 DialogUtil.mostrarError("Error", "No se pudo cambiar la contrasena");
             });
 
-            new Thread(task).start();
+            backgroundExecutor.submit(task);
         });
     }
 }
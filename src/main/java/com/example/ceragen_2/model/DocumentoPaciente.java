@@ -8,6 +8,8 @@ public class DocumentoPaciente {
     private String nombreArchivo;
     private String tipoDocumento;
     private String rutaArchivo;
+    private String hashSha256;
+    private Long tamanioBytes;
     private LocalDateTime fechaSubida;
 
     public Integer getId() { return id; }
@@ -25,6 +27,12 @@ public class DocumentoPaciente {
     public String getRutaArchivo() { return rutaArchivo; }
     public void setRutaArchivo(String rutaArchivo) { this.rutaArchivo = rutaArchivo; }
 
+    public String getHashSha256() { return hashSha256; }
+    public void setHashSha256(String hashSha256) { this.hashSha256 = hashSha256; }
+
+    public Long getTamanioBytes() { return tamanioBytes; }
+    public void setTamanioBytes(Long tamanioBytes) { this.tamanioBytes = tamanioBytes; }
+
     public LocalDateTime getFechaSubida() { return fechaSubida; }
     public void setFechaSubida(LocalDateTime fechaSubida) { this.fechaSubida = fechaSubida; }
 }
@@ -0,0 +1,109 @@
+package com.example.ceragen_2.service;
+
+import com.example.ceragen_2.model.Cita;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Citas de una semana agrupadas por dia y hora para la vista de horario.
+ *
+ * <p>Se construye una sola vez, fuera del hilo de JavaFX, recorriendo la
+ * lista de citas una vez. Cada celda guarda ademas una firma con los datos
+ * que se muestran, para que la vista repinte solo las celdas que cambiaron
+ * respecto de la agenda anterior ({@link #celdasCambiadas(AgendaSemanal)}).</p>
+ */
+public final class AgendaSemanal {
+    public static final int DIAS = 7;
+    public static final int HORA_INICIO = 8;
+    public static final int HORA_FIN = 18;
+    public static final int HORAS = HORA_FIN - HORA_INICIO + 1;
+
+    private final LocalDate inicioSemana;
+    private final List<List<Cita>> celdas;
+    private final List<List<FirmaCita>> firmas;
+
+    private AgendaSemanal(final LocalDate inicioSemana) {
+        this.inicioSemana = inicioSemana;
+        this.celdas = new ArrayList<>(DIAS * HORAS);
+        this.firmas = new ArrayList<>(DIAS * HORAS);
+        for (int i = 0; i < DIAS * HORAS; i++) {
+            celdas.add(new ArrayList<>());
+            firmas.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Agrupa las citas de la semana que empieza en {@code inicioSemana}.
+     * Las citas fuera de la semana o del horario de la grilla se ignoran.
+     */
+    public static AgendaSemanal construir(final LocalDate inicioSemana, final List<Cita> citas) {
+        final AgendaSemanal agenda = new AgendaSemanal(inicioSemana);
+        for (final Cita cita : citas) {
+            final LocalDateTime fechaHora = cita.getFechaHora();
+            if (fechaHora == null) {
+                continue;
+            }
+            final long dia = ChronoUnit.DAYS.between(inicioSemana, fechaHora.toLocalDate());
+            final int hora = fechaHora.getHour();
+            if (dia < 0 || dia >= DIAS || hora < HORA_INICIO || hora > HORA_FIN) {
+                continue;
+            }
+            final int indice = indice((int) dia, hora);
+            agenda.celdas.get(indice).add(cita);
+            agenda.firmas.get(indice).add(FirmaCita.de(cita));
+        }
+        return agenda;
+    }
+
+    /**
+     * Posicion de la celda (dia 0 = lunes, hora entre HORA_INICIO y HORA_FIN).
+     */
+    public static int indice(final int dia, final int hora) {
+        return (hora - HORA_INICIO) * DIAS + dia;
+    }
+
+    public LocalDate getInicioSemana() {
+        return inicioSemana;
+    }
+
+    public List<Cita> getCitas(final int dia, final int hora) {
+        return getCitasCelda(indice(dia, hora));
+    }
+
+    public List<Cita> getCitasCelda(final int indice) {
+        return celdas.get(indice);
+    }
+
+    /**
+     * Indices de las celdas cuyo contenido visible difiere de {@code anterior}.
+     * Si no hay agenda anterior o es otra semana, cambian todas.
+     */
+    public List<Integer> celdasCambiadas(final AgendaSemanal anterior) {
+        final List<Integer> cambiadas = new ArrayList<>();
+        final boolean todas = anterior == null || !inicioSemana.equals(anterior.inicioSemana);
+        for (int i = 0; i < DIAS * HORAS; i++) {
+            if (todas || !firmas.get(i).equals(anterior.firmas.get(i))) {
+                cambiadas.add(i);
+            }
+        }
+        return cambiadas;
+    }
+
+    /**
+     * Datos de la cita que usa la celda (texto, tooltip y formulario de edicion);
+     * si no cambian la celda no se repinta.
+     */
+    private record FirmaCita(Integer id, Integer pacienteId, Integer profesionalId, LocalDateTime fechaHora,
+                             String estado, String pacienteNombre, String profesionalNombre,
+                             String motivo, String observaciones) {
+        static FirmaCita de(final Cita cita) {
+            return new FirmaCita(cita.getId(), cita.getPacienteId(), cita.getProfesionalId(), cita.getFechaHora(),
+                    cita.getEstado(), cita.getPacienteNombre(), cita.getProfesionalNombre(),
+                    cita.getMotivo(), cita.getObservaciones());
+        }
+    }
+}
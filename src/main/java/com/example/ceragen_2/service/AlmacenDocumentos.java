@@ -0,0 +1,251 @@
+package com.example.ceragen_2.service;
+
+import com.example.ceragen_2.model.DocumentoPaciente;
+import javafx.concurrent.Task;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Almacen de documentos de pacientes direccionado por contenido.
+ *
+ * <p>Cada archivo se guarda una sola vez en {@code ~/ceragen_docs/objetos/ab/<sha256>.<ext>},
+ * sin importar cuantos pacientes o documentos lo referencien. Al subir se
+ * calcula primero el SHA-256 del origen; si el objeto ya existe no se copia
+ * nada. Si no, se copia por bloques con {@link FileChannel#transferTo} a un
+ * temporal de la misma carpeta, se fuerza a disco y se renombra al nombre
+ * final. Un objeto con su nombre final esta siempre completo.</p>
+ *
+ * <p>La fila de {@code documentos_paciente} se inserta solo despues de que los
+ * bytes son durables: si la base falla queda un objeto sin referencia (se
+ * reutiliza en la siguiente subida), nunca una fila apuntando a un archivo a
+ * medias.</p>
+ */
+public final class AlmacenDocumentos {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AlmacenDocumentos.class);
+    static final int BLOQUE = 8 * 1024 * 1024;
+    private static final int BUFFER_HASH = 1024 * 1024;
+    private static AlmacenDocumentos instance;
+
+    /**
+     * Avance de una copia en bytes. Lanza {@link InterruptedIOException} para cancelarla.
+     */
+    @FunctionalInterface
+    interface Avance {
+        void avanzar(long hechos, long total) throws InterruptedIOException;
+    }
+
+    /**
+     * Resultado de guardar un archivo.
+     *
+     * @param reutilizado true si el contenido ya estaba en el almacen y no se copio
+     */
+    record Objeto(Path ruta, String sha256, long tamanio, boolean reutilizado) {
+    }
+
+    private final Path objetos;
+    private final ExecutorService ejecutor;
+
+    AlmacenDocumentos(final Path raiz) {
+        this.objetos = raiz.resolve("objetos").toAbsolutePath();
+        final AtomicInteger contador = new AtomicInteger();
+        ejecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                r -> {
+                    final Thread t = new Thread(r, "documentos-" + contador.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    public static synchronized AlmacenDocumentos getInstance() {
+        if (instance == null) {
+            instance = new AlmacenDocumentos(Paths.get(System.getProperty("user.home"), "ceragen_docs"));
+        }
+        return instance;
+    }
+
+    /**
+     * Inicia en segundo plano la subida de un documento: guarda los bytes en el
+     * almacen y registra la fila del paciente. El progreso cuenta la lectura
+     * para el hash y la copia. Las subidas se ejecutan de a una.
+     */
+    public Task<DocumentoPaciente> subir(final int pacienteId, final String tipoDocumento, final Path origen) {
+        final Task<DocumentoPaciente> task = new Subida(pacienteId, tipoDocumento, origen);
+        ejecutor.execute(task);
+        return task;
+    }
+
+    /**
+     * Guarda el contenido de {@code origen} en el almacen, o reutiliza el objeto
+     * existente con el mismo SHA-256.
+     */
+    Objeto guardar(final Path origen, final Avance avance) throws IOException {
+        final long tamanio = Files.size(origen);
+        final FileTime modificado = Files.getLastModifiedTime(origen);
+        final long total = tamanio * 2;
+
+        final String sha256 = calcularSha256(origen, tamanio, avance);
+        final Path destino = rutaObjeto(sha256, origen.getFileName().toString());
+        if (Files.exists(destino)) {
+            avance.avanzar(total, total);
+            LOGGER.info("Documento {} ya almacenado en {}; no se copia", origen.getFileName(), destino);
+            return new Objeto(destino, sha256, tamanio, true);
+        }
+
+        Files.createDirectories(destino.getParent());
+        final Path temporal = Files.createTempFile(destino.getParent(), "." + sha256, ".tmp");
+        boolean completo = false;
+        try {
+            copiar(origen, temporal, tamanio, avance);
+            // El hash es del contenido leido antes; si el origen cambio, no corresponde
+            if (Files.size(origen) != tamanio || !Files.getLastModifiedTime(origen).equals(modificado)) {
+                throw new IOException("El archivo cambio mientras se copiaba: " + origen);
+            }
+            mover(temporal, destino);
+            completo = true;
+        } finally {
+            if (!completo) {
+                Files.deleteIfExists(temporal);
+            }
+        }
+        sincronizarCarpeta(destino.getParent());
+        return new Objeto(destino, sha256, tamanio, false);
+    }
+
+    /**
+     * {@code objetos/ab/abcdef...01.pdf}: la extension se conserva para que el
+     * sistema sepa con que abrir el archivo.
+     */
+    Path rutaObjeto(final String sha256, final String nombreOriginal) {
+        final int punto = nombreOriginal.lastIndexOf('.');
+        final String extension = punto > 0 && punto < nombreOriginal.length() - 1
+                ? nombreOriginal.substring(punto).toLowerCase(Locale.ROOT)
+                : "";
+        return objetos.resolve(sha256.substring(0, 2)).resolve(sha256 + extension);
+    }
+
+    static String calcularSha256(final Path origen, final long tamanio, final Avance avance) throws IOException {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_HASH);
+        long leidos = 0;
+        try (FileChannel canal = FileChannel.open(origen, StandardOpenOption.READ)) {
+            while (canal.read(buffer) != -1) {
+                buffer.flip();
+                leidos += buffer.remaining();
+                digest.update(buffer);
+                buffer.clear();
+                avance.avanzar(Math.min(leidos, tamanio), tamanio * 2);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Copia por bloques de {@value #BLOQUE} bytes con transferTo (sin pasar los
+     * bytes por el heap) y fuerza el destino a disco.
+     */
+    private static void copiar(final Path origen, final Path destino, final long tamanio, final Avance avance)
+            throws IOException {
+        try (FileChannel entrada = FileChannel.open(origen, StandardOpenOption.READ);
+             FileChannel salida = FileChannel.open(destino, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            long posicion = 0;
+            while (posicion < tamanio) {
+                final long copiados = entrada.transferTo(posicion, Math.min(BLOQUE, tamanio - posicion), salida);
+                if (copiados <= 0) {
+                    throw new IOException("El archivo se acorto mientras se copiaba: " + origen);
+                }
+                posicion += copiados;
+                avance.avanzar(tamanio + posicion, tamanio * 2);
+            }
+            salida.force(true);
+        }
+    }
+
+    private static void mover(final Path origen, final Path destino) throws IOException {
+        try {
+            Files.move(origen, destino, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(origen, destino, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Fuerza a disco la entrada del directorio para que el renombrado sobreviva
+     * a un corte de energia. No todos los sistemas permiten abrir un directorio
+     * (Windows no), en ese caso se omite.
+     */
+    private static void sincronizarCarpeta(final Path carpeta) {
+        try (FileChannel canal = FileChannel.open(carpeta, StandardOpenOption.READ)) {
+            canal.force(true);
+        } catch (IOException e) {
+            LOGGER.debug("No se pudo sincronizar la carpeta {}: {}", carpeta, e.getMessage());
+        }
+    }
+
+    private final class Subida extends Task<DocumentoPaciente> {
+        private final int pacienteId;
+        private final String tipoDocumento;
+        private final Path origen;
+
+        Subida(final int pacienteId, final String tipoDocumento, final Path origen) {
+            this.pacienteId = pacienteId;
+            this.tipoDocumento = tipoDocumento;
+            this.origen = origen;
+        }
+
+        @Override
+        protected DocumentoPaciente call() throws Exception {
+            final long inicio = System.nanoTime();
+            updateMessage("Leyendo " + origen.getFileName() + "...");
+            final Objeto objeto = guardar(origen, (hechos, total) -> {
+                if (isCancelled()) {
+                    throw new InterruptedIOException("Subida cancelada");
+                }
+                updateProgress(hechos, Math.max(total, 1));
+            });
+
+            updateMessage("Registrando documento...");
+            final DocumentoPaciente doc = new DocumentoPaciente();
+            doc.setPacienteId(pacienteId);
+            doc.setNombreArchivo(origen.getFileName().toString());
+            doc.setTipoDocumento(tipoDocumento);
+            doc.setRutaArchivo(objeto.ruta().toString());
+            doc.setHashSha256(objeto.sha256());
+            doc.setTamanioBytes(objeto.tamanio());
+            if (!DocumentoPacienteService.getInstance().crearDocumento(doc)) {
+                throw new IOException("No se pudo registrar el documento en la base de datos");
+            }
+
+            LOGGER.info("Documento {} ({} bytes, {}) subido para paciente {} en {} ms", doc.getNombreArchivo(),
+                    objeto.tamanio(), objeto.reutilizado() ? "reutilizado" : "copiado", pacienteId,
+                    (System.nanoTime() - inicio) / 1_000_000);
+            return doc;
+        }
+    }
+}
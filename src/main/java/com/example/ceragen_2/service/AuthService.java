@@ -9,16 +9,41 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public final class AuthService {
     private static final Logger LOGGER = LoggerFactory.getLogger(AuthService.class);
+    private static final int BCRYPT_QUEUE_CAPACITY = 32;
     private static AuthService instance;
-    private String currentUsername;
-    private String currentUserRole;
-    private Integer currentUserId;
-    private Integer currentProfesionalId;
-
-    private AuthService() {}
+    private volatile String currentUsername;
+    private volatile String currentUserRole;
+    private volatile Integer currentUserId;
+    private volatile Integer currentProfesionalId;
+
+    /**
+     * Pool acotado solo para BCrypt: cada verificacion ocupa un nucleo unos
+     * cientos de milisegundos y no debe competir con las cargas de pantallas.
+     */
+    private final ExecutorService bcryptPool;
+
+    private AuthService() {
+        final int hilos = Math.max(1, Math.min(2, Runtime.getRuntime().availableProcessors() / 2));
+        final AtomicInteger contador = new AtomicInteger();
+        bcryptPool = new ThreadPoolExecutor(
+                hilos, hilos,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(BCRYPT_QUEUE_CAPACITY),
+                r -> {
+                    final Thread t = new Thread(r, "bcrypt-" + contador.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
 
     public static synchronized AuthService getInstance() {
         if (instance == null) {
@@ -27,45 +52,27 @@ public final class AuthService {
         return instance;
     }
 
+    /**
+     * Autentica de forma sincronica. Desde la interfaz usar {@link #loginAsync}.
+     */
     public boolean login(String username, String password) {
-        String query = "SELECT id, username, password, rol, activo FROM usuarios WHERE username = ? AND activo = TRUE";
-
-        try (Connection conn = DatabaseConfig.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query)) {
-
-            stmt.setString(1, username);
-
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    String hashedPassword = rs.getString("password");
-
-                    if (PasswordUtil.verifyPassword(password, hashedPassword)) {
-                        currentUserId = rs.getInt("id");
-                        currentUsername = rs.getString("username");
-                        currentUserRole = rs.getString("rol");
-
-                        // Si es MEDICO, obtener su profesional_id
-                        if ("MEDICO".equals(currentUserRole)) {
-                            currentProfesionalId = obtenerProfesionalIdPorUsuario(currentUserId);
-                        } else {
-                            currentProfesionalId = null;
-                        }
-
-                        LOGGER.info("Usuario autenticado: {} - Rol: {} - ProfesionalId: {}",
-                                    currentUsername, currentUserRole, currentProfesionalId);
-                        return true;
-                    } else {
-                        LOGGER.warn("Contraseña incorrecta para usuario: {}", username);
-                    }
-                } else {
-                    LOGGER.warn("Usuario no encontrado o inactivo: {}", username);
-                }
-            }
-        } catch (SQLException e) {
-            LOGGER.error("Error al autenticar usuario: {}", username, e);
-        }
+        final Credenciales credenciales = buscarCredenciales(username);
+        return credenciales != null && verificarEIniciarSesion(credenciales, password);
+    }
 
-        return false;
+    /**
+     * Autentica sin bloquear el hilo que llama: la consulta corre en el
+     * ejecutor en segundo plano y BCrypt en su propio pool. El futuro se
+     * completa con false si las credenciales no son validas o hubo un error.
+     */
+    public CompletableFuture<Boolean> loginAsync(String username, String password) {
+        return CompletableFuture
+                .supplyAsync(() -> buscarCredenciales(username), BackgroundExecutor.getInstance()::execute)
+                .thenApplyAsync(c -> c != null && verificarEIniciarSesion(c, password), bcryptPool)
+                .exceptionally(e -> {
+                    LOGGER.error("Error al autenticar usuario: {}", username, e);
+                    return false;
+                });
     }
 
     public void logout() {
@@ -96,27 +103,107 @@ public final class AuthService {
         return currentProfesionalId;
     }
 
-    private Integer obtenerProfesionalIdPorUsuario(Integer usuarioId) {
-        String query = "SELECT id FROM profesionales WHERE usuario_id = ? AND activo = TRUE";
+    /**
+     * Usuario activo y, si existe, su profesional activo, en una sola consulta.
+     */
+    private Credenciales buscarCredenciales(String username) {
+        String query = "SELECT u.id, u.username, u.password, u.rol, p.id AS profesional_id " +
+                       "FROM usuarios u " +
+                       "LEFT JOIN profesionales p ON p.usuario_id = u.id AND p.activo = TRUE " +
+                       "WHERE u.username = ? AND u.activo = TRUE " +
+                       "LIMIT 1";
 
         try (Connection conn = DatabaseConfig.getInstance().getConnection();
              PreparedStatement stmt = conn.prepareStatement(query)) {
 
-            stmt.setInt(1, usuarioId);
+            stmt.setString(1, username);
 
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    Integer profesionalId = rs.getInt("id");
-                    LOGGER.info("Profesional ID {} encontrado para usuario ID {}", profesionalId, usuarioId);
-                    return profesionalId;
-                } else {
-                    LOGGER.warn("No se encontró profesional para usuario ID {}", usuarioId);
+                    final int profesionalId = rs.getInt("profesional_id");
+                    final boolean sinProfesional = rs.wasNull();
+                    return new Credenciales(
+                            rs.getInt("id"),
+                            rs.getString("username"),
+                            rs.getString("password"),
+                            rs.getString("rol"),
+                            sinProfesional ? null : profesionalId);
                 }
+                LOGGER.warn("Usuario no encontrado o inactivo: {}", username);
             }
         } catch (SQLException e) {
-            LOGGER.error("Error al obtener profesional_id para usuario: {}", usuarioId, e);
+            LOGGER.error("Error al autenticar usuario: {}", username, e);
         }
-
         return null;
     }
+
+    private boolean verificarEIniciarSesion(Credenciales credenciales, String password) {
+        final long inicio = System.nanoTime();
+        final boolean valida = PasswordUtil.verifyPassword(password, credenciales.hash());
+        LOGGER.debug("Verificacion BCrypt en {} ms (costo {})",
+                (System.nanoTime() - inicio) / 1_000_000, PasswordUtil.getRounds(credenciales.hash()));
+
+        if (!valida) {
+            LOGGER.warn("Contraseña incorrecta para usuario: {}", credenciales.username());
+            return false;
+        }
+
+        currentUserId = credenciales.id();
+        currentUsername = credenciales.username();
+        currentUserRole = credenciales.rol();
+
+        // Si es MEDICO, usar su profesional_id
+        if ("MEDICO".equals(currentUserRole)) {
+            currentProfesionalId = credenciales.profesionalId();
+            if (currentProfesionalId == null) {
+                LOGGER.warn("No se encontró profesional para usuario ID {}", currentUserId);
+            }
+        } else {
+            currentProfesionalId = null;
+        }
+
+        LOGGER.info("Usuario autenticado: {} - Rol: {} - ProfesionalId: {}",
+                    currentUsername, currentUserRole, currentProfesionalId);
+
+        if (PasswordUtil.needsRehash(credenciales.hash())) {
+            programarRehash(credenciales, password);
+        }
+        return true;
+    }
+
+    /**
+     * Regenera el hash con el costo configurado sin demorar el login.
+     */
+    private void programarRehash(Credenciales credenciales, String password) {
+        CompletableFuture
+                .supplyAsync(() -> PasswordUtil.hashPassword(password), bcryptPool)
+                .thenAcceptAsync(nuevoHash -> actualizarHash(credenciales, nuevoHash),
+                        BackgroundExecutor.getInstance()::execute)
+                .exceptionally(e -> {
+                    LOGGER.warn("No se pudo regenerar el hash del usuario ID {}", credenciales.id(), e);
+                    return null;
+                });
+    }
+
+    private void actualizarHash(Credenciales credenciales, String nuevoHash) {
+        // Solo si la contraseña no cambio mientras tanto
+        String query = "UPDATE usuarios SET password = ? WHERE id = ? AND password = ?";
+
+        try (Connection conn = DatabaseConfig.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+
+            stmt.setString(1, nuevoHash);
+            stmt.setInt(2, credenciales.id());
+            stmt.setString(3, credenciales.hash());
+            if (stmt.executeUpdate() > 0) {
+                LOGGER.info("Hash del usuario ID {} actualizado de costo {} a {}",
+                        credenciales.id(), PasswordUtil.getRounds(credenciales.hash()), PasswordUtil.getRounds());
+            }
+        } catch (SQLException e) {
+            LOGGER.error("Error al actualizar hash del usuario ID {}", credenciales.id(), e);
+        }
+    }
+
+    private record Credenciales(int id, String username, String hash, String rol, Integer profesionalId) {
+    }
 }
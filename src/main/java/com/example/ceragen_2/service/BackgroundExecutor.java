@@ -0,0 +1,246 @@
+package com.example.ceragen_2.service;
+
+import com.example.ceragen_2.util.EventosJfr;
+import javafx.application.Platform;
+import javafx.concurrent.Task;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Ejecutor compartido para el trabajo en segundo plano de los controladores.
+ *
+ * <p>Reemplaza el {@code new Thread(task).start()} por un pool fijo con cola
+ * acotada. Las cargas y busquedas se envian por un canal con
+ * {@link #submitLatest(String, Task)}: una solicitud nueva en el mismo canal
+ * cancela la anterior que aun no termino.</p>
+ *
+ * <p>Si la cola se llena primero se descartan las cargas ya reemplazadas por
+ * una mas nueva de su canal. Si aun asi no hay lugar, la tarea se ejecuta en
+ * el hilo que la envio, salvo que sea el hilo de JavaFX: ahi pasa a un hilo
+ * de desborde para no congelar la interfaz. Ninguna tarea se pierde.</p>
+ */
+public final class BackgroundExecutor {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BackgroundExecutor.class);
+    private static final int QUEUE_CAPACITY = 100;
+    private static BackgroundExecutor instance;
+
+    private final ThreadPoolExecutor executor;
+    /** Tareas enviadas desde el hilo FX que encontraron la cola llena. */
+    private final ExecutorService desborde;
+    private final BooleanSupplier enHiloFx;
+    private final Map<String, Future<?>> ultimaPorCanal = new ConcurrentHashMap<>();
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder cancelled = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder queueNanos = new LongAdder();
+    private final LongAdder runNanos = new LongAdder();
+    private final AtomicLong maxQueueNanos = new AtomicLong();
+    private final AtomicLong maxRunNanos = new AtomicLong();
+
+    private BackgroundExecutor() {
+        this(Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors())), QUEUE_CAPACITY,
+                Platform::isFxApplicationThread);
+    }
+
+    /**
+     * @param enHiloFx indica si el hilo actual es el de la interfaz
+     */
+    BackgroundExecutor(final int workers, final int capacidad, final BooleanSupplier enHiloFx) {
+        this.enHiloFx = enHiloFx;
+        executor = new ThreadPoolExecutor(
+                workers, workers,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacidad),
+                new WorkerThreadFactory("ui-worker-"),
+                this::rechazar);
+        desborde = Executors.newSingleThreadExecutor(new WorkerThreadFactory("ui-worker-desborde-"));
+        LOGGER.info("Ejecutor en segundo plano iniciado con {} hilos y cola de {}", workers, capacidad);
+    }
+
+    public static synchronized BackgroundExecutor getInstance() {
+        if (instance == null) {
+            instance = new BackgroundExecutor();
+        }
+        return instance;
+    }
+
+    /**
+     * Ejecuta una tarea en el pool compartido.
+     */
+    public <T> Task<T> submit(final Task<T> task) {
+        encolar(task, null);
+        return task;
+    }
+
+    /**
+     * Ejecuta una tarea cancelando la anterior del mismo canal si sigue pendiente.
+     * Pensado para cargas y busquedas donde solo importa el ultimo resultado.
+     */
+    public <T> Task<T> submitLatest(final String canal, final Task<T> task) {
+        return encolarUltima(canal, task);
+    }
+
+    <F extends RunnableFuture<?>> F encolarUltima(final String canal, final F trabajo) {
+        final Future<?> anterior = ultimaPorCanal.put(canal, trabajo);
+        if (anterior != null && !anterior.isDone() && anterior.cancel(true)) {
+            cancelled.increment();
+            LOGGER.debug("Solicitud anterior cancelada en canal {}", canal);
+        }
+        encolar(trabajo, canal);
+        return trabajo;
+    }
+
+    /**
+     * Cancela la tarea pendiente del canal, si la hay, cuando el resultado ya
+     * se obtuvo por otra via.
+     */
+    public void cancelar(final String canal) {
+        final Future<?> anterior = ultimaPorCanal.remove(canal);
+        if (anterior != null && !anterior.isDone() && anterior.cancel(true)) {
+            cancelled.increment();
+            LOGGER.debug("Solicitud cancelada en canal {}", canal);
+        }
+    }
+
+    /**
+     * Ejecuta un {@link Runnable} sin resultado en el pool compartido.
+     */
+    public void execute(final Runnable runnable) {
+        encolar(runnable, null);
+    }
+
+    private void encolar(final Runnable trabajo, final String canal) {
+        submitted.increment();
+        executor.execute(new Medido(trabajo, canal));
+    }
+
+    private void rechazar(final Runnable r, final ThreadPoolExecutor pool) {
+        if (pool.isShutdown()) {
+            throw new RejectedExecutionException("El ejecutor en segundo plano esta detenido");
+        }
+        // Las cargas reemplazadas ya estan canceladas pero siguen ocupando la cola
+        if (pool.getQueue().removeIf(BackgroundExecutor::reemplazada) && pool.getQueue().offer(r)) {
+            LOGGER.debug("Cola llena: se descartaron cargas reemplazadas");
+            return;
+        }
+        rejected.increment();
+        if (enHiloFx.getAsBoolean()) {
+            LOGGER.warn("Cola llena ({} pendientes): la tarea pasa al hilo de desborde", pool.getQueue().size());
+            desborde.execute(r);
+            return;
+        }
+        LOGGER.warn("Cola llena ({} pendientes): la tarea se ejecuta en el hilo que la envio",
+                pool.getQueue().size());
+        r.run();
+    }
+
+    private static boolean reemplazada(final Runnable r) {
+        return r instanceof Medido medido && medido.canal != null
+                && medido.trabajo instanceof Future<?> future && future.isCancelled();
+    }
+
+    /**
+     * Devuelve las metricas actuales de la cola y de las tareas.
+     */
+    public BackgroundExecutorStats getStats() {
+        final long terminadas = completed.sum();
+        return new BackgroundExecutorStats(
+                executor.getQueue().size(),
+                executor.getActiveCount(),
+                submitted.sum(),
+                terminadas,
+                cancelled.sum(),
+                rejected.sum(),
+                terminadas == 0 ? 0 : queueNanos.sum() / 1_000_000.0 / terminadas,
+                maxQueueNanos.get() / 1_000_000.0,
+                terminadas == 0 ? 0 : runNanos.sum() / 1_000_000.0 / terminadas,
+                maxRunNanos.get() / 1_000_000.0);
+    }
+
+    /**
+     * Detiene el pool; las tareas en curso se interrumpen.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+        desborde.shutdownNow();
+        LOGGER.info("Ejecutor en segundo plano detenido: {}", getStats());
+    }
+
+    /**
+     * Envuelve el trabajo para medir la espera en cola y la duracion.
+     */
+    private final class Medido implements Runnable {
+        private final Runnable trabajo;
+        private final String canal;
+        private final long encoladoNanos = System.nanoTime();
+
+        Medido(final Runnable trabajo, final String canal) {
+            this.trabajo = trabajo;
+            this.canal = canal;
+        }
+
+        @Override
+        public void run() {
+            final EventosJfr.TareaSegundoPlano evento = new EventosJfr.TareaSegundoPlano();
+            evento.begin();
+            final long inicio = System.nanoTime();
+            final long espera = inicio - encoladoNanos;
+            queueNanos.add(espera);
+            maxQueueNanos.accumulateAndGet(espera, Math::max);
+            try {
+                trabajo.run();
+            } catch (RuntimeException e) {
+                LOGGER.error("Error no controlado en tarea en segundo plano", e);
+            } finally {
+                final long duracion = System.nanoTime() - inicio;
+                runNanos.add(duracion);
+                maxRunNanos.accumulateAndGet(duracion, Math::max);
+                completed.increment();
+                if (canal != null) {
+                    ultimaPorCanal.remove(canal, trabajo);
+                }
+                evento.end();
+                if (evento.shouldCommit()) {
+                    evento.canal = canal;
+                    evento.tipo = trabajo.getClass().getName();
+                    evento.espera = espera;
+                    evento.commit();
+                }
+            }
+        }
+    }
+
+    private static final class WorkerThreadFactory implements ThreadFactory {
+        private final String prefijo;
+        private final AtomicInteger contador = new AtomicInteger();
+
+        WorkerThreadFactory(final String prefijo) {
+            this.prefijo = prefijo;
+        }
+
+        @Override
+        public Thread newThread(final Runnable r) {
+            final Thread t = new Thread(r, prefijo + contador.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.ceragen_2.service;
+
+/**
+ * Foto instantanea de las metricas del ejecutor en segundo plano.
+ *
+ * @param queueDepth        Tareas esperando un hilo libre
+ * @param active            Tareas ejecutandose en este momento
+ * @param submitted         Tareas enviadas desde el arranque
+ * @param completed         Tareas que terminaron (con o sin error)
+ * @param cancelled         Tareas canceladas por una solicitud mas reciente del mismo canal
+ * @param rejected          Tareas que encontraron la cola llena y se ejecutaron fuera de ella (en el
+ *                          hilo que las envio o, desde el hilo FX, en el de desborde)
+ * @param averageQueueMillis Espera promedio en cola
+ * @param maxQueueMillis    Mayor espera en cola
+ * @param averageRunMillis  Duracion promedio de ejecucion
+ * @param maxRunMillis      Mayor duracion de ejecucion
+ */
+public record BackgroundExecutorStats(
+        int queueDepth,
+        int active,
+        long submitted,
+        long completed,
+        long cancelled,
+        long rejected,
+        double averageQueueMillis,
+        double maxQueueMillis,
+        double averageRunMillis,
+        double maxRunMillis) {
+}
@@ -0,0 +1,52 @@
+package com.example.ceragen_2.service;
+
+import java.sql.SQLException;
+
+/**
+ * Reparte en memoria los numeros de un bloque reservado en la tabla
+ * {@code secuencias}. Cuando el bloque se agota reserva el siguiente con
+ * {@link Reservador}; mientras tanto cada numero cuesta solo un candado local.
+ *
+ * <p>Los numeros que quedan sin usar al cerrar la aplicacion (o los de una
+ * transaccion que hace rollback) se pierden: la numeracion no tiene
+ * duplicados pero puede tener huecos.</p>
+ */
+final class BloqueSecuencia {
+
+    /**
+     * Reserva {@code tamanio} numeros consecutivos y devuelve el primero.
+     */
+    @FunctionalInterface
+    interface Reservador {
+        long reservar(int tamanio) throws SQLException;
+    }
+
+    private final int tamanio;
+    private final Reservador reservador;
+
+    private long siguiente;
+    private long limite;
+    private long reservas;
+
+    BloqueSecuencia(final int tamanio, final Reservador reservador) {
+        if (tamanio < 1) {
+            throw new IllegalArgumentException("tamanio debe ser mayor a 0");
+        }
+        this.tamanio = tamanio;
+        this.reservador = reservador;
+    }
+
+    synchronized long siguiente() throws SQLException {
+        if (siguiente >= limite) {
+            final long inicio = reservador.reservar(tamanio);
+            siguiente = inicio;
+            limite = inicio + tamanio;
+            reservas++;
+        }
+        return siguiente++;
+    }
+
+    synchronized long getReservas() {
+        return reservas;
+    }
+}
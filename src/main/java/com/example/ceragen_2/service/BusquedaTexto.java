@@ -0,0 +1,169 @@
+package com.example.ceragen_2.service;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Condicion de busqueda por cedula y nombre para pacientes y clientes, sin
+ * LIKE con comodin inicial (que obliga a recorrer toda la tabla).
+ *
+ * <p>El texto se normaliza (sin tildes, minusculas) y se separa en palabras:</p>
+ * <ul>
+ *   <li>Palabras numericas: prefijo de cedula, {@code cedula LIKE 'x%'} (indice idx_cedula).</li>
+ *   <li>Palabras de 3 o mas letras: indice FULLTEXT {@code ft_nombres (nombres, apellidos)}
+ *   en modo booleano, cada palabra obligatoria y como prefijo ({@code +juan* +pere*}).
+ *   La intercalacion utf8mb4_unicode_ci hace la comparacion sin tildes.</li>
+ *   <li>Palabras de 1 o 2 letras (por debajo de innodb_ft_min_token_size):
+ *   prefijo de nombres o apellidos.</li>
+ * </ul>
+ *
+ * <p>Las columnas son {@code cedula}, {@code nombres} y {@code apellidos} sin alias.</p>
+ */
+final class BusquedaTexto {
+    static final int MIN_LETRAS_FULLTEXT = 3;
+    static final String MATCH_NOMBRES = "MATCH(nombres, apellidos) AGAINST (? IN BOOLEAN MODE)";
+
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    private static final Pattern NO_PALABRA = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern NUMERO = Pattern.compile("\\p{N}+");
+
+    private final List<String> cedulas = new ArrayList<>();
+    private final List<String> palabras = new ArrayList<>();
+    private final List<String> cortas = new ArrayList<>();
+
+    private BusquedaTexto(final String texto) {
+        final List<String> numeros = new ArrayList<>();
+        final List<String> letras = new ArrayList<>();
+        for (final String token : palabras(texto)) {
+            if (NUMERO.matcher(token).matches()) {
+                numeros.add(token);
+            } else if (token.length() >= MIN_LETRAS_FULLTEXT) {
+                palabras.add(token);
+            } else {
+                letras.add(token);
+            }
+        }
+        // Una condicion por palabra: se redondea la cantidad para acotar las formas de SQL
+        cedulas.addAll(PlantillaSql.rellenar(numeros));
+        cortas.addAll(PlantillaSql.rellenar(letras));
+    }
+
+    /**
+     * Devuelve la busqueda para {@code texto}, o null si no hay nada que buscar.
+     */
+    static BusquedaTexto de(final String texto) {
+        if (texto == null || texto.isBlank()) {
+            return null;
+        }
+        final BusquedaTexto busqueda = new BusquedaTexto(texto);
+        return busqueda.cedulas.isEmpty() && busqueda.palabras.isEmpty() && busqueda.cortas.isEmpty()
+                ? null
+                : busqueda;
+    }
+
+    /**
+     * Quita tildes y pasa a minusculas: "José Núñez" -> "jose nunez".
+     */
+    static String normalizar(final String texto) {
+        return MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Palabras normalizadas de {@code texto}, sin simbolos ni vacias.
+     */
+    static List<String> palabras(final String texto) {
+        final List<String> palabras = new ArrayList<>();
+        if (texto == null) {
+            return palabras;
+        }
+        for (final String token : NO_PALABRA.split(normalizar(texto))) {
+            if (!token.isEmpty()) {
+                palabras.add(token);
+            }
+        }
+        return palabras;
+    }
+
+    /**
+     * Expresion para MATCH ... AGAINST en modo booleano.
+     */
+    String expresionBooleana() {
+        final StringBuilder expr = new StringBuilder();
+        for (final String palabra : palabras) {
+            if (expr.length() > 0) {
+                expr.append(' ');
+            }
+            expr.append('+').append(palabra).append('*');
+        }
+        return expr.toString();
+    }
+
+    boolean usaFullText() {
+        return !palabras.isEmpty();
+    }
+
+    /**
+     * Agrega {@code AND (...)} con una condicion por palabra.
+     */
+    void appendCondicion(final StringBuilder sql) {
+        final List<String> condiciones = new ArrayList<>();
+        for (int i = 0; i < cedulas.size(); i++) {
+            condiciones.add("cedula LIKE ?");
+        }
+        if (usaFullText()) {
+            condiciones.add(MATCH_NOMBRES);
+        }
+        for (int i = 0; i < cortas.size(); i++) {
+            condiciones.add("(nombres LIKE ? OR apellidos LIKE ?)");
+        }
+        sql.append(" AND (").append(String.join(" AND ", condiciones)).append(')');
+    }
+
+    /**
+     * Asigna los parametros de {@link #appendCondicion} y devuelve el siguiente indice.
+     */
+    int bind(final PreparedStatement stmt, final int paramIndex) throws SQLException {
+        int idx = paramIndex;
+        for (final String cedula : cedulas) {
+            stmt.setString(idx++, cedula + "%");
+        }
+        if (usaFullText()) {
+            stmt.setString(idx++, expresionBooleana());
+        }
+        for (final String corta : cortas) {
+            stmt.setString(idx++, corta + "%");
+            stmt.setString(idx++, corta + "%");
+        }
+        return idx;
+    }
+
+    /**
+     * Agrega el orden por relevancia (mejor coincidencia primero) seguido de
+     * {@code desempate}. Sin palabras para FULLTEXT solo se usa el desempate.
+     */
+    void appendOrdenRelevancia(final StringBuilder sql, final String desempate) {
+        sql.append(" ORDER BY ");
+        if (usaFullText()) {
+            sql.append(MATCH_NOMBRES).append(" DESC, ");
+        }
+        sql.append(desempate);
+    }
+
+    /**
+     * Asigna el parametro de {@link #appendOrdenRelevancia}, si lo hay.
+     */
+    int bindOrdenRelevancia(final PreparedStatement stmt, final int paramIndex) throws SQLException {
+        if (!usaFullText()) {
+            return paramIndex;
+        }
+        stmt.setString(paramIndex, expresionBooleana());
+        return paramIndex + 1;
+    }
+}
@@ -0,0 +1,428 @@
+package com.example.ceragen_2.service;
+
+import com.example.ceragen_2.config.DatabaseConfig;
+import com.example.ceragen_2.model.DocumentoPaciente;
+import javafx.scene.image.Image;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Miniaturas y vistas previas de los documentos de pacientes.
+ *
+ * <p>Dos niveles, ambos LRU y acotados:</p>
+ * <ul>
+ *   <li>Disco: PNG reducidos en {@code ~/ceragen_docs/miniaturas}, con un tope
+ *   de bytes ({@code MINIATURAS_CACHE_MB}, 64 por defecto). La fecha de
+ *   modificacion de cada PNG marca su ultimo uso, asi el orden LRU sobrevive
+ *   a reinicios.</li>
+ *   <li>Memoria: {@link Image} ya decodificadas, con un tope de bytes de pixeles
+ *   ({@code MINIATURAS_MEMORIA_MB}, 32 por defecto).</li>
+ * </ul>
+ *
+ * <p>La clave es el SHA-256 del documento (ver {@link AlmacenDocumentos}); para
+ * documentos anteriores al almacen, la ruta con su tamanio y fecha. Las
+ * miniaturas se generan en segundo plano: la imagen original se decodifica
+ * con submuestreo, sin cargarla completa en memoria. Solo hay miniatura para
+ * formatos que lee {@link ImageIO}; para el resto (PDF, DICOM, ...) no hay
+ * renderizador en el proyecto y la vista muestra un icono.</p>
+ */
+public final class CacheMiniaturas {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CacheMiniaturas.class);
+    private static final long MB = 1024L * 1024L;
+    private static final int HILOS = 2;
+    private static final Set<String> SUFIJOS_IMAGEN = Set.of(ImageIO.getReaderFileSuffixes());
+    private static CacheMiniaturas instance;
+
+    public enum Tamanio {
+        MINIATURA(96),
+        VISTA_PREVIA(720);
+
+        private final int lado;
+
+        Tamanio(final int lado) {
+            this.lado = lado;
+        }
+
+        /** Lado mayor en pixeles. */
+        public int getLado() {
+            return lado;
+        }
+    }
+
+    private final Path carpeta;
+    private final long maxBytesDisco;
+    private final long maxBytesMemoria;
+    private final ExecutorService ejecutor;
+    private final Map<String, CompletableFuture<Image>> enCurso = new ConcurrentHashMap<>();
+    /** Identidad calculada de los documentos sin hash, por ruta. */
+    private final Map<String, String> identidadPorRuta = new ConcurrentHashMap<>();
+
+    /** Tamanio de cada PNG en disco, en orden de uso (el primero es el mas viejo). */
+    private final LinkedHashMap<String, Long> disco = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytesDisco;
+    private boolean discoCargado;
+
+    private final LinkedHashMap<String, Image> memoria = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytesMemoria;
+
+    CacheMiniaturas(final Path carpeta, final long maxBytesDisco, final long maxBytesMemoria) {
+        this.carpeta = carpeta.toAbsolutePath();
+        this.maxBytesDisco = maxBytesDisco;
+        this.maxBytesMemoria = maxBytesMemoria;
+        final AtomicInteger contador = new AtomicInteger();
+        ejecutor = new ThreadPoolExecutor(HILOS, HILOS, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                r -> {
+                    final Thread t = new Thread(r, "miniaturas-" + contador.incrementAndGet());
+                    t.setDaemon(true);
+                    t.setPriority(Thread.MIN_PRIORITY);
+                    return t;
+                });
+    }
+
+    public static synchronized CacheMiniaturas getInstance() {
+        if (instance == null) {
+            final DatabaseConfig config = DatabaseConfig.getInstance();
+            instance = new CacheMiniaturas(Paths.get(System.getProperty("user.home"), "ceragen_docs", "miniaturas"),
+                    leerMegas(config.getEnv("MINIATURAS_CACHE_MB"), 64) * MB,
+                    leerMegas(config.getEnv("MINIATURAS_MEMORIA_MB"), 32) * MB);
+        }
+        return instance;
+    }
+
+    private static long leerMegas(final String valor, final long porDefecto) {
+        if (valor == null || valor.isBlank()) {
+            return porDefecto;
+        }
+        return Math.max(1, Long.parseLong(valor.trim()));
+    }
+
+    /**
+     * Indica si hay un lector de {@link ImageIO} para la extension del documento.
+     */
+    public static boolean tieneMiniatura(final DocumentoPaciente doc) {
+        final String ruta = doc.getRutaArchivo();
+        if (ruta == null) {
+            return false;
+        }
+        final int punto = ruta.lastIndexOf('.');
+        return punto >= 0 && SUFIJOS_IMAGEN.contains(ruta.substring(punto + 1).toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Imagen ya decodificada, o null si no esta en memoria. No bloquea: se
+     * puede llamar desde el hilo de JavaFX al pintar cada celda.
+     */
+    public Image enMemoria(final DocumentoPaciente doc, final Tamanio tamanio) {
+        if (!tieneMiniatura(doc)) {
+            return null;
+        }
+        final String clave = clave(doc, tamanio, false);
+        if (clave == null) {
+            return null;
+        }
+        synchronized (memoria) {
+            return memoria.get(clave);
+        }
+    }
+
+    /**
+     * Obtiene la imagen en segundo plano: desde memoria, desde el PNG en disco o
+     * generandola. El futuro termina con null si el documento no tiene
+     * miniatura o no se pudo leer. Pedidos simultaneos del mismo documento
+     * comparten el trabajo.
+     */
+    public CompletableFuture<Image> cargar(final DocumentoPaciente doc, final Tamanio tamanio) {
+        if (!tieneMiniatura(doc)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        final Image cacheada = enMemoria(doc, tamanio);
+        if (cacheada != null) {
+            return CompletableFuture.completedFuture(cacheada);
+        }
+        final String idPedido = doc.getRutaArchivo() + '|' + tamanio;
+        return enCurso.computeIfAbsent(idPedido, k -> CompletableFuture
+                .supplyAsync(() -> cargarEnFondo(doc, tamanio), ejecutor)
+                .whenComplete((imagen, error) -> enCurso.remove(k)));
+    }
+
+    private Image cargarEnFondo(final DocumentoPaciente doc, final Tamanio tamanio) {
+        final long inicio = System.nanoTime();
+        try {
+            final String clave = clave(doc, tamanio, true);
+            if (clave == null) {
+                return null;
+            }
+            final Path png = miniaturaEnDisco(Paths.get(doc.getRutaArchivo()), clave, tamanio.getLado());
+            if (png == null) {
+                return null;
+            }
+            final Image imagen = new Image(png.toUri().toString());
+            if (imagen.isError()) {
+                LOGGER.warn("No se pudo cargar la miniatura {}", png, imagen.getException());
+                return null;
+            }
+            guardarEnMemoria(clave, imagen);
+            LOGGER.debug("Miniatura {} de {} lista en {} ms", tamanio, doc.getNombreArchivo(),
+                    (System.nanoTime() - inicio) / 1_000_000);
+            return imagen;
+        } catch (IOException | UncheckedIOException e) {
+            LOGGER.warn("No se pudo generar la miniatura de {}: {}", doc.getRutaArchivo(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * PNG reducido de {@code original} en la cache de disco, generandolo si no
+     * existe. Devuelve null si el formato no se puede leer.
+     */
+    Path miniaturaEnDisco(final Path original, final String clave, final int lado) throws IOException {
+        final Path png = carpeta.resolve(clave + ".png");
+        synchronized (disco) {
+            cargarIndiceDisco();
+            if (disco.get(clave) != null && Files.exists(png)) {
+                tocar(png);
+                return png;
+            }
+        }
+
+        final BufferedImage reducida = reducir(original, lado);
+        if (reducida == null) {
+            return null;
+        }
+        Files.createDirectories(carpeta);
+        final Path temporal = Files.createTempFile(carpeta, "." + clave, ".tmp");
+        try {
+            ImageIO.write(reducida, "png", temporal.toFile());
+            mover(temporal, png);
+        } finally {
+            Files.deleteIfExists(temporal);
+        }
+
+        synchronized (disco) {
+            final long tamanio = Files.size(png);
+            final Long anterior = disco.put(clave, tamanio);
+            bytesDisco += tamanio - (anterior == null ? 0 : anterior);
+            recortarDisco(clave);
+        }
+        return png;
+    }
+
+    /**
+     * Decodifica la imagen submuestreada para que el lado mayor quede cerca de
+     * {@code lado} y la termina de escalar con interpolacion bilineal.
+     */
+    static BufferedImage reducir(final Path original, final int lado) throws IOException {
+        try (ImageInputStream entrada = ImageIO.createImageInputStream(original.toFile())) {
+            if (entrada == null) {
+                throw new NoSuchFileException(original.toString());
+            }
+            final Iterator<ImageReader> lectores = ImageIO.getImageReaders(entrada);
+            if (!lectores.hasNext()) {
+                return null;
+            }
+            final ImageReader lector = lectores.next();
+            try {
+                lector.setInput(entrada, true, true);
+                final int ancho = lector.getWidth(0);
+                final int alto = lector.getHeight(0);
+                final ImageReadParam parametros = lector.getDefaultReadParam();
+                final int paso = Math.max(1, Math.max(ancho, alto) / (lado * 2));
+                parametros.setSourceSubsampling(paso, paso, 0, 0);
+                return escalar(lector.read(0, parametros), lado);
+            } finally {
+                lector.dispose();
+            }
+        }
+    }
+
+    private static BufferedImage escalar(final BufferedImage imagen, final int lado) {
+        final double factor = Math.min(1.0, (double) lado / Math.max(imagen.getWidth(), imagen.getHeight()));
+        final int ancho = Math.max(1, (int) Math.round(imagen.getWidth() * factor));
+        final int alto = Math.max(1, (int) Math.round(imagen.getHeight() * factor));
+        final BufferedImage reducida = new BufferedImage(ancho, alto, BufferedImage.TYPE_INT_ARGB);
+        final Graphics2D g = reducida.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(imagen, 0, 0, ancho, alto, null);
+        } finally {
+            g.dispose();
+        }
+        return reducida;
+    }
+
+    /**
+     * Clave de cache: {@code <sha256>-<lado>}. Sin hash (documentos anteriores
+     * al almacen) se usa el SHA-256 de la ruta, el tamanio y la fecha, que solo
+     * se leen del disco si {@code leerArchivo} es true.
+     */
+    String clave(final DocumentoPaciente doc, final Tamanio tamanio, final boolean leerArchivo) {
+        if (doc.getHashSha256() != null) {
+            return doc.getHashSha256() + "-" + tamanio.getLado();
+        }
+        final String identidad = identidadPorRuta.get(doc.getRutaArchivo());
+        if (identidad != null) {
+            return identidad + "-" + tamanio.getLado();
+        }
+        if (!leerArchivo) {
+            return null;
+        }
+        try {
+            final Path ruta = Paths.get(doc.getRutaArchivo());
+            final String calculada = sha256(ruta.toAbsolutePath() + "|" + Files.size(ruta) + "|"
+                    + Files.getLastModifiedTime(ruta).toMillis());
+            identidadPorRuta.put(doc.getRutaArchivo(), calculada);
+            return calculada + "-" + tamanio.getLado();
+        } catch (IOException e) {
+            LOGGER.debug("Documento sin acceso {}: {}", doc.getRutaArchivo(), e.getMessage());
+            return null;
+        }
+    }
+
+    private void guardarEnMemoria(final String clave, final Image imagen) {
+        final long peso = peso(imagen);
+        synchronized (memoria) {
+            final Image anterior = memoria.put(clave, imagen);
+            bytesMemoria += peso - (anterior == null ? 0 : peso(anterior));
+            final Iterator<Map.Entry<String, Image>> it = memoria.entrySet().iterator();
+            while (bytesMemoria > maxBytesMemoria && it.hasNext()) {
+                final Map.Entry<String, Image> masVieja = it.next();
+                if (masVieja.getKey().equals(clave)) {
+                    continue;
+                }
+                bytesMemoria -= peso(masVieja.getValue());
+                it.remove();
+            }
+        }
+    }
+
+    /** Bytes de pixeles decodificados (ARGB). */
+    private static long peso(final Image imagen) {
+        return (long) imagen.getWidth() * (long) imagen.getHeight() * 4;
+    }
+
+    /**
+     * Lee el indice de disco una sola vez, ordenando los PNG por fecha de uso.
+     * Se llama con el candado de {@code disco}.
+     */
+    private void cargarIndiceDisco() throws IOException {
+        if (discoCargado) {
+            return;
+        }
+        discoCargado = true;
+        if (!Files.isDirectory(carpeta)) {
+            return;
+        }
+        final List<Path> pngs;
+        try (Stream<Path> archivos = Files.list(carpeta)) {
+            pngs = archivos.filter(p -> p.getFileName().toString().endsWith(".png"))
+                    .sorted(Comparator.comparing(CacheMiniaturas::fechaUso))
+                    .toList();
+        }
+        for (Path png : pngs) {
+            final String nombre = png.getFileName().toString();
+            final long tamanio = Files.size(png);
+            disco.put(nombre.substring(0, nombre.length() - ".png".length()), tamanio);
+            bytesDisco += tamanio;
+        }
+        recortarDisco(null);
+        LOGGER.info("Cache de miniaturas: {} archivos, {} KB en {}", disco.size(), bytesDisco / 1024, carpeta);
+    }
+
+    /**
+     * Borra los PNG usados hace mas tiempo hasta quedar bajo el tope, sin tocar
+     * {@code conservar}. Se llama con el candado de {@code disco}.
+     */
+    private void recortarDisco(final String conservar) {
+        final Iterator<Map.Entry<String, Long>> it = disco.entrySet().iterator();
+        while (bytesDisco > maxBytesDisco && it.hasNext()) {
+            final Map.Entry<String, Long> masViejo = it.next();
+            if (masViejo.getKey().equals(conservar)) {
+                continue;
+            }
+            try {
+                Files.deleteIfExists(carpeta.resolve(masViejo.getKey() + ".png"));
+            } catch (IOException e) {
+                LOGGER.debug("No se pudo borrar la miniatura {}: {}", masViejo.getKey(), e.getMessage());
+            }
+            bytesDisco -= masViejo.getValue();
+            it.remove();
+        }
+    }
+
+    private static FileTime fechaUso(final Path png) {
+        try {
+            return Files.getLastModifiedTime(png);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private static void tocar(final Path png) {
+        try {
+            Files.setLastModifiedTime(png, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            LOGGER.debug("No se pudo actualizar la fecha de {}: {}", png, e.getMessage());
+        }
+    }
+
+    private static void mover(final Path origen, final Path destino) throws IOException {
+        try {
+            Files.move(origen, destino, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(origen, destino, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static String sha256(final String texto) {
+        try {
+            return HexFormat.of().formatHex(
+                    MessageDigest.getInstance("SHA-256").digest(texto.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    /** Bytes ocupados en disco segun el indice (para pruebas y diagnostico). */
+    long getBytesDisco() {
+        synchronized (disco) {
+            return bytesDisco;
+        }
+    }
+}
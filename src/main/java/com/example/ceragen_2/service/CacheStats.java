@@ -0,0 +1,28 @@
+package com.example.ceragen_2.service;
+
+/**
+ * Foto instantanea de las metricas de una {@link ReferenceCache}.
+ *
+ * @param nombre      Nombre de la cache
+ * @param size        Entradas guardadas
+ * @param hits        Lecturas resueltas desde la cache
+ * @param misses      Lecturas que fueron a la base de datos
+ * @param evictions   Entradas descartadas por tamanio
+ * @param expirations Entradas descartadas por vencimiento
+ */
+public record CacheStats(
+        String nombre,
+        int size,
+        long hits,
+        long misses,
+        long evictions,
+        long expirations) {
+
+    /**
+     * Proporcion de lecturas resueltas desde la cache (0 si no hubo lecturas).
+     */
+    public double hitRatio() {
+        final long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+}
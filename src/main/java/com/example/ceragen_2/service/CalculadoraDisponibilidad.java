@@ -0,0 +1,114 @@
+package com.example.ceragen_2.service;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Calculo en memoria de las franjas libres de un profesional a partir de su
+ * horario de atencion y de las citas ya tomadas.
+ *
+ * <p>Todas las citas de un profesional duran lo mismo (la duracion estandar
+ * de su especialidad), asi que una franja [s, s+d) choca con una cita en
+ * {@code o} si y solo si {@code s - d < o < s + d}. Las citas se guardan
+ * ordenadas y cada franja se resuelve con una busqueda logaritmica.</p>
+ */
+final class CalculadoraDisponibilidad {
+
+    /**
+     * Ventana de atencion semanal ({@code profesional_disponibilidad}).
+     */
+    record HorarioAtencion(DayOfWeek dia, LocalTime inicio, LocalTime fin) {
+    }
+
+    private CalculadoraDisponibilidad() {
+    }
+
+    /**
+     * Franjas libres que empiezan en [desde, hasta), en orden, hasta {@code maximo}.
+     * Dentro de cada ventana las franjas se alinean al inicio de la ventana;
+     * despues de una cita ocupada la siguiente franja empieza cuando esta termina.
+     */
+    static List<FranjaHoraria> calcularFranjas(final List<HorarioAtencion> horarios,
+                                               final Collection<LocalDateTime> citas,
+                                               final Duration duracion,
+                                               final LocalDateTime desde,
+                                               final LocalDateTime hasta,
+                                               final int maximo) {
+        final List<FranjaHoraria> franjas = new ArrayList<>();
+        if (duracion.isZero() || duracion.isNegative() || maximo < 1) {
+            return franjas;
+        }
+        final TreeSet<LocalDateTime> ocupadas = new TreeSet<>(citas);
+
+        for (LocalDate fecha = desde.toLocalDate(); !fecha.isAfter(hasta.toLocalDate()); fecha = fecha.plusDays(1)) {
+            final TreeSet<LocalDateTime> inicios = new TreeSet<>();
+            for (final HorarioAtencion horario : horarios) {
+                if (horario.dia() == fecha.getDayOfWeek() && horario.fin().isAfter(horario.inicio())) {
+                    agregarFranjasVentana(inicios, ocupadas, duracion, desde, hasta,
+                            fecha.atTime(horario.inicio()), fecha.atTime(horario.fin()));
+                }
+            }
+            for (final LocalDateTime inicio : inicios) {
+                franjas.add(new FranjaHoraria(inicio, inicio.plus(duracion)));
+                if (franjas.size() == maximo) {
+                    return franjas;
+                }
+            }
+        }
+        return franjas;
+    }
+
+    private static void agregarFranjasVentana(final TreeSet<LocalDateTime> inicios,
+                                              final TreeSet<LocalDateTime> ocupadas,
+                                              final Duration duracion,
+                                              final LocalDateTime desde,
+                                              final LocalDateTime hasta,
+                                              final LocalDateTime inicioVentana,
+                                              final LocalDateTime finVentana) {
+        LocalDateTime inicio = inicioVentana;
+        if (inicio.isBefore(desde)) {
+            // Avanzar en pasos de la duracion para conservar la alineacion
+            final long pasos = (Duration.between(inicio, desde).toNanos() + duracion.toNanos() - 1) / duracion.toNanos();
+            inicio = inicio.plus(duracion.multipliedBy(pasos));
+        }
+
+        while (inicio.isBefore(hasta) && !inicio.plus(duracion).isAfter(finVentana)) {
+            final LocalDateTime cita = bloqueo(ocupadas, inicio, duracion);
+            if (cita != null) {
+                inicio = cita.plus(duracion);
+            } else {
+                inicios.add(inicio);
+                inicio = inicio.plus(duracion);
+            }
+        }
+    }
+
+    private static LocalDateTime bloqueo(final TreeSet<LocalDateTime> ocupadas, final LocalDateTime inicio,
+                                         final Duration duracion) {
+        final LocalDateTime cita = ocupadas.higher(inicio.minus(duracion));
+        return cita != null && cita.isBefore(inicio.plus(duracion)) ? cita : null;
+    }
+
+    /**
+     * Convierte el valor del ENUM dia_semana de la base de datos.
+     */
+    static DayOfWeek diaSemana(final String valor) {
+        return switch (valor) {
+            case "LUNES" -> DayOfWeek.MONDAY;
+            case "MARTES" -> DayOfWeek.TUESDAY;
+            case "MIERCOLES" -> DayOfWeek.WEDNESDAY;
+            case "JUEVES" -> DayOfWeek.THURSDAY;
+            case "VIERNES" -> DayOfWeek.FRIDAY;
+            case "SABADO" -> DayOfWeek.SATURDAY;
+            case "DOMINGO" -> DayOfWeek.SUNDAY;
+            default -> throw new IllegalArgumentException("Dia de semana desconocido: " + valor);
+        };
+    }
+}
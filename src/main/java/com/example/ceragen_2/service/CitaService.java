@@ -10,6 +10,7 @@ import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 public final class CitaService {
     private static final Logger LOGGER = LoggerFactory.getLogger(CitaService.class);
@@ -25,104 +26,175 @@ public final class CitaService {
         return instance;
     }
 
+    private static final String COLUMNAS_CITAS =
+        "SELECT c.id, c.paciente_id, c.profesional_id, c.fecha_hora, c.motivo, c.estado, " +
+        "c.observaciones, c.fecha_creacion, c.costo, " +
+        "pac.nombres, pac.apellidos, " +
+        "prof.nombres as prof_nombres, prof.apellidos as prof_apellidos";
+    private static final String FROM_CITAS =
+        " FROM citas c " +
+        "INNER JOIN pacientes pac ON c.paciente_id = pac.id " +
+        "INNER JOIN profesionales prof ON c.profesional_id = prof.id " +
+        "WHERE 1=1";
+    static final String SELECT_CITAS = COLUMNAS_CITAS + FROM_CITAS;
+
+    private final TotalCountCache totales = new TotalCountCache(TotalCountCache.TTL_POR_DEFECTO);
+
     /**
      * Obtiene citas con paginación y filtros
      */
     public List<Cita> getCitas(int offset, int limit, Integer pacienteId, Integer profesionalId,
                                 String estadoFilter, LocalDateTime fechaDesde, LocalDateTime fechaHasta) {
         List<Cita> citas = new ArrayList<>();
-        StringBuilder sql = new StringBuilder(
-            "SELECT c.id, c.paciente_id, c.profesional_id, c.fecha_hora, c.motivo, c.estado, " +
-            "c.observaciones, c.fecha_creacion, " +
-            "pac.nombres, pac.apellidos, " +
-            "prof.nombres as prof_nombres, prof.apellidos as prof_apellidos " +
-            "FROM citas c " +
-            "INNER JOIN pacientes pac ON c.paciente_id = pac.id " +
-            "INNER JOIN profesionales prof ON c.profesional_id = prof.id " +
-            "WHERE 1=1"
-        );
+        StringBuilder sql = new StringBuilder(SELECT_CITAS);
+        agregarFiltros(sql, "c.", pacienteId, profesionalId, estadoFilter, fechaDesde, fechaHasta);
+        sql.append(" ORDER BY c.fecha_hora DESC, c.id DESC LIMIT ? OFFSET ?");
 
-        if (pacienteId != null) {
-            sql.append(" AND c.paciente_id = ?");
-        }
-        if (profesionalId != null) {
-            sql.append(" AND c.profesional_id = ?");
-        }
-        if (estadoFilter != null && !estadoFilter.equals("TODOS")) {
-            sql.append(" AND c.estado = ?");
-        }
-        if (fechaDesde != null) {
-            sql.append(" AND c.fecha_hora >= ?");
+        try (Connection conn = DatabaseConfig.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+
+            int paramIndex = asignarFiltros(stmt, 1, pacienteId, profesionalId, estadoFilter, fechaDesde, fechaHasta);
+            stmt.setInt(paramIndex++, limit);
+            stmt.setInt(paramIndex, offset);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    citas.add(mapCita(rs));
+                }
+
+                LOGGER.info("Se obtuvieron {} citas", citas.size());
+            }
+        } catch (SQLException e) {
+            LOGGER.error("Error al obtener citas", e);
         }
-        if (fechaHasta != null) {
-            sql.append(" AND c.fecha_hora <= ?");
+
+        return citas;
+    }
+
+    /**
+     * Obtiene una página de citas y el total de registros en una sola consulta
+     * ({@code COUNT(*) OVER()}). Con {@code reutilizarTotal} se usa el total
+     * guardado para los mismos filtros, pensado para cambios de página.
+     */
+    public PageResult<Cita> getCitasPage(int offset, int limit, Integer pacienteId, Integer profesionalId,
+                                         String estadoFilter, LocalDateTime fechaDesde, LocalDateTime fechaHasta,
+                                         boolean reutilizarTotal) {
+        String clave = TotalCountCache.clave(pacienteId, profesionalId, estadoFilter, fechaDesde, fechaHasta);
+        Integer cacheado = reutilizarTotal ? totales.get(clave) : null;
+        if (cacheado != null) {
+            return new PageResult<>(getCitas(offset, limit, pacienteId, profesionalId, estadoFilter,
+                fechaDesde, fechaHasta), cacheado);
         }
 
-        sql.append(" ORDER BY c.fecha_hora DESC LIMIT ? OFFSET ?");
+        List<Cita> citas = new ArrayList<>();
+        int total = -1;
+        StringBuilder sql = new StringBuilder(COLUMNAS_CITAS)
+            .append(", COUNT(*) OVER() AS total_filas")
+            .append(FROM_CITAS);
+        agregarFiltros(sql, "c.", pacienteId, profesionalId, estadoFilter, fechaDesde, fechaHasta);
+        sql.append(" ORDER BY c.fecha_hora DESC, c.id DESC LIMIT ? OFFSET ?");
 
         try (Connection conn = DatabaseConfig.getInstance().getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
 
-            int paramIndex = 1;
-
-            if (pacienteId != null) {
-                stmt.setInt(paramIndex++, pacienteId);
-            }
-            if (profesionalId != null) {
-                stmt.setInt(paramIndex++, profesionalId);
-            }
-            if (estadoFilter != null && !estadoFilter.equals("TODOS")) {
-                stmt.setString(paramIndex++, estadoFilter);
-            }
-            if (fechaDesde != null) {
-                stmt.setTimestamp(paramIndex++, Timestamp.valueOf(fechaDesde));
-            }
-            if (fechaHasta != null) {
-                stmt.setTimestamp(paramIndex++, Timestamp.valueOf(fechaHasta));
-            }
-
+            int paramIndex = asignarFiltros(stmt, 1, pacienteId, profesionalId, estadoFilter, fechaDesde, fechaHasta);
             stmt.setInt(paramIndex++, limit);
             stmt.setInt(paramIndex, offset);
 
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    Cita cita = new Cita();
-                    cita.setId(rs.getInt("id"));
-                    cita.setPacienteId(rs.getInt("paciente_id"));
-                    cita.setProfesionalId(rs.getInt("profesional_id"));
+                    total = rs.getInt("total_filas");
+                    citas.add(mapCita(rs));
+                }
+            }
+        } catch (SQLException e) {
+            LOGGER.error("Error al obtener pagina de citas", e);
+            return new PageResult<>(citas, 0);
+        }
 
-                    Timestamp timestamp = rs.getTimestamp("fecha_hora");
-                    if (timestamp != null) {
-                        cita.setFechaHora(timestamp.toLocalDateTime());
-                    }
+        // Sin filas no llega el total: solo en una pagina fuera de rango hace falta contar aparte
+        if (total < 0) {
+            total = offset > 0 ? countCitas(pacienteId, profesionalId, estadoFilter, fechaDesde, fechaHasta) : 0;
+        }
+        totales.put(clave, total);
+        return new PageResult<>(citas, total);
+    }
 
-                    cita.setMotivo(rs.getString("motivo"));
-                    cita.setEstado(rs.getString("estado"));
-                    cita.setObservaciones(rs.getString("observaciones"));
+    /**
+     * Obtiene la página indicada por un token de {@link KeysetPage}. El total
+     * se toma de la cache de totales o, si venció, se cuenta de nuevo.
+     */
+    public PageResult<Cita> getCitasPage(String token, int limit, Integer pacienteId, Integer profesionalId,
+                                         String estadoFilter, LocalDateTime fechaDesde, LocalDateTime fechaHasta) {
+        List<Cita> citas = getCitasKeyset(token, limit, pacienteId, profesionalId, estadoFilter,
+            fechaDesde, fechaHasta).items();
+        String clave = TotalCountCache.clave(pacienteId, profesionalId, estadoFilter, fechaDesde, fechaHasta);
+        Integer total = totales.get(clave);
+        if (total == null) {
+            total = countCitas(pacienteId, profesionalId, estadoFilter, fechaDesde, fechaHasta);
+            totales.put(clave, total);
+        }
+        return new PageResult<>(citas, total);
+    }
 
-                    Timestamp fechaCreacion = rs.getTimestamp("fecha_creacion");
-                    if (fechaCreacion != null) {
-                        cita.setFechaCreacion(fechaCreacion.toLocalDateTime());
-                    }
+    /**
+     * Obtiene una página de citas a partir de un token de {@link KeysetPage}.
+     * Con {@code token} nulo devuelve la primera página.
+     */
+    public KeysetPage<Cita> getCitasKeyset(String token, int limit, Integer pacienteId, Integer profesionalId,
+                                           String estadoFilter, LocalDateTime fechaDesde, LocalDateTime fechaHasta) {
+        PageCursor cursor = token != null ? PageCursor.decode(token) : null;
+        List<Cita> citas = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(SELECT_CITAS);
+        agregarFiltros(sql, "c.", pacienteId, profesionalId, estadoFilter, fechaDesde, fechaHasta);
+        if (cursor != null) {
+            cursor.appendCondicion(sql, "c.fecha_hora", "c.id");
+        }
+        PageCursor.appendOrden(sql, cursor, "c.fecha_hora", "c.id");
+        sql.append(" LIMIT ?");
 
-                    String pacNombres = rs.getString("nombres");
-                    String pacApellidos = rs.getString("apellidos");
-                    cita.setPacienteNombre(pacNombres + " " + pacApellidos);
+        try (Connection conn = DatabaseConfig.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
 
-                    String profNombres = rs.getString("prof_nombres");
-                    String profApellidos = rs.getString("prof_apellidos");
-                    cita.setProfesionalNombre("Dr. " + profNombres + " " + profApellidos);
+            int paramIndex = asignarFiltros(stmt, 1, pacienteId, profesionalId, estadoFilter, fechaDesde, fechaHasta);
+            if (cursor != null) {
+                paramIndex = cursor.bind(stmt, paramIndex);
+            }
+            stmt.setInt(paramIndex, limit + 1);
 
-                    citas.add(cita);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    citas.add(mapCita(rs));
                 }
-
-                LOGGER.info("Se obtuvieron {} citas", citas.size());
             }
         } catch (SQLException e) {
-            LOGGER.error("Error al obtener citas", e);
+            LOGGER.error("Error al obtener citas por cursor", e);
         }
 
-        return citas;
+        return KeysetPage.of(citas, limit, cursor, Cita::getFechaHora, Cita::getId);
+    }
+
+    /**
+     * Entrega cada cita a {@code consumidor}, en orden de fecha, leyendo fila por
+     * fila. Los filtros {@code null} no se aplican.
+     *
+     * @return false si la consulta fallo
+     */
+    public boolean recorrerCitas(String estadoFilter, LocalDateTime fechaDesde, LocalDateTime fechaHasta,
+                                 Consumer<Cita> consumidor) {
+        StringBuilder sql = new StringBuilder(SELECT_CITAS);
+        agregarFiltros(sql, "c.", null, null, estadoFilter, fechaDesde, fechaHasta);
+        sql.append(" ORDER BY c.fecha_hora, c.id");
+
+        try {
+            ConsultaStreaming.recorrer(sql.toString(),
+                    stmt -> asignarFiltros(stmt, 1, null, null, estadoFilter, fechaDesde, fechaHasta),
+                    this::mapCita, consumidor);
+            return true;
+        } catch (SQLException e) {
+            LOGGER.error("Error al recorrer citas", e);
+            return false;
+        }
     }
 
     /**
@@ -131,54 +203,95 @@ public final class CitaService {
     public int countCitas(Integer pacienteId, Integer profesionalId, String estadoFilter,
                           LocalDateTime fechaDesde, LocalDateTime fechaHasta) {
         StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM citas WHERE 1=1");
+        agregarFiltros(sql, "", pacienteId, profesionalId, estadoFilter, fechaDesde, fechaHasta);
+
+        try (Connection conn = DatabaseConfig.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
 
+            asignarFiltros(stmt, 1, pacienteId, profesionalId, estadoFilter, fechaDesde, fechaHasta);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt(1);
+                }
+            }
+        } catch (SQLException e) {
+            LOGGER.error("Error al contar citas", e);
+        }
+
+        return 0;
+    }
+
+    void agregarFiltros(StringBuilder sql, String alias, Integer pacienteId, Integer profesionalId,
+                        String estadoFilter, LocalDateTime fechaDesde, LocalDateTime fechaHasta) {
         if (pacienteId != null) {
-            sql.append(" AND paciente_id = ?");
+            sql.append(" AND ").append(alias).append("paciente_id = ?");
         }
         if (profesionalId != null) {
-            sql.append(" AND profesional_id = ?");
+            sql.append(" AND ").append(alias).append("profesional_id = ?");
         }
         if (estadoFilter != null && !estadoFilter.equals("TODOS")) {
-            sql.append(" AND estado = ?");
+            sql.append(" AND ").append(alias).append("estado = ?");
         }
         if (fechaDesde != null) {
-            sql.append(" AND fecha_hora >= ?");
+            sql.append(" AND ").append(alias).append("fecha_hora >= ?");
         }
         if (fechaHasta != null) {
-            sql.append(" AND fecha_hora <= ?");
+            sql.append(" AND ").append(alias).append("fecha_hora <= ?");
         }
+    }
 
-        try (Connection conn = DatabaseConfig.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+    int asignarFiltros(PreparedStatement stmt, int paramIndex, Integer pacienteId, Integer profesionalId,
+                       String estadoFilter, LocalDateTime fechaDesde, LocalDateTime fechaHasta)
+            throws SQLException {
+        if (pacienteId != null) {
+            stmt.setInt(paramIndex++, pacienteId);
+        }
+        if (profesionalId != null) {
+            stmt.setInt(paramIndex++, profesionalId);
+        }
+        if (estadoFilter != null && !estadoFilter.equals("TODOS")) {
+            stmt.setString(paramIndex++, estadoFilter);
+        }
+        if (fechaDesde != null) {
+            stmt.setTimestamp(paramIndex++, Timestamp.valueOf(fechaDesde));
+        }
+        if (fechaHasta != null) {
+            stmt.setTimestamp(paramIndex++, Timestamp.valueOf(fechaHasta));
+        }
+        return paramIndex;
+    }
 
-            int paramIndex = 1;
+    Cita mapCita(ResultSet rs) throws SQLException {
+        Cita cita = new Cita();
+        cita.setId(rs.getInt("id"));
+        cita.setPacienteId(rs.getInt("paciente_id"));
+        cita.setProfesionalId(rs.getInt("profesional_id"));
 
-            if (pacienteId != null) {
-                stmt.setInt(paramIndex++, pacienteId);
-            }
-            if (profesionalId != null) {
-                stmt.setInt(paramIndex++, profesionalId);
-            }
-            if (estadoFilter != null && !estadoFilter.equals("TODOS")) {
-                stmt.setString(paramIndex++, estadoFilter);
-            }
-            if (fechaDesde != null) {
-                stmt.setTimestamp(paramIndex++, Timestamp.valueOf(fechaDesde));
-            }
-            if (fechaHasta != null) {
-                stmt.setTimestamp(paramIndex++, Timestamp.valueOf(fechaHasta));
-            }
+        Timestamp timestamp = rs.getTimestamp("fecha_hora");
+        if (timestamp != null) {
+            cita.setFechaHora(timestamp.toLocalDateTime());
+        }
 
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt(1);
-                }
-            }
-        } catch (SQLException e) {
-            LOGGER.error("Error al contar citas", e);
+        cita.setMotivo(rs.getString("motivo"));
+        cita.setEstado(rs.getString("estado"));
+        cita.setObservaciones(rs.getString("observaciones"));
+        cita.setCosto(rs.getBigDecimal("costo"));
+
+        Timestamp fechaCreacion = rs.getTimestamp("fecha_creacion");
+        if (fechaCreacion != null) {
+            cita.setFechaCreacion(fechaCreacion.toLocalDateTime());
         }
 
-        return 0;
+        String pacNombres = rs.getString("nombres");
+        String pacApellidos = rs.getString("apellidos");
+        cita.setPacienteNombre(pacNombres + " " + pacApellidos);
+
+        String profNombres = rs.getString("prof_nombres");
+        String profApellidos = rs.getString("prof_apellidos");
+        cita.setProfesionalNombre("Dr. " + profNombres + " " + profApellidos);
+
+        return cita;
     }
 
     /**
@@ -186,22 +299,21 @@ public final class CitaService {
      */
     public boolean crearCita(Integer pacienteId, Integer profesionalId, LocalDateTime fechaHora,
                              String motivo, BigDecimal costo, Integer facturaId) {
-        String sql = "INSERT INTO citas (paciente_id, profesional_id, fecha_hora, motivo, costo, estado, factura_id) VALUES (?, ?, ?, ?, ?, 'CONFIRMADA', ?)";
-
-        try (Connection conn = DatabaseConfig.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setInt(1, pacienteId);
-            stmt.setInt(2, profesionalId);
-            stmt.setTimestamp(3, Timestamp.valueOf(fechaHora));
-            stmt.setString(4, motivo);
-            stmt.setBigDecimal(5, costo);
-            stmt.setInt(6, facturaId);
-
-            int rowsAffected = stmt.executeUpdate();
-            LOGGER.info("Cita creada para paciente ID: {}, factura ID: {}", pacienteId, facturaId);
-            return rowsAffected > 0;
-
+        try (Connection conn = DatabaseConfig.getInstance().getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                int citaId = insertarCita(conn, pacienteId, profesionalId, fechaHora, motivo, costo, facturaId);
+                if (citaId > 0) {
+                    ResumenDiario.sumarCitas(conn, ResumenDiario.Citas.POR_ID, citaId);
+                }
+                conn.commit();
+                return citaId > 0;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
         } catch (SQLException e) {
             LOGGER.error("Error al crear cita con factura", e);
             return false;
@@ -209,13 +321,22 @@ public final class CitaService {
     }
 
     /**
-     * Crea una nueva cita usando una conexion existente (para transacciones)
+     * Crea una nueva cita usando una conexion existente (para transacciones).
+     * El resumen diario del dashboard queda a cargo de quien maneja la transaccion.
      */
     public boolean crearCita(Connection conn, Integer pacienteId, Integer profesionalId,
                              LocalDateTime fechaHora, String motivo, BigDecimal costo, Integer facturaId) throws SQLException {
+        return insertarCita(conn, pacienteId, profesionalId, fechaHora, motivo, costo, facturaId) > 0;
+    }
+
+    /**
+     * Inserta la cita y devuelve su ID generado, o 0 si no se inserto.
+     */
+    private int insertarCita(Connection conn, Integer pacienteId, Integer profesionalId,
+                             LocalDateTime fechaHora, String motivo, BigDecimal costo, Integer facturaId) throws SQLException {
         String sql = "INSERT INTO citas (paciente_id, profesional_id, fecha_hora, motivo, costo, estado, factura_id) VALUES (?, ?, ?, ?, ?, 'CONFIRMADA', ?)";
 
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             stmt.setInt(1, pacienteId);
             stmt.setInt(2, profesionalId);
             stmt.setTimestamp(3, Timestamp.valueOf(fechaHora));
@@ -224,11 +345,62 @@ public final class CitaService {
             stmt.setInt(6, facturaId);
 
             int rowsAffected = stmt.executeUpdate();
+            int citaId = 0;
+            try (ResultSet keys = stmt.getGeneratedKeys()) {
+                if (rowsAffected > 0 && keys.next()) {
+                    citaId = keys.getInt(1);
+                }
+            }
+            totales.invalidar();
             LOGGER.info("Cita creada para paciente ID: {}, factura ID: {}", pacienteId, facturaId);
-            return rowsAffected > 0;
+            return citaId;
         }
     }
 
+    /**
+     * Inserta todas las citas de una factura en un solo lote dentro de la
+     * transaccion de {@code conn}. Con rewriteBatchedStatements el driver lo
+     * envia como un unico INSERT multi-fila. Devuelve los IDs generados en el
+     * mismo orden de {@code citas} y los asigna a cada cita. El resumen diario
+     * del dashboard queda a cargo de quien maneja la transaccion.
+     */
+    public List<Integer> crearCitas(Connection conn, List<Cita> citas, Integer facturaId) throws SQLException {
+        String sql = "INSERT INTO citas (paciente_id, profesional_id, fecha_hora, motivo, costo, estado, factura_id) VALUES (?, ?, ?, ?, ?, 'CONFIRMADA', ?)";
+        List<Integer> ids = new ArrayList<>(citas.size());
+        if (citas.isEmpty()) {
+            return ids;
+        }
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            for (Cita cita : citas) {
+                stmt.setInt(1, cita.getPacienteId());
+                stmt.setInt(2, cita.getProfesionalId());
+                stmt.setTimestamp(3, Timestamp.valueOf(cita.getFechaHora()));
+                stmt.setString(4, cita.getMotivo());
+                stmt.setBigDecimal(5, cita.getCosto());
+                stmt.setInt(6, facturaId);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+
+            try (ResultSet keys = stmt.getGeneratedKeys()) {
+                while (keys.next()) {
+                    ids.add(keys.getInt(1));
+                }
+            }
+        }
+
+        if (ids.size() != citas.size()) {
+            throw new SQLException("Se esperaban " + citas.size() + " IDs de citas y se obtuvieron " + ids.size());
+        }
+        for (int i = 0; i < citas.size(); i++) {
+            citas.get(i).setId(ids.get(i));
+        }
+        totales.invalidar();
+        LOGGER.info("{} citas creadas en lote para factura ID: {}", ids.size(), facturaId);
+        return ids;
+    }
+
     /**
      * Actualiza una cita existente
      */
@@ -237,18 +409,16 @@ public final class CitaService {
         String sql = "UPDATE citas SET paciente_id = ?, profesional_id = ?, fecha_hora = ?, " +
                      "motivo = ?, estado = ?, observaciones = ? WHERE id = ?";
 
-        try (Connection conn = DatabaseConfig.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setInt(1, pacienteId);
-            stmt.setInt(2, profesionalId);
-            stmt.setTimestamp(3, Timestamp.valueOf(fechaHora));
-            stmt.setString(4, motivo);
-            stmt.setString(5, estado);
-            stmt.setString(6, observaciones);
-            stmt.setInt(7, id);
-
-            int rowsAffected = stmt.executeUpdate();
+        try {
+            int rowsAffected = modificarCita(id, sql, stmt -> {
+                stmt.setInt(1, pacienteId);
+                stmt.setInt(2, profesionalId);
+                stmt.setTimestamp(3, Timestamp.valueOf(fechaHora));
+                stmt.setString(4, motivo);
+                stmt.setString(5, estado);
+                stmt.setString(6, observaciones);
+                stmt.setInt(7, id);
+            });
             LOGGER.info("Cita actualizada ID: {}", id);
             return rowsAffected > 0;
 
@@ -264,12 +434,8 @@ public final class CitaService {
     public boolean eliminarCita(Integer id) {
         String sql = "DELETE FROM citas WHERE id = ?";
 
-        try (Connection conn = DatabaseConfig.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setInt(1, id);
-
-            int rowsAffected = stmt.executeUpdate();
+        try {
+            int rowsAffected = modificarCita(id, sql, stmt -> stmt.setInt(1, id));
             LOGGER.info("Cita eliminada con ID: {}", id);
             return rowsAffected > 0;
 
@@ -285,13 +451,11 @@ public final class CitaService {
     public boolean cambiarEstado(Integer id, String nuevoEstado) {
         String sql = "UPDATE citas SET estado = ? WHERE id = ?";
 
-        try (Connection conn = DatabaseConfig.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setString(1, nuevoEstado);
-            stmt.setInt(2, id);
-
-            int rowsAffected = stmt.executeUpdate();
+        try {
+            int rowsAffected = modificarCita(id, sql, stmt -> {
+                stmt.setString(1, nuevoEstado);
+                stmt.setInt(2, id);
+            });
             LOGGER.info("Estado de cita ID {} cambiado a: {}", id, nuevoEstado);
             return rowsAffected > 0;
 
@@ -301,12 +465,36 @@ public final class CitaService {
         }
     }
 
+    /**
+     * Ejecuta el UPDATE o DELETE de una cita en una transaccion que la resta
+     * del resumen diario antes del cambio y la vuelve a sumar despues.
+     */
+    private int modificarCita(Integer id, String sql, ConsultaStreaming.Parametros parametros) throws SQLException {
+        try (Connection conn = DatabaseConfig.getInstance().getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                ResumenDiario.restarCitas(conn, ResumenDiario.Citas.POR_ID, id);
+                parametros.asignar(stmt);
+                int rowsAffected = stmt.executeUpdate();
+                ResumenDiario.sumarCitas(conn, ResumenDiario.Citas.POR_ID, id);
+                conn.commit();
+                return rowsAffected;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+                totales.invalidar();
+            }
+        }
+    }
+
     /**
      * Obtiene una cita por ID
      */
     public Cita getCitaById(Integer id) {
         String sql = "SELECT c.id, c.paciente_id, c.profesional_id, c.fecha_hora, c.motivo, c.estado, " +
-                     "c.observaciones, c.fecha_creacion, " +
+                     "c.observaciones, c.fecha_creacion, c.costo, " +
                      "pac.nombres, pac.apellidos, " +
                      "prof.nombres as prof_nombres, prof.apellidos as prof_apellidos " +
                      "FROM citas c " +
@@ -359,34 +547,10 @@ public final class CitaService {
     }
 
     /**
-     * Verifica si existe conflicto de horario para un profesional
+     * Verifica si existe conflicto de horario para un profesional. Compara
+     * intervalos usando la duracion de la especialidad, no solo la hora exacta.
      */
     public boolean existeConflictoHorario(Integer profesionalId, LocalDateTime fechaHora, Integer citaIdExcluir) {
-        String sql = "SELECT COUNT(*) FROM citas WHERE profesional_id = ? AND fecha_hora = ? AND estado != 'CANCELADA'";
-
-        if (citaIdExcluir != null) {
-            sql += " AND id != ?";
-        }
-
-        try (Connection conn = DatabaseConfig.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setInt(1, profesionalId);
-            stmt.setTimestamp(2, Timestamp.valueOf(fechaHora));
-
-            if (citaIdExcluir != null) {
-                stmt.setInt(3, citaIdExcluir);
-            }
-
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt(1) > 0;
-                }
-            }
-        } catch (SQLException e) {
-            LOGGER.error("Error al verificar conflicto de horario", e);
-        }
-
-        return false;
+        return DisponibilidadService.getInstance().existeConflicto(profesionalId, fechaHora, citaIdExcluir);
     }
 }
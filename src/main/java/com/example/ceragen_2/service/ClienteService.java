@@ -7,10 +7,16 @@ import org.slf4j.LoggerFactory;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public final class ClienteService {
     private static final Logger LOGGER = LoggerFactory.getLogger(ClienteService.class);
+    private static final String SQL_INSERTAR = "INSERT INTO clientes (cedula, nombres, apellidos, telefono, email, direccion) " +
+                                               "VALUES (?, ?, ?, ?, ?, ?)";
     private static ClienteService instance;
 
     private ClienteService() {
@@ -56,24 +62,29 @@ public final class ClienteService {
      */
     public List<Cliente> getAllClientesCompletos() {
         List<Cliente> clientes = new ArrayList<>();
+        if (recorrerClientesCompletos(clientes::add)) {
+            LOGGER.info("Se obtuvieron {} clientes completos", clientes.size());
+        }
+        return clientes;
+    }
+
+    /**
+     * Entrega cada cliente activo a {@code consumidor} leyendo el resultado fila
+     * por fila, sin cargar la tabla completa en memoria.
+     *
+     * @return false si la consulta fallo
+     */
+    public boolean recorrerClientesCompletos(Consumer<Cliente> consumidor) {
         String sql = "SELECT id, cedula, nombres, apellidos, telefono, email, direccion, activo, fecha_registro " +
                      "FROM clientes WHERE activo = TRUE ORDER BY nombres, apellidos";
 
-        try (Connection conn = DatabaseConfig.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql);
-             ResultSet rs = stmt.executeQuery()) {
-
-            while (rs.next()) {
-                Cliente cliente = mapResultSetToCliente(rs);
-                clientes.add(cliente);
-            }
-
-            LOGGER.info("Se obtuvieron {} clientes completos", clientes.size());
+        try {
+            ConsultaStreaming.recorrer(sql, ConsultaStreaming.Parametros.NINGUNO, this::mapResultSetToCliente, consumidor);
+            return true;
         } catch (SQLException e) {
             LOGGER.error("Error al obtener clientes completos", e);
+            return false;
         }
-
-        return clientes;
     }
 
     /**
@@ -86,23 +97,17 @@ public final class ClienteService {
             "FROM clientes WHERE activo = TRUE"
         );
 
-        if (searchText != null && !searchText.trim().isEmpty()) {
-            sql.append(" AND (cedula LIKE ? OR nombres LIKE ? OR apellidos LIKE ?)");
+        BusquedaTexto busqueda = BusquedaTexto.de(searchText);
+        if (busqueda != null) {
+            busqueda.appendCondicion(sql);
         }
 
-        sql.append(" ORDER BY fecha_registro DESC LIMIT ? OFFSET ?");
+        sql.append(" ORDER BY fecha_registro DESC, id DESC LIMIT ? OFFSET ?");
 
         try (Connection conn = DatabaseConfig.getInstance().getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
 
-            int paramIndex = 1;
-
-            if (searchText != null && !searchText.trim().isEmpty()) {
-                String searchPattern = "%" + searchText + "%";
-                stmt.setString(paramIndex++, searchPattern);
-                stmt.setString(paramIndex++, searchPattern);
-                stmt.setString(paramIndex++, searchPattern);
-            }
+            int paramIndex = busqueda != null ? busqueda.bind(stmt, 1) : 1;
 
             stmt.setInt(paramIndex++, limit);
             stmt.setInt(paramIndex, offset);
@@ -133,21 +138,9 @@ public final class ClienteService {
         );
 
         List<String> params = new ArrayList<>();
+        agregarFiltros(sql, params, cedula, nombre, apellido);
 
-        if (cedula != null && !cedula.trim().isEmpty()) {
-            sql.append(" AND cedula LIKE ?");
-            params.add("%" + cedula.trim() + "%");
-        }
-        if (nombre != null && !nombre.trim().isEmpty()) {
-            sql.append(" AND nombres LIKE ?");
-            params.add("%" + nombre.trim() + "%");
-        }
-        if (apellido != null && !apellido.trim().isEmpty()) {
-            sql.append(" AND apellidos LIKE ?");
-            params.add("%" + apellido.trim() + "%");
-        }
-
-        sql.append(" ORDER BY fecha_registro DESC LIMIT ? OFFSET ?");
+        sql.append(" ORDER BY fecha_registro DESC, id DESC LIMIT ? OFFSET ?");
 
         try (Connection conn = DatabaseConfig.getInstance().getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
@@ -173,6 +166,50 @@ public final class ClienteService {
         return clientes;
     }
 
+    /**
+     * Obtiene una pagina de clientes con filtros separados a partir de un token de {@link KeysetPage}.
+     * Con {@code token} nulo devuelve la primera pagina.
+     */
+    public KeysetPage<Cliente> getClientesKeyset(String token, int limit, String cedula, String nombre, String apellido) {
+        PageCursor cursor = token != null ? PageCursor.decode(token) : null;
+        List<Cliente> clientes = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(
+            "SELECT id, cedula, nombres, apellidos, telefono, email, direccion, activo, fecha_registro " +
+            "FROM clientes WHERE activo = TRUE"
+        );
+
+        List<String> params = new ArrayList<>();
+        agregarFiltros(sql, params, cedula, nombre, apellido);
+        if (cursor != null) {
+            cursor.appendCondicion(sql, "fecha_registro", "id");
+        }
+        PageCursor.appendOrden(sql, cursor, "fecha_registro", "id");
+        sql.append(" LIMIT ?");
+
+        try (Connection conn = DatabaseConfig.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+
+            int paramIndex = 1;
+            for (String param : params) {
+                stmt.setString(paramIndex++, param);
+            }
+            if (cursor != null) {
+                paramIndex = cursor.bind(stmt, paramIndex);
+            }
+            stmt.setInt(paramIndex, limit + 1);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    clientes.add(mapResultSetToCliente(rs));
+                }
+            }
+        } catch (SQLException e) {
+            LOGGER.error("Error al obtener clientes por cursor", e);
+        }
+
+        return KeysetPage.of(clientes, limit, cursor, Cliente::getFechaRegistro, Cliente::getId);
+    }
+
     /**
      * Cuenta el total de clientes con filtros separados
      */
@@ -180,19 +217,7 @@ public final class ClienteService {
         StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM clientes WHERE activo = TRUE");
 
         List<String> params = new ArrayList<>();
-
-        if (cedula != null && !cedula.trim().isEmpty()) {
-            sql.append(" AND cedula LIKE ?");
-            params.add("%" + cedula.trim() + "%");
-        }
-        if (nombre != null && !nombre.trim().isEmpty()) {
-            sql.append(" AND nombres LIKE ?");
-            params.add("%" + nombre.trim() + "%");
-        }
-        if (apellido != null && !apellido.trim().isEmpty()) {
-            sql.append(" AND apellidos LIKE ?");
-            params.add("%" + apellido.trim() + "%");
-        }
+        agregarFiltros(sql, params, cedula, nombre, apellido);
 
         try (Connection conn = DatabaseConfig.getInstance().getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
@@ -220,18 +245,16 @@ public final class ClienteService {
     public int countClientes(String searchText) {
         StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM clientes WHERE activo = TRUE");
 
-        if (searchText != null && !searchText.trim().isEmpty()) {
-            sql.append(" AND (cedula LIKE ? OR nombres LIKE ? OR apellidos LIKE ?)");
+        BusquedaTexto busqueda = BusquedaTexto.de(searchText);
+        if (busqueda != null) {
+            busqueda.appendCondicion(sql);
         }
 
         try (Connection conn = DatabaseConfig.getInstance().getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
 
-            if (searchText != null && !searchText.trim().isEmpty()) {
-                String searchPattern = "%" + searchText + "%";
-                stmt.setString(1, searchPattern);
-                stmt.setString(2, searchPattern);
-                stmt.setString(3, searchPattern);
+            if (busqueda != null) {
+                busqueda.bind(stmt, 1);
             }
 
             try (ResultSet rs = stmt.executeQuery()) {
@@ -300,18 +323,10 @@ public final class ClienteService {
      * Crea un nuevo cliente
      */
     public boolean crearCliente(Cliente cliente) {
-        String sql = "INSERT INTO clientes (cedula, nombres, apellidos, telefono, email, direccion) " +
-                     "VALUES (?, ?, ?, ?, ?, ?)";
-
         try (Connection conn = DatabaseConfig.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+             PreparedStatement stmt = conn.prepareStatement(SQL_INSERTAR, Statement.RETURN_GENERATED_KEYS)) {
 
-            stmt.setString(1, cliente.getCedula());
-            stmt.setString(2, cliente.getNombres());
-            stmt.setString(3, cliente.getApellidos());
-            stmt.setString(4, cliente.getTelefono());
-            stmt.setString(5, cliente.getEmail());
-            stmt.setString(6, cliente.getDireccion());
+            asignarParametros(stmt, cliente);
 
             int affectedRows = stmt.executeUpdate();
 
@@ -319,6 +334,7 @@ public final class ClienteService {
                 try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
                     if (generatedKeys.next()) {
                         cliente.setId(generatedKeys.getInt(1));
+                        TypeaheadService.getInstance().clienteGuardado(cliente);
                     }
                 }
                 LOGGER.info("Cliente creado exitosamente: {}", cliente.getNombreCompleto());
@@ -331,6 +347,83 @@ public final class ClienteService {
         return false;
     }
 
+    /**
+     * Inserta los clientes en una sola transaccion con JDBC batch.
+     * Si una fila falla se revierte el lote completo y devuelve false.
+     */
+    public boolean crearClientesLote(List<Cliente> clientes) {
+        if (clientes.isEmpty()) {
+            return true;
+        }
+        try (Connection conn = DatabaseConfig.getInstance().getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(SQL_INSERTAR, Statement.RETURN_GENERATED_KEYS)) {
+                for (Cliente cliente : clientes) {
+                    asignarParametros(stmt, cliente);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+                try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                    int i = 0;
+                    while (generatedKeys.next() && i < clientes.size()) {
+                        clientes.get(i++).setId(generatedKeys.getInt(1));
+                    }
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            LOGGER.error("Error al crear lote de {} clientes", clientes.size(), e);
+            return false;
+        }
+        for (Cliente cliente : clientes) {
+            if (cliente.getId() != null) {
+                TypeaheadService.getInstance().clienteGuardado(cliente);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Cuales de las cedulas ya estan registradas, con una sola consulta IN.
+     *
+     * @return las cedulas existentes, o null si fallo la consulta
+     */
+    public Set<String> cedulasExistentes(Collection<String> cedulas) {
+        Set<String> existentes = new HashSet<>();
+        if (cedulas.isEmpty()) {
+            return existentes;
+        }
+        // Cantidad de marcadores redondeada: pocas formas de SQL para la cache de sentencias
+        String sql = "SELECT cedula FROM clientes WHERE cedula IN (" + PlantillaSql.marcadoresIn(cedulas.size()) + ")";
+        try (Connection conn = DatabaseConfig.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            PlantillaSql.asignarIn(stmt, 1, cedulas);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    existentes.add(rs.getString(1));
+                }
+            }
+            return existentes;
+        } catch (SQLException e) {
+            LOGGER.error("Error al verificar cedulas existentes", e);
+            return null;
+        }
+    }
+
+    private static void asignarParametros(PreparedStatement stmt, Cliente cliente) throws SQLException {
+        stmt.setString(1, cliente.getCedula());
+        stmt.setString(2, cliente.getNombres());
+        stmt.setString(3, cliente.getApellidos());
+        stmt.setString(4, cliente.getTelefono());
+        stmt.setString(5, cliente.getEmail());
+        stmt.setString(6, cliente.getDireccion());
+    }
+
     /**
      * Actualiza un cliente existente
      */
@@ -352,6 +445,7 @@ public final class ClienteService {
             int affectedRows = stmt.executeUpdate();
 
             if (affectedRows > 0) {
+                TypeaheadService.getInstance().clienteGuardado(cliente);
                 LOGGER.info("Cliente actualizado exitosamente: {}", cliente.getNombreCompleto());
                 return true;
             }
@@ -375,6 +469,7 @@ public final class ClienteService {
             int affectedRows = stmt.executeUpdate();
 
             if (affectedRows > 0) {
+                TypeaheadService.getInstance().clienteEliminado(id);
                 LOGGER.info("Cliente desactivado exitosamente con ID: {}", id);
                 return true;
             }
@@ -386,21 +481,27 @@ public final class ClienteService {
     }
 
     /**
-     * Busca clientes por nombre o cedula
+     * Busca clientes por prefijo de cedula o palabras del nombre, sin importar
+     * tildes, ordenados por relevancia
      */
     public List<Cliente> buscarClientes(String criterio) {
         List<Cliente> clientes = new ArrayList<>();
-        String sql = "SELECT id, cedula, nombres, apellidos, telefono, email, direccion, activo, fecha_registro " +
-                     "FROM clientes WHERE activo = TRUE AND (cedula LIKE ? OR nombres LIKE ? OR apellidos LIKE ?) " +
-                     "ORDER BY nombres, apellidos";
+        BusquedaTexto busqueda = BusquedaTexto.de(criterio);
+        if (busqueda == null) {
+            return clientes;
+        }
+        StringBuilder sql = new StringBuilder(
+            "SELECT id, cedula, nombres, apellidos, telefono, email, direccion, activo, fecha_registro " +
+            "FROM clientes WHERE activo = TRUE"
+        );
+        busqueda.appendCondicion(sql);
+        busqueda.appendOrdenRelevancia(sql, "nombres, apellidos");
 
         try (Connection conn = DatabaseConfig.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
 
-            String searchPattern = "%" + criterio + "%";
-            stmt.setString(1, searchPattern);
-            stmt.setString(2, searchPattern);
-            stmt.setString(3, searchPattern);
+            int paramIndex = busqueda.bind(stmt, 1);
+            busqueda.bindOrdenRelevancia(stmt, paramIndex);
 
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
@@ -417,6 +518,21 @@ public final class ClienteService {
         return clientes;
     }
 
+    private void agregarFiltros(StringBuilder sql, List<String> params, String cedula, String nombre, String apellido) {
+        if (cedula != null && !cedula.trim().isEmpty()) {
+            sql.append(" AND cedula LIKE ?");
+            params.add("%" + cedula.trim() + "%");
+        }
+        if (nombre != null && !nombre.trim().isEmpty()) {
+            sql.append(" AND nombres LIKE ?");
+            params.add("%" + nombre.trim() + "%");
+        }
+        if (apellido != null && !apellido.trim().isEmpty()) {
+            sql.append(" AND apellidos LIKE ?");
+            params.add("%" + apellido.trim() + "%");
+        }
+    }
+
     /**
      * Mapea un ResultSet a un objeto Cliente
      */
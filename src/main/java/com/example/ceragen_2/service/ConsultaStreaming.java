@@ -0,0 +1,176 @@
+package com.example.ceragen_2.service;
+
+import com.example.ceragen_2.config.DatabaseConfig;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Consultas que leen el resultado fila por fila en lugar de cargarlo completo.
+ *
+ * <p>Con el fetch size por defecto el driver de MySQL descarga todas las filas
+ * a memoria antes de devolver la primera. Con {@code Integer.MIN_VALUE} sobre un
+ * statement forward-only y de solo lectura las lee del socket a medida que se
+ * piden, asi la memoria no depende del tamaño de la tabla. El consumidor corre
+ * en el mismo hilo: mientras procesa una fila no se leen mas (contrapresion).</p>
+ *
+ * <p>Mientras el resultado esta abierto la conexion no admite otras consultas;
+ * el consumidor no debe usar la misma conexion. Para cortar la lectura antes
+ * del final el consumidor lanza una excepcion no verificada.</p>
+ */
+final class ConsultaStreaming {
+    static final int FETCH_STREAMING = Integer.MIN_VALUE;
+
+    /**
+     * Asigna los parametros de la consulta.
+     */
+    @FunctionalInterface
+    interface Parametros {
+        Parametros NINGUNO = stmt -> { };
+
+        void asignar(PreparedStatement stmt) throws SQLException;
+    }
+
+    /**
+     * Convierte la fila actual en un objeto.
+     */
+    @FunctionalInterface
+    interface MapeadorFila<T> {
+        T mapear(ResultSet rs) throws SQLException;
+    }
+
+    /**
+     * Error de lectura al recorrer un {@link #stream}; la causa es la SQLException original.
+     */
+    static final class ErrorLectura extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        ErrorLectura(final SQLException causa) {
+            super(causa.getMessage(), causa);
+        }
+
+        @Override
+        public synchronized SQLException getCause() {
+            return (SQLException) super.getCause();
+        }
+    }
+
+    private ConsultaStreaming() {
+    }
+
+    /**
+     * Prepara un statement en modo streaming.
+     */
+    static PreparedStatement preparar(final Connection conn, final String sql) throws SQLException {
+        final PreparedStatement stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        stmt.setFetchSize(FETCH_STREAMING);
+        return stmt;
+    }
+
+    /**
+     * Ejecuta la consulta y entrega cada fila a {@code consumidor}.
+     *
+     * @return cantidad de filas leidas
+     */
+    static <T> long recorrer(final String sql, final Parametros parametros, final MapeadorFila<T> mapeador,
+                             final Consumer<? super T> consumidor) throws SQLException {
+        long filas = 0;
+        try (Connection conn = DatabaseConfig.getInstance().getConnection();
+             PreparedStatement stmt = preparar(conn, sql)) {
+            parametros.asignar(stmt);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    consumidor.accept(mapeador.mapear(rs));
+                    filas++;
+                }
+            } catch (RuntimeException e) {
+                // El consumidor aborto (p. ej. cancelacion): sin esto, cerrar el
+                // resultado leeria del servidor todas las filas que faltan
+                cancelar(stmt);
+                throw e;
+            }
+        }
+        return filas;
+    }
+
+    private static void cancelar(final PreparedStatement stmt) {
+        try {
+            stmt.cancel();
+        } catch (SQLException e) {
+            // Se cierra igual; solo tarda mas
+        }
+    }
+
+    /**
+     * Stream perezoso sobre el resultado. Debe cerrarse (try-with-resources) para
+     * liberar la conexion; los errores al leer se lanzan como {@link ErrorLectura}.
+     */
+    static <T> Stream<T> stream(final String sql, final Parametros parametros,
+                                final MapeadorFila<T> mapeador) throws SQLException {
+        return stream(DatabaseConfig.getInstance().getConnection(), sql, parametros, mapeador);
+    }
+
+    /**
+     * Igual que {@link #stream(String, Parametros, MapeadorFila)} sobre una conexion
+     * ya obtenida, que se cierra junto con el stream.
+     */
+    static <T> Stream<T> stream(final Connection conn, final String sql, final Parametros parametros,
+                                final MapeadorFila<T> mapeador) throws SQLException {
+        PreparedStatement stmt = null;
+        try {
+            stmt = preparar(conn, sql);
+            parametros.asignar(stmt);
+            final ResultSet rs = stmt.executeQuery();
+            final PreparedStatement abierto = stmt;
+            final Spliterator<T> filas = new Spliterators.AbstractSpliterator<>(
+                    Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+                @Override
+                public boolean tryAdvance(final Consumer<? super T> accion) {
+                    try {
+                        if (!rs.next()) {
+                            return false;
+                        }
+                        accion.accept(mapeador.mapear(rs));
+                        return true;
+                    } catch (SQLException e) {
+                        throw new ErrorLectura(e);
+                    }
+                }
+            };
+            return StreamSupport.stream(filas, false).onClose(() -> cerrar(rs, abierto, conn));
+        } catch (SQLException | RuntimeException e) {
+            try {
+                cerrar(null, stmt, conn);
+            } catch (ErrorLectura alCerrar) {
+                e.addSuppressed(alCerrar.getCause());
+            }
+            throw e;
+        }
+    }
+
+    private static void cerrar(final ResultSet rs, final PreparedStatement stmt, final Connection conn) {
+        SQLException error = null;
+        for (final AutoCloseable recurso : new AutoCloseable[]{rs, stmt, conn}) {
+            if (recurso == null) {
+                continue;
+            }
+            try {
+                recurso.close();
+            } catch (Exception e) {
+                if (error == null) {
+                    error = e instanceof SQLException sql ? sql : new SQLException(e);
+                }
+            }
+        }
+        if (error != null) {
+            throw new ErrorLectura(error);
+        }
+    }
+}
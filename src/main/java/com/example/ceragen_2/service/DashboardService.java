@@ -0,0 +1,196 @@
+package com.example.ceragen_2.service;
+
+import com.example.ceragen_2.config.DatabaseConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Indicadores de facturacion y citas leidos de las tablas de resumen diario
+ * (ver {@link ResumenDiario}): el costo depende de la cantidad de dias del
+ * rango y no de la cantidad de facturas o citas.
+ *
+ * <p>Las bases cargadas con SQL directo (datos existentes o
+ * {@code seed_data_fixed.sql}) no pasan por {@link ResumenDiario}: la primera
+ * vez que se abre el dashboard, si ambos resumenes estan vacios y hay facturas
+ * o citas, se reconstruyen.</p>
+ */
+public final class DashboardService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DashboardService.class);
+    private static DashboardService instance;
+
+    private static final String SQL_INGRESOS =
+            "SELECT fecha, facturas, anuladas, subtotal, iva, descuento, total " +
+            "FROM resumen_facturacion_diaria WHERE fecha BETWEEN ? AND ? ORDER BY fecha";
+
+    private static final String SQL_CITAS =
+            "SELECT r.profesional_id, p.nombres, p.apellidos, " +
+            "SUM(r.total) AS total, SUM(r.pendientes) AS pendientes, SUM(r.confirmadas) AS confirmadas, " +
+            "SUM(r.atendidas) AS atendidas, SUM(r.canceladas) AS canceladas, " +
+            "SUM(CASE WHEN r.fecha < ? THEN r.total - r.atendidas - r.canceladas ELSE 0 END) AS inasistencias " +
+            "FROM resumen_citas_diaria r " +
+            "INNER JOIN profesionales p ON r.profesional_id = p.id " +
+            "WHERE r.fecha BETWEEN ? AND ? " +
+            "GROUP BY r.profesional_id, p.nombres, p.apellidos " +
+            "HAVING SUM(r.total) > 0 " +
+            "ORDER BY total DESC, p.apellidos";
+
+    private static final String SQL_SIN_RESUMEN =
+            "SELECT NOT EXISTS (SELECT 1 FROM resumen_facturacion_diaria) " +
+            "AND NOT EXISTS (SELECT 1 FROM resumen_citas_diaria) " +
+            "AND (EXISTS (SELECT 1 FROM facturas) OR EXISTS (SELECT 1 FROM citas))";
+
+    /** Ya se comprobo que los resumenes estan poblados. */
+    private volatile boolean poblado;
+
+    private DashboardService() {
+    }
+
+    public static synchronized DashboardService getInstance() {
+        if (instance == null) {
+            instance = new DashboardService();
+        }
+        return instance;
+    }
+
+    /**
+     * Resumen del rango [desde, hasta], ambos inclusive.
+     *
+     * @return el resumen, o null si fallo la consulta
+     */
+    public ResumenDashboard getResumen(LocalDate desde, LocalDate hasta) {
+        final long inicio = System.nanoTime();
+        try (Connection conn = DatabaseConfig.getInstance().getConnection()) {
+            poblarSiFalta(conn);
+            List<ResumenDashboard.IngresoDiario> ingresos = completarDias(desde, hasta, leerIngresos(conn, desde, hasta));
+            List<ResumenDashboard.CitasProfesional> citas = leerCitas(conn, desde, hasta);
+            LOGGER.debug("Dashboard {} a {} cargado en {} ms", desde, hasta, (System.nanoTime() - inicio) / 1_000_000);
+            return new ResumenDashboard(desde, hasta, ingresos, citas);
+        } catch (SQLException e) {
+            LOGGER.error("Error al cargar el dashboard", e);
+            return null;
+        }
+    }
+
+    /**
+     * Recalcula las tablas de resumen desde facturas y citas, en una transaccion.
+     */
+    public boolean recalcular() {
+        final long inicio = System.nanoTime();
+        try (Connection conn = DatabaseConfig.getInstance().getConnection()) {
+            reconstruir(conn);
+            LOGGER.info("Resumenes del dashboard recalculados en {} ms", (System.nanoTime() - inicio) / 1_000_000);
+            return true;
+        } catch (SQLException e) {
+            LOGGER.error("Error al recalcular los resumenes del dashboard", e);
+            return false;
+        }
+    }
+
+    /**
+     * Reconstruye los resumenes una sola vez si estan vacios pero ya hay
+     * facturas o citas cargadas por fuera de la aplicacion.
+     */
+    private synchronized void poblarSiFalta(Connection conn) throws SQLException {
+        if (poblado) {
+            return;
+        }
+        final boolean vacio;
+        try (PreparedStatement stmt = conn.prepareStatement(SQL_SIN_RESUMEN);
+             ResultSet rs = stmt.executeQuery()) {
+            vacio = rs.next() && rs.getBoolean(1);
+        }
+        if (vacio) {
+            final long inicio = System.nanoTime();
+            reconstruir(conn);
+            LOGGER.info("Resumenes del dashboard vacios: poblados desde facturas y citas en {} ms",
+                    (System.nanoTime() - inicio) / 1_000_000);
+        }
+        poblado = true;
+    }
+
+    private static void reconstruir(Connection conn) throws SQLException {
+        conn.setAutoCommit(false);
+        try {
+            ResumenDiario.reconstruir(conn);
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(true);
+        }
+    }
+
+    private List<ResumenDashboard.IngresoDiario> leerIngresos(Connection conn, LocalDate desde, LocalDate hasta)
+            throws SQLException {
+        List<ResumenDashboard.IngresoDiario> ingresos = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(SQL_INGRESOS)) {
+            stmt.setDate(1, Date.valueOf(desde));
+            stmt.setDate(2, Date.valueOf(hasta));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    ingresos.add(new ResumenDashboard.IngresoDiario(
+                            rs.getDate("fecha").toLocalDate(),
+                            rs.getInt("facturas"),
+                            rs.getInt("anuladas"),
+                            rs.getBigDecimal("subtotal"),
+                            rs.getBigDecimal("iva"),
+                            rs.getBigDecimal("descuento"),
+                            rs.getBigDecimal("total")));
+                }
+            }
+        }
+        return ingresos;
+    }
+
+    private List<ResumenDashboard.CitasProfesional> leerCitas(Connection conn, LocalDate desde, LocalDate hasta)
+            throws SQLException {
+        List<ResumenDashboard.CitasProfesional> citas = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(SQL_CITAS)) {
+            stmt.setDate(1, Date.valueOf(LocalDate.now()));
+            stmt.setDate(2, Date.valueOf(desde));
+            stmt.setDate(3, Date.valueOf(hasta));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    citas.add(new ResumenDashboard.CitasProfesional(
+                            rs.getInt("profesional_id"),
+                            "Dr. " + rs.getString("nombres") + " " + rs.getString("apellidos"),
+                            rs.getInt("total"),
+                            rs.getInt("pendientes"),
+                            rs.getInt("confirmadas"),
+                            rs.getInt("atendidas"),
+                            rs.getInt("canceladas"),
+                            rs.getInt("inasistencias")));
+                }
+            }
+        }
+        return citas;
+    }
+
+    /**
+     * Un elemento por dia del rango; los dias sin fila en el resumen van en cero.
+     */
+    static List<ResumenDashboard.IngresoDiario> completarDias(LocalDate desde, LocalDate hasta,
+                                                             List<ResumenDashboard.IngresoDiario> leidos) {
+        Map<LocalDate, ResumenDashboard.IngresoDiario> porFecha = new HashMap<>();
+        for (ResumenDashboard.IngresoDiario ingreso : leidos) {
+            porFecha.put(ingreso.fecha(), ingreso);
+        }
+        List<ResumenDashboard.IngresoDiario> dias = new ArrayList<>();
+        for (LocalDate dia = desde; !dia.isAfter(hasta); dia = dia.plusDays(1)) {
+            dias.add(porFecha.getOrDefault(dia, ResumenDashboard.IngresoDiario.vacio(dia)));
+        }
+        return dias;
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.ceragen_2.service;
+
+import com.example.ceragen_2.config.DatabaseConfig;
+import com.example.ceragen_2.model.Especialidad;
+import com.example.ceragen_2.model.Profesional;
+import com.example.ceragen_2.service.CalculadoraDisponibilidad.HorarioAtencion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Disponibilidad de agenda por profesional: deteccion de cruces por
+ * intervalo y busqueda de franjas libres.
+ *
+ * <p>La duracion de cada cita es la {@code duracion_estandar_min} de la
+ * especialidad principal del profesional (30 minutos si no tiene). El horario
+ * sale de {@code profesional_disponibilidad}; si el profesional no tiene filas
+ * se usa el horario de la agenda (08:00 a 19:00, todos los dias).</p>
+ */
+public final class DisponibilidadService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DisponibilidadService.class);
+    private static DisponibilidadService instance;
+
+    static final int DURACION_POR_DEFECTO_MIN = 30;
+    private static final LocalTime APERTURA_POR_DEFECTO = LocalTime.of(8, 0);
+    private static final LocalTime CIERRE_POR_DEFECTO = LocalTime.of(19, 0);
+    private static final int DIAS_POR_BUSQUEDA = 14;
+    private static final int MAX_DIAS_BUSQUEDA = 90;
+
+    private DisponibilidadService() {
+    }
+
+    public static synchronized DisponibilidadService getInstance() {
+        if (instance == null) {
+            instance = new DisponibilidadService();
+        }
+        return instance;
+    }
+
+    /**
+     * Duracion de una cita con el profesional, en minutos.
+     */
+    public int getDuracionMinutos(final Integer profesionalId) {
+        final Profesional profesional = ProfesionalService.getInstance().getProfesionalById(profesionalId);
+        if (profesional == null || profesional.getEspecialidadId() == null) {
+            return DURACION_POR_DEFECTO_MIN;
+        }
+        final Especialidad especialidad = EspecialidadService.getInstance()
+                .getEspecialidadById(profesional.getEspecialidadId());
+        if (especialidad == null || especialidad.getDuracionEstandarMin() == null
+                || especialidad.getDuracionEstandarMin() <= 0) {
+            return DURACION_POR_DEFECTO_MIN;
+        }
+        return especialidad.getDuracionEstandarMin();
+    }
+
+    /**
+     * Verifica si una cita en {@code fechaHora} se cruza con otra cita no
+     * cancelada del profesional, considerando la duracion de ambas.
+     */
+    public boolean existeConflicto(final Integer profesionalId, final LocalDateTime fechaHora,
+                                   final Integer citaIdExcluir) {
+        final Duration duracion = Duration.ofMinutes(getDuracionMinutos(profesionalId));
+        String sql = "SELECT COUNT(*) FROM citas " +
+                "WHERE profesional_id = ? AND estado <> 'CANCELADA' " +
+                "AND fecha_hora > ? AND fecha_hora < ?";
+        if (citaIdExcluir != null) {
+            sql += " AND id <> ?";
+        }
+
+        try (Connection conn = DatabaseConfig.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, profesionalId);
+            stmt.setTimestamp(2, Timestamp.valueOf(fechaHora.minus(duracion)));
+            stmt.setTimestamp(3, Timestamp.valueOf(fechaHora.plus(duracion)));
+            if (citaIdExcluir != null) {
+                stmt.setInt(4, citaIdExcluir);
+            }
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt(1) > 0;
+                }
+            }
+        } catch (SQLException e) {
+            LOGGER.error("Error al verificar conflicto de horario", e);
+        }
+        return false;
+    }
+
+    /**
+     * Franjas libres del profesional que empiezan entre {@code desde} y {@code hasta}.
+     */
+    public List<FranjaHoraria> getFranjasLibres(final Integer profesionalId, final LocalDateTime desde,
+                                                final LocalDateTime hasta) {
+        return buscarFranjas(profesionalId, desde, hasta, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Las proximas {@code cantidad} franjas libres a partir de {@code desde}.
+     * Busca por tramos de dos semanas hasta un maximo de 90 dias.
+     */
+    public List<FranjaHoraria> getProximasFranjas(final Integer profesionalId, final LocalDateTime desde,
+                                                  final int cantidad) {
+        final List<FranjaHoraria> franjas = new ArrayList<>();
+        LocalDateTime inicioTramo = desde;
+        final LocalDateTime limite = desde.plusDays(MAX_DIAS_BUSQUEDA);
+
+        while (franjas.size() < cantidad && inicioTramo.isBefore(limite)) {
+            final LocalDateTime finTramo = inicioTramo.toLocalDate().plusDays(DIAS_POR_BUSQUEDA).atStartOfDay();
+            franjas.addAll(buscarFranjas(profesionalId, inicioTramo, finTramo, cantidad - franjas.size()));
+            inicioTramo = finTramo;
+        }
+        return franjas;
+    }
+
+    /**
+     * Lee en una sola consulta el horario del profesional y sus citas del
+     * rango (indice citas(profesional_id, fecha_hora)) y calcula las franjas.
+     */
+    private List<FranjaHoraria> buscarFranjas(final Integer profesionalId, final LocalDateTime desde,
+                                              final LocalDateTime hasta, final int maximo) {
+        final Duration duracion = Duration.ofMinutes(getDuracionMinutos(profesionalId));
+        final String sql =
+                "SELECT 'D' AS tipo, d.dia_semana, d.hora_inicio, d.hora_fin, NULL AS fecha_hora " +
+                "FROM profesional_disponibilidad d WHERE d.profesional_id = ? " +
+                "UNION ALL " +
+                "SELECT 'C', NULL, NULL, NULL, c.fecha_hora FROM citas c " +
+                "WHERE c.profesional_id = ? AND c.estado <> 'CANCELADA' " +
+                "AND c.fecha_hora > ? AND c.fecha_hora < ?";
+
+        final List<HorarioAtencion> horarios = new ArrayList<>();
+        final List<LocalDateTime> citas = new ArrayList<>();
+
+        try (Connection conn = DatabaseConfig.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, profesionalId);
+            stmt.setInt(2, profesionalId);
+            // Las citas que empiezan antes del rango pero terminan dentro tambien ocupan
+            stmt.setTimestamp(3, Timestamp.valueOf(desde.minus(duracion)));
+            stmt.setTimestamp(4, Timestamp.valueOf(hasta.plus(duracion)));
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    if ("D".equals(rs.getString("tipo"))) {
+                        horarios.add(new HorarioAtencion(
+                                CalculadoraDisponibilidad.diaSemana(rs.getString("dia_semana")),
+                                rs.getTime("hora_inicio").toLocalTime(),
+                                rs.getTime("hora_fin").toLocalTime()));
+                    } else {
+                        citas.add(rs.getTimestamp("fecha_hora").toLocalDateTime());
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            LOGGER.error("Error al calcular disponibilidad del profesional {}", profesionalId, e);
+            return new ArrayList<>();
+        }
+
+        if (horarios.isEmpty()) {
+            horarios.addAll(horarioPorDefecto());
+        }
+        return CalculadoraDisponibilidad.calcularFranjas(horarios, citas, duracion, desde, hasta, maximo);
+    }
+
+    static List<HorarioAtencion> horarioPorDefecto() {
+        final List<HorarioAtencion> horarios = new ArrayList<>();
+        for (final DayOfWeek dia : DayOfWeek.values()) {
+            horarios.add(new HorarioAtencion(dia, APERTURA_POR_DEFECTO, CIERRE_POR_DEFECTO));
+        }
+        return horarios;
+    }
+}
@@ -22,7 +22,8 @@ public class DocumentoPacienteService {
 
     public List<DocumentoPaciente> listarPorPaciente(int pacienteId) {
         List<DocumentoPaciente> docs = new ArrayList<>();
-        String sql = "SELECT id, paciente_id, nombre_archivo, tipo_documento, ruta_archivo, fecha_subida FROM documentos_paciente WHERE paciente_id = ? ORDER BY fecha_subida DESC";
+        String sql = "SELECT id, paciente_id, nombre_archivo, tipo_documento, ruta_archivo, hash_sha256, tamanio_bytes, fecha_subida " +
+                "FROM documentos_paciente WHERE paciente_id = ? ORDER BY fecha_subida DESC";
         try (Connection conn = DatabaseConfig.getInstance().getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setInt(1, pacienteId);
@@ -34,6 +35,9 @@ public class DocumentoPacienteService {
                 d.setNombreArchivo(rs.getString("nombre_archivo"));
                 d.setTipoDocumento(rs.getString("tipo_documento"));
                 d.setRutaArchivo(rs.getString("ruta_archivo"));
+                d.setHashSha256(rs.getString("hash_sha256"));
+                long tamanio = rs.getLong("tamanio_bytes");
+                d.setTamanioBytes(rs.wasNull() ? null : tamanio);
                 Timestamp ts = rs.getTimestamp("fecha_subida");
                 if (ts != null) d.setFechaSubida(ts.toLocalDateTime());
                 docs.add(d);
@@ -45,14 +49,24 @@ public class DocumentoPacienteService {
     }
 
     public boolean crearDocumento(DocumentoPaciente doc) {
-        String sql = "INSERT INTO documentos_paciente (paciente_id, nombre_archivo, tipo_documento, ruta_archivo) VALUES (?, ?, ?, ?)";
+        String sql = "INSERT INTO documentos_paciente (paciente_id, nombre_archivo, tipo_documento, ruta_archivo, hash_sha256, tamanio_bytes) " +
+                "VALUES (?, ?, ?, ?, ?, ?)";
         try (Connection conn = DatabaseConfig.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             stmt.setInt(1, doc.getPacienteId());
             stmt.setString(2, doc.getNombreArchivo());
             stmt.setString(3, doc.getTipoDocumento());
             stmt.setString(4, doc.getRutaArchivo());
+            stmt.setString(5, doc.getHashSha256());
+            if (doc.getTamanioBytes() != null) {
+                stmt.setLong(6, doc.getTamanioBytes());
+            } else {
+                stmt.setNull(6, Types.BIGINT);
+            }
             int rows = stmt.executeUpdate();
+            try (ResultSet keys = stmt.getGeneratedKeys()) {
+                if (keys.next()) doc.setId(keys.getInt(1));
+            }
             return rows > 0;
         } catch (SQLException e) {
             logger.error("Error al crear documento del paciente", e);
@@ -0,0 +1,121 @@
+package com.example.ceragen_2.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * CSV (RFC 4180, UTF-8 con BOM para que Excel respete las tildes) escrito por
+ * un {@link FileChannel} con un buffer directo de tamaño fijo.
+ */
+final class EscritorCsv implements EscritorTabular {
+    static final int TAMANIO_BUFFER = 64 * 1024;
+    private static final byte[] BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+    private final FileChannel canal;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(TAMANIO_BUFFER);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final StringBuilder linea = new StringBuilder(256);
+
+    EscritorCsv(final Path archivo) throws IOException {
+        canal = FileChannel.open(archivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        buffer.put(BOM);
+    }
+
+    @Override
+    public void encabezados(final String... columnas) throws IOException {
+        fila((Object[]) columnas);
+    }
+
+    @Override
+    public void fila(final Object... valores) throws IOException {
+        linea.setLength(0);
+        for (int i = 0; i < valores.length; i++) {
+            if (i > 0) {
+                linea.append(',');
+            }
+            agregarCampo(valores[i] instanceof Number
+                    ? EscritorTabular.texto(valores[i])
+                    : protegerFormula(EscritorTabular.texto(valores[i])));
+        }
+        linea.append("\r\n");
+        escribir(linea);
+    }
+
+    @Override
+    public void finalizar() throws IOException {
+        vaciar();
+        canal.force(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+
+    private void agregarCampo(final String campo) {
+        boolean comillas = false;
+        for (int i = 0; i < campo.length() && !comillas; i++) {
+            final char c = campo.charAt(i);
+            comillas = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!comillas) {
+            linea.append(campo);
+            return;
+        }
+        linea.append('"');
+        for (int i = 0; i < campo.length(); i++) {
+            final char c = campo.charAt(i);
+            if (c == '"') {
+                linea.append('"');
+            }
+            linea.append(c);
+        }
+        linea.append('"');
+    }
+
+    /**
+     * Texto ingresado por usuarios que empieza como formula (=, +, -, @) se
+     * antepone con comilla simple para que la hoja de calculo no lo ejecute.
+     */
+    private static String protegerFormula(final String texto) {
+        if (!texto.isEmpty()) {
+            final char c = texto.charAt(0);
+            if (c == '=' || c == '+' || c == '-' || c == '@' || c == '\t' || c == '\r') {
+                return "'" + texto;
+            }
+        }
+        return texto;
+    }
+
+    private void escribir(final CharSequence texto) throws IOException {
+        final CharBuffer chars = CharBuffer.wrap(texto);
+        encoder.reset();
+        CoderResult resultado = encoder.encode(chars, buffer, true);
+        while (resultado.isOverflow()) {
+            vaciar();
+            resultado = encoder.encode(chars, buffer, true);
+        }
+        while (encoder.flush(buffer).isOverflow()) {
+            vaciar();
+        }
+    }
+
+    private void vaciar() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            canal.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.ceragen_2.service;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Destino de una exportacion fila por fila. Solo guarda en memoria la fila que
+ * se esta escribiendo y un buffer de tamaño fijo.
+ *
+ * <p>{@link #finalizar()} completa el archivo; {@link #close()} sin finalizar
+ * (cancelacion o error) solo libera el archivo, que queda incompleto.</p>
+ */
+interface EscritorTabular extends AutoCloseable {
+    DateTimeFormatter FECHA_HORA = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    void encabezados(String... columnas) throws IOException;
+
+    void fila(Object... valores) throws IOException;
+
+    void finalizar() throws IOException;
+
+    @Override
+    void close() throws IOException;
+
+    /**
+     * Texto de una celda: fechas en formato ISO, numeros sin notacion cientifica, null vacio.
+     */
+    static String texto(final Object valor) {
+        if (valor == null) {
+            return "";
+        }
+        if (valor instanceof LocalDateTime fechaHora) {
+            return fechaHora.format(FECHA_HORA);
+        }
+        if (valor instanceof LocalDate fecha) {
+            return fecha.toString();
+        }
+        if (valor instanceof BigDecimal decimal) {
+            return decimal.toPlainString();
+        }
+        if (valor instanceof Double numero) {
+            return BigDecimal.valueOf(numero).toPlainString();
+        }
+        return valor.toString();
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.ceragen_2.service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Libro XLSX escrito en streaming sin librerias externas: cada hoja es un XML
+ * que se comprime a medida que se escriben las filas, con texto en linea
+ * (sin tabla de cadenas compartidas, que obligaria a tenerlas en memoria).
+ *
+ * <p>Al llegar al limite de filas de Excel se abre otra hoja con los mismos
+ * encabezados. El indice del libro se escribe al final, cuando ya se conoce la
+ * cantidad de hojas.</p>
+ */
+final class EscritorXlsx implements EscritorTabular {
+    /** Filas por hoja en Excel, incluido el encabezado. */
+    static final int MAX_FILAS_HOJA = 1_048_576;
+
+    private final FileChannel canal;
+    private final ZipOutputStream zip;
+    private final Writer xml;
+    private final int maxFilasHoja;
+    private String[] columnas = new String[0];
+    private int hojas;
+    private int filasHoja;
+    private boolean hojaAbierta;
+
+    EscritorXlsx(final Path archivo) throws IOException {
+        this(archivo, MAX_FILAS_HOJA);
+    }
+
+    EscritorXlsx(final Path archivo, final int maxFilasHoja) throws IOException {
+        this.maxFilasHoja = maxFilasHoja;
+        canal = FileChannel.open(archivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        zip = new ZipOutputStream(new BufferedOutputStream(Channels.newOutputStream(canal), EscritorCsv.TAMANIO_BUFFER));
+        zip.setLevel(Deflater.BEST_SPEED);
+        xml = new OutputStreamWriter(zip, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void encabezados(final String... nombres) throws IOException {
+        columnas = nombres.clone();
+        abrirHoja();
+    }
+
+    @Override
+    public void fila(final Object... valores) throws IOException {
+        if (!hojaAbierta || filasHoja >= maxFilasHoja) {
+            cerrarHoja();
+            abrirHoja();
+        }
+        escribirFila(valores);
+    }
+
+    @Override
+    public void finalizar() throws IOException {
+        if (!hojaAbierta && hojas == 0) {
+            abrirHoja();
+        }
+        cerrarHoja();
+        escribirEntrada("[Content_Types].xml", tiposContenido());
+        escribirEntrada("_rels/.rels",
+                "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+                        + "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+                        + "<Relationship Id=\"rId1\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/"
+                        + "relationships/officeDocument\" Target=\"xl/workbook.xml\"/>"
+                        + "</Relationships>");
+        escribirEntrada("xl/workbook.xml", libro());
+        escribirEntrada("xl/_rels/workbook.xml.rels", relacionesLibro());
+        zip.finish();
+        xml.flush();
+        canal.force(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        // Cierra el zip y el canal aunque el libro haya quedado incompleto
+        try {
+            zip.close();
+        } finally {
+            canal.close();
+        }
+    }
+
+    private void abrirHoja() throws IOException {
+        hojas++;
+        filasHoja = 0;
+        zip.putNextEntry(new ZipEntry("xl/worksheets/sheet" + hojas + ".xml"));
+        xml.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+                + "<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\"><sheetData>");
+        hojaAbierta = true;
+        if (columnas.length > 0) {
+            escribirFila((Object[]) columnas);
+        }
+    }
+
+    private void cerrarHoja() throws IOException {
+        if (!hojaAbierta) {
+            return;
+        }
+        xml.write("</sheetData></worksheet>");
+        xml.flush();
+        zip.closeEntry();
+        hojaAbierta = false;
+    }
+
+    private void escribirFila(final Object[] valores) throws IOException {
+        xml.write("<row>");
+        for (final Object valor : valores) {
+            if (valor == null) {
+                xml.write("<c/>");
+            } else if (valor instanceof Number) {
+                xml.write("<c><v>");
+                xml.write(EscritorTabular.texto(valor));
+                xml.write("</v></c>");
+            } else {
+                xml.write("<c t=\"inlineStr\"><is><t xml:space=\"preserve\">");
+                escaparXml(EscritorTabular.texto(valor));
+                xml.write("</t></is></c>");
+            }
+        }
+        xml.write("</row>");
+        filasHoja++;
+    }
+
+    private void escaparXml(final String texto) throws IOException {
+        for (int i = 0; i < texto.length(); i++) {
+            final char c = texto.charAt(i);
+            switch (c) {
+                case '<' -> xml.write("&lt;");
+                case '>' -> xml.write("&gt;");
+                case '&' -> xml.write("&amp;");
+                case '"' -> xml.write("&quot;");
+                default -> {
+                    // Caracteres de control no permitidos en XML 1.0
+                    if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+                        xml.write(c);
+                    }
+                }
+            }
+        }
+    }
+
+    private void escribirEntrada(final String nombre, final String contenido) throws IOException {
+        zip.putNextEntry(new ZipEntry(nombre));
+        xml.write(contenido);
+        xml.flush();
+        zip.closeEntry();
+    }
+
+    private String tiposContenido() {
+        final StringBuilder sb = new StringBuilder(
+                "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+                        + "<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">"
+                        + "<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>"
+                        + "<Default Extension=\"xml\" ContentType=\"application/xml\"/>"
+                        + "<Override PartName=\"/xl/workbook.xml\" ContentType=\"application/"
+                        + "vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>");
+        for (int i = 1; i <= hojas; i++) {
+            sb.append("<Override PartName=\"/xl/worksheets/sheet").append(i)
+                    .append(".xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>");
+        }
+        return sb.append("</Types>").toString();
+    }
+
+    private String libro() {
+        final StringBuilder sb = new StringBuilder(
+                "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+                        + "<workbook xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\" "
+                        + "xmlns:r=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships\"><sheets>");
+        for (int i = 1; i <= hojas; i++) {
+            sb.append("<sheet name=\"Hoja").append(i).append("\" sheetId=\"").append(i)
+                    .append("\" r:id=\"rId").append(i).append("\"/>");
+        }
+        return sb.append("</sheets></workbook>").toString();
+    }
+
+    private String relacionesLibro() {
+        final StringBuilder sb = new StringBuilder(
+                "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+                        + "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">");
+        for (int i = 1; i <= hojas; i++) {
+            sb.append("<Relationship Id=\"rId").append(i)
+                    .append("\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/worksheet\"")
+                    .append(" Target=\"worksheets/sheet").append(i).append(".xml\"/>");
+        }
+        return sb.append("</Relationships>").toString();
+    }
+}
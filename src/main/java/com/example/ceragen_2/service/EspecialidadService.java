@@ -7,6 +7,7 @@ import org.slf4j.LoggerFactory;
 
 import java.math.BigDecimal;
 import java.sql.*;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -17,6 +18,9 @@ public class EspecialidadService {
             LoggerFactory.getLogger(EspecialidadService.class);
     private static EspecialidadService instance;
 
+    private final ReferenceCache<Integer, Especialidad> especialidadesPorId =
+            new ReferenceCache<>("especialidades", 200, Duration.ofMinutes(10));
+
     private EspecialidadService() {
     }
 
@@ -27,10 +31,17 @@ public class EspecialidadService {
         return instance;
     }
 
+    /**
+     * Métricas de la cache de especialidades por ID.
+     */
+    public CacheStats getCacheStats() {
+        return especialidadesPorId.getStats();
+    }
+
     // =====================================================
     // MAPEO RESULTSET → ESPECIALIDAD
     // =====================================================
-    private Especialidad mapRowToEspecialidad(final ResultSet rs)
+    Especialidad mapRowToEspecialidad(final ResultSet rs)
             throws SQLException {
 
         Especialidad e = new Especialidad();
@@ -102,10 +113,110 @@ public class EspecialidadService {
         return especialidades;
     }
 
+    /**
+     * Obtiene una página de especialidades filtrando por nombre y
+     * descripción en la base de datos. Los filtros {@code null} no se aplican.
+     */
+    public List<Especialidad> getEspecialidades(final int offset,
+                                                final int limit,
+                                                final String nombre,
+                                                final String descripcion) {
+        List<Especialidad> especialidades = new ArrayList<>();
+
+        StringBuilder sql = new StringBuilder(
+                "SELECT id, nombre, codigo, descripcion, "
+                        + "       duracion_estandar_min, tarifa_base, "
+                        + "       estado, usuario_creador_id, fecha_creacion "
+                        + "FROM especialidades "
+                        + "WHERE 1=1"
+        );
+        agregarFiltros(sql, nombre, descripcion);
+        sql.append(" ORDER BY nombre, id LIMIT ? OFFSET ?");
+
+        try (Connection conn =
+                     DatabaseConfig.getInstance().getConnection();
+             PreparedStatement stmt =
+                     conn.prepareStatement(sql.toString())) {
+
+            int paramIndex = asignarFiltros(stmt, nombre, descripcion);
+            stmt.setInt(paramIndex++, limit);
+            stmt.setInt(paramIndex, offset);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    especialidades.add(mapRowToEspecialidad(rs));
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Error al obtener especialidades paginadas", e);
+        }
+
+        return especialidades;
+    }
+
+    /**
+     * Cuenta las especialidades que cumplen los filtros de
+     * {@link #getEspecialidades}.
+     */
+    public int countEspecialidades(final String nombre,
+                                   final String descripcion) {
+        StringBuilder sql = new StringBuilder(
+                "SELECT COUNT(*) FROM especialidades WHERE 1=1"
+        );
+        agregarFiltros(sql, nombre, descripcion);
+
+        try (Connection conn =
+                     DatabaseConfig.getInstance().getConnection();
+             PreparedStatement stmt =
+                     conn.prepareStatement(sql.toString())) {
+
+            asignarFiltros(stmt, nombre, descripcion);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt(1);
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Error al contar especialidades", e);
+        }
+
+        return 0;
+    }
+
+    private void agregarFiltros(final StringBuilder sql,
+                                final String nombre,
+                                final String descripcion) {
+        if (nombre != null) {
+            sql.append(" AND nombre LIKE ?");
+        }
+        if (descripcion != null) {
+            sql.append(" AND descripcion LIKE ?");
+        }
+    }
+
+    private int asignarFiltros(final PreparedStatement stmt,
+                               final String nombre,
+                               final String descripcion)
+            throws SQLException {
+        int paramIndex = 1;
+        if (nombre != null) {
+            stmt.setString(paramIndex++, "%" + nombre + "%");
+        }
+        if (descripcion != null) {
+            stmt.setString(paramIndex++, "%" + descripcion + "%");
+        }
+        return paramIndex;
+    }
+
     /**
      * Obtiene una especialidad por ID.
      */
     public Especialidad getEspecialidadById(final Integer id) {
+        return especialidadesPorId.get(id, this::cargarEspecialidadById);
+    }
+
+    private Especialidad cargarEspecialidadById(final Integer id) {
         String sql = "SELECT id, nombre, codigo, descripcion, "
                 + "       duracion_estandar_min, tarifa_base, "
                 + "       estado, usuario_creador_id, fecha_creacion "
@@ -177,6 +288,7 @@ public class EspecialidadService {
             }
 
             int rows = stmt.executeUpdate();
+            especialidadesPorId.invalidar();
 
             if (rows > 0) {
                 try (ResultSet rs = stmt.getGeneratedKeys()) {
@@ -238,6 +350,7 @@ public class EspecialidadService {
             stmt.setInt(7, esp.getId());
 
             int rows = stmt.executeUpdate();
+            especialidadesPorId.invalidar();
             logger.info("Especialidad actualizada. id={}, filas={}",
                     esp.getId(), rows);
             return rows > 0;
@@ -261,6 +374,7 @@ public class EspecialidadService {
 
             stmt.setInt(1, id);
             int rows = stmt.executeUpdate();
+            especialidadesPorId.invalidar();
             logger.info("Especialidad eliminada. id={}, filas={}",
                     id, rows);
             return rows > 0;
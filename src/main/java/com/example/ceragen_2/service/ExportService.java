@@ -0,0 +1,239 @@
+package com.example.ceragen_2.service;
+
+import com.example.ceragen_2.model.Cita;
+import com.example.ceragen_2.model.Factura;
+import com.example.ceragen_2.model.Paciente;
+import javafx.concurrent.Task;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Exportacion de facturas, citas y pacientes a CSV o XLSX.
+ *
+ * <p>Las filas se leen de la base en streaming ({@link ConsultaStreaming}) y se
+ * escriben al archivo a medida que llegan, asi la memoria usada no depende de
+ * la cantidad de filas. Cada exportacion es un {@link Task} cancelable con
+ * progreso; corre en un hilo propio para no ocupar el ejecutor compartido
+ * de las pantallas durante minutos.</p>
+ *
+ * <p>Se escribe a un archivo temporal en la misma carpeta y se renombra al
+ * terminar: si se cancela o falla no queda un archivo a medias con el nombre
+ * elegido.</p>
+ */
+public final class ExportService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExportService.class);
+    private static final int FILAS_POR_PROGRESO = 1_000;
+    private static ExportService instance;
+
+    public enum Tipo {
+        FACTURAS("facturas"),
+        CITAS("citas"),
+        PACIENTES("pacientes");
+
+        private final String nombre;
+
+        Tipo(final String nombre) {
+            this.nombre = nombre;
+        }
+
+        public String getNombre() {
+            return nombre;
+        }
+
+        /**
+         * Los pacientes no tienen estado; el rango de fechas es el de registro.
+         */
+        public boolean tieneEstado() {
+            return this != PACIENTES;
+        }
+    }
+
+    public enum Formato {
+        CSV, XLSX;
+
+        public String getExtension() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+
+        /**
+         * Formato segun la extension del archivo; CSV si no es .xlsx.
+         */
+        public static Formato deArchivo(final Path archivo) {
+            return archivo.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".xlsx") ? XLSX : CSV;
+        }
+    }
+
+    private final ExecutorService ejecutor;
+
+    private ExportService() {
+        final AtomicInteger contador = new AtomicInteger();
+        ejecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                r -> {
+                    final Thread t = new Thread(r, "exportacion-" + contador.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    public static synchronized ExportService getInstance() {
+        if (instance == null) {
+            instance = new ExportService();
+        }
+        return instance;
+    }
+
+    /**
+     * Inicia la exportacion en segundo plano. El valor del Task es la cantidad de
+     * filas exportadas; el progreso y el mensaje se actualizan cada
+     * {@value #FILAS_POR_PROGRESO} filas. Las exportaciones se ejecutan de a una.
+     */
+    public Task<Long> exportar(final Tipo tipo, final Formato formato, final FiltroExportacion filtro,
+                               final Path destino) {
+        final Task<Long> task = new Exportacion(tipo, formato, filtro, destino);
+        ejecutor.execute(task);
+        return task;
+    }
+
+    static EscritorTabular abrirEscritor(final Formato formato, final Path archivo) throws IOException {
+        return formato == Formato.XLSX ? new EscritorXlsx(archivo) : new EscritorCsv(archivo);
+    }
+
+    private static final class Exportacion extends Task<Long> {
+        private final Tipo tipo;
+        private final Formato formato;
+        private final FiltroExportacion filtro;
+        private final Path destino;
+        private long filas;
+        private long total;
+
+        Exportacion(final Tipo tipo, final Formato formato, final FiltroExportacion filtro, final Path destino) {
+            this.tipo = tipo;
+            this.formato = formato;
+            this.filtro = filtro == null ? FiltroExportacion.SIN_FILTROS : filtro;
+            this.destino = destino.toAbsolutePath();
+        }
+
+        @Override
+        protected Long call() throws Exception {
+            final long inicio = System.nanoTime();
+            updateMessage("Contando " + tipo.getNombre() + "...");
+            total = contar();
+            updateProgress(0, Math.max(total, 1));
+
+            final Path temporal = Files.createTempFile(destino.getParent(), "." + destino.getFileName(), ".tmp");
+            boolean completo = false;
+            try (EscritorTabular escritor = abrirEscritor(formato, temporal)) {
+                escribir(escritor);
+                escritor.finalizar();
+                completo = true;
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            } finally {
+                if (!completo) {
+                    Files.deleteIfExists(temporal);
+                }
+            }
+            mover(temporal, destino);
+
+            updateProgress(filas, filas);
+            updateMessage("Exportadas " + filas + " filas");
+            LOGGER.info("Exportacion de {} a {} terminada: {} filas en {} ms", tipo.getNombre(), destino, filas,
+                    (System.nanoTime() - inicio) / 1_000_000);
+            return filas;
+        }
+
+        private long contar() {
+            return switch (tipo) {
+                case FACTURAS -> FacturaService.getInstance()
+                        .contarFacturas(filtro.estadoFiltro(), filtro.inicio(), filtro.fin());
+                case CITAS -> CitaService.getInstance()
+                        .countCitas(null, null, filtro.estadoFiltro(), filtro.inicio(), filtro.fin());
+                case PACIENTES -> PacienteService.getInstance()
+                        .contarPacientesRegistrados(filtro.inicio(), filtro.fin());
+            };
+        }
+
+        private void escribir(final EscritorTabular escritor) throws IOException, SQLException {
+            final boolean leido;
+            switch (tipo) {
+                case FACTURAS -> {
+                    escritor.encabezados("Numero", "Fecha emision", "Cliente", "Ciudad", "Subtotal", "IVA",
+                            "Descuento", "Total", "Metodo de pago", "Estado");
+                    leido = FacturaService.getInstance().recorrerFacturas(filtro.estadoFiltro(),
+                            filtro.inicio(), filtro.fin(), fila(escritor, (Factura f) -> new Object[]{
+                                    f.getNumeroFactura(), f.getFechaEmision(), f.getClienteNombre(), f.getCiudad(),
+                                    f.getSubtotal(), f.getIva(), f.getDescuento(), f.getTotal(),
+                                    f.getMetodoPago(), f.getEstado()}));
+                }
+                case CITAS -> {
+                    escritor.encabezados("ID", "Fecha y hora", "Paciente", "Profesional", "Motivo", "Estado",
+                            "Costo", "Observaciones");
+                    leido = CitaService.getInstance().recorrerCitas(filtro.estadoFiltro(),
+                            filtro.inicio(), filtro.fin(), fila(escritor, (Cita c) -> new Object[]{
+                                    c.getId(), c.getFechaHora(), c.getPacienteNombre(), c.getProfesionalNombre(),
+                                    c.getMotivo(), c.getEstado(), c.getCosto(), c.getObservaciones()}));
+                }
+                default -> {
+                    escritor.encabezados("Cedula", "Nombres", "Apellidos", "Fecha nacimiento", "Genero",
+                            "Telefono", "Email", "Direccion", "Grupo sanguineo", "Alergias", "Fecha registro");
+                    leido = PacienteService.getInstance().recorrerPacientesCompletos(
+                            filtro.inicio(), filtro.fin(), fila(escritor, (Paciente p) -> new Object[]{
+                                    p.getCedula(), p.getNombres(), p.getApellidos(), p.getFechaNacimiento(),
+                                    p.getGenero(), p.getTelefono(), p.getEmail(), p.getDireccion(),
+                                    p.getGrupoSanguineo(), p.getAlergias(), p.getFechaRegistro()}));
+                }
+            }
+            if (!leido) {
+                throw new SQLException("No se pudieron leer los " + tipo.getNombre() + " de la base de datos");
+            }
+        }
+
+        /**
+         * Consumidor que escribe cada fila, informa el progreso y corta la
+         * lectura si se cancelo la tarea.
+         */
+        private <T> Consumer<T> fila(final EscritorTabular escritor, final Function<T, Object[]> valores) {
+            return elemento -> {
+                if (isCancelled()) {
+                    throw new CancellationException("Exportacion cancelada");
+                }
+                try {
+                    escritor.fila(valores.apply(elemento));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                filas++;
+                if (filas % FILAS_POR_PROGRESO == 0) {
+                    // El total es del conteo previo; si entraron filas despues, no pasar del 100%
+                    updateProgress(Math.min(filas, total), Math.max(total, filas));
+                    updateMessage("Exportadas " + filas + " de " + Math.max(total, filas) + " filas");
+                }
+            };
+        }
+
+        private static void mover(final Path origen, final Path destino) throws IOException {
+            try {
+                Files.move(origen, destino, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(origen, destino, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+    }
+}
@@ -7,10 +7,12 @@ import com.example.ceragen_2.model.Factura;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.math.BigDecimal;
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 public class FacturaService {
     private static final Logger logger = LoggerFactory.getLogger(FacturaService.class);
@@ -27,18 +29,35 @@ public class FacturaService {
     }
 
     /**
-     * Genera un número de factura con formato FAC-000001, FAC-000002, etc.
+     * Asigna el numero definitivo a una factura insertada con numero provisional.
      */
-    private String generarNumeroFactura(Connection conn) throws SQLException {
-        String sql = "SELECT IFNULL(MAX(id), 0) + 1 AS next_id FROM facturas";
-        try (Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            if (rs.next()) {
-                int nextId = rs.getInt("next_id");
-                return String.format("FAC-%06d", nextId);
+    private void asignarNumeroFactura(Connection conn, int facturaId, String numeroFactura) throws SQLException {
+        String sql = "UPDATE facturas SET numero_factura = ? WHERE id = ?";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, numeroFactura);
+            stmt.setInt(2, facturaId);
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Inserta una linea de detalle_factura por cita, en un solo lote.
+     */
+    private void crearDetalles(Connection conn, int facturaId, List<Cita> citas, List<Integer> citaIds) throws SQLException {
+        if (citas.isEmpty()) {
+            return;
+        }
+        String sql = "INSERT INTO detalle_factura (factura_id, cita_id, precio_unitario, cantidad) VALUES (?, ?, ?, 1)";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < citas.size(); i++) {
+                BigDecimal costo = citas.get(i).getCosto();
+                stmt.setInt(1, facturaId);
+                stmt.setInt(2, citaIds.get(i));
+                stmt.setBigDecimal(3, costo != null ? costo : BigDecimal.ZERO);
+                stmt.addBatch();
             }
+            stmt.executeBatch();
         }
-        return "FAC-000001";
     }
 
     /**
@@ -65,7 +84,13 @@ public class FacturaService {
             VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 'ACTIVA')
             """;
 
-            String numeroFactura = generarNumeroFactura(conn);
+            // Con numeracion continua el numero definitivo se toma al final,
+            // para que el candado sobre la secuencia dure solo hasta el commit
+            SecuenciaService secuencias = SecuenciaService.getInstance();
+            boolean numeroAlFinal = secuencias.isNumeracionContinua();
+            String numeroFactura = numeroAlFinal
+                    ? SecuenciaService.numeroProvisional()
+                    : secuencias.siguienteNumeroFactura(conn);
             Timestamp fechaEmision = Timestamp.valueOf(LocalDateTime.now());
 
             stmtFactura = conn.prepareStatement(sqlFactura, Statement.RETURN_GENERATED_KEYS);
@@ -95,35 +120,24 @@ public class FacturaService {
             }
 
             int facturaId = generatedKeys.getInt(1);
-            logger.info("Factura creada correctamente. ID: {}, Número: {}", facturaId, numeroFactura);
 
-            // 2. Crear cada cita usando CitaService con la misma conexion (misma transaccion)
-            CitaService citaService = CitaService.getInstance();
-            int citasCreadas = 0;
-
-            for (Cita cita : citas) {
-                boolean citaCreada = citaService.crearCita(
-                        conn,  // Pasar la misma conexión para mantener la transacción
-                        cita.getPacienteId(),
-                        cita.getProfesionalId(),
-                        cita.getFechaHora(),
-                        cita.getMotivo(),
-                        cita.getCosto(),
-                        facturaId
-                );
-
-                if (!citaCreada) {
-                    logger.error("Error al crear cita para paciente ID: {}", cita.getPacienteId());
-                    conn.rollback();
-                    return null;
-                }
+            // 2. Crear las citas y el detalle en lote con la misma conexion (misma transaccion)
+            List<Integer> citaIds = CitaService.getInstance().crearCitas(conn, citas, facturaId);
+            crearDetalles(conn, facturaId, citas, citaIds);
+            int citasCreadas = citaIds.size();
 
-                citasCreadas++;
-                logger.info("Cita {} creada exitosamente para factura ID: {}", citasCreadas, facturaId);
+            if (numeroAlFinal) {
+                numeroFactura = secuencias.siguienteNumeroFactura(conn);
+                asignarNumeroFactura(conn, facturaId, numeroFactura);
             }
 
+            // 3. Resumen diario del dashboard
+            ResumenDiario.sumarFactura(conn, facturaId);
+            ResumenDiario.sumarCitas(conn, ResumenDiario.Citas.POR_FACTURA, facturaId);
+
             // Confirmar la transacción
             conn.commit();
+            logger.info("Factura creada correctamente. ID: {}, Número: {}", facturaId, numeroFactura);
             logger.info("Factura creada con {} citas asociadas", citasCreadas);
             return facturaId;
 
@@ -154,6 +168,19 @@ public class FacturaService {
      */
     public List<Factura> getAllFacturasResumen() {
         List<Factura> facturas = new ArrayList<>();
+        if (recorrerFacturasResumen(facturas::add)) {
+            logger.info("Se obtuvieron {} facturas", facturas.size());
+        }
+        return facturas;
+    }
+
+    /**
+     * Entrega cada factura (resumen) a {@code consumidor} leyendo el resultado
+     * fila por fila, sin cargar la tabla completa en memoria.
+     *
+     * @return false si la consulta fallo
+     */
+    public boolean recorrerFacturasResumen(Consumer<Factura> consumidor) {
         // CORREGIDO: Usar CONCAT para unir nombres y apellidos
         String sql = """
             SELECT 
@@ -168,34 +195,116 @@ public class FacturaService {
             ORDER BY f.fecha_emision DESC
             """;
 
-        try (Connection conn = DatabaseConfig.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql);
-             ResultSet rs = stmt.executeQuery()) {
+        try {
+            ConsultaStreaming.recorrer(sql, ConsultaStreaming.Parametros.NINGUNO, this::mapFacturaResumen, consumidor);
+            return true;
+        } catch (SQLException e) {
+            logger.error("Error al obtener todas las facturas", e);
+            return false;
+        }
+    }
 
-            while (rs.next()) {
-                Factura factura = new Factura();
-                factura.setId(rs.getInt("id"));
-                factura.setNumeroFactura(rs.getString("numero_factura"));
+    /**
+     * Entrega cada factura con sus montos a {@code consumidor}, en orden de emision,
+     * leyendo fila por fila. Los filtros {@code null} no se aplican.
+     *
+     * @return false si la consulta fallo
+     */
+    public boolean recorrerFacturas(String estado, LocalDateTime desde, LocalDateTime hasta,
+                                    Consumer<Factura> consumidor) {
+        StringBuilder sql = new StringBuilder(
+                "SELECT f.id, f.numero_factura, f.cliente_id, f.fecha_emision, f.ciudad, " +
+                "f.subtotal, f.iva, f.descuento, f.total, f.metodo_pago, f.estado, " +
+                "CONCAT(c.nombres, ' ', c.apellidos) AS cliente_nombre " +
+                "FROM facturas f " +
+                "INNER JOIN clientes c ON f.cliente_id = c.id " +
+                "WHERE 1=1");
+        agregarFiltros(sql, estado, desde, hasta);
+        sql.append(" ORDER BY f.fecha_emision, f.id");
 
-                Timestamp fechaEmision = rs.getTimestamp("fecha_emision");
-                if (fechaEmision != null) {
-                    factura.setFechaEmision(fechaEmision.toLocalDateTime());
-                }
+        try {
+            ConsultaStreaming.recorrer(sql.toString(),
+                    stmt -> asignarFiltros(stmt, 1, estado, desde, hasta),
+                    rs -> {
+                        Factura factura = mapFacturaResumen(rs);
+                        factura.setClienteId(rs.getInt("cliente_id"));
+                        factura.setCiudad(rs.getString("ciudad"));
+                        factura.setSubtotal(rs.getDouble("subtotal"));
+                        factura.setIva(rs.getDouble("iva"));
+                        factura.setDescuento(rs.getDouble("descuento"));
+                        factura.setMetodoPago(rs.getString("metodo_pago"));
+                        return factura;
+                    },
+                    consumidor);
+            return true;
+        } catch (SQLException e) {
+            logger.error("Error al recorrer facturas", e);
+            return false;
+        }
+    }
 
-                factura.setTotal(rs.getDouble("total"));
-                factura.setEstado(rs.getString("estado"));
-                factura.setClienteNombre(rs.getString("cliente_nombre"));
+    /**
+     * Cuenta las facturas con los mismos filtros que {@link #recorrerFacturas}.
+     */
+    public int contarFacturas(String estado, LocalDateTime desde, LocalDateTime hasta) {
+        StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM facturas f WHERE 1=1");
+        agregarFiltros(sql, estado, desde, hasta);
+
+        try (Connection conn = DatabaseConfig.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
 
-                facturas.add(factura);
+            asignarFiltros(stmt, 1, estado, desde, hasta);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt(1);
+                }
             }
+        } catch (SQLException e) {
+            logger.error("Error al contar facturas", e);
+        }
+        return 0;
+    }
 
-            logger.info("Se obtuvieron {} facturas", facturas.size());
+    private void agregarFiltros(StringBuilder sql, String estado, LocalDateTime desde, LocalDateTime hasta) {
+        if (estado != null) {
+            sql.append(" AND f.estado = ?");
+        }
+        if (desde != null) {
+            sql.append(" AND f.fecha_emision >= ?");
+        }
+        if (hasta != null) {
+            sql.append(" AND f.fecha_emision <= ?");
+        }
+    }
 
-        } catch (SQLException e) {
-            logger.error("Error al obtener todas las facturas", e);
+    private int asignarFiltros(PreparedStatement stmt, int paramIndex, String estado,
+                               LocalDateTime desde, LocalDateTime hasta) throws SQLException {
+        if (estado != null) {
+            stmt.setString(paramIndex++, estado);
+        }
+        if (desde != null) {
+            stmt.setTimestamp(paramIndex++, Timestamp.valueOf(desde));
+        }
+        if (hasta != null) {
+            stmt.setTimestamp(paramIndex++, Timestamp.valueOf(hasta));
+        }
+        return paramIndex;
+    }
+
+    private Factura mapFacturaResumen(ResultSet rs) throws SQLException {
+        Factura factura = new Factura();
+        factura.setId(rs.getInt("id"));
+        factura.setNumeroFactura(rs.getString("numero_factura"));
+
+        Timestamp fechaEmision = rs.getTimestamp("fecha_emision");
+        if (fechaEmision != null) {
+            factura.setFechaEmision(fechaEmision.toLocalDateTime());
         }
 
-        return facturas;
+        factura.setTotal(rs.getDouble("total"));
+        factura.setEstado(rs.getString("estado"));
+        factura.setClienteNombre(rs.getString("cliente_nombre"));
+        return factura;
     }
 
     /**
@@ -257,21 +366,31 @@ public class FacturaService {
     public boolean anularFactura(Integer facturaId) {
         String sql = "UPDATE facturas SET estado = 'ANULADA' WHERE id = ? AND estado = 'ACTIVA'";
 
-        try (Connection conn = DatabaseConfig.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setInt(1, facturaId);
-            int rowsAffected = stmt.executeUpdate();
+        try (Connection conn = DatabaseConfig.getInstance().getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                // Sale del resumen como activa y vuelve a entrar como anulada
+                ResumenDiario.restarFactura(conn, facturaId);
+                stmt.setInt(1, facturaId);
+                int rowsAffected = stmt.executeUpdate();
+                ResumenDiario.sumarFactura(conn, facturaId);
+                conn.commit();
+
+                boolean exito = rowsAffected > 0;
+                if (exito) {
+                    logger.info("Factura anulada exitosamente. ID: {}", facturaId);
+                } else {
+                    logger.warn("No se pudo anular la factura. ID: {} (posiblemente ya estaba anulada o no existe)", facturaId);
+                }
 
-            boolean exito = rowsAffected > 0;
-            if (exito) {
-                logger.info("Factura anulada exitosamente. ID: {}", facturaId);
-            } else {
-                logger.warn("No se pudo anular la factura. ID: {} (posiblemente ya estaba anulada o no existe)", facturaId);
+                return exito;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
             }
 
-            return exito;
-
         } catch (SQLException e) {
             logger.error("Error al anular factura ID: {}", facturaId, e);
             return false;
@@ -0,0 +1,34 @@
+package com.example.ceragen_2.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Filtros de una exportacion: rango de fechas (ambos extremos incluidos) y
+ * estado. Cualquiera puede ser null para no filtrar por ese campo.
+ */
+public record FiltroExportacion(LocalDate desde, LocalDate hasta, String estado) {
+
+    public static final FiltroExportacion SIN_FILTROS = new FiltroExportacion(null, null, null);
+
+    public LocalDateTime inicio() {
+        return desde == null ? null : desde.atStartOfDay();
+    }
+
+    /**
+     * Ultimo segundo de {@link #hasta}; las columnas DATETIME no guardan fracciones.
+     */
+    public LocalDateTime fin() {
+        return hasta == null ? null : hasta.atTime(23, 59, 59);
+    }
+
+    /**
+     * Estado a filtrar, o null si no hay o es "TODOS"/"TODAS".
+     */
+    public String estadoFiltro() {
+        if (estado == null || estado.isBlank() || "TODOS".equals(estado) || "TODAS".equals(estado)) {
+            return null;
+        }
+        return estado;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.ceragen_2.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Intervalo libre en la agenda de un profesional, [inicio, fin).
+ *
+ * @param inicio Fecha y hora de inicio
+ * @param fin    Fecha y hora de fin (exclusiva)
+ */
+public record FranjaHoraria(LocalDateTime inicio, LocalDateTime fin) {
+}
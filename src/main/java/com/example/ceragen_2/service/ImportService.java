@@ -0,0 +1,485 @@
+package com.example.ceragen_2.service;
+
+import com.example.ceragen_2.model.Cliente;
+import com.example.ceragen_2.model.Paciente;
+import com.example.ceragen_2.util.FormValidationUtil;
+import javafx.concurrent.Task;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Importacion masiva de pacientes y clientes desde CSV.
+ *
+ * <p>El archivo se lee en streaming por lotes de {@value #LOTE} filas. Cada lote
+ * se valida en paralelo con las reglas de {@link FormValidationUtil}, se
+ * descartan las cedulas repetidas en el archivo y las ya registradas (una sola
+ * consulta IN por lote) y el resto se inserta con JDBC batch en una transaccion
+ * por lote. Si el lote falla al guardar se reintenta fila por fila para saber
+ * cuales fallaron.</p>
+ *
+ * <p>Las filas rechazadas se escriben, con su numero de linea y el motivo, en
+ * un CSV junto al archivo importado ({@code <nombre>_errores.csv}). Cancelar
+ * detiene la importacion entre lotes; los lotes ya guardados se conservan.</p>
+ */
+public final class ImportService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ImportService.class);
+    static final int LOTE = 1_000;
+    private static final int MAX_NOMBRE = 100;
+    private static final Pattern GRUPO_SANGUINEO = Pattern.compile("(A|B|AB|O)[+-]");
+    private static final DateTimeFormatter FECHA_DMY = DateTimeFormatter.ofPattern("d/M/uuuu");
+    private static ImportService instance;
+
+    public enum Tipo {
+        PACIENTES("pacientes"),
+        CLIENTES("clientes");
+
+        private final String nombre;
+
+        Tipo(final String nombre) {
+            this.nombre = nombre;
+        }
+
+        public String getNombre() {
+            return nombre;
+        }
+    }
+
+    private final ExecutorService ejecutor;
+
+    private ImportService() {
+        final AtomicInteger contador = new AtomicInteger();
+        ejecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                r -> {
+                    final Thread t = new Thread(r, "importacion-" + contador.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    public static synchronized ImportService getInstance() {
+        if (instance == null) {
+            instance = new ImportService();
+        }
+        return instance;
+    }
+
+    /**
+     * Inicia la importacion en segundo plano. El progreso es la fraccion del
+     * archivo leida. Las importaciones se ejecutan de a una.
+     */
+    public Task<ResultadoImportacion> importar(final Tipo tipo, final Path origen) {
+        final Task<ResultadoImportacion> task = switch (tipo) {
+            case PACIENTES -> new Importacion<>(tipo, origen, ImportService::convertirPaciente,
+                    PacienteService.getInstance()::cedulasExistentes,
+                    PacienteService.getInstance()::crearPacientesLote,
+                    PacienteService.getInstance()::crearPaciente);
+            case CLIENTES -> new Importacion<>(tipo, origen, ImportService::convertirCliente,
+                    ClienteService.getInstance()::cedulasExistentes,
+                    ClienteService.getInstance()::crearClientesLote,
+                    ClienteService.getInstance()::crearCliente);
+        };
+        ejecutor.execute(task);
+        return task;
+    }
+
+    /**
+     * Archivo de errores de una importacion: {@code pacientes.csv} -> {@code pacientes_errores.csv}.
+     */
+    static Path rutaReporte(final Path origen) {
+        final String nombre = origen.getFileName().toString();
+        final int punto = nombre.lastIndexOf('.');
+        return origen.resolveSibling((punto > 0 ? nombre.substring(0, punto) : nombre) + "_errores.csv");
+    }
+
+    /**
+     * Nombre de columna comparable: sin tildes, en minusculas y con _ en lugar
+     * de espacios ("Fecha nacimiento" -> fecha_nacimiento).
+     */
+    static String normalizarColumna(final String encabezado) {
+        return Normalizer.normalize(encabezado.trim(), Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT)
+                .replaceAll("[\\s-]+", "_");
+    }
+
+    // ========================================
+    // VALIDACION DE FILAS
+    // ========================================
+
+    /**
+     * Fila del archivo con acceso a los valores por nombre de columna.
+     */
+    record Fila(long linea, String[] valores, Map<String, Integer> columnas) {
+
+        /**
+         * Valor recortado de la columna, null si no existe o esta vacio. Quita
+         * la comilla que agrega la exportacion delante de texto tipo formula.
+         */
+        String valor(final String columna) {
+            final Integer indice = columnas.get(columna);
+            if (indice == null || indice >= valores.length) {
+                return null;
+            }
+            String texto = valores[indice].trim();
+            if (texto.length() > 1 && texto.charAt(0) == '\'' && "=+-@".indexOf(texto.charAt(1)) >= 0) {
+                texto = texto.substring(1);
+            }
+            return texto.isEmpty() ? null : texto;
+        }
+    }
+
+    /**
+     * Resultado de validar una fila: la entidad lista para insertar o los errores.
+     */
+    record Validada<T>(Fila fila, String cedula, T entidad, String error) {
+    }
+
+    static Validada<Paciente> convertirPaciente(final Fila fila) {
+        final List<String> errores = new ArrayList<>();
+        final Paciente p = leerPaciente(fila, errores);
+        return validada(fila, p.getCedula(), p, errores);
+    }
+
+    static Validada<Cliente> convertirCliente(final Fila fila) {
+        final List<String> errores = new ArrayList<>();
+        final Cliente c = leerCliente(fila, errores);
+        return validada(fila, c.getCedula(), c, errores);
+    }
+
+    private static <T> Validada<T> validada(final Fila fila, final String cedula, final T entidad,
+                                            final List<String> errores) {
+        return errores.isEmpty()
+                ? new Validada<>(fila, cedula, entidad, null)
+                : new Validada<>(fila, cedula, null, String.join("; ", errores));
+    }
+
+    private static Paciente leerPaciente(final Fila fila, final List<String> errores) {
+        final Paciente p = new Paciente();
+        p.setCedula(validarCedula(fila, errores));
+        p.setNombres(validarNombre(fila, "nombres", "Los nombres", errores));
+        p.setApellidos(validarNombre(fila, "apellidos", "Los apellidos", errores));
+        p.setTelefono(validarTelefono(fila, errores));
+        p.setEmail(validarEmail(fila, errores));
+        p.setDireccion(fila.valor("direccion"));
+        p.setAlergias(fila.valor("alergias"));
+
+        final String fecha = fila.valor("fecha_nacimiento");
+        if (fecha != null) {
+            final LocalDate nacimiento = leerFecha(fecha);
+            if (nacimiento == null) {
+                errores.add("Fecha de nacimiento invalida (use AAAA-MM-DD o DD/MM/AAAA)");
+            } else if (nacimiento.isAfter(LocalDate.now())) {
+                errores.add("La fecha de nacimiento no puede ser futura");
+            } else {
+                p.setFechaNacimiento(nacimiento);
+            }
+        }
+
+        final String genero = fila.valor("genero");
+        if (genero != null) {
+            final String codigo = switch (genero.toUpperCase(Locale.ROOT)) {
+                case "M", "MASCULINO" -> "M";
+                case "F", "FEMENINO" -> "F";
+                case "OTRO" -> "OTRO";
+                default -> {
+                    errores.add("Genero debe ser M, F u OTRO");
+                    yield null;
+                }
+            };
+            p.setGenero(codigo);
+        }
+
+        final String grupo = fila.valor("grupo_sanguineo");
+        if (grupo != null) {
+            if (GRUPO_SANGUINEO.matcher(grupo.toUpperCase(Locale.ROOT)).matches()) {
+                p.setGrupoSanguineo(grupo.toUpperCase(Locale.ROOT));
+            } else {
+                errores.add("Grupo sanguineo invalido (A+, A-, B+, B-, AB+, AB-, O+, O-)");
+            }
+        }
+        return p;
+    }
+
+    private static Cliente leerCliente(final Fila fila, final List<String> errores) {
+        final Cliente c = new Cliente();
+        c.setCedula(validarCedula(fila, errores));
+        c.setNombres(validarNombre(fila, "nombres", "Los nombres", errores));
+        c.setApellidos(validarNombre(fila, "apellidos", "Los apellidos", errores));
+        c.setTelefono(validarTelefono(fila, errores));
+        c.setEmail(validarEmail(fila, errores));
+        c.setDireccion(fila.valor("direccion"));
+        return c;
+    }
+
+    private static String validarCedula(final Fila fila, final List<String> errores) {
+        final String cedula = fila.valor("cedula");
+        if (cedula == null) {
+            errores.add("Cedula es requerida");
+        } else if (!FormValidationUtil.esCedulaValida(cedula)) {
+            errores.add("Cedula debe tener exactamente 10 digitos");
+        }
+        return cedula;
+    }
+
+    private static String validarNombre(final Fila fila, final String columna, final String etiqueta,
+                                        final List<String> errores) {
+        final String valor = fila.valor(columna);
+        if (valor == null) {
+            errores.add(etiqueta + " son obligatorios");
+        } else if (valor.length() > MAX_NOMBRE) {
+            errores.add(etiqueta + " superan " + MAX_NOMBRE + " caracteres");
+        }
+        return valor;
+    }
+
+    private static String validarTelefono(final Fila fila, final List<String> errores) {
+        final String telefono = fila.valor("telefono");
+        if (!FormValidationUtil.esTelefonoValido(telefono)) {
+            errores.add("Telefono debe tener exactamente 10 digitos");
+        }
+        return telefono;
+    }
+
+    private static String validarEmail(final Fila fila, final List<String> errores) {
+        final String email = fila.valor("email");
+        if (!FormValidationUtil.esEmailValido(email) || (email != null && email.length() > MAX_NOMBRE)) {
+            errores.add("Formato de email invalido");
+        }
+        return email;
+    }
+
+    private static LocalDate leerFecha(final String texto) {
+        try {
+            return texto.contains("/") ? LocalDate.parse(texto, FECHA_DMY) : LocalDate.parse(texto);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    // ========================================
+    // IMPORTACION
+    // ========================================
+
+    private static final class Importacion<T> extends Task<ResultadoImportacion> {
+        private static final List<String> OBLIGATORIAS = List.of("cedula", "nombres", "apellidos");
+
+        private final Tipo tipo;
+        private final Path origen;
+        private final Function<Fila, Validada<T>> validador;
+        private final Function<Collection<String>, Set<String>> existentes;
+        private final Predicate<List<T>> insertarLote;
+        private final Predicate<T> insertar;
+        /** Cedulas ya vistas en el archivo con la linea donde aparecieron. */
+        private final Map<String, Long> vistas = new HashMap<>();
+        private final Path rutaReporte;
+        private EscritorCsv reporte;
+        private long leidas;
+        private long importadas;
+        private long duplicadas;
+        private long invalidas;
+
+        Importacion(final Tipo tipo, final Path origen, final Function<Fila, Validada<T>> validador,
+                    final Function<Collection<String>, Set<String>> existentes,
+                    final Predicate<List<T>> insertarLote, final Predicate<T> insertar) {
+            this.tipo = tipo;
+            this.origen = origen.toAbsolutePath();
+            this.validador = validador;
+            this.existentes = existentes;
+            this.insertarLote = insertarLote;
+            this.insertar = insertar;
+            this.rutaReporte = rutaReporte(this.origen);
+        }
+
+        @Override
+        protected ResultadoImportacion call() throws Exception {
+            final long inicio = System.nanoTime();
+            final long tamanio = Math.max(Files.size(origen), 1);
+            Files.deleteIfExists(rutaReporte);
+            updateMessage("Leyendo " + origen.getFileName() + "...");
+
+            try (ContadorBytes entrada = new ContadorBytes(Files.newInputStream(origen));
+                 LectorCsv lector = new LectorCsv(new InputStreamReader(entrada, StandardCharsets.UTF_8.newDecoder()
+                         .onMalformedInput(CodingErrorAction.REPLACE)
+                         .onUnmappableCharacter(CodingErrorAction.REPLACE)))) {
+                final Map<String, Integer> columnas = leerEncabezado(lector);
+                final List<Fila> lote = new ArrayList<>(LOTE);
+                String[] valores;
+                while ((valores = lector.siguiente()) != null) {
+                    if (valores.length == 1 && valores[0].isBlank()) {
+                        continue;
+                    }
+                    lote.add(new Fila(lector.getLinea(), valores, columnas));
+                    if (lote.size() == LOTE) {
+                        procesarLote(lote);
+                        lote.clear();
+                        updateProgress(entrada.leidos, tamanio);
+                        updateMessage("Procesadas " + leidas + " filas: " + importadas + " importadas, "
+                                + (duplicadas + invalidas) + " rechazadas");
+                        if (isCancelled()) {
+                            LOGGER.info("Importacion de {} cancelada tras {} filas", tipo.getNombre(), leidas);
+                            return null;
+                        }
+                    }
+                }
+                procesarLote(lote);
+            } finally {
+                if (reporte != null) {
+                    reporte.finalizar();
+                    reporte.close();
+                }
+            }
+
+            final long milis = (System.nanoTime() - inicio) / 1_000_000;
+            final ResultadoImportacion resultado = new ResultadoImportacion(leidas, importadas, duplicadas,
+                    invalidas, reporte != null ? rutaReporte : null, milis);
+            updateProgress(1, 1);
+            updateMessage("Importadas " + importadas + " de " + leidas + " filas");
+            LOGGER.info("Importacion de {} desde {}: {} leidas, {} importadas, {} duplicadas, {} invalidas "
+                            + "en {} ms ({} filas/s)", tipo.getNombre(), origen, leidas, importadas, duplicadas,
+                    invalidas, milis, resultado.filasPorSegundo());
+            return resultado;
+        }
+
+        private Map<String, Integer> leerEncabezado(final LectorCsv lector) throws IOException {
+            final String[] encabezado = lector.siguiente();
+            if (encabezado == null) {
+                throw new IOException("El archivo esta vacio");
+            }
+            final Map<String, Integer> columnas = new LinkedHashMap<>();
+            for (int i = 0; i < encabezado.length; i++) {
+                columnas.putIfAbsent(normalizarColumna(encabezado[i]), i);
+            }
+            final List<String> faltantes = OBLIGATORIAS.stream().filter(c -> !columnas.containsKey(c)).toList();
+            if (!faltantes.isEmpty()) {
+                throw new IOException("Faltan columnas obligatorias en el encabezado: " + String.join(", ", faltantes));
+            }
+            return columnas;
+        }
+
+        private void procesarLote(final List<Fila> lote) throws IOException, SQLException {
+            if (lote.isEmpty()) {
+                return;
+            }
+            leidas += lote.size();
+
+            // La validacion es solo CPU: se reparte entre los nucleos, en el orden del archivo
+            final List<Validada<T>> validadas = lote.parallelStream().map(validador).toList();
+
+            final List<Validada<T>> candidatas = new ArrayList<>(validadas.size());
+            for (final Validada<T> v : validadas) {
+                if (v.error() != null) {
+                    rechazar(v, v.error(), false);
+                    continue;
+                }
+                final Long lineaPrevia = vistas.putIfAbsent(v.cedula(), v.fila().linea());
+                if (lineaPrevia != null) {
+                    rechazar(v, "Cedula repetida en el archivo (linea " + lineaPrevia + ")", true);
+                } else {
+                    candidatas.add(v);
+                }
+            }
+
+            final Set<String> registradas = existentes.apply(candidatas.stream().map(Validada::cedula).toList());
+            if (registradas == null) {
+                throw new SQLException("No se pudieron verificar las cedulas en la base de datos");
+            }
+            final List<Validada<T>> nuevas = new ArrayList<>(candidatas.size());
+            for (final Validada<T> v : candidatas) {
+                if (registradas.contains(v.cedula())) {
+                    rechazar(v, "La cedula ya esta registrada", true);
+                } else {
+                    nuevas.add(v);
+                }
+            }
+
+            final List<T> entidades = nuevas.stream().map(Validada::entidad).toList();
+            if (insertarLote.test(entidades)) {
+                importadas += entidades.size();
+                return;
+            }
+            LOGGER.warn("Fallo el lote de {} {} desde la linea {}, reintentando fila por fila",
+                    entidades.size(), tipo.getNombre(), lote.get(0).linea());
+            for (final Validada<T> v : nuevas) {
+                if (insertar.test(v.entidad())) {
+                    importadas++;
+                } else {
+                    rechazar(v, "No se pudo guardar en la base de datos", false);
+                }
+            }
+        }
+
+        private void rechazar(final Validada<T> fila, final String motivo, final boolean duplicada)
+                throws IOException {
+            if (duplicada) {
+                duplicadas++;
+            } else {
+                invalidas++;
+            }
+            if (reporte == null) {
+                reporte = new EscritorCsv(rutaReporte);
+                reporte.encabezados("Linea", "Cedula", "Error");
+            }
+            reporte.fila(fila.fila().linea(), fila.cedula(), motivo);
+        }
+    }
+
+    /**
+     * Cuenta los bytes leidos del archivo para informar el progreso.
+     */
+    private static final class ContadorBytes extends FilterInputStream {
+        private long leidos;
+
+        ContadorBytes(final InputStream entrada) {
+            super(new BufferedInputStream(entrada, EscritorCsv.TAMANIO_BUFFER));
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int b = super.read();
+            if (b >= 0) {
+                leidos++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            final int n = super.read(b, off, len);
+            if (n > 0) {
+                leidos += n;
+            }
+            return n;
+        }
+    }
+}
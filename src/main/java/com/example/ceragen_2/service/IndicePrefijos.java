@@ -0,0 +1,337 @@
+package com.example.ceragen_2.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Indice en memoria por prefijo de cedula y de cada palabra del nombre, para
+ * sugerencias mientras se escribe sin consultar la base de datos.
+ *
+ * <p>Es un trie compacto: cada nodo guarda sus hijos en dos arreglos ordenados
+ * (letras y nodos) y los IDs de los elementos cuya clave termina en el nodo.
+ * Las claves se normalizan igual que {@link BusquedaTexto} (sin tildes, en
+ * minusculas), asi "nun" encuentra a "Núñez".</p>
+ *
+ * <p>Lecturas concurrentes; las escrituras toman el candado exclusivo. La carga
+ * completa se construye fuera del candado y se reemplaza de una vez.</p>
+ */
+final class IndicePrefijos<T> {
+    private static final char[] SIN_LETRAS = new char[0];
+    private static final Nodo[] SIN_HIJOS = new Nodo[0];
+    private static final int[] SIN_IDS = new int[0];
+
+    private final Function<T, Integer> id;
+    private final Function<T, List<String>> textos;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Nodo raiz = new Nodo();
+    private Map<Integer, Entrada<T>> porId = new HashMap<>();
+    private long version;
+
+    /**
+     * @param id     ID del elemento
+     * @param textos textos a indexar (cedula, nombres, apellidos...); se parten en palabras
+     */
+    IndicePrefijos(final Function<T, Integer> id, final Function<T, List<String>> textos) {
+        this.id = id;
+        this.textos = textos;
+    }
+
+    /**
+     * Version que cambia con cada alta, modificacion o baja individual.
+     */
+    long getVersion() {
+        lock.readLock().lock();
+        try {
+            return version;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return porId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reemplaza todo el contenido si no hubo cambios individuales desde
+     * {@code versionLeida}; si los hubo, la carga puede estar desactualizada
+     * y devuelve false sin tocar el indice.
+     */
+    boolean reemplazarSi(final long versionLeida, final Collection<T> elementos) {
+        final Carga carga = nuevaCarga();
+        elementos.forEach(carga::agregar);
+        return carga.aplicarSi(versionLeida);
+    }
+
+    /**
+     * Carga completa que se arma elemento a elemento (por ejemplo desde una
+     * consulta en streaming) sin bloquear las busquedas sobre el contenido actual.
+     */
+    Carga nuevaCarga() {
+        return new Carga();
+    }
+
+    final class Carga {
+        private final Nodo nuevaRaiz = new Nodo();
+        private final Map<Integer, Entrada<T>> nuevoPorId = new HashMap<>();
+
+        void agregar(final T elemento) {
+            final Entrada<T> entrada = entrada(elemento);
+            if (entrada != null) {
+                final Entrada<T> anterior = nuevoPorId.put(entrada.id(), entrada);
+                if (anterior != null) {
+                    quitarClaves(nuevaRaiz, anterior);
+                }
+                agregarClaves(nuevaRaiz, entrada);
+            }
+        }
+
+        int size() {
+            return nuevoPorId.size();
+        }
+
+        /**
+         * Publica la carga si el indice no cambio desde {@code versionLeida}.
+         */
+        boolean aplicarSi(final long versionLeida) {
+            lock.writeLock().lock();
+            try {
+                if (version != versionLeida) {
+                    return false;
+                }
+                raiz = nuevaRaiz;
+                porId = nuevoPorId;
+                return true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Agrega o actualiza un elemento.
+     */
+    void put(final T elemento) {
+        final Entrada<T> entrada = entrada(elemento);
+        if (entrada == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            final Entrada<T> anterior = porId.put(entrada.id(), entrada);
+            if (anterior != null) {
+                quitarClaves(raiz, anterior);
+            }
+            agregarClaves(raiz, entrada);
+            version++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(final Integer elementoId) {
+        if (elementoId == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            final Entrada<T> anterior = porId.remove(elementoId);
+            if (anterior != null) {
+                quitarClaves(raiz, anterior);
+            }
+            version++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Elementos en los que cada palabra de {@code texto} es prefijo de alguna
+     * de sus claves. Primero los de clave mas corta (coincidencia mas exacta).
+     */
+    List<T> buscar(final String texto, final int limite) {
+        final List<String> palabras = BusquedaTexto.palabras(texto);
+        final List<T> resultado = new ArrayList<>();
+        if (palabras.isEmpty() || limite <= 0) {
+            return resultado;
+        }
+        // La palabra mas larga es la mas selectiva: se recorre su subarbol y
+        // las demas solo se verifican contra las claves del elemento
+        final String pivote = palabras.stream().max(Comparator.comparingInt(String::length)).orElseThrow();
+
+        lock.readLock().lock();
+        try {
+            final Nodo inicio = bajar(raiz, pivote);
+            if (inicio == null) {
+                return resultado;
+            }
+            final Set<Integer> vistos = new LinkedHashSet<>();
+            final ArrayDeque<Nodo> pendientes = new ArrayDeque<>();
+            pendientes.add(inicio);
+            while (!pendientes.isEmpty() && resultado.size() < limite) {
+                final Nodo nodo = pendientes.poll();
+                for (int i = 0; i < nodo.cantidadIds && resultado.size() < limite; i++) {
+                    final Entrada<T> entrada = porId.get(nodo.ids[i]);
+                    if (entrada != null && vistos.add(entrada.id()) && coincide(entrada, palabras)) {
+                        resultado.add(entrada.elemento());
+                    }
+                }
+                pendientes.addAll(Arrays.asList(nodo.hijos));
+            }
+            return resultado;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Todos los elementos en el orden indicado.
+     */
+    List<T> todos(final Comparator<T> orden) {
+        final List<T> elementos = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (final Entrada<T> entrada : porId.values()) {
+                elementos.add(entrada.elemento());
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        elementos.sort(orden);
+        return elementos;
+    }
+
+    /**
+     * Claves normalizadas de los textos, sin repetir.
+     */
+    static List<String> claves(final List<String> textos) {
+        final Set<String> claves = new LinkedHashSet<>();
+        for (final String texto : textos) {
+            claves.addAll(BusquedaTexto.palabras(texto));
+        }
+        return new ArrayList<>(claves);
+    }
+
+    private Entrada<T> entrada(final T elemento) {
+        final Integer elementoId = elemento == null ? null : id.apply(elemento);
+        if (elementoId == null) {
+            return null;
+        }
+        return new Entrada<>(elementoId, elemento, claves(textos.apply(elemento)).toArray(new String[0]));
+    }
+
+    private static boolean coincide(final Entrada<?> entrada, final List<String> palabras) {
+        for (final String palabra : palabras) {
+            boolean alguna = false;
+            for (final String clave : entrada.claves()) {
+                if (clave.startsWith(palabra)) {
+                    alguna = true;
+                    break;
+                }
+            }
+            if (!alguna) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void agregarClaves(final Nodo raiz, final Entrada<?> entrada) {
+        for (final String clave : entrada.claves()) {
+            Nodo nodo = raiz;
+            for (int i = 0; i < clave.length(); i++) {
+                nodo = nodo.hijoOCrear(clave.charAt(i));
+            }
+            nodo.agregarId(entrada.id());
+        }
+    }
+
+    private static void quitarClaves(final Nodo raiz, final Entrada<?> entrada) {
+        for (final String clave : entrada.claves()) {
+            final Nodo nodo = bajar(raiz, clave);
+            if (nodo != null) {
+                nodo.quitarId(entrada.id());
+            }
+        }
+    }
+
+    private static Nodo bajar(final Nodo raiz, final String prefijo) {
+        Nodo nodo = raiz;
+        for (int i = 0; i < prefijo.length() && nodo != null; i++) {
+            nodo = nodo.hijo(prefijo.charAt(i));
+        }
+        return nodo;
+    }
+
+    private record Entrada<T>(int id, T elemento, String[] claves) {
+    }
+
+    private static final class Nodo {
+        private char[] letras = SIN_LETRAS;
+        private Nodo[] hijos = SIN_HIJOS;
+        private int[] ids = SIN_IDS;
+        private int cantidadIds;
+
+        Nodo hijo(final char letra) {
+            final int pos = Arrays.binarySearch(letras, letra);
+            return pos >= 0 ? hijos[pos] : null;
+        }
+
+        Nodo hijoOCrear(final char letra) {
+            int pos = Arrays.binarySearch(letras, letra);
+            if (pos >= 0) {
+                return hijos[pos];
+            }
+            pos = -pos - 1;
+            final char[] nuevasLetras = new char[letras.length + 1];
+            final Nodo[] nuevosHijos = new Nodo[hijos.length + 1];
+            System.arraycopy(letras, 0, nuevasLetras, 0, pos);
+            System.arraycopy(hijos, 0, nuevosHijos, 0, pos);
+            System.arraycopy(letras, pos, nuevasLetras, pos + 1, letras.length - pos);
+            System.arraycopy(hijos, pos, nuevosHijos, pos + 1, hijos.length - pos);
+            final Nodo nuevo = new Nodo();
+            nuevasLetras[pos] = letra;
+            nuevosHijos[pos] = nuevo;
+            letras = nuevasLetras;
+            hijos = nuevosHijos;
+            return nuevo;
+        }
+
+        void agregarId(final int id) {
+            for (int i = 0; i < cantidadIds; i++) {
+                if (ids[i] == id) {
+                    return;
+                }
+            }
+            if (cantidadIds == ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(2, ids.length * 2));
+            }
+            ids[cantidadIds++] = id;
+        }
+
+        void quitarId(final int id) {
+            for (int i = 0; i < cantidadIds; i++) {
+                if (ids[i] == id) {
+                    ids[i] = ids[--cantidadIds];
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.ceragen_2.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Pagina de un listado paginado por clave.
+ *
+ * @param items         Filas de la pagina, de mas reciente a mas antigua
+ * @param nextToken     Token para la pagina siguiente o {@code null} si no hay mas filas
+ * @param previousToken Token para la pagina anterior o {@code null} si es la primera
+ */
+public record KeysetPage<T>(List<T> items, String nextToken, String previousToken) {
+
+    /**
+     * Arma la pagina a partir de las filas leidas con {@code limit + 1}.
+     * La fila extra solo indica que hay mas resultados en la direccion pedida.
+     *
+     * @param filas  filas en el orden devuelto por la consulta
+     * @param limit  tamanio de pagina
+     * @param cursor cursor usado en la consulta o {@code null} para la primera pagina
+     * @param fecha  fecha de orden de cada fila
+     * @param id     id de cada fila
+     */
+    public static <T> KeysetPage<T> of(final List<T> filas, final int limit, final PageCursor cursor,
+                                       final Function<T, LocalDateTime> fecha,
+                                       final Function<T, Integer> id) {
+        final boolean hayMas = filas.size() > limit;
+        final List<T> items = new ArrayList<>(hayMas ? filas.subList(0, limit) : filas);
+        final boolean haciaAtras = cursor != null && cursor.isHaciaAtras();
+        if (haciaAtras) {
+            Collections.reverse(items);
+        }
+        if (items.isEmpty()) {
+            return new KeysetPage<>(items, null, null);
+        }
+
+        final T primera = items.get(0);
+        final T ultima = items.get(items.size() - 1);
+        final boolean haySiguiente = haciaAtras || hayMas;
+        final boolean hayAnterior = haciaAtras ? hayMas : cursor != null;
+        return new KeysetPage<>(
+                items,
+                haySiguiente ? PageCursor.siguiente(fecha.apply(ultima), id.apply(ultima)) : null,
+                hayAnterior ? PageCursor.anterior(fecha.apply(primera), id.apply(primera)) : null);
+    }
+}
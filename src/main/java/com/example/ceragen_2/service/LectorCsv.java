@@ -0,0 +1,133 @@
+package com.example.ceragen_2.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lector de CSV (RFC 4180) registro por registro: solo guarda el registro
+ * actual y un buffer de caracteres de tamaño fijo, sin importar el tamaño
+ * del archivo.
+ *
+ * <p>Acepta comillas con saltos de linea dentro, fin de linea CRLF o LF y BOM
+ * UTF-8. El separador se toma del primer registro: coma, o punto y coma si el
+ * archivo viene de un Excel en español.</p>
+ */
+final class LectorCsv implements AutoCloseable {
+    private static final int TAMANIO_BUFFER = 64 * 1024;
+
+    private final Reader reader;
+    private final char[] buffer = new char[TAMANIO_BUFFER];
+    private final StringBuilder campo = new StringBuilder(64);
+    private final List<String> campos = new ArrayList<>();
+    private int posicion;
+    private int limite;
+    private char separador;
+    private long linea = 1;
+    private long lineaRegistro;
+    private boolean inicio = true;
+
+    LectorCsv(final Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * @return los campos del siguiente registro, o null al final del archivo
+     */
+    String[] siguiente() throws IOException {
+        campos.clear();
+        campo.setLength(0);
+        lineaRegistro = linea;
+        boolean entreComillas = false;
+        boolean hayDatos = false;
+
+        int c;
+        while ((c = leer()) >= 0) {
+            hayDatos = true;
+            if (entreComillas) {
+                if (c == '"') {
+                    if (espiar() == '"') {
+                        leer();
+                        campo.append('"');
+                    } else {
+                        entreComillas = false;
+                    }
+                } else {
+                    if (c == '\n') {
+                        linea++;
+                    }
+                    campo.append((char) c);
+                }
+            } else if (c == '"' && campo.isEmpty()) {
+                entreComillas = true;
+            } else if (esSeparador(c)) {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else if (c == '\r' || c == '\n') {
+                if (c == '\r' && espiar() == '\n') {
+                    leer();
+                }
+                linea++;
+                break;
+            } else {
+                campo.append((char) c);
+            }
+        }
+        if (!hayDatos) {
+            return null;
+        }
+        campos.add(campo.toString());
+        return campos.toArray(new String[0]);
+    }
+
+    /**
+     * Linea del archivo donde empieza el ultimo registro leido (1 = encabezado).
+     */
+    long getLinea() {
+        return lineaRegistro;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private boolean esSeparador(final int c) {
+        if (separador == 0 && (c == ',' || c == ';')) {
+            separador = (char) c;
+        }
+        return c == separador;
+    }
+
+    private int leer() throws IOException {
+        if (posicion >= limite && !llenar()) {
+            return -1;
+        }
+        final char c = buffer[posicion++];
+        if (inicio) {
+            inicio = false;
+            if (c == '\uFEFF') {
+                return leer();
+            }
+        }
+        return c;
+    }
+
+    private int espiar() throws IOException {
+        if (posicion >= limite && !llenar()) {
+            return -1;
+        }
+        return buffer[posicion];
+    }
+
+    private boolean llenar() throws IOException {
+        final int leidos = reader.read(buffer, 0, buffer.length);
+        if (leidos <= 0) {
+            return false;
+        }
+        posicion = 0;
+        limite = leidos;
+        return true;
+    }
+}
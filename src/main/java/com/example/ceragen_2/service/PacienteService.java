@@ -6,13 +6,24 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.*;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public class PacienteService {
+    private static final String SQL_INSERTAR = "INSERT INTO pacientes (cedula, nombres, apellidos, fecha_nacimiento, genero, telefono, email, direccion, grupo_sanguineo, alergias) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
     private static final Logger logger = LoggerFactory.getLogger(PacienteService.class);
     private static PacienteService instance;
 
+    private final ReferenceCache<String, Paciente> pacientesPorCedula =
+            new ReferenceCache<>("pacientes", 1000, Duration.ofMinutes(2));
+
     private PacienteService() {
     }
 
@@ -25,30 +36,104 @@ public class PacienteService {
 
     public List<Paciente> getAllPacientes() {
         List<Paciente> pacientes = new ArrayList<>();
-        String sql = "SELECT id, cedula, nombres, apellidos FROM pacientes ORDER BY nombres, apellidos";
+        if (recorrerPacientes(pacientes::add)) {
+            logger.info("Se obtuvieron {} pacientes", pacientes.size());
+        }
+        return pacientes;
+    }
 
-        try (Connection conn = DatabaseConfig.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql);
-             ResultSet rs = stmt.executeQuery()) {
+    /**
+     * Entrega cada paciente (ID, cedula y nombre) a {@code consumidor} leyendo el
+     * resultado fila por fila, sin cargar la tabla completa en memoria.
+     *
+     * @return false si la consulta fallo
+     */
+    public boolean recorrerPacientes(Consumer<Paciente> consumidor) {
+        String sql = "SELECT id, cedula, nombres, apellidos FROM pacientes ORDER BY nombres, apellidos";
 
-            while (rs.next()) {
+        try {
+            ConsultaStreaming.recorrer(sql, ConsultaStreaming.Parametros.NINGUNO, rs -> {
                 Paciente paciente = new Paciente();
                 paciente.setId(rs.getInt("id"));
                 paciente.setCedula(rs.getString("cedula"));
                 paciente.setNombres(rs.getString("nombres"));
                 paciente.setApellidos(rs.getString("apellidos"));
-                pacientes.add(paciente);
-            }
-
-            logger.info("Se obtuvieron {} pacientes", pacientes.size());
+                return paciente;
+            }, consumidor);
+            return true;
         } catch (SQLException e) {
             logger.error("Error al obtener pacientes", e);
+            return false;
         }
-
-        return pacientes;
     }
 
     
+    /**
+     * Entrega cada paciente con todos sus datos a {@code consumidor}, en orden de
+     * registro, leyendo fila por fila. Las fechas {@code null} no se aplican.
+     *
+     * @return false si la consulta fallo
+     */
+    public boolean recorrerPacientesCompletos(LocalDateTime desde, LocalDateTime hasta,
+                                              Consumer<Paciente> consumidor) {
+        StringBuilder sql = new StringBuilder(
+                "SELECT id, cedula, nombres, apellidos, fecha_nacimiento, genero, telefono, email, " +
+                "direccion, grupo_sanguineo, alergias, fecha_registro FROM pacientes WHERE 1=1");
+        agregarFiltroRegistro(sql, desde, hasta);
+        sql.append(" ORDER BY fecha_registro, id");
+
+        try {
+            ConsultaStreaming.recorrer(sql.toString(),
+                    stmt -> asignarFiltroRegistro(stmt, 1, desde, hasta), this::mapPaciente, consumidor);
+            return true;
+        } catch (SQLException e) {
+            logger.error("Error al recorrer pacientes", e);
+            return false;
+        }
+    }
+
+    /**
+     * Cuenta los pacientes registrados en el rango, con los mismos filtros que
+     * {@link #recorrerPacientesCompletos}.
+     */
+    public int contarPacientesRegistrados(LocalDateTime desde, LocalDateTime hasta) {
+        StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM pacientes WHERE 1=1");
+        agregarFiltroRegistro(sql, desde, hasta);
+
+        try (Connection conn = DatabaseConfig.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+            asignarFiltroRegistro(stmt, 1, desde, hasta);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt(1);
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Error al contar pacientes registrados", e);
+        }
+        return 0;
+    }
+
+    private void agregarFiltroRegistro(StringBuilder sql, LocalDateTime desde, LocalDateTime hasta) {
+        if (desde != null) {
+            sql.append(" AND fecha_registro >= ?");
+        }
+        if (hasta != null) {
+            sql.append(" AND fecha_registro <= ?");
+        }
+    }
+
+    private int asignarFiltroRegistro(PreparedStatement stmt, int paramIndex, LocalDateTime desde,
+                                      LocalDateTime hasta) throws SQLException {
+        if (desde != null) {
+            stmt.setTimestamp(paramIndex++, Timestamp.valueOf(desde));
+        }
+        if (hasta != null) {
+            stmt.setTimestamp(paramIndex++, Timestamp.valueOf(hasta));
+        }
+        return paramIndex;
+    }
+
     public Paciente getPacienteById(Integer id) {
         String sql = "SELECT id, cedula, nombres, apellidos, telefono, email FROM pacientes WHERE id = ?";
 
@@ -75,7 +160,18 @@ public class PacienteService {
         return null;
     }
 
+    /**
+     * Busca un paciente por cedula pasando por la cache de pacientes.
+     */
     public Paciente getPacienteByCedula(String cedula) {
+        return pacientesPorCedula.get(cedula, this::cargarPacienteByCedula);
+    }
+
+    public CacheStats getCacheStats() {
+        return pacientesPorCedula.getStats();
+    }
+
+    private Paciente cargarPacienteByCedula(String cedula) {
         String sql = "SELECT id, cedula, nombres, apellidos, telefono, email FROM pacientes WHERE cedula = ?";
 
         try (Connection conn = DatabaseConfig.getInstance().getConnection();
@@ -101,56 +197,29 @@ public class PacienteService {
         return null;
     }
 
-    public List<Paciente> getPacientes(int offset, int limit, String searchText, String generoFilter) {
-        List<Paciente> pacientes = new ArrayList<>();
-        StringBuilder sql = new StringBuilder(
-                "SELECT id, cedula, nombres, apellidos, fecha_nacimiento, genero, telefono, email, direccion, grupo_sanguineo, alergias, fecha_registro " +
-                "FROM pacientes WHERE 1=1");
+    private static final String COLUMNAS_PACIENTES =
+            "SELECT id, cedula, nombres, apellidos, fecha_nacimiento, genero, telefono, email, direccion, grupo_sanguineo, alergias, fecha_registro";
+    private static final String FROM_PACIENTES = " FROM pacientes WHERE 1=1";
+    private static final String SELECT_PACIENTES = COLUMNAS_PACIENTES + FROM_PACIENTES;
 
-        if (searchText != null && !searchText.trim().isEmpty()) {
-            sql.append(" AND (cedula LIKE ? OR nombres LIKE ? OR apellidos LIKE ?)");
-        }
-        if (generoFilter != null && !generoFilter.equals("TODOS")) {
-            sql.append(" AND genero = ?");
-        }
+    private final TotalCountCache totales = new TotalCountCache(TotalCountCache.TTL_POR_DEFECTO);
 
-        sql.append(" ORDER BY fecha_registro DESC LIMIT ? OFFSET ?");
+    public List<Paciente> getPacientes(int offset, int limit, String searchText, String generoFilter) {
+        List<Paciente> pacientes = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(SELECT_PACIENTES);
+        agregarFiltros(sql, searchText, generoFilter);
+        sql.append(" ORDER BY fecha_registro DESC, id DESC LIMIT ? OFFSET ?");
 
         try (Connection conn = DatabaseConfig.getInstance().getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
 
-            int paramIndex = 1;
-            if (searchText != null && !searchText.trim().isEmpty()) {
-                String like = "%" + searchText + "%";
-                stmt.setString(paramIndex++, like);
-                stmt.setString(paramIndex++, like);
-                stmt.setString(paramIndex++, like);
-            }
-            if (generoFilter != null && !generoFilter.equals("TODOS")) {
-                stmt.setString(paramIndex++, generoFilter);
-            }
-
+            int paramIndex = asignarFiltros(stmt, 1, searchText, generoFilter);
             stmt.setInt(paramIndex++, limit);
             stmt.setInt(paramIndex, offset);
 
             ResultSet rs = stmt.executeQuery();
             while (rs.next()) {
-                Paciente p = new Paciente();
-                p.setId(rs.getInt("id"));
-                p.setCedula(rs.getString("cedula"));
-                p.setNombres(rs.getString("nombres"));
-                p.setApellidos(rs.getString("apellidos"));
-                Date fn = rs.getDate("fecha_nacimiento");
-                if (fn != null) p.setFechaNacimiento(fn.toLocalDate());
-                p.setGenero(rs.getString("genero"));
-                p.setTelefono(rs.getString("telefono"));
-                p.setEmail(rs.getString("email"));
-                p.setDireccion(rs.getString("direccion"));
-                p.setGrupoSanguineo(rs.getString("grupo_sanguineo"));
-                p.setAlergias(rs.getString("alergias"));
-                Timestamp fr = rs.getTimestamp("fecha_registro");
-                if (fr != null) p.setFechaRegistro(fr.toLocalDateTime());
-                pacientes.add(p);
+                pacientes.add(mapPaciente(rs));
             }
             logger.info("Se obtuvieron {} pacientes (paginado)", pacientes.size());
         } catch (SQLException e) {
@@ -159,27 +228,144 @@ public class PacienteService {
         return pacientes;
     }
 
-    public int countPacientes(String searchText, String generoFilter) {
-        StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM pacientes WHERE 1=1");
-        if (searchText != null && !searchText.trim().isEmpty()) {
-            sql.append(" AND (cedula LIKE ? OR nombres LIKE ? OR apellidos LIKE ?)");
+    /**
+     * Obtiene una página de pacientes y el total de registros en una sola consulta
+     * ({@code COUNT(*) OVER()}). Con {@code reutilizarTotal} se usa el total
+     * guardado para los mismos filtros, pensado para cambios de página.
+     */
+    public PageResult<Paciente> getPacientesPage(int offset, int limit, String searchText, String generoFilter,
+                                                 boolean reutilizarTotal) {
+        String clave = TotalCountCache.clave(searchText, generoFilter);
+        Integer cacheado = reutilizarTotal ? totales.get(clave) : null;
+        if (cacheado != null) {
+            return new PageResult<>(getPacientes(offset, limit, searchText, generoFilter), cacheado);
         }
-        if (generoFilter != null && !generoFilter.equals("TODOS")) {
-            sql.append(" AND genero = ?");
+
+        List<Paciente> pacientes = new ArrayList<>();
+        int total = -1;
+        StringBuilder sql = new StringBuilder(COLUMNAS_PACIENTES)
+                .append(", COUNT(*) OVER() AS total_filas")
+                .append(FROM_PACIENTES);
+        agregarFiltros(sql, searchText, generoFilter);
+        sql.append(" ORDER BY fecha_registro DESC, id DESC LIMIT ? OFFSET ?");
+
+        try (Connection conn = DatabaseConfig.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+
+            int paramIndex = asignarFiltros(stmt, 1, searchText, generoFilter);
+            stmt.setInt(paramIndex++, limit);
+            stmt.setInt(paramIndex, offset);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    total = rs.getInt("total_filas");
+                    pacientes.add(mapPaciente(rs));
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Error al obtener pagina de pacientes", e);
+            return new PageResult<>(pacientes, 0);
+        }
+
+        // Sin filas no llega el total: solo en una pagina fuera de rango hace falta contar aparte
+        if (total < 0) {
+            total = offset > 0 ? countPacientes(searchText, generoFilter) : 0;
+        }
+        totales.put(clave, total);
+        return new PageResult<>(pacientes, total);
+    }
+
+    /**
+     * Obtiene la página indicada por un token de {@link KeysetPage}. El total
+     * se toma de la cache de totales o, si venció, se cuenta de nuevo.
+     */
+    public PageResult<Paciente> getPacientesPage(String token, int limit, String searchText, String generoFilter) {
+        List<Paciente> pacientes = getPacientesKeyset(token, limit, searchText, generoFilter).items();
+        String clave = TotalCountCache.clave(searchText, generoFilter);
+        Integer total = totales.get(clave);
+        if (total == null) {
+            total = countPacientes(searchText, generoFilter);
+            totales.put(clave, total);
+        }
+        return new PageResult<>(pacientes, total);
+    }
+
+    /**
+     * Obtiene una página de pacientes a partir de un token de {@link KeysetPage}.
+     * Con {@code token} nulo devuelve la primera página.
+     */
+    public KeysetPage<Paciente> getPacientesKeyset(String token, int limit, String searchText, String generoFilter) {
+        PageCursor cursor = token != null ? PageCursor.decode(token) : null;
+        List<Paciente> pacientes = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(SELECT_PACIENTES);
+        agregarFiltros(sql, searchText, generoFilter);
+        if (cursor != null) {
+            cursor.appendCondicion(sql, "fecha_registro", "id");
         }
+        PageCursor.appendOrden(sql, cursor, "fecha_registro", "id");
+        sql.append(" LIMIT ?");
 
         try (Connection conn = DatabaseConfig.getInstance().getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
-            int paramIndex = 1;
-            if (searchText != null && !searchText.trim().isEmpty()) {
-                String like = "%" + searchText + "%";
-                stmt.setString(paramIndex++, like);
-                stmt.setString(paramIndex++, like);
-                stmt.setString(paramIndex++, like);
+
+            int paramIndex = asignarFiltros(stmt, 1, searchText, generoFilter);
+            if (cursor != null) {
+                paramIndex = cursor.bind(stmt, paramIndex);
+            }
+            stmt.setInt(paramIndex, limit + 1);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    pacientes.add(mapPaciente(rs));
+                }
             }
-            if (generoFilter != null && !generoFilter.equals("TODOS")) {
-                stmt.setString(paramIndex++, generoFilter);
+        } catch (SQLException e) {
+            logger.error("Error al obtener pacientes por cursor", e);
+        }
+        return KeysetPage.of(pacientes, limit, cursor, Paciente::getFechaRegistro, Paciente::getId);
+    }
+
+    /**
+     * Busca pacientes por prefijo de cedula o palabras del nombre, sin importar
+     * tildes, ordenados por relevancia.
+     */
+    public List<Paciente> buscarPacientes(String criterio, int limit) {
+        List<Paciente> pacientes = new ArrayList<>();
+        BusquedaTexto busqueda = BusquedaTexto.de(criterio);
+        if (busqueda == null) {
+            return pacientes;
+        }
+        StringBuilder sql = new StringBuilder(SELECT_PACIENTES);
+        busqueda.appendCondicion(sql);
+        busqueda.appendOrdenRelevancia(sql, "apellidos, nombres, id");
+        sql.append(" LIMIT ?");
+
+        try (Connection conn = DatabaseConfig.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+
+            int paramIndex = busqueda.bind(stmt, 1);
+            paramIndex = busqueda.bindOrdenRelevancia(stmt, paramIndex);
+            stmt.setInt(paramIndex, limit);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    pacientes.add(mapPaciente(rs));
+                }
             }
+            logger.info("Se encontraron {} pacientes con el criterio: {}", pacientes.size(), criterio);
+        } catch (SQLException e) {
+            logger.error("Error al buscar pacientes", e);
+        }
+        return pacientes;
+    }
+
+    public int countPacientes(String searchText, String generoFilter) {
+        StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM pacientes WHERE 1=1");
+        agregarFiltros(sql, searchText, generoFilter);
+
+        try (Connection conn = DatabaseConfig.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+            asignarFiltros(stmt, 1, searchText, generoFilter);
             ResultSet rs = stmt.executeQuery();
             if (rs.next()) return rs.getInt(1);
         } catch (SQLException e) {
@@ -188,26 +374,62 @@ public class PacienteService {
         return 0;
     }
 
+    private void agregarFiltros(StringBuilder sql, String searchText, String generoFilter) {
+        BusquedaTexto busqueda = BusquedaTexto.de(searchText);
+        if (busqueda != null) {
+            busqueda.appendCondicion(sql);
+        }
+        if (generoFilter != null && !generoFilter.equals("TODOS")) {
+            sql.append(" AND genero = ?");
+        }
+    }
+
+    private int asignarFiltros(PreparedStatement stmt, int paramIndex, String searchText, String generoFilter)
+            throws SQLException {
+        BusquedaTexto busqueda = BusquedaTexto.de(searchText);
+        if (busqueda != null) {
+            paramIndex = busqueda.bind(stmt, paramIndex);
+        }
+        if (generoFilter != null && !generoFilter.equals("TODOS")) {
+            stmt.setString(paramIndex++, generoFilter);
+        }
+        return paramIndex;
+    }
+
+    private Paciente mapPaciente(ResultSet rs) throws SQLException {
+        Paciente p = new Paciente();
+        p.setId(rs.getInt("id"));
+        p.setCedula(rs.getString("cedula"));
+        p.setNombres(rs.getString("nombres"));
+        p.setApellidos(rs.getString("apellidos"));
+        Date fn = rs.getDate("fecha_nacimiento");
+        if (fn != null) p.setFechaNacimiento(fn.toLocalDate());
+        p.setGenero(rs.getString("genero"));
+        p.setTelefono(rs.getString("telefono"));
+        p.setEmail(rs.getString("email"));
+        p.setDireccion(rs.getString("direccion"));
+        p.setGrupoSanguineo(rs.getString("grupo_sanguineo"));
+        p.setAlergias(rs.getString("alergias"));
+        Timestamp fr = rs.getTimestamp("fecha_registro");
+        if (fr != null) p.setFechaRegistro(fr.toLocalDateTime());
+        return p;
+    }
+
     public boolean crearPaciente(Paciente p) {
-        String sql = "INSERT INTO pacientes (cedula, nombres, apellidos, fecha_nacimiento, genero, telefono, email, direccion, grupo_sanguineo, alergias) " +
-                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
         try (Connection conn = DatabaseConfig.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, p.getCedula());
-            stmt.setString(2, p.getNombres());
-            stmt.setString(3, p.getApellidos());
-            if (p.getFechaNacimiento() != null) {
-                stmt.setDate(4, Date.valueOf(p.getFechaNacimiento()));
-            } else {
-                stmt.setNull(4, Types.DATE);
-            }
-            stmt.setString(5, p.getGenero());
-            stmt.setString(6, p.getTelefono());
-            stmt.setString(7, p.getEmail());
-            stmt.setString(8, p.getDireccion());
-            stmt.setString(9, p.getGrupoSanguineo());
-            stmt.setString(10, p.getAlergias());
+             PreparedStatement stmt = conn.prepareStatement(SQL_INSERTAR, Statement.RETURN_GENERATED_KEYS)) {
+            asignarParametros(stmt, p);
             int rows = stmt.executeUpdate();
+            if (rows > 0) {
+                try (ResultSet keys = stmt.getGeneratedKeys()) {
+                    if (keys.next()) {
+                        p.setId(keys.getInt(1));
+                        TypeaheadService.getInstance().pacienteGuardado(p);
+                    }
+                }
+            }
+            totales.invalidar();
+            pacientesPorCedula.invalidar();
             return rows > 0;
         } catch (SQLException e) {
             logger.error("Error al crear paciente", e);
@@ -215,6 +437,68 @@ public class PacienteService {
         }
     }
 
+    /**
+     * Inserta los pacientes en una sola transaccion con JDBC batch (la URL usa
+     * rewriteBatchedStatements: viaja como pocos INSERT de muchas filas).
+     * Si una fila falla se revierte el lote completo y devuelve false.
+     */
+    public boolean crearPacientesLote(List<Paciente> pacientes) {
+        if (pacientes.isEmpty()) {
+            return true;
+        }
+        try (Connection conn = DatabaseConfig.getInstance().getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(SQL_INSERTAR, Statement.RETURN_GENERATED_KEYS)) {
+                for (Paciente p : pacientes) {
+                    asignarParametros(stmt, p);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+                try (ResultSet keys = stmt.getGeneratedKeys()) {
+                    int i = 0;
+                    while (keys.next() && i < pacientes.size()) {
+                        pacientes.get(i++).setId(keys.getInt(1));
+                    }
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            logger.error("Error al crear lote de {} pacientes", pacientes.size(), e);
+            return false;
+        } finally {
+            totales.invalidar();
+            pacientesPorCedula.invalidar();
+        }
+        for (Paciente p : pacientes) {
+            if (p.getId() != null) {
+                TypeaheadService.getInstance().pacienteGuardado(p);
+            }
+        }
+        return true;
+    }
+
+    private static void asignarParametros(PreparedStatement stmt, Paciente p) throws SQLException {
+        stmt.setString(1, p.getCedula());
+        stmt.setString(2, p.getNombres());
+        stmt.setString(3, p.getApellidos());
+        if (p.getFechaNacimiento() != null) {
+            stmt.setDate(4, Date.valueOf(p.getFechaNacimiento()));
+        } else {
+            stmt.setNull(4, Types.DATE);
+        }
+        stmt.setString(5, p.getGenero());
+        stmt.setString(6, p.getTelefono());
+        stmt.setString(7, p.getEmail());
+        stmt.setString(8, p.getDireccion());
+        stmt.setString(9, p.getGrupoSanguineo());
+        stmt.setString(10, p.getAlergias());
+    }
+
     public boolean actualizarPaciente(Paciente p) {
         String sql = "UPDATE pacientes SET cedula = ?, nombres = ?, apellidos = ?, fecha_nacimiento = ?, genero = ?, telefono = ?, email = ?, direccion = ?, grupo_sanguineo = ?, alergias = ? WHERE id = ?";
         try (Connection conn = DatabaseConfig.getInstance().getConnection();
@@ -235,6 +519,11 @@ public class PacienteService {
             stmt.setString(10, p.getAlergias());
             stmt.setInt(11, p.getId());
             int rows = stmt.executeUpdate();
+            if (rows > 0) {
+                TypeaheadService.getInstance().pacienteGuardado(p);
+            }
+            totales.invalidar();
+            pacientesPorCedula.invalidar();
             return rows > 0;
         } catch (SQLException e) {
             logger.error("Error al actualizar paciente", e);
@@ -244,10 +533,26 @@ public class PacienteService {
 
     public boolean eliminarPaciente(Integer id) {
         String sql = "DELETE FROM pacientes WHERE id = ?";
-        try (Connection conn = DatabaseConfig.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, id);
-            int rows = stmt.executeUpdate();
+        try (Connection conn = DatabaseConfig.getInstance().getConnection()) {
+            conn.setAutoCommit(false);
+            int rows;
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                // Sus citas se borran en cascada: salen antes del resumen diario
+                ResumenDiario.restarCitas(conn, ResumenDiario.Citas.POR_PACIENTE, id);
+                stmt.setInt(1, id);
+                rows = stmt.executeUpdate();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+            if (rows > 0) {
+                TypeaheadService.getInstance().pacienteEliminado(id);
+            }
+            totales.invalidar();
+            pacientesPorCedula.invalidar();
             return rows > 0;
         } catch (SQLException e) {
             logger.error("Error al eliminar paciente", e);
@@ -268,6 +573,33 @@ public class PacienteService {
         return false;
     }
     
+    /**
+     * Cuales de las cedulas ya estan registradas, con una sola consulta IN.
+     *
+     * @return las cedulas existentes, o null si fallo la consulta
+     */
+    public Set<String> cedulasExistentes(Collection<String> cedulas) {
+        Set<String> existentes = new HashSet<>();
+        if (cedulas.isEmpty()) {
+            return existentes;
+        }
+        // Cantidad de marcadores redondeada: pocas formas de SQL para la cache de sentencias
+        String sql = "SELECT cedula FROM pacientes WHERE cedula IN (" + PlantillaSql.marcadoresIn(cedulas.size()) + ")";
+        try (Connection conn = DatabaseConfig.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            PlantillaSql.asignarIn(stmt, 1, cedulas);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    existentes.add(rs.getString(1));
+                }
+            }
+            return existentes;
+        } catch (SQLException e) {
+            logger.error("Error al verificar cedulas existentes", e);
+            return null;
+        }
+    }
+
     public boolean existeCedulaExceptoId(String cedula, Integer idExcluir) {
         String sql = "SELECT COUNT(*) FROM pacientes WHERE cedula = ? AND id <> ?";
         try (Connection conn = DatabaseConfig.getInstance().getConnection();
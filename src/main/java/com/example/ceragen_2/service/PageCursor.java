@@ -0,0 +1,133 @@
+package com.example.ceragen_2.service;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posicion de un listado paginado por clave (keyset).
+ *
+ * <p>Los listados se ordenan de mas reciente a mas antiguo por
+ * {@code (fecha, id)}. En lugar de {@code OFFSET}, la pagina siguiente pide las
+ * filas estrictamente anteriores a la ultima fila vista, y la pagina anterior
+ * las estrictamente posteriores a la primera, de modo que MySQL entra por el
+ * indice en la posicion exacta sin recorrer las filas previas.</p>
+ *
+ * <p>El token que viaja a los controladores es opaco: Base64 de
+ * {@code direccion|fecha|id}.</p>
+ */
+public final class PageCursor {
+    private static final char SIGUIENTE = 'N';
+    private static final char ANTERIOR = 'P';
+
+    private final boolean haciaAtras;
+    private final LocalDateTime fecha;
+    private final int id;
+
+    private PageCursor(final boolean haciaAtras, final LocalDateTime fecha, final int id) {
+        this.haciaAtras = haciaAtras;
+        this.fecha = fecha;
+        this.id = id;
+    }
+
+    /**
+     * Token para pedir las filas posteriores (mas antiguas) a la fila dada.
+     * Devuelve {@code null} si la fila no tiene fecha.
+     */
+    public static String siguiente(final LocalDateTime fecha, final Integer id) {
+        return codificar(SIGUIENTE, fecha, id);
+    }
+
+    /**
+     * Token para pedir las filas anteriores (mas recientes) a la fila dada.
+     * Devuelve {@code null} si la fila no tiene fecha.
+     */
+    public static String anterior(final LocalDateTime fecha, final Integer id) {
+        return codificar(ANTERIOR, fecha, id);
+    }
+
+    private static String codificar(final char direccion, final LocalDateTime fecha, final Integer id) {
+        if (fecha == null || id == null) {
+            return null;
+        }
+        final String crudo = direccion + "|" + fecha + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(crudo.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica un token generado por {@link #siguiente} o {@link #anterior}.
+     *
+     * @throws IllegalArgumentException si el token no es valido
+     */
+    public static PageCursor decode(final String token) {
+        try {
+            final String crudo = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            final String[] partes = crudo.split("\\|");
+            if (partes.length != 3 || partes[0].length() != 1) {
+                throw new IllegalArgumentException("Token de pagina invalido");
+            }
+            final char direccion = partes[0].charAt(0);
+            if (direccion != SIGUIENTE && direccion != ANTERIOR) {
+                throw new IllegalArgumentException("Token de pagina invalido");
+            }
+            return new PageCursor(direccion == ANTERIOR,
+                    LocalDateTime.parse(partes[1]),
+                    Integer.parseInt(partes[2]));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Token de pagina invalido", e);
+        }
+    }
+
+    public boolean isHaciaAtras() {
+        return haciaAtras;
+    }
+
+    public LocalDateTime getFecha() {
+        return fecha;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Agrega la condicion de rango sobre {@code (columnaFecha, columnaId)}.
+     * Se escribe expandida en lugar de {@code (a, b) < (?, ?)} para que MySQL
+     * la resuelva como rango sobre el indice de la fecha.
+     */
+    public void appendCondicion(final StringBuilder sql, final String columnaFecha, final String columnaId) {
+        final String op = haciaAtras ? ">" : "<";
+        sql.append(" AND (").append(columnaFecha).append(' ').append(op).append(" ?")
+                .append(" OR (").append(columnaFecha).append(" = ? AND ")
+                .append(columnaId).append(' ').append(op).append(" ?))");
+    }
+
+    /**
+     * Agrega el ORDER BY que corresponde a la direccion del cursor.
+     * Sin cursor el orden es el del listado: mas recientes primero.
+     */
+    public static void appendOrden(final StringBuilder sql, final PageCursor cursor,
+                                   final String columnaFecha, final String columnaId) {
+        final String dir = cursor != null && cursor.haciaAtras ? "ASC" : "DESC";
+        sql.append(" ORDER BY ").append(columnaFecha).append(' ').append(dir)
+                .append(", ").append(columnaId).append(' ').append(dir);
+    }
+
+    /**
+     * Asigna los parametros de {@link #appendCondicion} a partir de {@code paramIndex}.
+     *
+     * @return el siguiente indice libre
+     */
+    public int bind(final PreparedStatement stmt, final int paramIndex) throws SQLException {
+        final Timestamp ts = Timestamp.valueOf(fecha);
+        stmt.setTimestamp(paramIndex, ts);
+        stmt.setTimestamp(paramIndex + 1, ts);
+        stmt.setInt(paramIndex + 2, id);
+        return paramIndex + 3;
+    }
+}
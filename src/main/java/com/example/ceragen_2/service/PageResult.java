@@ -0,0 +1,19 @@
+package com.example.ceragen_2.service;
+
+import java.util.List;
+
+/**
+ * Pagina de un listado junto con el total de filas que cumplen los filtros.
+ *
+ * @param items Filas de la pagina
+ * @param total Total de filas para los filtros, sin paginar
+ */
+public record PageResult<T>(List<T> items, int total) {
+
+    /**
+     * Calcula el numero de paginas para el tamanio dado (minimo 1).
+     */
+    public int totalPaginas(final int registrosPorPagina) {
+        return Math.max(1, (int) Math.ceil((double) total / registrosPorPagina));
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.ceragen_2.service;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Formas canonicas para SQL con una cantidad variable de condiciones.
+ *
+ * <p>La cache de sentencias del driver (ver {@code StatementCacheSettings})
+ * guarda una entrada por texto de SQL. Un {@code IN (?, ?, ...)} con tantos
+ * marcadores como valores genera una forma distinta por cantidad y llena la
+ * cache de formas que casi no se repiten. Aqui la cantidad se redondea a la
+ * siguiente potencia de dos y se rellena repitiendo el ultimo valor, lo que
+ * no cambia el resultado de un IN ni de condiciones unidas con AND.</p>
+ *
+ * <p>Los filtros opcionales de los servicios ({@code WHERE 1=1} mas un
+ * {@code AND} por filtro presente) ya son un conjunto finito de formas y no
+ * necesitan esto.</p>
+ */
+final class PlantillaSql {
+
+    private PlantillaSql() {
+    }
+
+    /**
+     * Cantidad canonica de marcadores para {@code cantidad} valores: 0, 1, 2, 4, 8, ...
+     */
+    static int tamanioCanonico(final int cantidad) {
+        if (cantidad <= 1) {
+            return Math.max(cantidad, 0);
+        }
+        return Integer.highestOneBit(cantidad - 1) << 1;
+    }
+
+    /**
+     * {@code ?,?,?,?} con la cantidad canonica de marcadores para {@code cantidad} valores.
+     */
+    static String marcadoresIn(final int cantidad) {
+        return String.join(",", Collections.nCopies(tamanioCanonico(cantidad), "?"));
+    }
+
+    /**
+     * Copia de {@code valores} rellenada hasta la cantidad canonica repitiendo el ultimo.
+     */
+    static <T> List<T> rellenar(final Collection<T> valores) {
+        final List<T> lista = new ArrayList<>(valores);
+        if (lista.isEmpty()) {
+            return lista;
+        }
+        final T ultimo = lista.get(lista.size() - 1);
+        while (lista.size() < tamanioCanonico(valores.size())) {
+            lista.add(ultimo);
+        }
+        return lista;
+    }
+
+    /**
+     * Asigna los valores de un {@link #marcadoresIn} y devuelve el siguiente indice.
+     */
+    static int asignarIn(final PreparedStatement stmt, final int paramIndex, final Collection<String> valores)
+            throws SQLException {
+        int idx = paramIndex;
+        for (final String valor : rellenar(valores)) {
+            stmt.setString(idx++, valor);
+        }
+        return idx;
+    }
+}
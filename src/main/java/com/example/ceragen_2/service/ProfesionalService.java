@@ -6,9 +6,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.*;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 public class ProfesionalService {
 
@@ -16,6 +18,11 @@ public class ProfesionalService {
             LoggerFactory.getLogger(ProfesionalService.class);
     private static ProfesionalService instance;
 
+    private final ReferenceCache<Integer, Profesional> profesionalesPorId =
+            new ReferenceCache<>("profesionales-id", 500, Duration.ofMinutes(5));
+    private final ReferenceCache<String, Profesional> profesionalesPorCedula =
+            new ReferenceCache<>("profesionales-cedula", 500, Duration.ofMinutes(5));
+
     private ProfesionalService() {
     }
 
@@ -30,7 +37,19 @@ public class ProfesionalService {
 
     public List<Profesional> getAllProfesionales() {
         List<Profesional> profesionales = new ArrayList<>();
+        if (recorrerProfesionales(profesionales::add)) {
+            logger.info("Se obtuvieron {} profesionales", profesionales.size());
+        }
+        return profesionales;
+    }
 
+    /**
+     * Entrega cada profesional con su especialidad principal a {@code consumidor}
+     * leyendo el resultado fila por fila, sin cargar la tabla completa en memoria.
+     *
+     * @return false si la consulta fallo
+     */
+    public boolean recorrerProfesionales(final Consumer<Profesional> consumidor) {
         String sql =
                 "SELECT p.id, p.cedula, p.nombres, p.apellidos, " +
                         "       p.celular, p.email, p.numero_licencia, " +
@@ -45,26 +64,133 @@ public class ProfesionalService {
                         "       ON pe.especialidad_id = e.id " +
                         "ORDER BY p.nombres, p.apellidos";
 
+        try {
+            ConsultaStreaming.recorrer(sql, ConsultaStreaming.Parametros.NINGUNO, this::mapProfesional, consumidor);
+            return true;
+        } catch (SQLException e) {
+            logger.error("Error al obtener profesionales", e);
+            return false;
+        }
+    }
+
+    /**
+     * Obtiene una página de profesionales aplicando los filtros en la base de datos.
+     * Los filtros {@code null} no se aplican.
+     */
+    public List<Profesional> getProfesionales(final int offset, final int limit,
+                                              final String cedula, final String nombres,
+                                              final String apellidos, final String especialidadNombre,
+                                              final Boolean activo) {
+        List<Profesional> profesionales = new ArrayList<>();
+
+        StringBuilder sql = new StringBuilder(
+                "SELECT p.id, p.cedula, p.nombres, p.apellidos, " +
+                        "       p.celular, p.email, p.numero_licencia, " +
+                        "       p.tipo_usuario_registra, p.modalidad_atencion, " +
+                        "       p.usuario_id, p.activo, p.fecha_registro, " +
+                        "       pe.especialidad_id, e.nombre AS especialidad_nombre " +
+                        "FROM profesionales p " +
+                        "LEFT JOIN profesional_especialidades pe " +
+                        "       ON p.id = pe.profesional_id " +
+                        "      AND pe.es_principal = TRUE " +
+                        "LEFT JOIN especialidades e " +
+                        "       ON pe.especialidad_id = e.id " +
+                        "WHERE 1=1"
+        );
+        agregarFiltros(sql, cedula, nombres, apellidos, especialidadNombre, activo);
+        sql.append(" ORDER BY p.nombres, p.apellidos, p.id LIMIT ? OFFSET ?");
+
+        try (Connection conn = DatabaseConfig.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+
+            int paramIndex = asignarFiltros(stmt, 1, cedula, nombres,
+                    apellidos, especialidadNombre, activo);
+            stmt.setInt(paramIndex++, limit);
+            stmt.setInt(paramIndex, offset);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    profesionales.add(mapProfesional(rs));
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Error al obtener profesionales paginados", e);
+        }
+
+        return profesionales;
+    }
+
+    /**
+     * Cuenta los profesionales que cumplen los filtros de {@link #getProfesionales}.
+     */
+    public int countProfesionales(final String cedula, final String nombres,
+                                  final String apellidos, final String especialidadNombre,
+                                  final Boolean activo) {
+        StringBuilder sql = new StringBuilder(
+                "SELECT COUNT(*) " +
+                        "FROM profesionales p " +
+                        "LEFT JOIN profesional_especialidades pe " +
+                        "       ON p.id = pe.profesional_id " +
+                        "      AND pe.es_principal = TRUE " +
+                        "LEFT JOIN especialidades e " +
+                        "       ON pe.especialidad_id = e.id " +
+                        "WHERE 1=1"
+        );
+        agregarFiltros(sql, cedula, nombres, apellidos, especialidadNombre, activo);
+
+        try (Connection conn = DatabaseConfig.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+
+            asignarFiltros(stmt, 1, cedula, nombres, apellidos, especialidadNombre, activo);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt(1);
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Error al contar profesionales", e);
+        }
+
+        return 0;
+    }
+
+    /**
+     * Obtiene los nombres de las especialidades principales asignadas a algún profesional.
+     */
+    public List<String> getNombresEspecialidadesAsignadas() {
+        List<String> nombres = new ArrayList<>();
+
+        String sql =
+                "SELECT DISTINCT e.nombre " +
+                        "FROM profesional_especialidades pe " +
+                        "INNER JOIN especialidades e " +
+                        "        ON pe.especialidad_id = e.id " +
+                        "WHERE pe.es_principal = TRUE " +
+                        "ORDER BY e.nombre";
+
         try (Connection conn = DatabaseConfig.getInstance().getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
 
             while (rs.next()) {
-                profesionales.add(mapProfesional(rs));
+                nombres.add(rs.getString(1));
             }
-
-            logger.info("Se obtuvieron {} profesionales", profesionales.size());
         } catch (SQLException e) {
-            logger.error("Error al obtener profesionales", e);
+            logger.error("Error al obtener especialidades asignadas", e);
         }
 
-        return profesionales;
+        return nombres;
     }
 
     public Profesional getProfesionalById(final Integer id) {
         if (id == null) {
             return null;
         }
+        return profesionalesPorId.get(id, this::cargarProfesionalById);
+    }
+
+    private Profesional cargarProfesionalById(final Integer id) {
 
         String sql =
                 "SELECT p.id, p.cedula, p.nombres, p.apellidos, " +
@@ -97,6 +223,10 @@ public class ProfesionalService {
     }
 
     public Profesional getProfesionalByCedula(final String cedula) {
+        return profesionalesPorCedula.get(cedula, this::cargarProfesionalByCedula);
+    }
+
+    private Profesional cargarProfesionalByCedula(final String cedula) {
         String sql =
                 "SELECT p.id, p.cedula, p.nombres, p.apellidos, " +
                         "       p.celular, p.email, p.numero_licencia, " +
@@ -193,12 +323,17 @@ public class ProfesionalService {
                 );
             }
 
+            if (profesional.getId() != null) {
+                TypeaheadService.getInstance().profesionalGuardado(profesional);
+            }
             logger.info("Profesional creado correctamente: {}", profesional.getCedula());
             return rows > 0;
 
         } catch (SQLException e) {
             logger.error("Error al crear profesional", e);
             return false;
+        } finally {
+            invalidarCaches();
         }
     }
 
@@ -261,11 +396,16 @@ public class ProfesionalService {
                 );
             }
 
+            if (rows > 0) {
+                TypeaheadService.getInstance().profesionalGuardado(profesional);
+            }
             return rows > 0;
 
         } catch (SQLException e) {
             logger.error("Error al actualizar profesional", e);
             return false;
+        } finally {
+            invalidarCaches();
         }
     }
 
@@ -282,12 +422,76 @@ public class ProfesionalService {
             stmt.setInt(1, id);
             int rows = stmt.executeUpdate();
             logger.info("Profesional eliminado. id={}, filas afectadas={}", id, rows);
+            if (rows > 0) {
+                TypeaheadService.getInstance().profesionalEliminado(id);
+            }
             return rows > 0;
 
         } catch (SQLException e) {
             logger.error("Error al eliminar profesional", e);
             return false;
+        } finally {
+            invalidarCaches();
+        }
+    }
+
+    // ===================== CACHE =====================
+
+    /**
+     * Métricas de las caches de profesionales (por ID y por cédula).
+     */
+    public List<CacheStats> getCacheStats() {
+        return List.of(profesionalesPorId.getStats(), profesionalesPorCedula.getStats());
+    }
+
+    private void invalidarCaches() {
+        profesionalesPorId.invalidar();
+        profesionalesPorCedula.invalidar();
+    }
+
+    // ===================== AUXILIARES FILTROS =====================
+
+    private void agregarFiltros(final StringBuilder sql, final String cedula,
+                                final String nombres, final String apellidos,
+                                final String especialidadNombre, final Boolean activo) {
+        if (cedula != null) {
+            sql.append(" AND p.cedula LIKE ?");
+        }
+        if (nombres != null) {
+            sql.append(" AND p.nombres LIKE ?");
+        }
+        if (apellidos != null) {
+            sql.append(" AND p.apellidos LIKE ?");
+        }
+        if (especialidadNombre != null) {
+            sql.append(" AND e.nombre = ?");
+        }
+        if (activo != null) {
+            sql.append(" AND p.activo = ?");
+        }
+    }
+
+    private int asignarFiltros(final PreparedStatement stmt, final int inicio,
+                               final String cedula, final String nombres,
+                               final String apellidos, final String especialidadNombre,
+                               final Boolean activo) throws SQLException {
+        int paramIndex = inicio;
+        if (cedula != null) {
+            stmt.setString(paramIndex++, "%" + cedula + "%");
+        }
+        if (nombres != null) {
+            stmt.setString(paramIndex++, "%" + nombres + "%");
+        }
+        if (apellidos != null) {
+            stmt.setString(paramIndex++, "%" + apellidos + "%");
+        }
+        if (especialidadNombre != null) {
+            stmt.setString(paramIndex++, especialidadNombre);
+        }
+        if (activo != null) {
+            stmt.setBoolean(paramIndex++, activo);
         }
+        return paramIndex;
     }
 
     // ===================== AUXILIARES ESPECIALIDADES =====================
@@ -331,7 +535,7 @@ public class ProfesionalService {
 
     // ===================== MAPEADOR =====================
 
-    private Profesional mapProfesional(final ResultSet rs)
+    Profesional mapProfesional(final ResultSet rs)
             throws SQLException {
 
         Profesional profesional = new Profesional();
@@ -0,0 +1,100 @@
+package com.example.ceragen_2.service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache de lectura para datos de referencia que cambian poco
+ * (especialidades, profesionales, pacientes por cedula).
+ *
+ * <p>Acotada por tamanio (se descarta la entrada usada hace mas tiempo) y por
+ * vigencia. Los servicios la vacian con {@link #invalidar()} en sus metodos de
+ * escritura. La carga desde la base de datos se hace fuera del candado; si
+ * hubo una invalidacion mientras tanto, el valor leido no se guarda.</p>
+ */
+public final class ReferenceCache<K, V> {
+    private final String nombre;
+    private final int maxEntradas;
+    private final long ttlNanos;
+    private final LongSupplier reloj;
+    private final LinkedHashMap<K, Entrada<V>> entradas;
+
+    private long generacion;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+
+    public ReferenceCache(final String nombre, final int maxEntradas, final Duration ttl) {
+        this(nombre, maxEntradas, ttl, System::nanoTime);
+    }
+
+    ReferenceCache(final String nombre, final int maxEntradas, final Duration ttl, final LongSupplier reloj) {
+        if (maxEntradas < 1) {
+            throw new IllegalArgumentException("maxEntradas debe ser mayor a 0");
+        }
+        this.nombre = nombre;
+        this.maxEntradas = maxEntradas;
+        this.ttlNanos = ttl.toNanos();
+        this.reloj = reloj;
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<K, Entrada<V>> eldest) {
+                if (size() > ReferenceCache.this.maxEntradas) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Devuelve el valor de la cache o lo carga con {@code cargador}.
+     * Los resultados {@code null} (no encontrado) no se guardan.
+     */
+    public V get(final K clave, final Function<K, V> cargador) {
+        final long generacionLectura;
+        synchronized (this) {
+            final Entrada<V> entrada = entradas.get(clave);
+            if (entrada != null) {
+                if (reloj.getAsLong() - entrada.guardadoNanos <= ttlNanos) {
+                    hits++;
+                    return entrada.valor;
+                }
+                entradas.remove(clave);
+                expirations++;
+            }
+            misses++;
+            generacionLectura = generacion;
+        }
+
+        final V valor = cargador.apply(clave);
+        if (valor != null) {
+            synchronized (this) {
+                if (generacion == generacionLectura) {
+                    entradas.put(clave, new Entrada<>(valor, reloj.getAsLong()));
+                }
+            }
+        }
+        return valor;
+    }
+
+    /**
+     * Vacia la cache; se llama despues de crear, actualizar o eliminar.
+     */
+    public synchronized void invalidar() {
+        generacion++;
+        entradas.clear();
+    }
+
+    public synchronized CacheStats getStats() {
+        return new CacheStats(nombre, entradas.size(), hits, misses, evictions, expirations);
+    }
+
+    private record Entrada<V>(V valor, long guardadoNanos) {
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.ceragen_2.service;
+
+import java.nio.file.Path;
+
+/**
+ * Resumen de una importacion masiva.
+ *
+ * @param leidas      filas de datos del archivo (sin encabezado ni lineas vacias)
+ * @param importadas  filas guardadas en la base
+ * @param duplicadas  filas con cedula ya registrada o repetida en el archivo
+ * @param invalidas   filas rechazadas por validacion o por error al guardar
+ * @param reporte     CSV con el detalle de cada fila rechazada, null si no hubo
+ * @param milis       duracion total
+ */
+public record ResultadoImportacion(long leidas, long importadas, long duplicadas, long invalidas,
+                                   Path reporte, long milis) {
+
+    public long rechazadas() {
+        return duplicadas + invalidas;
+    }
+
+    public long filasPorSegundo() {
+        return milis == 0 ? leidas : leidas * 1000 / milis;
+    }
+}
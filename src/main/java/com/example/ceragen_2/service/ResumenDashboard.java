@@ -0,0 +1,80 @@
+package com.example.ceragen_2.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Datos del dashboard para un rango de fechas: ingresos por dia (con los dias
+ * sin facturas en cero) y citas por profesional.
+ */
+public record ResumenDashboard(LocalDate desde, LocalDate hasta, List<IngresoDiario> ingresos,
+                               List<CitasProfesional> citas) {
+
+    /**
+     * Facturacion de un dia; los montos son solo de facturas activas.
+     */
+    public record IngresoDiario(LocalDate fecha, int facturas, int anuladas, BigDecimal subtotal,
+                                BigDecimal iva, BigDecimal descuento, BigDecimal total) {
+
+        static IngresoDiario vacio(final LocalDate fecha) {
+            return new IngresoDiario(fecha, 0, 0, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
+        }
+    }
+
+    /**
+     * Citas de un profesional en el rango. Las inasistencias son citas de dias
+     * ya pasados que siguen pendientes o confirmadas (no atendidas ni canceladas).
+     */
+    public record CitasProfesional(int profesionalId, String profesional, int total, int pendientes,
+                                   int confirmadas, int atendidas, int canceladas, int inasistencias) {
+
+        public double tasaCancelacion() {
+            return tasa(canceladas, total);
+        }
+
+        public double tasaInasistencia() {
+            return tasa(inasistencias, atendidas + inasistencias);
+        }
+    }
+
+    public BigDecimal totalIngresos() {
+        return ingresos.stream().map(IngresoDiario::total).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    public BigDecimal totalIva() {
+        return ingresos.stream().map(IngresoDiario::iva).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    public int totalFacturas() {
+        return ingresos.stream().mapToInt(IngresoDiario::facturas).sum();
+    }
+
+    public int totalAnuladas() {
+        return ingresos.stream().mapToInt(IngresoDiario::anuladas).sum();
+    }
+
+    public int totalCitas() {
+        return citas.stream().mapToInt(CitasProfesional::total).sum();
+    }
+
+    /**
+     * Canceladas sobre el total de citas del rango.
+     */
+    public double tasaCancelacion() {
+        return tasa(citas.stream().mapToInt(CitasProfesional::canceladas).sum(), totalCitas());
+    }
+
+    /**
+     * Inasistencias sobre las citas ya pasadas que no se cancelaron.
+     */
+    public double tasaInasistencia() {
+        final int inasistencias = citas.stream().mapToInt(CitasProfesional::inasistencias).sum();
+        final int atendidas = citas.stream().mapToInt(CitasProfesional::atendidas).sum();
+        return tasa(inasistencias, atendidas + inasistencias);
+    }
+
+    private static double tasa(final int parte, final int total) {
+        return total == 0 ? 0.0 : (double) parte / total;
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.ceragen_2.service;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Mantiene las tablas de resumen diario del dashboard
+ * ({@code resumen_facturacion_diaria} y {@code resumen_citas_diaria}).
+ *
+ * <p>Cada escritura de facturas o citas suma o resta sus filas al resumen con
+ * la misma conexion, dentro de su transaccion: el resumen queda confirmado o
+ * revertido junto con el cambio. Los valores se toman de las filas guardadas
+ * (INSERT ... SELECT), igual que {@link #reconstruir(Connection)}, asi el
+ * calculo incremental y el completo no pueden diferir.</p>
+ *
+ * <p>Para cambiar una cita se resta con sus valores anteriores, se modifica y
+ * se vuelve a sumar con los nuevos. Las filas de citas que quedan en cero se
+ * borran, para no retener profesionales que ya no tienen citas.</p>
+ *
+ * <p>Los incrementos usan el alias de la tabla derivada en
+ * {@code ON DUPLICATE KEY UPDATE} en lugar de {@code VALUES()}, que MySQL 8.0.20
+ * marca como obsoleto con un warning en cada escritura.</p>
+ */
+final class ResumenDiario {
+
+    /** Filas de citas a sumar o restar. */
+    enum Citas {
+        POR_ID("c.id = ?"),
+        POR_FACTURA("c.factura_id = ?"),
+        POR_PACIENTE("c.paciente_id = ?");
+
+        private final String condicion;
+
+        Citas(final String condicion) {
+            this.condicion = condicion;
+        }
+    }
+
+    private static final String SQL_FACTURAS = """
+            INSERT INTO resumen_facturacion_diaria (fecha, facturas, anuladas, subtotal, iva, descuento, total)
+            SELECT * FROM (
+                SELECT DATE(f.fecha_emision) AS fecha,
+                       SUM(CASE WHEN f.estado = 'ACTIVA' THEN ? ELSE 0 END) AS facturas,
+                       SUM(CASE WHEN f.estado = 'ANULADA' THEN ? ELSE 0 END) AS anuladas,
+                       SUM(CASE WHEN f.estado = 'ACTIVA' THEN f.subtotal * ? ELSE 0 END) AS subtotal,
+                       SUM(CASE WHEN f.estado = 'ACTIVA' THEN f.iva * ? ELSE 0 END) AS iva,
+                       SUM(CASE WHEN f.estado = 'ACTIVA' THEN f.descuento * ? ELSE 0 END) AS descuento,
+                       SUM(CASE WHEN f.estado = 'ACTIVA' THEN f.total * ? ELSE 0 END) AS total
+                FROM facturas f
+                WHERE %s
+                GROUP BY DATE(f.fecha_emision)
+            ) AS n
+            ON DUPLICATE KEY UPDATE
+                facturas = resumen_facturacion_diaria.facturas + n.facturas,
+                anuladas = resumen_facturacion_diaria.anuladas + n.anuladas,
+                subtotal = resumen_facturacion_diaria.subtotal + n.subtotal,
+                iva = resumen_facturacion_diaria.iva + n.iva,
+                descuento = resumen_facturacion_diaria.descuento + n.descuento,
+                total = resumen_facturacion_diaria.total + n.total
+            """;
+
+    private static final String SQL_CITAS = """
+            INSERT INTO resumen_citas_diaria
+                (fecha, profesional_id, total, pendientes, confirmadas, atendidas, canceladas)
+            SELECT * FROM (
+                SELECT DATE(c.fecha_hora) AS fecha, c.profesional_id,
+                       COUNT(*) * ? AS total,
+                       SUM(c.estado = 'PENDIENTE') * ? AS pendientes,
+                       SUM(c.estado = 'CONFIRMADA') * ? AS confirmadas,
+                       SUM(c.estado = 'ATENDIDA') * ? AS atendidas,
+                       SUM(c.estado = 'CANCELADA') * ? AS canceladas
+                FROM citas c
+                WHERE %s
+                GROUP BY DATE(c.fecha_hora), c.profesional_id
+            ) AS n
+            ON DUPLICATE KEY UPDATE
+                total = resumen_citas_diaria.total + n.total,
+                pendientes = resumen_citas_diaria.pendientes + n.pendientes,
+                confirmadas = resumen_citas_diaria.confirmadas + n.confirmadas,
+                atendidas = resumen_citas_diaria.atendidas + n.atendidas,
+                canceladas = resumen_citas_diaria.canceladas + n.canceladas
+            """;
+
+    /** Filas del resumen de las citas indicadas que quedaron en cero. */
+    private static final String SQL_LIMPIAR_CITAS = """
+            DELETE r FROM resumen_citas_diaria r
+            JOIN citas c ON r.fecha = DATE(c.fecha_hora) AND r.profesional_id = c.profesional_id
+            WHERE %s
+              AND r.total = 0 AND r.pendientes = 0 AND r.confirmadas = 0
+              AND r.atendidas = 0 AND r.canceladas = 0
+            """;
+
+    private ResumenDiario() {
+    }
+
+    static void sumarFactura(final Connection conn, final int facturaId) throws SQLException {
+        ajustarFactura(conn, facturaId, 1);
+    }
+
+    /**
+     * Resta la factura del resumen bloqueandola antes (ver {@link #restarCitas}).
+     */
+    static void restarFactura(final Connection conn, final int facturaId) throws SQLException {
+        bloquear(conn, "SELECT f.id FROM facturas f WHERE f.id = ? FOR UPDATE", facturaId);
+        ajustarFactura(conn, facturaId, -1);
+    }
+
+    static void sumarCitas(final Connection conn, final Citas filas, final int id) throws SQLException {
+        ajustarCitas(conn, filas, id, 1);
+    }
+
+    /**
+     * Resta las citas del resumen bloqueandolas antes, para que nadie las
+     * cambie entre la resta y la modificacion que sigue, y borra las filas que
+     * quedaron en cero.
+     */
+    static void restarCitas(final Connection conn, final Citas filas, final int id) throws SQLException {
+        bloquear(conn, "SELECT c.id FROM citas c WHERE " + filas.condicion + " FOR UPDATE", id);
+        ajustarCitas(conn, filas, id, -1);
+        try (PreparedStatement stmt = conn.prepareStatement(String.format(SQL_LIMPIAR_CITAS, filas.condicion))) {
+            stmt.setInt(1, id);
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Recalcula ambos resumenes desde cero a partir de facturas y citas.
+     * Se usa para poblar datos anteriores a las tablas de resumen o corregir
+     * cambios hechos fuera de la aplicacion.
+     */
+    static void reconstruir(final Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("DELETE FROM resumen_facturacion_diaria");
+            stmt.executeUpdate("DELETE FROM resumen_citas_diaria");
+        }
+        try (PreparedStatement stmt = conn.prepareStatement(String.format(SQL_FACTURAS, "1 = 1"))) {
+            asignarSigno(stmt, 1, 6);
+            stmt.executeUpdate();
+        }
+        try (PreparedStatement stmt = conn.prepareStatement(String.format(SQL_CITAS, "1 = 1"))) {
+            asignarSigno(stmt, 1, 5);
+            stmt.executeUpdate();
+        }
+    }
+
+    private static void ajustarFactura(final Connection conn, final int facturaId, final int signo)
+            throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(String.format(SQL_FACTURAS, "f.id = ?"))) {
+            asignarSigno(stmt, signo, 6);
+            stmt.setInt(7, facturaId);
+            stmt.executeUpdate();
+        }
+    }
+
+    private static void ajustarCitas(final Connection conn, final Citas filas, final int id, final int signo)
+            throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(String.format(SQL_CITAS, filas.condicion))) {
+            asignarSigno(stmt, signo, 5);
+            stmt.setInt(6, id);
+            stmt.executeUpdate();
+        }
+    }
+
+    private static void bloquear(final Connection conn, final String sql, final int id) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, id);
+            stmt.executeQuery().close();
+        }
+    }
+
+    private static void asignarSigno(final PreparedStatement stmt, final int signo, final int cantidad)
+            throws SQLException {
+        for (int i = 1; i <= cantidad; i++) {
+            stmt.setInt(i, signo);
+        }
+    }
+}
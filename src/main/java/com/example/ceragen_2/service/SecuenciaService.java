@@ -0,0 +1,185 @@
+package com.example.ceragen_2.service;
+
+import com.example.ceragen_2.config.DatabaseConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Numeracion de documentos sobre la tabla {@code secuencias}.
+ *
+ * <p>Dos modos, elegidos con {@code FACTURA_NUMERACION} en el .env:</p>
+ * <ul>
+ *   <li>{@code CONTINUA} (por defecto): el numero se toma con candado de fila
+ *   dentro de la transaccion del llamador. Si la transaccion hace rollback el
+ *   numero se devuelve, asi que no quedan huecos. El candado dura hasta el
+ *   commit, por eso conviene pedir el numero justo antes de confirmar.</li>
+ *   <li>{@code BLOQUES}: se reservan {@code FACTURA_BLOQUE} numeros (50 por
+ *   defecto) en una transaccion corta y se reparten desde memoria. No hay
+ *   duplicados entre estaciones, pero un rollback o un reinicio dejan huecos.</li>
+ * </ul>
+ */
+public final class SecuenciaService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SecuenciaService.class);
+    private static SecuenciaService instance;
+
+    public static final String FACTURA = "FACTURA";
+    private static final String PREFIJO_FACTURA = "FAC-";
+    private static final String PREFIJO_PROVISIONAL = "TMP-";
+    private static final int BLOQUE_POR_DEFECTO = 50;
+
+    /**
+     * Estrategia de numeracion.
+     */
+    public enum Modo {
+        CONTINUA,
+        BLOQUES
+    }
+
+    private final Modo modo;
+    private final BloqueSecuencia bloqueFacturas;
+
+    private SecuenciaService() {
+        final DatabaseConfig config = DatabaseConfig.getInstance();
+        this.modo = leerModo(config.getEnv("FACTURA_NUMERACION"));
+        final int tamanio = leerTamanioBloque(config.getEnv("FACTURA_BLOQUE"));
+        this.bloqueFacturas = new BloqueSecuencia(tamanio, cantidad -> reservarEnTransaccionPropia(FACTURA, cantidad));
+        LOGGER.info("Numeracion de facturas en modo {}", modo);
+    }
+
+    public static synchronized SecuenciaService getInstance() {
+        if (instance == null) {
+            instance = new SecuenciaService();
+        }
+        return instance;
+    }
+
+    public Modo getModo() {
+        return modo;
+    }
+
+    /**
+     * Indica si el numero definitivo debe pedirse al final de la transaccion
+     * (modo {@code CONTINUA}).
+     */
+    public boolean isNumeracionContinua() {
+        return modo == Modo.CONTINUA;
+    }
+
+    /**
+     * Devuelve el siguiente numero de factura (FAC-000001, FAC-000002, ...).
+     * En modo {@code CONTINUA} {@code conn} debe tener una transaccion abierta;
+     * en modo {@code BLOQUES} no se usa.
+     */
+    public String siguienteNumeroFactura(final Connection conn) throws SQLException {
+        final long valor = modo == Modo.CONTINUA
+                ? reservar(conn, FACTURA, 1)
+                : bloqueFacturas.siguiente();
+        return formatearNumeroFactura(valor);
+    }
+
+    /**
+     * Numero temporal y unico para insertar la factura antes de tener el
+     * definitivo. Nunca llega a confirmarse.
+     */
+    public static String numeroProvisional() {
+        return PREFIJO_PROVISIONAL + UUID.randomUUID();
+    }
+
+    static String formatearNumeroFactura(final long valor) {
+        return String.format("%s%06d", PREFIJO_FACTURA, valor);
+    }
+
+    static Modo leerModo(final String valor) {
+        if (valor == null || valor.isBlank()) {
+            return Modo.CONTINUA;
+        }
+        try {
+            return Modo.valueOf(valor.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            LOGGER.warn("FACTURA_NUMERACION invalido ({}), se usa CONTINUA", valor);
+            return Modo.CONTINUA;
+        }
+    }
+
+    private static int leerTamanioBloque(final String valor) {
+        if (valor == null || valor.isBlank()) {
+            return BLOQUE_POR_DEFECTO;
+        }
+        return Math.max(1, Integer.parseInt(valor.trim()));
+    }
+
+    private long reservarEnTransaccionPropia(final String nombre, final int cantidad) throws SQLException {
+        try (Connection conn = DatabaseConfig.getInstance().getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                final long inicio = reservar(conn, nombre, cantidad);
+                conn.commit();
+                LOGGER.info("Bloque de secuencia {} reservado: {} a {}", nombre, inicio, inicio + cantidad - 1);
+                return inicio;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * Bloquea la fila de la secuencia, avanza {@code cantidad} y devuelve el
+     * primer numero reservado. El candado se libera con el commit o rollback
+     * de {@code conn}.
+     */
+    private long reservar(final Connection conn, final String nombre, final int cantidad) throws SQLException {
+        Long actual = leerParaActualizar(conn, nombre);
+        if (actual == null) {
+            inicializarFactura(conn, nombre);
+            actual = leerParaActualizar(conn, nombre);
+            if (actual == null) {
+                throw new SQLException("No existe la secuencia " + nombre);
+            }
+        }
+
+        final String sql = "UPDATE secuencias SET siguiente_valor = ? WHERE nombre = ?";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, actual + cantidad);
+            stmt.setString(2, nombre);
+            stmt.executeUpdate();
+        }
+        return actual;
+    }
+
+    private Long leerParaActualizar(final Connection conn, final String nombre) throws SQLException {
+        final String sql = "SELECT siguiente_valor FROM secuencias WHERE nombre = ? FOR UPDATE";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, nombre);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : null;
+            }
+        }
+    }
+
+    /**
+     * Bases creadas antes de la tabla {@code secuencias}: la fila arranca
+     * despues del mayor numero FAC-NNNNNN ya emitido. Los numeros con otro
+     * formato (p. ej. FAC-2025-001 de los datos de ejemplo) no cuentan: el
+     * CAST los leeria como el anio y saltaria la numeracion.
+     */
+    static void inicializarFactura(final Connection conn, final String nombre) throws SQLException {
+        final String sql = "INSERT IGNORE INTO secuencias (nombre, siguiente_valor) " +
+                "SELECT ?, IFNULL(MAX(CAST(SUBSTRING(numero_factura, 5) AS UNSIGNED)), 0) + 1 " +
+                "FROM facturas WHERE numero_factura REGEXP '^FAC-[0-9]+$'";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, nombre);
+            stmt.executeUpdate();
+        }
+        LOGGER.info("Secuencia {} inicializada a partir de las facturas existentes", nombre);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.ceragen_2.service;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache de corta duracion de los totales de un listado por combinacion de filtros.
+ *
+ * <p>Al cambiar de pagina los filtros no cambian, asi que el total leido en la
+ * primera pagina sigue siendo valido unos segundos y no hace falta recontar
+ * la tabla. Los servicios llaman a {@link #invalidar()} despues de cada escritura.</p>
+ */
+public final class TotalCountCache {
+    /** Vigencia usada por los servicios de listados. */
+    public static final Duration TTL_POR_DEFECTO = Duration.ofSeconds(15);
+    private static final int MAX_ENTRADAS = 256;
+
+    private final long ttlNanos;
+    private final LongSupplier reloj;
+    private final Map<String, Entrada> totales = new ConcurrentHashMap<>();
+
+    public TotalCountCache(final Duration ttl) {
+        this(ttl, System::nanoTime);
+    }
+
+    TotalCountCache(final Duration ttl, final LongSupplier reloj) {
+        this.ttlNanos = ttl.toNanos();
+        this.reloj = reloj;
+    }
+
+    /**
+     * Construye la firma de un conjunto de filtros.
+     */
+    public static String clave(final Object... filtros) {
+        return Arrays.toString(filtros);
+    }
+
+    /**
+     * Devuelve el total vigente para la firma o {@code null} si no hay o ya vencio.
+     */
+    public Integer get(final String clave) {
+        final Entrada entrada = totales.get(clave);
+        if (entrada == null) {
+            return null;
+        }
+        if (reloj.getAsLong() - entrada.guardadoNanos > ttlNanos) {
+            totales.remove(clave, entrada);
+            return null;
+        }
+        return entrada.total;
+    }
+
+    public void put(final String clave, final int total) {
+        if (ttlNanos <= 0) {
+            return;
+        }
+        if (totales.size() >= MAX_ENTRADAS) {
+            totales.clear();
+        }
+        totales.put(clave, new Entrada(total, reloj.getAsLong()));
+    }
+
+    /**
+     * Descarta todos los totales; se llama tras crear, modificar o eliminar filas.
+     */
+    public void invalidar() {
+        totales.clear();
+    }
+
+    private record Entrada(int total, long guardadoNanos) {
+    }
+}
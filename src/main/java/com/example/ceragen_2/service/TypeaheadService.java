@@ -0,0 +1,203 @@
+package com.example.ceragen_2.service;
+
+import com.example.ceragen_2.model.Cliente;
+import com.example.ceragen_2.model.Paciente;
+import com.example.ceragen_2.model.Profesional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Sugerencias por cedula y nombre mientras se escribe, sin consultar la base
+ * de datos en cada tecla.
+ *
+ * <p>Cada catalogo (pacientes, clientes, profesionales activos) se carga una vez
+ * en segundo plano en un {@link IndicePrefijos} y se mantiene al dia con los
+ * metodos de escritura de cada servicio. Mientras un catalogo no esta listo las
+ * busquedas devuelven null y la pantalla debe consultar la base como antes.</p>
+ */
+public final class TypeaheadService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TypeaheadService.class);
+    private static final int MAX_INTENTOS_CARGA = 3;
+    private static TypeaheadService instance;
+
+    private final Catalogo<Paciente> pacientes = new Catalogo<>("pacientes",
+            consumidor -> PacienteService.getInstance().recorrerPacientes(consumidor),
+            Paciente::getId,
+            p -> List.of(nvl(p.getCedula()), nvl(p.getNombres()), nvl(p.getApellidos())));
+
+    private final Catalogo<Cliente> clientes = new Catalogo<>("clientes",
+            consumidor -> ClienteService.getInstance().recorrerClientesCompletos(consumidor),
+            Cliente::getId,
+            c -> List.of(nvl(c.getCedula()), nvl(c.getNombres()), nvl(c.getApellidos())));
+
+    private final Catalogo<Profesional> profesionales = new Catalogo<>("profesionales",
+            consumidor -> ProfesionalService.getInstance().recorrerProfesionales(p -> {
+                if (activo(p)) {
+                    consumidor.accept(p);
+                }
+            }),
+            Profesional::getId,
+            p -> List.of(nvl(p.getCedula()), nvl(p.getNombres()), nvl(p.getApellidos())));
+
+    private TypeaheadService() {
+    }
+
+    public static synchronized TypeaheadService getInstance() {
+        if (instance == null) {
+            instance = new TypeaheadService();
+        }
+        return instance;
+    }
+
+    /**
+     * Carga en segundo plano los catalogos que aun no estan listos.
+     */
+    public void calentar() {
+        pacientes.calentar();
+        clientes.calentar();
+        profesionales.calentar();
+    }
+
+    /**
+     * Pacientes cuyo prefijo de cedula o nombre coincide, o null si el indice aun no esta listo.
+     */
+    public List<Paciente> buscarPacientes(final String texto, final int limite) {
+        return pacientes.buscar(texto, limite);
+    }
+
+    public List<Cliente> buscarClientes(final String texto, final int limite) {
+        return clientes.buscar(texto, limite);
+    }
+
+    public List<Profesional> buscarProfesionales(final String texto, final int limite) {
+        return profesionales.buscar(texto, limite);
+    }
+
+    /**
+     * Todos los clientes activos ordenados por nombre, o null si el indice aun no esta listo.
+     */
+    public List<Cliente> getClientes() {
+        return clientes.todos(Comparator.comparing((Cliente c) -> nvl(c.getNombres()))
+                .thenComparing(c -> nvl(c.getApellidos())));
+    }
+
+    // ===================== MANTENIMIENTO DESDE LOS SERVICIOS =====================
+
+    void pacienteGuardado(final Paciente paciente) {
+        pacientes.indice.put(paciente);
+    }
+
+    void pacienteEliminado(final Integer id) {
+        pacientes.indice.remove(id);
+    }
+
+    void clienteGuardado(final Cliente cliente) {
+        clientes.indice.put(cliente);
+    }
+
+    void clienteEliminado(final Integer id) {
+        clientes.indice.remove(id);
+    }
+
+    void profesionalGuardado(final Profesional profesional) {
+        if (activo(profesional)) {
+            profesionales.indice.put(profesional);
+        } else {
+            profesionales.indice.remove(profesional.getId());
+        }
+    }
+
+    void profesionalEliminado(final Integer id) {
+        profesionales.indice.remove(id);
+    }
+
+    private static boolean activo(final Profesional profesional) {
+        return !Boolean.FALSE.equals(profesional.getActivo());
+    }
+
+    private static String nvl(final String texto) {
+        return Objects.requireNonNullElse(texto, "");
+    }
+
+    /**
+     * Indice de un tipo de entidad con su carga en segundo plano.
+     */
+    private static final class Catalogo<T> {
+        private final String nombre;
+        private final Predicate<Consumer<T>> cargador;
+        private final IndicePrefijos<T> indice;
+        private final AtomicBoolean cargando = new AtomicBoolean();
+        private volatile boolean listo;
+
+        /**
+         * @param cargador recorre la tabla entregando cada fila; false si la consulta fallo
+         */
+        Catalogo(final String nombre, final Predicate<Consumer<T>> cargador,
+                 final Function<T, Integer> id, final Function<T, List<String>> textos) {
+            this.nombre = nombre;
+            this.cargador = cargador;
+            this.indice = new IndicePrefijos<>(id, textos);
+        }
+
+        void calentar() {
+            if (listo || !cargando.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                BackgroundExecutor.getInstance().execute(this::cargar);
+            } catch (RuntimeException e) {
+                cargando.set(false);
+                LOGGER.warn("No se pudo programar la carga del indice de {}", nombre, e);
+            }
+        }
+
+        private void cargar() {
+            try {
+                final long inicio = System.nanoTime();
+                for (int intento = 1; intento <= MAX_INTENTOS_CARGA; intento++) {
+                    final long version = indice.getVersion();
+                    // Las filas van directo al indice nuevo, sin lista intermedia
+                    final IndicePrefijos<T>.Carga carga = indice.nuevaCarga();
+                    if (!cargador.test(carga::agregar)) {
+                        // Sin marcar listo: la pantalla sigue consultando la base
+                        return;
+                    }
+                    if (carga.aplicarSi(version)) {
+                        listo = true;
+                        LOGGER.info("Indice de {} cargado: {} elementos en {} ms", nombre, carga.size(),
+                                (System.nanoTime() - inicio) / 1_000_000);
+                        return;
+                    }
+                    LOGGER.debug("Indice de {} modificado durante la carga, reintentando", nombre);
+                }
+                LOGGER.warn("No se pudo cargar el indice de {}: cambios concurrentes", nombre);
+            } finally {
+                cargando.set(false);
+            }
+        }
+
+        List<T> buscar(final String texto, final int limite) {
+            if (!listo) {
+                calentar();
+                return null;
+            }
+            return indice.buscar(texto, limite);
+        }
+
+        List<T> todos(final Comparator<T> orden) {
+            if (!listo) {
+                calentar();
+                return null;
+            }
+            return indice.todos(orden);
+        }
+    }
+}
@@ -25,59 +25,32 @@ public final class UsuarioService {
         return instance;
     }
 
+    private static final String COLUMNAS_USUARIOS = "SELECT id, username, password, rol, activo, fecha_creacion";
+    private static final String FROM_USUARIOS = " FROM usuarios WHERE 1=1";
+    private static final String SELECT_USUARIOS = COLUMNAS_USUARIOS + FROM_USUARIOS;
+
+    private final TotalCountCache totales = new TotalCountCache(TotalCountCache.TTL_POR_DEFECTO);
+
     /**
      * Obtiene usuarios con paginación y filtros
      */
     public List<Usuario> getUsuarios(int offset, int limit, String searchText, String rolFilter, Boolean activoFilter) {
         List<Usuario> usuarios = new ArrayList<>();
-        StringBuilder sql = new StringBuilder("SELECT id, username, password, rol, activo, fecha_creacion FROM usuarios WHERE 1=1");
-
-        if (searchText != null && !searchText.trim().isEmpty()) {
-            sql.append(" AND username LIKE ?");
-        }
-        if (rolFilter != null && !rolFilter.equals("TODOS")) {
-            sql.append(" AND rol = ?");
-        }
-        if (activoFilter != null) {
-            sql.append(" AND activo = ?");
-        }
-
-        sql.append(" ORDER BY fecha_creacion DESC LIMIT ? OFFSET ?");
+        StringBuilder sql = new StringBuilder(SELECT_USUARIOS);
+        agregarFiltros(sql, searchText, rolFilter, activoFilter);
+        sql.append(" ORDER BY fecha_creacion DESC, id DESC LIMIT ? OFFSET ?");
 
         try (Connection conn = DatabaseConfig.getInstance().getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
 
-            int paramIndex = 1;
-
-            if (searchText != null && !searchText.trim().isEmpty()) {
-                stmt.setString(paramIndex++, "%" + searchText + "%");
-            }
-            if (rolFilter != null && !rolFilter.equals("TODOS")) {
-                stmt.setString(paramIndex++, rolFilter);
-            }
-            if (activoFilter != null) {
-                stmt.setBoolean(paramIndex++, activoFilter);
-            }
-
+            int paramIndex = asignarFiltros(stmt, 1, searchText, rolFilter, activoFilter);
             stmt.setInt(paramIndex++, limit);
             stmt.setInt(paramIndex, offset);
 
             ResultSet rs = stmt.executeQuery();
 
             while (rs.next()) {
-                Usuario usuario = new Usuario();
-                usuario.setId(rs.getInt("id"));
-                usuario.setUsername(rs.getString("username"));
-                usuario.setPassword(rs.getString("password"));
-                usuario.setRol(rs.getString("rol"));
-                usuario.setActivo(rs.getBoolean("activo"));
-
-                Timestamp timestamp = rs.getTimestamp("fecha_creacion");
-                if (timestamp != null) {
-                    usuario.setFechaCreacion(timestamp.toLocalDateTime());
-                }
-
-                usuarios.add(usuario);
+                usuarios.add(mapUsuario(rs));
             }
 
             LOGGER.info("Se obtuvieron {} usuarios", usuarios.size());
@@ -89,35 +62,116 @@ public final class UsuarioService {
     }
 
     /**
-     * Cuenta el total de usuarios con filtros aplicados
+     * Obtiene una página de usuarios y el total de registros en una sola consulta
+     * ({@code COUNT(*) OVER()}). Con {@code reutilizarTotal} se usa el total
+     * guardado para los mismos filtros, pensado para cambios de página.
      */
-    public int countUsuarios(String searchText, String rolFilter, Boolean activoFilter) {
-        StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM usuarios WHERE 1=1");
+    public PageResult<Usuario> getUsuariosPage(int offset, int limit, String searchText, String rolFilter,
+                                               Boolean activoFilter, boolean reutilizarTotal) {
+        String clave = TotalCountCache.clave(searchText, rolFilter, activoFilter);
+        Integer cacheado = reutilizarTotal ? totales.get(clave) : null;
+        if (cacheado != null) {
+            return new PageResult<>(getUsuarios(offset, limit, searchText, rolFilter, activoFilter), cacheado);
+        }
 
-        if (searchText != null && !searchText.trim().isEmpty()) {
-            sql.append(" AND username LIKE ?");
+        List<Usuario> usuarios = new ArrayList<>();
+        int total = -1;
+        StringBuilder sql = new StringBuilder(COLUMNAS_USUARIOS)
+            .append(", COUNT(*) OVER() AS total_filas")
+            .append(FROM_USUARIOS);
+        agregarFiltros(sql, searchText, rolFilter, activoFilter);
+        sql.append(" ORDER BY fecha_creacion DESC, id DESC LIMIT ? OFFSET ?");
+
+        try (Connection conn = DatabaseConfig.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+
+            int paramIndex = asignarFiltros(stmt, 1, searchText, rolFilter, activoFilter);
+            stmt.setInt(paramIndex++, limit);
+            stmt.setInt(paramIndex, offset);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    total = rs.getInt("total_filas");
+                    usuarios.add(mapUsuario(rs));
+                }
+            }
+        } catch (SQLException e) {
+            LOGGER.error("Error al obtener pagina de usuarios", e);
+            return new PageResult<>(usuarios, 0);
         }
-        if (rolFilter != null && !rolFilter.equals("TODOS")) {
-            sql.append(" AND rol = ?");
+
+        // Sin filas no llega el total: solo en una pagina fuera de rango hace falta contar aparte
+        if (total < 0) {
+            total = offset > 0 ? countUsuarios(searchText, rolFilter, activoFilter) : 0;
         }
-        if (activoFilter != null) {
-            sql.append(" AND activo = ?");
+        totales.put(clave, total);
+        return new PageResult<>(usuarios, total);
+    }
+
+    /**
+     * Obtiene la página indicada por un token de {@link KeysetPage}. El total
+     * se toma de la cache de totales o, si venció, se cuenta de nuevo.
+     */
+    public PageResult<Usuario> getUsuariosPage(String token, int limit, String searchText, String rolFilter,
+                                               Boolean activoFilter) {
+        List<Usuario> usuarios = getUsuariosKeyset(token, limit, searchText, rolFilter, activoFilter).items();
+        String clave = TotalCountCache.clave(searchText, rolFilter, activoFilter);
+        Integer total = totales.get(clave);
+        if (total == null) {
+            total = countUsuarios(searchText, rolFilter, activoFilter);
+            totales.put(clave, total);
         }
+        return new PageResult<>(usuarios, total);
+    }
+
+    /**
+     * Obtiene una página de usuarios a partir de un token de {@link KeysetPage}.
+     * Con {@code token} nulo devuelve la primera página.
+     */
+    public KeysetPage<Usuario> getUsuariosKeyset(String token, int limit, String searchText, String rolFilter,
+                                                 Boolean activoFilter) {
+        PageCursor cursor = token != null ? PageCursor.decode(token) : null;
+        List<Usuario> usuarios = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(SELECT_USUARIOS);
+        agregarFiltros(sql, searchText, rolFilter, activoFilter);
+        if (cursor != null) {
+            cursor.appendCondicion(sql, "fecha_creacion", "id");
+        }
+        PageCursor.appendOrden(sql, cursor, "fecha_creacion", "id");
+        sql.append(" LIMIT ?");
 
         try (Connection conn = DatabaseConfig.getInstance().getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
 
-            int paramIndex = 1;
-
-            if (searchText != null && !searchText.trim().isEmpty()) {
-                stmt.setString(paramIndex++, "%" + searchText + "%");
-            }
-            if (rolFilter != null && !rolFilter.equals("TODOS")) {
-                stmt.setString(paramIndex++, rolFilter);
+            int paramIndex = asignarFiltros(stmt, 1, searchText, rolFilter, activoFilter);
+            if (cursor != null) {
+                paramIndex = cursor.bind(stmt, paramIndex);
             }
-            if (activoFilter != null) {
-                stmt.setBoolean(paramIndex++, activoFilter);
+            stmt.setInt(paramIndex, limit + 1);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    usuarios.add(mapUsuario(rs));
+                }
             }
+        } catch (SQLException e) {
+            LOGGER.error("Error al obtener usuarios por cursor", e);
+        }
+
+        return KeysetPage.of(usuarios, limit, cursor, Usuario::getFechaCreacion, Usuario::getId);
+    }
+
+    /**
+     * Cuenta el total de usuarios con filtros aplicados
+     */
+    public int countUsuarios(String searchText, String rolFilter, Boolean activoFilter) {
+        StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM usuarios WHERE 1=1");
+        agregarFiltros(sql, searchText, rolFilter, activoFilter);
+
+        try (Connection conn = DatabaseConfig.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+
+            asignarFiltros(stmt, 1, searchText, rolFilter, activoFilter);
 
             ResultSet rs = stmt.executeQuery();
             if (rs.next()) {
@@ -130,6 +184,48 @@ public final class UsuarioService {
         return 0;
     }
 
+    private void agregarFiltros(StringBuilder sql, String searchText, String rolFilter, Boolean activoFilter) {
+        if (searchText != null && !searchText.trim().isEmpty()) {
+            sql.append(" AND username LIKE ?");
+        }
+        if (rolFilter != null && !rolFilter.equals("TODOS")) {
+            sql.append(" AND rol = ?");
+        }
+        if (activoFilter != null) {
+            sql.append(" AND activo = ?");
+        }
+    }
+
+    private int asignarFiltros(PreparedStatement stmt, int paramIndex, String searchText, String rolFilter,
+                               Boolean activoFilter) throws SQLException {
+        if (searchText != null && !searchText.trim().isEmpty()) {
+            stmt.setString(paramIndex++, "%" + searchText + "%");
+        }
+        if (rolFilter != null && !rolFilter.equals("TODOS")) {
+            stmt.setString(paramIndex++, rolFilter);
+        }
+        if (activoFilter != null) {
+            stmt.setBoolean(paramIndex++, activoFilter);
+        }
+        return paramIndex;
+    }
+
+    private Usuario mapUsuario(ResultSet rs) throws SQLException {
+        Usuario usuario = new Usuario();
+        usuario.setId(rs.getInt("id"));
+        usuario.setUsername(rs.getString("username"));
+        usuario.setPassword(rs.getString("password"));
+        usuario.setRol(rs.getString("rol"));
+        usuario.setActivo(rs.getBoolean("activo"));
+
+        Timestamp timestamp = rs.getTimestamp("fecha_creacion");
+        if (timestamp != null) {
+            usuario.setFechaCreacion(timestamp.toLocalDateTime());
+        }
+
+        return usuario;
+    }
+
     /**
      * Crea un nuevo usuario
      */
@@ -147,6 +243,7 @@ public final class UsuarioService {
             stmt.setBoolean(4, true);
 
             int rowsAffected = stmt.executeUpdate();
+            totales.invalidar();
             LOGGER.info("Usuario creado: {}", username);
             return rowsAffected > 0;
 
@@ -171,6 +268,7 @@ public final class UsuarioService {
             stmt.setInt(4, id);
 
             int rowsAffected = stmt.executeUpdate();
+            totales.invalidar();
             LOGGER.info("Usuario actualizado: {}", username);
             return rowsAffected > 0;
 
@@ -192,6 +290,7 @@ public final class UsuarioService {
             stmt.setInt(1, id);
 
             int rowsAffected = stmt.executeUpdate();
+            totales.invalidar();
             LOGGER.info("Usuario desactivado con ID: {}", id);
             return rowsAffected > 0;
 
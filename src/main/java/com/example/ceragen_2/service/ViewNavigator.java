@@ -1,5 +1,6 @@
 package com.example.ceragen_2.service;
 
+import com.example.ceragen_2.util.EventosJfr;
 import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -43,7 +44,7 @@ public final class ViewNavigator {
             if (controller != null) {
                 loader.setController(controller);
             }
-            Parent root = loader.load();
+            Parent root = EventosJfr.CargaVista.cargar(loader);
 
             Scene scene = new Scene(root);
             primaryStage.setScene(scene);
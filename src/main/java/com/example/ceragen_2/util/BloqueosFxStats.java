@@ -0,0 +1,12 @@
+package com.example.ceragen_2.util;
+
+/**
+ * Metricas de los bloqueos del hilo de JavaFX detectados por {@link VigilanteHiloFx}.
+ *
+ * @param bloqueos       Veces que el hilo FX estuvo ocupado mas que el umbral
+ * @param maxMillis      Bloqueo mas largo
+ * @param totalMillis    Tiempo total con la interfaz congelada
+ * @param ultimoCulpable Metodo culpable del ultimo bloqueo (null si no hubo)
+ */
+public record BloqueosFxStats(long bloqueos, double maxMillis, double totalMillis, String ultimoCulpable) {
+}
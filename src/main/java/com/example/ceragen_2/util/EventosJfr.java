@@ -0,0 +1,117 @@
+package com.example.ceragen_2.util;
+
+import javafx.fxml.FXMLLoader;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+import java.io.IOException;
+import java.net.URL;
+
+/**
+ * Eventos propios para Java Flight Recorder. Con una grabacion tomada en la
+ * clinica ({@code jcmd <pid> JFR.start duration=10m filename=ceragen.jfr})
+ * se ve en JDK Mission Control, en la categoria Ceragen, cada consulta con el
+ * metodo de servicio que la hizo y el hilo donde corrio, cada carga de
+ * vista, cada tarea en segundo plano y cada vez que la interfaz se congelo.
+ *
+ * <p>Si no hay una grabacion activa los eventos no se registran y su costo
+ * es el de crear un objeto.</p>
+ */
+public final class EventosJfr {
+    private static final String CATEGORIA = "Ceragen";
+
+    private EventosJfr() {
+    }
+
+    @Name("com.example.ceragen_2.ConsultaSql")
+    @Label("Consulta SQL")
+    @Category({CATEGORIA, "Base de datos"})
+    @Description("Ejecucion de una sentencia JDBC y lectura de su ResultSet, por metodo de servicio")
+    public static final class ConsultaSql extends Event {
+        @Label("Metodo")
+        public String sitio;
+
+        @Label("SQL")
+        public String sql;
+
+        @Label("Filas")
+        public long filas;
+
+        @Label("Error")
+        public boolean error;
+    }
+
+    @Name("com.example.ceragen_2.CargaVista")
+    @Label("Carga de vista")
+    @Category({CATEGORIA, "Interfaz"})
+    @Description("Carga de un FXML con la inicializacion de su controlador")
+    public static final class CargaVista extends Event {
+        @Label("Vista")
+        public String vista;
+
+        @Label("Error")
+        public boolean error;
+
+        /**
+         * {@code loader.load()} registrando la carga como evento.
+         */
+        public static <T> T cargar(final FXMLLoader loader) throws IOException {
+            final CargaVista evento = new CargaVista();
+            evento.begin();
+            boolean conError = true;
+            try {
+                final T vista = loader.load();
+                conError = false;
+                return vista;
+            } finally {
+                evento.end();
+                if (evento.shouldCommit()) {
+                    final URL ubicacion = loader.getLocation();
+                    final String ruta = ubicacion == null ? "(sin ubicacion)" : ubicacion.getPath();
+                    evento.vista = ruta.substring(ruta.lastIndexOf('/') + 1);
+                    evento.error = conError;
+                    evento.commit();
+                }
+            }
+        }
+    }
+
+    @Name("com.example.ceragen_2.TareaSegundoPlano")
+    @Label("Tarea en segundo plano")
+    @Category({CATEGORIA, "Interfaz"})
+    @Description("Tarea ejecutada por el BackgroundExecutor")
+    @StackTrace(false)
+    public static final class TareaSegundoPlano extends Event {
+        @Label("Canal")
+        public String canal;
+
+        @Label("Tipo")
+        public String tipo;
+
+        @Label("Espera en cola")
+        @Timespan(Timespan.NANOSECONDS)
+        public long espera;
+    }
+
+    @Name("com.example.ceragen_2.BloqueoHiloFx")
+    @Label("Bloqueo del hilo FX")
+    @Category({CATEGORIA, "Interfaz"})
+    @Description("Periodo en que el hilo de JavaFX no proceso eventos: la interfaz estuvo congelada")
+    @StackTrace(false)
+    public static final class BloqueoHiloFx extends Event {
+        @Label("Metodo culpable")
+        @Description("Metodo de la aplicacion que mas aparecio en las muestras de la pila")
+        public String culpable;
+
+        @Label("Pila")
+        public String pila;
+
+        @Label("Muestras")
+        public int muestras;
+    }
+}
@@ -115,7 +115,7 @@ public final class FormValidationUtil {
             return true;
         }
 
-        final boolean esValido = EMAIL_PATTERN.matcher(texto.trim()).matches();
+        final boolean esValido = esEmailValido(texto);
 
         if (mostrarFeedback) {
             aplicarEstadoValidacion(campo, esValido);
@@ -145,7 +145,7 @@ public final class FormValidationUtil {
             return true;
         }
 
-        final boolean esValido = PHONE_PATTERN.matcher(texto.trim()).matches();
+        final boolean esValido = esTelefonoValido(texto);
 
         if (mostrarFeedback) {
             aplicarEstadoValidacion(campo, esValido);
@@ -175,7 +175,7 @@ public final class FormValidationUtil {
             return false;
         }
 
-        final boolean esValido = CEDULA_PATTERN.matcher(texto.trim()).matches();
+        final boolean esValido = esCedulaValida(texto);
 
         if (mostrarFeedback) {
             aplicarEstadoValidacion(campo, esValido);
@@ -237,6 +237,31 @@ public final class FormValidationUtil {
         return esValido;
     }
 
+    // ========================================
+    // VALIDACIONES DE TEXTO (sin controles, usables fuera del hilo de JavaFX)
+    // ========================================
+
+    /**
+     * @return true si la cedula tiene exactamente 10 digitos
+     */
+    public static boolean esCedulaValida(final String texto) {
+        return texto != null && CEDULA_PATTERN.matcher(texto.trim()).matches();
+    }
+
+    /**
+     * @return true si el email es valido o esta vacio (es opcional)
+     */
+    public static boolean esEmailValido(final String texto) {
+        return texto == null || texto.isBlank() || EMAIL_PATTERN.matcher(texto.trim()).matches();
+    }
+
+    /**
+     * @return true si el telefono tiene 10 digitos o esta vacio (es opcional)
+     */
+    public static boolean esTelefonoValido(final String texto) {
+        return texto == null || texto.isBlank() || PHONE_PATTERN.matcher(texto.trim()).matches();
+    }
+
     // ========================================
     // FILTROS DE ENTRADA
     // ========================================
@@ -1,5 +1,6 @@
 package com.example.ceragen_2.util;
 
+import io.github.cdimascio.dotenv.Dotenv;
 import org.mindrot.jbcrypt.BCrypt;
 
 /**
@@ -7,8 +8,21 @@ import org.mindrot.jbcrypt.BCrypt;
  */
 public class PasswordUtil {
 
-    // Cost factor para BCrypt (12 es un buen balance entre seguridad y rendimiento)
-    private static final int BCRYPT_ROUNDS = 12;
+    // Cost factor para BCrypt (12 es un buen balance entre seguridad y rendimiento).
+    // Se puede ajustar con BCRYPT_ROUNDS en el .env; los hashes con otro costo
+    // se regeneran en el siguiente login exitoso.
+    private static final int DEFAULT_ROUNDS = 12;
+
+    /**
+     * Costo configurado. Se lee recien al usarlo por primera vez, asi hashear
+     * con un costo explicito o verificar no lee el .env.
+     */
+    private static final class Configuracion {
+        private static final int BCRYPT_ROUNDS = leerRounds(Dotenv.configure()
+                .ignoreIfMissing()
+                .load()
+                .get("BCRYPT_ROUNDS"));
+    }
 
     /**
      * Hashea una contraseña usando BCrypt
@@ -17,7 +31,68 @@ public class PasswordUtil {
      * @return Hash BCrypt de la contraseña
      */
     public static String hashPassword(String plainPassword) {
-        return BCrypt.hashpw(plainPassword, BCrypt.gensalt(BCRYPT_ROUNDS));
+        return hashPassword(plainPassword, Configuracion.BCRYPT_ROUNDS);
+    }
+
+    /**
+     * Hashea una contraseña usando BCrypt con un costo especifico
+     *
+     * @param plainPassword Contraseña en texto plano
+     * @param rounds Cost factor (4 a 31)
+     * @return Hash BCrypt de la contraseña
+     */
+    public static String hashPassword(String plainPassword, int rounds) {
+        return BCrypt.hashpw(plainPassword, BCrypt.gensalt(rounds));
+    }
+
+    /**
+     * Cost factor configurado para los hashes nuevos
+     */
+    public static int getRounds() {
+        return Configuracion.BCRYPT_ROUNDS;
+    }
+
+    /**
+     * Obtiene el cost factor de un hash BCrypt ($2a$12$...)
+     *
+     * @param hashedPassword Hash BCrypt almacenado
+     * @return Cost factor, o -1 si el hash no tiene formato BCrypt
+     */
+    public static int getRounds(String hashedPassword) {
+        if (hashedPassword == null || hashedPassword.length() < 7 || hashedPassword.charAt(0) != '$') {
+            return -1;
+        }
+        final int separador = hashedPassword.indexOf('$', 1);
+        if (separador < 0 || separador + 3 > hashedPassword.length()) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(hashedPassword.substring(separador + 1, separador + 3));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Indica si un hash valido fue generado con un costo distinto al configurado
+     *
+     * @param hashedPassword Hash BCrypt almacenado
+     * @return true si conviene regenerarlo
+     */
+    public static boolean needsRehash(String hashedPassword) {
+        final int rounds = getRounds(hashedPassword);
+        return rounds > 0 && rounds != Configuracion.BCRYPT_ROUNDS;
+    }
+
+    static int leerRounds(String valor) {
+        if (valor == null || valor.isBlank()) {
+            return DEFAULT_ROUNDS;
+        }
+        try {
+            return Math.max(4, Math.min(31, Integer.parseInt(valor.trim())));
+        } catch (NumberFormatException e) {
+            return DEFAULT_ROUNDS;
+        }
     }
 
     /**
@@ -0,0 +1,84 @@
+package com.example.ceragen_2.util;
+
+import javafx.animation.PauseTransition;
+import javafx.geometry.Side;
+import javafx.scene.control.ContextMenu;
+import javafx.scene.control.CustomMenuItem;
+import javafx.scene.control.Label;
+import javafx.scene.control.TextField;
+import javafx.util.Duration;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Busqueda mientras se escribe: espera una pausa corta antes de buscar y
+ * muestra las sugerencias debajo del campo.
+ */
+public final class TypeaheadUtil {
+    /** Pausa tras la ultima tecla antes de buscar. */
+    public static final Duration ESPERA = Duration.millis(200);
+    public static final int MAX_SUGERENCIAS = 8;
+
+    private TypeaheadUtil() {
+        // Clase utilitaria, no instanciable
+    }
+
+    /**
+     * Ejecuta {@code accion} con el texto del campo cuando el usuario deja de
+     * escribir durante {@link #ESPERA}. Cada tecla reinicia la espera.
+     */
+    public static void alEscribir(final TextField campo, final Consumer<String> accion) {
+        final PauseTransition pausa = new PauseTransition(ESPERA);
+        pausa.setOnFinished(event -> accion.accept(campo.getText() == null ? "" : campo.getText().trim()));
+        campo.textProperty().addListener((obs, anterior, nuevo) -> pausa.playFromStart());
+    }
+
+    /**
+     * Muestra bajo el campo las sugerencias de {@code buscador} (texto, limite).
+     * Si el buscador devuelve null o vacio no se muestra nada.
+     *
+     * @param texto         texto visible de cada sugerencia
+     * @param alSeleccionar se llama en el hilo de JavaFX al elegir una sugerencia
+     */
+    public static <T> void instalarSugerencias(final TextField campo,
+                                               final BiFunction<String, Integer, List<T>> buscador,
+                                               final Function<T, String> texto,
+                                               final Consumer<T> alSeleccionar) {
+        final ContextMenu menu = new ContextMenu();
+        // Texto que dejo la ultima seleccion: no volver a sugerir sobre el
+        final String[] elegido = {null};
+
+        alEscribir(campo, criterio -> {
+            if (criterio.equals(elegido[0]) || criterio.isEmpty() || !campo.isFocused()) {
+                menu.hide();
+                return;
+            }
+            final List<T> sugerencias = buscador.apply(criterio, MAX_SUGERENCIAS);
+            if (sugerencias == null || sugerencias.isEmpty()) {
+                menu.hide();
+                return;
+            }
+            menu.getItems().clear();
+            for (final T sugerencia : sugerencias) {
+                final CustomMenuItem item = new CustomMenuItem(new Label(texto.apply(sugerencia)), true);
+                item.setOnAction(event -> {
+                    menu.hide();
+                    alSeleccionar.accept(sugerencia);
+                    elegido[0] = campo.getText() == null ? "" : campo.getText().trim();
+                });
+                menu.getItems().add(item);
+            }
+            if (!menu.isShowing()) {
+                menu.show(campo, Side.BOTTOM, 0, 0);
+            }
+        });
+        campo.focusedProperty().addListener((obs, antes, ahora) -> {
+            if (!ahora) {
+                menu.hide();
+            }
+        });
+    }
+}
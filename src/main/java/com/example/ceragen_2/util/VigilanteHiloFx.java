@@ -0,0 +1,233 @@
+package com.example.ceragen_2.util;
+
+import io.github.cdimascio.dotenv.Dotenv;
+import javafx.application.Platform;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Detecta cuando el hilo de JavaFX deja de procesar eventos (la interfaz se
+ * congela) y registra que estaba haciendo.
+ *
+ * <p>Un hilo aparte envia un latido con {@code Platform.runLater} y, mientras
+ * el latido no se procese, toma muestras de la pila del hilo FX. Si el latido
+ * tarda mas que el umbral ({@code FX_WATCHDOG_MS}, 200 ms por defecto; 0
+ * desactiva) se registra un bloqueo: log WARN con el metodo de la aplicacion
+ * que mas aparecio en las muestras y su pila, y un evento
+ * {@link EventosJfr.BloqueoHiloFx}. Un pulso de renderizado largo tambien
+ * retrasa el latido, asi que cuenta igual.</p>
+ */
+public final class VigilanteHiloFx {
+    private static final Logger LOGGER = LoggerFactory.getLogger(VigilanteHiloFx.class);
+    private static final String PAQUETE_APP = "com.example.ceragen_2.";
+    private static final int MAX_LINEAS_PILA = 40;
+    private static VigilanteHiloFx instance;
+
+    private final long umbralNanos;
+    private final long intervaloMs;
+    private final Consumer<Runnable> hiloFx;
+    private final Object lock = new Object();
+    private ScheduledExecutorService muestreador;
+
+    /** Latido enviado y aun no procesado; protegido por {@link #lock}. */
+    private Latido pendiente;
+    private volatile Thread hilo;
+
+    private final LongAdder bloqueos = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private volatile String ultimoCulpable;
+
+    /**
+     * @param umbralMs tiempo sin responder a partir del cual se registra un bloqueo
+     * @param hiloFx   ejecuta un Runnable en el hilo vigilado ({@code Platform::runLater})
+     */
+    VigilanteHiloFx(final long umbralMs, final Consumer<Runnable> hiloFx) {
+        this.umbralNanos = TimeUnit.MILLISECONDS.toNanos(umbralMs);
+        this.intervaloMs = Math.max(10, umbralMs / 4);
+        this.hiloFx = hiloFx;
+    }
+
+    public static synchronized VigilanteHiloFx getInstance() {
+        if (instance == null) {
+            final String umbral = Dotenv.configure().ignoreIfMissing().load().get("FX_WATCHDOG_MS");
+            instance = new VigilanteHiloFx(leerUmbral(umbral), Platform::runLater);
+        }
+        return instance;
+    }
+
+    private static long leerUmbral(final String valor) {
+        if (valor == null || valor.isBlank()) {
+            return 200;
+        }
+        try {
+            return Math.max(0, Long.parseLong(valor.trim()));
+        } catch (NumberFormatException e) {
+            LOGGER.warn("FX_WATCHDOG_MS invalido ({}), se usa 200", valor);
+            return 200;
+        }
+    }
+
+    /**
+     * Empieza a vigilar. No hace nada si el umbral es 0 o ya esta iniciado.
+     */
+    public synchronized void iniciar() {
+        if (umbralNanos == 0 || muestreador != null) {
+            return;
+        }
+        muestreador = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread t = new Thread(r, "fx-watchdog");
+            t.setDaemon(true);
+            return t;
+        });
+        muestreador.scheduleAtFixedRate(this::revisar, intervaloMs, intervaloMs, TimeUnit.MILLISECONDS);
+        LOGGER.info("Vigilancia del hilo FX iniciada (umbral {} ms)", TimeUnit.NANOSECONDS.toMillis(umbralNanos));
+    }
+
+    public synchronized void detener() {
+        if (muestreador != null) {
+            muestreador.shutdownNow();
+            muestreador = null;
+            LOGGER.info("Vigilancia del hilo FX detenida: {}", getStats());
+        }
+    }
+
+    public BloqueosFxStats getStats() {
+        return new BloqueosFxStats(bloqueos.sum(), maxNanos.get() / 1_000_000.0, totalNanos.sum() / 1_000_000.0,
+                ultimoCulpable);
+    }
+
+    /**
+     * Tick del muestreador: envia un latido si no hay uno pendiente, o toma
+     * una muestra de la pila si el pendiente ya paso el umbral.
+     */
+    void revisar() {
+        try {
+            synchronized (lock) {
+                if (pendiente == null) {
+                    pendiente = new Latido();
+                    hiloFx.accept(pendiente);
+                    return;
+                }
+                final Thread vigilado = hilo;
+                if (vigilado != null && System.nanoTime() - pendiente.enviadoNanos >= umbralNanos) {
+                    pendiente.muestrear(vigilado.getStackTrace());
+                }
+            }
+        } catch (IllegalStateException e) {
+            // El toolkit de JavaFX ya se cerro
+            LOGGER.debug("No se pudo enviar el latido al hilo FX", e);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Error en la vigilancia del hilo FX", e);
+        }
+    }
+
+    private void registrarBloqueo(final Latido latido, final long nanos) {
+        bloqueos.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+        final String culpable = latido.culpable();
+        ultimoCulpable = culpable;
+        final String pila = latido.pilaDelCulpable();
+
+        LOGGER.warn("Interfaz congelada {} ms ({} muestras) en {}\n{}", TimeUnit.NANOSECONDS.toMillis(nanos),
+                latido.muestras, culpable, pila);
+
+        latido.evento.end();
+        if (latido.evento.shouldCommit()) {
+            latido.evento.culpable = culpable;
+            latido.evento.pila = pila;
+            latido.evento.muestras = latido.muestras;
+            latido.evento.commit();
+        }
+    }
+
+    /**
+     * Latido enviado al hilo FX junto con las muestras de pila tomadas
+     * mientras espera; las muestras se protegen con {@link #lock}.
+     */
+    private final class Latido implements Runnable {
+        private final EventosJfr.BloqueoHiloFx evento = new EventosJfr.BloqueoHiloFx();
+        private final long enviadoNanos;
+        private final Map<String, Integer> porMetodo = new HashMap<>();
+        private final Map<String, StackTraceElement[]> pilas = new HashMap<>();
+        private int muestras;
+
+        Latido() {
+            evento.begin();
+            // Despues de crear el evento: la primera carga de JFR no cuenta como bloqueo
+            enviadoNanos = System.nanoTime();
+        }
+
+        /**
+         * Corre en el hilo FX: si llega tarde, el hilo estuvo bloqueado.
+         */
+        @Override
+        public void run() {
+            hilo = Thread.currentThread();
+            final long nanos = System.nanoTime() - enviadoNanos;
+            synchronized (lock) {
+                pendiente = null;
+            }
+            // Desde aqui el muestreador ya no toca este latido
+            if (nanos >= umbralNanos) {
+                registrarBloqueo(this, nanos);
+            }
+        }
+
+        void muestrear(final StackTraceElement[] pila) {
+            if (pila.length == 0) {
+                return;
+            }
+            muestras++;
+            final String metodo = metodoApp(pila);
+            porMetodo.merge(metodo, 1, Integer::sum);
+            pilas.putIfAbsent(metodo, pila);
+        }
+
+        String culpable() {
+            return porMetodo.entrySet().stream()
+                    .max(Map.Entry.comparingByValue())
+                    .map(Map.Entry::getKey)
+                    .orElse("(sin muestras)");
+        }
+
+        String pilaDelCulpable() {
+            final StackTraceElement[] pila = pilas.get(culpable());
+            if (pila == null) {
+                return "";
+            }
+            final StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < Math.min(MAX_LINEAS_PILA, pila.length); i++) {
+                sb.append("\tat ").append(pila[i]).append('\n');
+            }
+            if (pila.length > MAX_LINEAS_PILA) {
+                sb.append("\t... ").append(pila.length - MAX_LINEAS_PILA).append(" mas\n");
+            }
+            return sb.toString();
+        }
+    }
+
+    /**
+     * Primer metodo de la aplicacion en la pila (o el de mas arriba si no hay
+     * ninguno, p. ej. un pulso de renderizado).
+     */
+    static String metodoApp(final StackTraceElement[] pila) {
+        for (final StackTraceElement e : pila) {
+            if (e.getClassName().startsWith(PAQUETE_APP)) {
+                final String clase = e.getClassName();
+                return clase.substring(clase.lastIndexOf('.') + 1) + "." + e.getMethodName();
+            }
+        }
+        return pila[0].getClassName() + "." + pila[0].getMethodName();
+    }
+}
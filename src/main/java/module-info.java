@@ -16,6 +16,7 @@ module com.example.ceragen_2 {
     requires ch.qos.logback.classic;
     requires jbcrypt;
     requires java.desktop;
+    requires jdk.jfr;
 
     opens com.example.ceragen_2 to javafx.fxml;
     opens com.example.ceragen_2.controller to javafx.fxml;
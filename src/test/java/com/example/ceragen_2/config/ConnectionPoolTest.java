@@ -0,0 +1,211 @@
+package com.example.ceragen_2.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests de unidad del pool de conexiones usando conexiones simuladas.
+ */
+@DisplayName("Tests de Unidad - ConnectionPool")
+class ConnectionPoolTest {
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionPoolTest.class);
+
+    private final List<Connection> fisicas = new ArrayList<>();
+    private ConnectionPool pool;
+
+    private ConnectionPool crearPool(final int maxSize, final long borrowTimeoutMs, final long validationIntervalMs) {
+        return crearPool(maxSize, borrowTimeoutMs, validationIntervalMs, StatementCacheSettings.DESACTIVADA);
+    }
+
+    private ConnectionPool crearPool(final int maxSize, final long borrowTimeoutMs, final long validationIntervalMs,
+                                     final StatementCacheSettings statementCache) {
+        final PoolSettings settings = new PoolSettings(maxSize, 0, maxSize, borrowTimeoutMs,
+                60_000L, validationIntervalMs, 1, 0L, 0L);
+        pool = new ConnectionPool(() -> {
+            final Connection conn = mock(Connection.class);
+            when(conn.getAutoCommit()).thenReturn(true);
+            when(conn.isValid(anyInt())).thenReturn(true);
+            fisicas.add(conn);
+            return conn;
+        }, settings, statementCache);
+        return pool;
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Cerrar la conexion la devuelve al pool y se reutiliza")
+    void testReutilizaConexionFisica() throws SQLException {
+        logger.info("Test: reutilizacion de conexiones");
+        crearPool(2, 100, 60_000L);
+
+        try (Connection c1 = pool.borrow()) {
+            assertFalse(c1.isClosed());
+        }
+        try (Connection c2 = pool.borrow()) {
+            assertNotNull(c2);
+        }
+
+        assertEquals(1, fisicas.size(), "Solo debe crearse una conexion fisica");
+        verify(fisicas.get(0), never()).close();
+        assertEquals(2, pool.getStats().borrows());
+        assertEquals(1, pool.getStats().idle());
+    }
+
+    @Test
+    @DisplayName("Usar una conexion ya devuelta lanza SQLException")
+    void testUsoDespuesDeDevolver() throws SQLException {
+        crearPool(1, 100, 60_000L);
+
+        final Connection c = pool.borrow();
+        c.close();
+
+        assertTrue(c.isClosed());
+        assertThrows(SQLException.class, c::createStatement);
+    }
+
+    @Test
+    @DisplayName("Pool agotado agota el tiempo de espera")
+    void testTimeoutCuandoPoolAgotado() throws SQLException {
+        crearPool(1, 50, 60_000L);
+
+        try (Connection ignored = pool.borrow()) {
+            assertThrows(SQLTransientConnectionException.class, pool::borrow);
+        }
+
+        assertEquals(1, pool.getStats().timeouts());
+        assertTrue(pool.getCurrentThreadWaitNanos() >= 50_000_000L,
+                "La espera que termino en timeout se atribuye al hilo");
+    }
+
+    @Test
+    @DisplayName("Reponer ociosas no abre conexiones por encima del maximo")
+    void testMantenimientoRespetaMaximo() throws Exception {
+        final CountDownLatch abriendo = new CountDownLatch(1);
+        final CountDownLatch continuar = new CountDownLatch(1);
+        final AtomicInteger abiertas = new AtomicInteger();
+        pool = new ConnectionPool(() -> {
+            if (abiertas.incrementAndGet() == 1) {
+                // La primera la abre el mantenimiento y tarda
+                abriendo.countDown();
+                try {
+                    continuar.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            final Connection conn = mock(Connection.class);
+            when(conn.getAutoCommit()).thenReturn(true);
+            return conn;
+        }, new PoolSettings(2, 1, 2, 2_000L, 60_000L, 60_000L, 1, 0L, 0L));
+
+        final Thread mantenimiento = new Thread(pool::housekeeping);
+        mantenimiento.start();
+        assertTrue(abriendo.await(1, TimeUnit.SECONDS));
+
+        final Connection c1 = pool.borrow();
+        final CompletableFuture<Connection> c2 = CompletableFuture.supplyAsync(() -> {
+            try {
+                return pool.borrow();
+            } catch (SQLException e) {
+                throw new CompletionException(e);
+            }
+        });
+        Thread.sleep(50);
+        assertFalse(c2.isDone(), "Debe esperar la conexion que abre el mantenimiento");
+
+        continuar.countDown();
+        mantenimiento.join(1_000);
+        c2.get(1, TimeUnit.SECONDS).close();
+        c1.close();
+
+        assertEquals(2, abiertas.get());
+        assertEquals(2, pool.getStats().total());
+    }
+
+    @Test
+    @DisplayName("Conexion invalida se descarta al prestar")
+    void testValidacionAlPrestar() throws SQLException {
+        crearPool(1, 100, 0L);
+
+        pool.borrow().close();
+        when(fisicas.get(0).isValid(anyInt())).thenReturn(false);
+
+        try (Connection ignored = pool.borrow()) {
+            assertEquals(2, fisicas.size(), "Debe crearse una conexion nueva");
+        }
+        verify(fisicas.get(0)).close();
+        assertEquals(1, pool.getStats().validationFailures());
+    }
+
+    @Test
+    @DisplayName("Transaccion abierta se revierte al devolver la conexion")
+    void testRollbackAlDevolver() throws SQLException {
+        crearPool(1, 100, 60_000L);
+
+        final Connection c = pool.borrow();
+        when(fisicas.get(0).getAutoCommit()).thenReturn(false);
+        c.close();
+
+        verify(fisicas.get(0)).rollback();
+        verify(fisicas.get(0)).setAutoCommit(true);
+    }
+
+    @Test
+    @DisplayName("Cuenta aciertos de la cache de sentencias por forma de SQL y por conexion")
+    void testEstadisticasSentencias() throws SQLException {
+        logger.info("Test: estadisticas de prepareStatement");
+        crearPool(2, 100, 60_000L, new StatementCacheSettings(2, 40));
+        final String a = "SELECT * FROM a WHERE id = ?";
+        final String b = "SELECT * FROM b WHERE id = ?";
+        final String c = "SELECT * FROM c WHERE id = ?";
+        final String largo = "SELECT id, nombres, apellidos FROM pacientes WHERE id = ?";
+
+        try (Connection conn = pool.borrow()) {
+            conn.prepareStatement(a);
+            conn.prepareStatement(a);
+            conn.prepareStatement(b);
+            conn.prepareStatement(c);
+            conn.prepareStatement(a);
+            conn.prepareStatement(largo);
+            conn.prepareStatement(largo);
+        }
+        try (Connection conn = pool.borrow()) {
+            conn.prepareStatement(c);
+        }
+
+        final Map<String, StatementStats> porSql = pool.getStatementStats().stream()
+                .collect(Collectors.toMap(StatementStats::sql, Function.identity()));
+        assertEquals(3, porSql.get(a).prepares());
+        assertEquals(1, porSql.get(a).hits(), "La tercera vez ya salio del LRU de 2 entradas");
+        assertEquals(1, porSql.get(c).hits(), "La misma conexion fisica conserva su cache");
+        assertEquals(0, porSql.get(largo).hits(), "Un SQL mas largo que el limite no se guarda");
+        assertEquals(0.5, porSql.get(c).hitRatio());
+    }
+}
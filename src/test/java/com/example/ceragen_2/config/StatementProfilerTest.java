@@ -0,0 +1,195 @@
+package com.example.ceragen_2.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests de unidad del perfilado de sentencias y de su histograma de latencias.
+ */
+@DisplayName("Tests de Unidad - StatementProfiler")
+class StatementProfilerTest {
+    private static final Logger logger = LoggerFactory.getLogger(StatementProfilerTest.class);
+    private static final String SQL = "SELECT id FROM pacientes WHERE cedula = ?";
+
+    private ConnectionPool pool;
+    private PreparedStatement stmt;
+    private ResultSet rs;
+
+    private ConnectionPool crearPool(final ProfilerSettings profiler) throws SQLException {
+        stmt = mock(PreparedStatement.class);
+        rs = mock(ResultSet.class);
+        when(stmt.executeQuery()).thenReturn(rs);
+        when(rs.next()).thenReturn(true, true, false);
+        final PoolSettings settings = new PoolSettings(1, 0, 1, 100L, 60_000L, 60_000L, 1, 0L, 0L);
+        pool = new ConnectionPool(() -> {
+            final Connection conn = mock(Connection.class);
+            when(conn.getAutoCommit()).thenReturn(true);
+            when(conn.isValid(anyInt())).thenReturn(true);
+            when(conn.prepareStatement(anyString())).thenReturn(stmt);
+            when(conn.createStatement()).thenReturn(mock(Statement.class));
+            return conn;
+        }, settings, StatementCacheSettings.DESACTIVADA, profiler);
+        return pool;
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Mide filas leidas y atribuye la consulta al metodo que la ejecuto")
+    void testConsultaPorSitio() throws SQLException {
+        logger.info("Test: perfilado de executeQuery");
+        crearPool(new ProfilerSettings(true, 0));
+
+        try (Connection conn = pool.borrow();
+             PreparedStatement ps = conn.prepareStatement(SQL)) {
+            ps.setString(1, "1710034065");
+            try (ResultSet resultado = ps.executeQuery()) {
+                while (resultado.next()) {
+                    assertNotNull(resultado);
+                }
+            }
+        }
+
+        final List<QueryStats> stats = pool.getQueryStats();
+        assertEquals(1, stats.size());
+        final QueryStats q = stats.get(0);
+        assertEquals("StatementProfilerTest.testConsultaPorSitio", q.sitio());
+        assertEquals(SQL, q.sql());
+        assertEquals(1, q.ejecuciones());
+        assertEquals(2, q.filas());
+        assertEquals(0, q.errores());
+        verify(stmt).setString(1, "1710034065");
+        verify(rs).close();
+    }
+
+    @Test
+    @DisplayName("Registra la consulta una sola vez aunque se cierre la sentencia sin cerrar el ResultSet")
+    void testConsultaSinCerrarResultSet() throws SQLException {
+        crearPool(new ProfilerSettings(true, 0));
+
+        try (Connection conn = pool.borrow();
+             PreparedStatement ps = conn.prepareStatement(SQL)) {
+            final ResultSet resultado = ps.executeQuery();
+            assertTrue(resultado.next());
+        }
+
+        final QueryStats q = pool.getQueryStats().get(0);
+        assertEquals(1, q.ejecuciones());
+        assertEquals(1, q.filas());
+    }
+
+    @Test
+    @DisplayName("Cuenta filas afectadas y errores de las actualizaciones")
+    void testActualizacionesYErrores() throws SQLException {
+        crearPool(new ProfilerSettings(true, 0));
+        when(stmt.executeUpdate()).thenReturn(3).thenThrow(new SQLException("Duplicado"));
+
+        try (Connection conn = pool.borrow();
+             PreparedStatement ps = conn.prepareStatement(SQL)) {
+            assertEquals(3, ps.executeUpdate());
+            assertThrows(SQLException.class, ps::executeUpdate);
+        }
+
+        final QueryStats q = pool.getQueryStats().get(0);
+        assertEquals(2, q.ejecuciones());
+        assertEquals(3, q.filas());
+        assertEquals(1, q.errores());
+    }
+
+    @Test
+    @DisplayName("Las sentencias de createStatement se agrupan por el SQL que ejecutan")
+    void testCreateStatement() throws SQLException {
+        crearPool(new ProfilerSettings(true, 0));
+
+        try (Connection conn = pool.borrow();
+             Statement st = conn.createStatement()) {
+            st.executeUpdate("UPDATE secuencias SET siguiente_valor = 1");
+            st.executeUpdate("UPDATE secuencias SET siguiente_valor = 1");
+        }
+
+        final QueryStats q = pool.getQueryStats().get(0);
+        assertEquals("UPDATE secuencias SET siguiente_valor = 1", q.sql());
+        assertEquals(2, q.ejecuciones());
+    }
+
+    @Test
+    @DisplayName("Desactivado entrega la sentencia del driver sin envolver")
+    void testDesactivado() throws SQLException {
+        crearPool(ProfilerSettings.DESACTIVADO);
+
+        try (Connection conn = pool.borrow()) {
+            assertSame(stmt, conn.prepareStatement(SQL));
+        }
+        assertTrue(pool.getQueryStats().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Cuenta como lentas las ejecuciones que superan el umbral")
+    void testConsultasLentas() {
+        final StatementProfiler profiler = new StatementProfiler(new ProfilerSettings(true, 10));
+
+        profiler.registrar("CitaService.getCitas", SQL, TimeUnit.MILLISECONDS.toNanos(4), 0, 10, false);
+        profiler.registrar("CitaService.getCitas", SQL, TimeUnit.MILLISECONDS.toNanos(8),
+                TimeUnit.MILLISECONDS.toNanos(5), 500, false);
+
+        final QueryStats q = profiler.getStats().get(0);
+        assertEquals(2, q.ejecuciones());
+        assertEquals(1, q.lentas(), "Ejecucion mas lectura: 13 ms supera los 10 ms");
+        assertEquals(17, q.totalMillis(), 0.001);
+        assertEquals(2.5, q.avgFetchMillis(), 0.001);
+
+        profiler.reiniciar();
+        assertTrue(profiler.getStats().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Los percentiles del histograma tienen error relativo menor a 1/16")
+    void testPercentilesHistograma() {
+        final LatencyHistogram histograma = new LatencyHistogram();
+        for (int i = 1; i <= 10_000; i++) {
+            histograma.registrar(i);
+        }
+
+        assertEquals(10_000, histograma.count());
+        assertEquals(10_000, histograma.max());
+        assertEquals(5_000, histograma.percentil(0.50), 5_000 / 16.0);
+        assertEquals(9_900, histograma.percentil(0.99), 9_900 / 16.0);
+        assertEquals(10_000, histograma.percentil(1.0));
+        assertEquals(0, new LatencyHistogram().percentil(0.5));
+    }
+
+    @Test
+    @DisplayName("Cada valor cae en un bucket cuyo limite superior lo contiene")
+    void testBucketsHistograma() {
+        long anterior = -1;
+        for (long v = 0; v < 1_000_000; v = v < 64 ? v + 1 : v + v / 7) {
+            final int indice = LatencyHistogram.indice(v);
+            final long limite = LatencyHistogram.limiteSuperior(indice);
+            assertTrue(limite >= v, "El limite " + limite + " no contiene " + v);
+            assertTrue(indice == 0 || LatencyHistogram.limiteSuperior(indice - 1) < v);
+            assertTrue(limite >= anterior);
+            anterior = limite;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.ceragen_2.service;
+
+import com.example.ceragen_2.model.Cita;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de unidad de la agenda semanal agrupada por dia y hora.
+ */
+@DisplayName("Tests de Unidad - AgendaSemanal")
+class AgendaSemanalTest {
+    private static final Logger logger = LoggerFactory.getLogger(AgendaSemanalTest.class);
+    private static final LocalDate LUNES = LocalDate.of(2024, 6, 3);
+
+    private Cita cita(final int id, final LocalDateTime fechaHora, final String estado) {
+        final Cita cita = new Cita();
+        cita.setId(id);
+        cita.setFechaHora(fechaHora);
+        cita.setEstado(estado);
+        cita.setPacienteNombre("Paciente " + id);
+        return cita;
+    }
+
+    @Test
+    @DisplayName("Cada cita cae en la celda de su dia y hora")
+    void testAgrupacion() {
+        logger.info("Test: agrupacion por dia y hora");
+        final AgendaSemanal agenda = AgendaSemanal.construir(LUNES, List.of(
+                cita(1, LUNES.atTime(9, 15), "CONFIRMADA"),
+                cita(2, LUNES.atTime(9, 45), "PENDIENTE"),
+                cita(3, LUNES.plusDays(6).atTime(18, 30), "CONFIRMADA")));
+
+        assertEquals(2, agenda.getCitas(0, 9).size());
+        assertEquals(3, agenda.getCitas(6, 18).get(0).getId());
+        assertTrue(agenda.getCitas(1, 9).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Citas fuera de la semana o del horario se ignoran")
+    void testFueraDeRango() {
+        final AgendaSemanal agenda = AgendaSemanal.construir(LUNES, List.of(
+                cita(1, LUNES.atTime(7, 30), "CONFIRMADA"),
+                cita(2, LUNES.plusDays(7).atTime(10, 0), "CONFIRMADA"),
+                cita(3, null, "CONFIRMADA")));
+
+        assertEquals(AgendaSemanal.DIAS * AgendaSemanal.HORAS, agenda.celdasCambiadas(null).size());
+        for (int hora = AgendaSemanal.HORA_INICIO; hora <= AgendaSemanal.HORA_FIN; hora++) {
+            for (int dia = 0; dia < AgendaSemanal.DIAS; dia++) {
+                assertTrue(agenda.getCitas(dia, hora).isEmpty());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Al refrescar solo cambian las celdas con citas distintas")
+    void testCeldasCambiadas() {
+        final AgendaSemanal antes = AgendaSemanal.construir(LUNES, List.of(
+                cita(1, LUNES.atTime(9, 0), "CONFIRMADA"),
+                cita(2, LUNES.plusDays(2).atTime(14, 0), "CONFIRMADA")));
+        final AgendaSemanal despues = AgendaSemanal.construir(LUNES, List.of(
+                cita(1, LUNES.atTime(9, 0), "CONFIRMADA"),
+                cita(2, LUNES.plusDays(2).atTime(14, 0), "CANCELADA"),
+                cita(4, LUNES.plusDays(4).atTime(11, 0), "PENDIENTE")));
+
+        assertEquals(List.of(AgendaSemanal.indice(4, 11), AgendaSemanal.indice(2, 14)),
+                despues.celdasCambiadas(antes));
+    }
+
+    @Test
+    @DisplayName("Si cambia la semana se repintan todas las celdas")
+    void testOtraSemana() {
+        final AgendaSemanal actual = AgendaSemanal.construir(LUNES, List.of());
+        final AgendaSemanal siguiente = AgendaSemanal.construir(LUNES.plusWeeks(1), List.of());
+
+        assertEquals(AgendaSemanal.DIAS * AgendaSemanal.HORAS, siguiente.celdasCambiadas(actual).size());
+        assertTrue(actual.celdasCambiadas(AgendaSemanal.construir(LUNES, List.of())).isEmpty());
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.ceragen_2.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de unidad del almacen de documentos (sin base de datos).
+ */
+@DisplayName("Tests de Unidad - AlmacenDocumentos")
+class AlmacenDocumentosTest {
+    private static final Logger logger = LoggerFactory.getLogger(AlmacenDocumentosTest.class);
+
+    @TempDir
+    Path carpeta;
+
+    private Path archivo(final String nombre, final int tamanio, final long semilla) throws IOException {
+        final byte[] bytes = new byte[tamanio];
+        new Random(semilla).nextBytes(bytes);
+        return Files.write(carpeta.resolve(nombre), bytes);
+    }
+
+    private List<Path> temporales(final Path raiz) throws IOException {
+        try (Stream<Path> archivos = Files.walk(raiz)) {
+            return archivos.filter(p -> p.getFileName().toString().endsWith(".tmp")).toList();
+        }
+    }
+
+    @Test
+    @DisplayName("Copia en varios bloques, conserva la extension y el contenido")
+    void testGuardar() throws IOException {
+        logger.info("Test: guardar documento en el almacen");
+        final AlmacenDocumentos almacen = new AlmacenDocumentos(carpeta.resolve("docs"));
+        final Path origen = archivo("Examen.PDF", AlmacenDocumentos.BLOQUE * 2 + 123, 1);
+        final List<Long> avances = new ArrayList<>();
+
+        final AlmacenDocumentos.Objeto objeto = almacen.guardar(origen, (hechos, total) -> avances.add(hechos));
+
+        assertFalse(objeto.reutilizado());
+        assertEquals(64, objeto.sha256().length());
+        assertTrue(objeto.ruta().getFileName().toString().endsWith(".pdf"));
+        assertEquals(objeto.sha256().substring(0, 2), objeto.ruta().getParent().getFileName().toString());
+        assertEquals(-1L, Files.mismatch(origen, objeto.ruta()), "El objeto debe ser identico al origen");
+        assertEquals(Files.size(origen) * 2, avances.get(avances.size() - 1));
+        assertTrue(temporales(carpeta.resolve("docs")).isEmpty());
+    }
+
+    @Test
+    @DisplayName("El mismo contenido se guarda una sola vez aunque cambie el nombre")
+    void testDeduplicacion() throws IOException {
+        logger.info("Test: deduplicacion por SHA-256");
+        final AlmacenDocumentos almacen = new AlmacenDocumentos(carpeta.resolve("docs"));
+        final Path original = archivo("receta.pdf", 50_000, 2);
+        final Path copia = Files.copy(original, carpeta.resolve("receta (1).pdf"));
+        final Path otro = archivo("otra.pdf", 50_000, 3);
+
+        final AlmacenDocumentos.Objeto primero = almacen.guardar(original, (hechos, total) -> { });
+        final AlmacenDocumentos.Objeto segundo = almacen.guardar(copia, (hechos, total) -> { });
+        final AlmacenDocumentos.Objeto tercero = almacen.guardar(otro, (hechos, total) -> { });
+
+        assertTrue(segundo.reutilizado());
+        assertEquals(primero.ruta(), segundo.ruta());
+        assertFalse(tercero.reutilizado());
+        assertNotEquals(primero.sha256(), tercero.sha256());
+    }
+
+    @Test
+    @DisplayName("Cancelar durante la copia no deja el objeto ni el temporal")
+    void testCancelar() throws IOException {
+        logger.info("Test: cancelar la copia");
+        final AlmacenDocumentos almacen = new AlmacenDocumentos(carpeta.resolve("docs"));
+        final Path origen = archivo("dicom.dcm", AlmacenDocumentos.BLOQUE * 2, 4);
+        final long tamanio = Files.size(origen);
+
+        assertThrows(InterruptedIOException.class, () -> almacen.guardar(origen, (hechos, total) -> {
+            if (hechos > tamanio) {
+                throw new InterruptedIOException("Cancelado");
+            }
+        }));
+
+        final String sha256 = AlmacenDocumentos.calcularSha256(origen, tamanio, (hechos, total) -> { });
+        assertFalse(Files.exists(almacen.rutaObjeto(sha256, "dicom.dcm")));
+        assertTrue(temporales(carpeta.resolve("docs")).isEmpty());
+    }
+}
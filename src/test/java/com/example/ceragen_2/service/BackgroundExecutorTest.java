@@ -0,0 +1,166 @@
+package com.example.ceragen_2.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de unidad del ejecutor en segundo plano. Se usan {@link FutureTask}
+ * en lugar de {@code Task} de JavaFX porque cancelar un {@code Task} requiere
+ * el toolkit iniciado; la logica de canales es la misma.
+ */
+@DisplayName("Tests de Unidad - BackgroundExecutor")
+class BackgroundExecutorTest {
+    private static final Logger logger = LoggerFactory.getLogger(BackgroundExecutorTest.class);
+
+    private final CountDownLatch liberar = new CountDownLatch(1);
+    private BackgroundExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        liberar.countDown();
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Ejecutor de un solo hilo con ese hilo ocupado hasta {@link #liberar}.
+     */
+    private BackgroundExecutor crearOcupado(final int capacidad, final boolean hiloFx) throws InterruptedException {
+        executor = new BackgroundExecutor(1, capacidad, () -> hiloFx);
+        final CountDownLatch ocupado = new CountDownLatch(1);
+        executor.execute(() -> {
+            ocupado.countDown();
+            esperar(liberar);
+        });
+        assertTrue(ocupado.await(1, TimeUnit.SECONDS));
+        return executor;
+    }
+
+    private static void esperar(final CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static FutureTask<String> carga(final String valor) {
+        return new FutureTask<>(() -> valor);
+    }
+
+    @Test
+    @DisplayName("Una solicitud nueva en el mismo canal cancela la anterior")
+    void testSubmitLatestCancelaAnterior() throws Exception {
+        logger.info("Test: cancelacion por canal");
+        crearOcupado(10, false);
+
+        final FutureTask<String> primera = executor.encolarUltima("pacientes.listado", carga("primera"));
+        final FutureTask<String> segunda = executor.encolarUltima("pacientes.listado", carga("segunda"));
+        final FutureTask<String> otroCanal = executor.encolarUltima("citas.listado", carga("citas"));
+
+        assertTrue(primera.isCancelled());
+        assertFalse(segunda.isCancelled());
+        assertFalse(otroCanal.isCancelled(), "Otro canal no se ve afectado");
+
+        liberar.countDown();
+        assertEquals("segunda", segunda.get(1, TimeUnit.SECONDS));
+        assertEquals("citas", otroCanal.get(1, TimeUnit.SECONDS));
+        assertEquals(1, executor.getStats().cancelled());
+    }
+
+    @Test
+    @DisplayName("Con la cola llena se descartan las cargas reemplazadas antes de rechazar")
+    void testColaLlenaPurgaReemplazadas() throws Exception {
+        crearOcupado(2, false);
+        executor.encolarUltima("pacientes.listado", carga("vieja"));
+        final FutureTask<String> nueva = executor.encolarUltima("pacientes.listado", carga("nueva"));
+        assertEquals(2, executor.getStats().queueDepth(), "La reemplazada sigue ocupando la cola");
+
+        final AtomicReference<String> hilo = new AtomicReference<>();
+        final CountDownLatch escrita = new CountDownLatch(1);
+        executor.execute(() -> {
+            hilo.set(Thread.currentThread().getName());
+            escrita.countDown();
+        });
+
+        final BackgroundExecutorStats stats = executor.getStats();
+        assertEquals(0, stats.rejected(), "Hubo lugar al quitar la reemplazada");
+        assertEquals(2, stats.queueDepth());
+
+        liberar.countDown();
+        assertEquals("nueva", nueva.get(1, TimeUnit.SECONDS));
+        assertTrue(escrita.await(1, TimeUnit.SECONDS));
+        assertTrue(hilo.get().startsWith("ui-worker-"));
+    }
+
+    @Test
+    @DisplayName("Desde el hilo FX una tarea que no cabe pasa al hilo de desborde")
+    void testDesbordeDesdeHiloFx() throws Exception {
+        crearOcupado(1, true);
+        executor.execute(() -> { });
+
+        final AtomicReference<String> hilo = new AtomicReference<>();
+        final CountDownLatch escrita = new CountDownLatch(1);
+        executor.execute(() -> {
+            hilo.set(Thread.currentThread().getName());
+            escrita.countDown();
+        });
+
+        assertTrue(escrita.await(1, TimeUnit.SECONDS), "Corre aunque el hilo del pool siga ocupado");
+        assertTrue(hilo.get().startsWith("ui-worker-desborde-"));
+        assertEquals(1, executor.getStats().rejected());
+    }
+
+    @Test
+    @DisplayName("Fuera del hilo FX una tarea que no cabe corre en el hilo que la envio")
+    void testColaLlenaEjecutaEnElLlamador() throws Exception {
+        crearOcupado(1, false);
+        executor.execute(() -> { });
+
+        final AtomicReference<Thread> hilo = new AtomicReference<>();
+        executor.execute(() -> hilo.set(Thread.currentThread()));
+
+        assertSame(Thread.currentThread(), hilo.get());
+        assertEquals(1, executor.getStats().rejected());
+    }
+
+    @Test
+    @DisplayName("Las metricas cuentan envios, profundidad de la cola y terminadas")
+    void testMetricas() throws Exception {
+        crearOcupado(10, false);
+        final FutureTask<String> a = carga("a");
+        final FutureTask<String> b = carga("b");
+        executor.execute(a);
+        executor.execute(b);
+
+        BackgroundExecutorStats stats = executor.getStats();
+        assertEquals(3, stats.submitted());
+        assertEquals(2, stats.queueDepth());
+        assertEquals(1, stats.active());
+        assertEquals(0, stats.rejected());
+
+        liberar.countDown();
+        a.get(1, TimeUnit.SECONDS);
+        b.get(1, TimeUnit.SECONDS);
+        // completed se cuenta despues de que el trabajo termina
+        final long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (executor.getStats().completed() < 3 && System.nanoTime() < limite) {
+            Thread.sleep(5);
+        }
+        stats = executor.getStats();
+        assertEquals(3, stats.completed());
+        assertEquals(0, stats.queueDepth());
+        assertTrue(stats.maxQueueMillis() > 0, "a y b esperaron en la cola");
+    }
+}
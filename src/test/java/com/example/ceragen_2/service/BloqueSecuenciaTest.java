@@ -0,0 +1,115 @@
+package com.example.ceragen_2.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de unidad de la numeracion por bloques (sin base de datos).
+ */
+@DisplayName("Tests de Unidad - BloqueSecuencia y SecuenciaService")
+class BloqueSecuenciaTest {
+    private static final Logger logger = LoggerFactory.getLogger(BloqueSecuenciaTest.class);
+
+    /** Simula la fila de la tabla secuencias. */
+    private final AtomicLong filaSecuencia = new AtomicLong(1);
+
+    private long reservar(final int tamanio) {
+        return filaSecuencia.getAndAdd(tamanio);
+    }
+
+    @Test
+    @DisplayName("Reparte el bloque en orden y reserva otro al agotarlo")
+    void testReservaPorBloques() throws SQLException {
+        logger.info("Test: reserva por bloques");
+        final BloqueSecuencia bloque = new BloqueSecuencia(3, this::reservar);
+
+        final List<Long> numeros = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            numeros.add(bloque.siguiente());
+        }
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L), numeros);
+        assertEquals(3, bloque.getReservas());
+        assertEquals(10, filaSecuencia.get(), "Quedan reservados los numeros 8 y 9");
+    }
+
+    @Test
+    @DisplayName("Dos estaciones con bloques propios no repiten numeros")
+    void testDosEstaciones() throws SQLException {
+        final BloqueSecuencia estacionA = new BloqueSecuencia(5, this::reservar);
+        final BloqueSecuencia estacionB = new BloqueSecuencia(5, this::reservar);
+
+        assertEquals(1, estacionA.siguiente());
+        assertEquals(6, estacionB.siguiente());
+        assertEquals(2, estacionA.siguiente());
+    }
+
+    @Test
+    @DisplayName("Acceso concurrente sin numeros duplicados")
+    void testConcurrencia() throws Exception {
+        final BloqueSecuencia bloque = new BloqueSecuencia(50, this::reservar);
+        final Set<Long> entregados = ConcurrentHashMap.newKeySet();
+        final ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            final List<Callable<Void>> tareas = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                tareas.add(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        assertTrue(entregados.add(bloque.siguiente()));
+                    }
+                    return null;
+                });
+            }
+            for (final Future<Void> f : pool.invokeAll(tareas)) {
+                f.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(4000, entregados.size());
+        assertEquals(80, bloque.getReservas());
+    }
+
+    @Test
+    @DisplayName("Si falla la reserva no se entrega numero y el siguiente intento reserva de nuevo")
+    void testFalloReserva() throws SQLException {
+        final AtomicLong intentos = new AtomicLong();
+        final BloqueSecuencia bloque = new BloqueSecuencia(2, tamanio -> {
+            if (intentos.incrementAndGet() == 1) {
+                throw new SQLException("sin conexion");
+            }
+            return reservar(tamanio);
+        });
+
+        assertThrows(SQLException.class, bloque::siguiente);
+        assertEquals(1, bloque.siguiente());
+        assertEquals(2, bloque.siguiente());
+    }
+
+    @Test
+    @DisplayName("Formato FAC-000001 y modo por defecto CONTINUA")
+    void testFormatoYModo() {
+        assertEquals("FAC-000001", SecuenciaService.formatearNumeroFactura(1));
+        assertEquals("FAC-1234567", SecuenciaService.formatearNumeroFactura(1_234_567));
+        assertEquals(SecuenciaService.Modo.CONTINUA, SecuenciaService.leerModo(null));
+        assertEquals(SecuenciaService.Modo.BLOQUES, SecuenciaService.leerModo(" bloques "));
+        assertEquals(SecuenciaService.Modo.CONTINUA, SecuenciaService.leerModo("otro"));
+        assertTrue(SecuenciaService.numeroProvisional().length() <= 50, "Debe caber en numero_factura");
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.ceragen_2.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests de unidad de la condicion de busqueda por cedula y nombre.
+ */
+@DisplayName("Tests de Unidad - BusquedaTexto")
+class BusquedaTextoTest {
+    private static final Logger logger = LoggerFactory.getLogger(BusquedaTextoTest.class);
+
+    @Test
+    @DisplayName("Normaliza tildes y mayusculas")
+    void testNormalizar() {
+        logger.info("Test: normalizacion de texto");
+        assertEquals("jose nunez", BusquedaTexto.normalizar("José Núñez"));
+        assertEquals("maria", BusquedaTexto.normalizar("MARÍA"));
+    }
+
+    @Test
+    @DisplayName("Texto vacio o solo simbolos no genera busqueda")
+    void testSinBusqueda() {
+        assertNull(BusquedaTexto.de(null));
+        assertNull(BusquedaTexto.de("   "));
+        assertNull(BusquedaTexto.de("+-*\"()"));
+    }
+
+    @Test
+    @DisplayName("Palabras largas van al indice FULLTEXT como prefijo obligatorio")
+    void testFullText() {
+        final BusquedaTexto busqueda = BusquedaTexto.de("Pérez  Gómez");
+        final StringBuilder sql = new StringBuilder("SELECT * FROM pacientes WHERE 1=1");
+        busqueda.appendCondicion(sql);
+
+        assertEquals("+perez* +gomez*", busqueda.expresionBooleana());
+        assertTrue(sql.toString().endsWith(" AND (" + BusquedaTexto.MATCH_NOMBRES + ")"));
+        assertFalse(sql.toString().contains("'%"), "No debe quedar LIKE con comodin inicial");
+    }
+
+    @Test
+    @DisplayName("Los operadores del modo booleano del usuario se descartan")
+    void testOperadoresDescartados() {
+        final BusquedaTexto busqueda = BusquedaTexto.de("-ana* +\"luis\" (rosa)");
+
+        assertEquals("+ana* +luis* +rosa*", busqueda.expresionBooleana());
+    }
+
+    @Test
+    @DisplayName("Numeros por prefijo de cedula y palabras cortas por prefijo de nombre")
+    void testCedulaYPalabrasCortas() throws SQLException {
+        final BusquedaTexto busqueda = BusquedaTexto.de("0912 li");
+        final StringBuilder sql = new StringBuilder();
+        busqueda.appendCondicion(sql);
+        busqueda.appendOrdenRelevancia(sql, "nombres, apellidos");
+
+        assertEquals(" AND (cedula LIKE ? AND (nombres LIKE ? OR apellidos LIKE ?)) ORDER BY nombres, apellidos",
+                sql.toString());
+
+        final PreparedStatement stmt = mock(PreparedStatement.class);
+        assertEquals(4, busqueda.bind(stmt, 1));
+        assertEquals(4, busqueda.bindOrdenRelevancia(stmt, 4));
+        verify(stmt).setString(1, "0912%");
+        verify(stmt).setString(2, "li%");
+        verify(stmt).setString(3, "li%");
+    }
+
+    @Test
+    @DisplayName("Con FULLTEXT el orden es por relevancia y luego el desempate")
+    void testOrdenRelevancia() throws SQLException {
+        final BusquedaTexto busqueda = BusquedaTexto.de("carlos");
+        final StringBuilder sql = new StringBuilder();
+        busqueda.appendOrdenRelevancia(sql, "nombres, apellidos");
+
+        assertEquals(" ORDER BY " + BusquedaTexto.MATCH_NOMBRES + " DESC, nombres, apellidos", sql.toString());
+        final PreparedStatement stmt = mock(PreparedStatement.class);
+        assertEquals(3, busqueda.bindOrdenRelevancia(stmt, 2));
+        verify(stmt).setString(2, "+carlos*");
+    }
+}
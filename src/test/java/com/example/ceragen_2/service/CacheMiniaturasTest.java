@@ -0,0 +1,106 @@
+package com.example.ceragen_2.service;
+
+import com.example.ceragen_2.model.DocumentoPaciente;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de unidad de la cache de miniaturas en disco (sin JavaFX).
+ */
+@DisplayName("Tests de Unidad - CacheMiniaturas")
+class CacheMiniaturasTest {
+    private static final Logger logger = LoggerFactory.getLogger(CacheMiniaturasTest.class);
+
+    @TempDir
+    Path carpeta;
+
+    private Path imagen(final String nombre, final int ancho, final int alto) throws IOException {
+        final BufferedImage imagen = new BufferedImage(ancho, alto, BufferedImage.TYPE_INT_RGB);
+        final Graphics2D g = imagen.createGraphics();
+        g.setColor(Color.BLUE);
+        g.fillRect(0, 0, ancho / 2, alto);
+        g.dispose();
+        final Path archivo = carpeta.resolve(nombre);
+        ImageIO.write(imagen, "png", archivo.toFile());
+        return archivo;
+    }
+
+    private DocumentoPaciente documento(final String ruta, final String hash) {
+        final DocumentoPaciente doc = new DocumentoPaciente();
+        doc.setRutaArchivo(ruta);
+        doc.setHashSha256(hash);
+        return doc;
+    }
+
+    @Test
+    @DisplayName("Reduce la imagen al lado pedido conservando la proporcion")
+    void testReducir() throws IOException {
+        logger.info("Test: reducir imagen");
+        final BufferedImage reducida = CacheMiniaturas.reducir(imagen("scan.png", 2000, 1000), 96);
+
+        assertEquals(96, reducida.getWidth());
+        assertEquals(48, reducida.getHeight());
+    }
+
+    @Test
+    @DisplayName("Genera el PNG una vez y lo reutiliza")
+    void testReutilizaDisco() throws IOException {
+        logger.info("Test: reutilizar miniatura en disco");
+        final CacheMiniaturas cache = new CacheMiniaturas(carpeta.resolve("miniaturas"), 1024 * 1024, 1024 * 1024);
+        final Path original = imagen("foto.png", 400, 300);
+
+        final Path primera = cache.miniaturaEnDisco(original, "abc-96", 96);
+        final long generada = Files.getLastModifiedTime(primera).toMillis();
+        Files.delete(original);
+        final Path segunda = cache.miniaturaEnDisco(original, "abc-96", 96);
+
+        assertEquals(primera, segunda, "El segundo pedido no debe leer el original");
+        assertTrue(Files.getLastModifiedTime(segunda).toMillis() >= generada);
+    }
+
+    @Test
+    @DisplayName("Respeta el tope de disco descartando la miniatura usada hace mas tiempo")
+    void testTopeDisco() throws IOException {
+        logger.info("Test: tope de la cache en disco");
+        final Path original = imagen("grande.png", 600, 600);
+        final CacheMiniaturas medidor = new CacheMiniaturas(carpeta.resolve("medir"), Long.MAX_VALUE, 1);
+        final long tamanio = Files.size(medidor.miniaturaEnDisco(original, "x-96", 96));
+
+        final CacheMiniaturas cache = new CacheMiniaturas(carpeta.resolve("miniaturas"), tamanio * 2, 1);
+        final Path a = cache.miniaturaEnDisco(original, "a-96", 96);
+        final Path b = cache.miniaturaEnDisco(original, "b-96", 96);
+        cache.miniaturaEnDisco(original, "a-96", 96);
+        final Path c = cache.miniaturaEnDisco(original, "c-96", 96);
+
+        assertTrue(Files.exists(a), "a se uso despues de b");
+        assertFalse(Files.exists(b), "b es la usada hace mas tiempo");
+        assertTrue(Files.exists(c));
+        assertTrue(cache.getBytesDisco() <= tamanio * 2);
+    }
+
+    @Test
+    @DisplayName("Solo las imagenes tienen miniatura y la clave usa el hash del almacen")
+    void testClave() {
+        logger.info("Test: clave de la miniatura");
+        final CacheMiniaturas cache = new CacheMiniaturas(carpeta, 1, 1);
+
+        assertTrue(CacheMiniaturas.tieneMiniatura(documento("/docs/ab/abc.JPG", "abc")));
+        assertFalse(CacheMiniaturas.tieneMiniatura(documento("/docs/ab/abc.pdf", "abc")));
+        assertEquals("abc-720", cache.clave(documento("/docs/ab/abc.png", "abc"),
+                CacheMiniaturas.Tamanio.VISTA_PREVIA, false));
+        assertNull(cache.clave(documento("/no/existe.png", null), CacheMiniaturas.Tamanio.MINIATURA, true));
+    }
+}
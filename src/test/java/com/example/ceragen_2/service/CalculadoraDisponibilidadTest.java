@@ -0,0 +1,103 @@
+package com.example.ceragen_2.service;
+
+import com.example.ceragen_2.service.CalculadoraDisponibilidad.HorarioAtencion;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de unidad del calculo de franjas libres (sin base de datos).
+ */
+@DisplayName("Tests de Unidad - CalculadoraDisponibilidad")
+class CalculadoraDisponibilidadTest {
+    private static final Logger logger = LoggerFactory.getLogger(CalculadoraDisponibilidadTest.class);
+
+    /** Lunes. */
+    private static final LocalDate LUNES = LocalDate.of(2024, 6, 3);
+    private static final Duration MEDIA_HORA = Duration.ofMinutes(30);
+    private static final List<HorarioAtencion> MANANA_LUNES = List.of(
+            new HorarioAtencion(DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(11, 0)));
+
+    private static LocalDateTime lunes(final int hora, final int minuto) {
+        return LUNES.atTime(hora, minuto);
+    }
+
+    private static List<LocalDateTime> inicios(final List<FranjaHoraria> franjas) {
+        return franjas.stream().map(FranjaHoraria::inicio).toList();
+    }
+
+    @Test
+    @DisplayName("Sin citas la ventana se divide en franjas de la duracion estandar")
+    void testVentanaLibre() {
+        logger.info("Test: ventana libre");
+        final List<FranjaHoraria> franjas = CalculadoraDisponibilidad.calcularFranjas(
+                MANANA_LUNES, List.of(), MEDIA_HORA, LUNES.atStartOfDay(), LUNES.plusDays(1).atStartOfDay(), 10);
+
+        assertEquals(List.of(lunes(9, 0), lunes(9, 30), lunes(10, 0), lunes(10, 30)), inicios(franjas));
+        assertEquals(lunes(11, 0), franjas.get(3).fin());
+    }
+
+    @Test
+    @DisplayName("Una cita fuera de la grilla bloquea las franjas que se cruzan con ella")
+    void testCitaDesalineada() {
+        final List<FranjaHoraria> franjas = CalculadoraDisponibilidad.calcularFranjas(
+                MANANA_LUNES, List.of(lunes(9, 10)), MEDIA_HORA,
+                LUNES.atStartOfDay(), LUNES.plusDays(1).atStartOfDay(), 10);
+
+        // 9:00 y 9:30 chocan con 9:10-9:40; la siguiente empieza cuando termina la cita
+        assertEquals(List.of(lunes(9, 40), lunes(10, 10)), inicios(franjas));
+    }
+
+    @Test
+    @DisplayName("Una cita que empezo antes del rango sigue ocupando")
+    void testCitaAnteriorAlRango() {
+        final List<FranjaHoraria> franjas = CalculadoraDisponibilidad.calcularFranjas(
+                MANANA_LUNES, List.of(lunes(9, 0)), Duration.ofMinutes(60),
+                lunes(9, 30), LUNES.plusDays(1).atStartOfDay(), 10);
+
+        assertEquals(List.of(lunes(10, 0)), inicios(franjas));
+    }
+
+    @Test
+    @DisplayName("El inicio de busqueda se alinea a la grilla de la ventana")
+    void testAlineacionDesde() {
+        final List<FranjaHoraria> franjas = CalculadoraDisponibilidad.calcularFranjas(
+                MANANA_LUNES, List.of(), MEDIA_HORA, lunes(9, 7), LUNES.plusDays(1).atStartOfDay(), 10);
+
+        assertEquals(lunes(9, 30), franjas.get(0).inicio());
+    }
+
+    @Test
+    @DisplayName("Respeta el maximo y salta los dias sin horario")
+    void testMaximoYDiasSinHorario() {
+        final List<HorarioAtencion> horarios = List.of(
+                new HorarioAtencion(DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(10, 0)),
+                new HorarioAtencion(DayOfWeek.WEDNESDAY, LocalTime.of(15, 0), LocalTime.of(17, 0)));
+
+        final List<FranjaHoraria> franjas = CalculadoraDisponibilidad.calcularFranjas(
+                horarios, List.of(lunes(9, 0), lunes(9, 30)), MEDIA_HORA,
+                LUNES.atStartOfDay(), LUNES.plusDays(7).atStartOfDay(), 3);
+
+        assertEquals(3, franjas.size());
+        assertEquals(LUNES.plusDays(2).atTime(15, 0), franjas.get(0).inicio());
+        assertEquals(LUNES.plusDays(2).atTime(16, 0), franjas.get(2).inicio());
+    }
+
+    @Test
+    @DisplayName("Convierte los dias del ENUM de la base de datos")
+    void testDiaSemana() {
+        assertEquals(DayOfWeek.WEDNESDAY, CalculadoraDisponibilidad.diaSemana("MIERCOLES"));
+        assertEquals(DayOfWeek.SUNDAY, CalculadoraDisponibilidad.diaSemana("DOMINGO"));
+        assertThrows(IllegalArgumentException.class, () -> CalculadoraDisponibilidad.diaSemana("FERIADO"));
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.ceragen_2.service;
+
+import com.example.ceragen_2.model.Cita;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests de unidad de la insercion de citas en lote, con JDBC simulado.
+ * Cuentan las llamadas que llegan al servidor (round trips) por factura.
+ */
+@DisplayName("Tests de Unidad - CitaService (insercion en lote)")
+class CitaServiceUnitTest {
+    private static final Logger logger = LoggerFactory.getLogger(CitaServiceUnitTest.class);
+    private static final int CITAS_POR_FACTURA = 20;
+
+    private Connection conn;
+    private PreparedStatement stmt;
+    private ResultSet keys;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        conn = mock(Connection.class);
+        stmt = mock(PreparedStatement.class);
+        keys = mock(ResultSet.class);
+        when(conn.prepareStatement(anyString())).thenReturn(stmt);
+        when(conn.prepareStatement(anyString(), eq(Statement.RETURN_GENERATED_KEYS))).thenReturn(stmt);
+        when(stmt.executeUpdate()).thenReturn(1);
+        when(stmt.getGeneratedKeys()).thenReturn(keys);
+    }
+
+    private List<Cita> citas(final int cantidad) {
+        final List<Cita> lista = new ArrayList<>();
+        for (int i = 0; i < cantidad; i++) {
+            final Cita cita = new Cita();
+            cita.setPacienteId(1);
+            cita.setProfesionalId(2);
+            cita.setFechaHora(LocalDateTime.of(2024, 6, 3, 9, 0).plusMinutes(30L * i));
+            cita.setMotivo("Sesion " + (i + 1));
+            cita.setCosto(new BigDecimal("25.00"));
+            lista.add(cita);
+        }
+        return lista;
+    }
+
+    private void generarClaves(final int cantidad, final int primerId) throws SQLException {
+        final AtomicInteger leidas = new AtomicInteger();
+        when(keys.next()).thenAnswer(inv -> leidas.incrementAndGet() <= cantidad);
+        when(keys.getInt(1)).thenAnswer(inv -> primerId + leidas.get() - 1);
+    }
+
+    /** Cada execute* sobre el statement es un viaje al servidor. */
+    private long contarRoundTrips() {
+        return mockingDetails(stmt).getInvocations().stream()
+                .filter(i -> i.getMethod().getName().startsWith("execute"))
+                .count();
+    }
+
+    @Test
+    @DisplayName("Un solo executeBatch por factura y los IDs vuelven en orden")
+    void testLoteUnSoloRoundTrip() throws SQLException {
+        logger.info("Test: insercion de {} citas en lote", CITAS_POR_FACTURA);
+        generarClaves(CITAS_POR_FACTURA, 100);
+        final List<Cita> citas = citas(CITAS_POR_FACTURA);
+
+        final List<Integer> ids = CitaService.getInstance().crearCitas(conn, citas, 7);
+
+        verify(stmt, times(CITAS_POR_FACTURA)).addBatch();
+        verify(stmt, times(1)).executeBatch();
+        verify(stmt, never()).executeUpdate();
+        assertEquals(CITAS_POR_FACTURA, ids.size());
+        assertEquals(100, ids.get(0));
+        assertEquals(119, ids.get(CITAS_POR_FACTURA - 1));
+        assertEquals(119, citas.get(CITAS_POR_FACTURA - 1).getId());
+    }
+
+    @Test
+    @DisplayName("Comparativa de round trips: cita por cita contra lote")
+    void testComparativaRoundTrips() throws SQLException {
+        final CitaService service = CitaService.getInstance();
+        for (final Cita cita : citas(CITAS_POR_FACTURA)) {
+            service.crearCita(conn, cita.getPacienteId(), cita.getProfesionalId(),
+                    cita.getFechaHora(), cita.getMotivo(), cita.getCosto(), 7);
+        }
+        final long roundTripsUnoPorUno = contarRoundTrips();
+
+        clearInvocations(stmt);
+        generarClaves(CITAS_POR_FACTURA, 1);
+        service.crearCitas(conn, citas(CITAS_POR_FACTURA), 7);
+        final long roundTripsLote = contarRoundTrips();
+
+        logger.info("Round trips para {} citas: uno por uno = {}, lote = {}",
+                CITAS_POR_FACTURA, roundTripsUnoPorUno, roundTripsLote);
+        assertEquals(CITAS_POR_FACTURA, roundTripsUnoPorUno);
+        assertEquals(1, roundTripsLote);
+    }
+
+    @Test
+    @DisplayName("Si el driver no devuelve todos los IDs se lanza SQLException")
+    void testClavesIncompletas() throws SQLException {
+        generarClaves(2, 50);
+
+        assertThrows(SQLException.class, () -> CitaService.getInstance().crearCitas(conn, citas(3), 7));
+    }
+
+    @Test
+    @DisplayName("Sin citas no se envia nada al servidor")
+    void testListaVacia() throws SQLException {
+        assertTrue(CitaService.getInstance().crearCitas(conn, List.of(), 7).isEmpty());
+        verify(conn, never()).prepareStatement(anyString(), anyInt());
+    }
+}
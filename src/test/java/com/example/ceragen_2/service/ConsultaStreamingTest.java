@@ -0,0 +1,97 @@
+package com.example.ceragen_2.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests de unidad de las consultas en streaming con JDBC simulado.
+ */
+@DisplayName("Tests de Unidad - ConsultaStreaming")
+class ConsultaStreamingTest {
+    private static final Logger logger = LoggerFactory.getLogger(ConsultaStreamingTest.class);
+
+    private Connection conn;
+    private PreparedStatement stmt;
+    private ResultSet rs;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        conn = mock(Connection.class);
+        stmt = mock(PreparedStatement.class);
+        rs = mock(ResultSet.class);
+        when(conn.prepareStatement(anyString(), anyInt(), anyInt())).thenReturn(stmt);
+        when(stmt.executeQuery()).thenReturn(rs);
+        // Cinco filas con id 1..5
+        when(rs.next()).thenReturn(true, true, true, true, true, false);
+        when(rs.getInt("id")).thenReturn(1, 2, 3, 4, 5);
+    }
+
+    @Test
+    @DisplayName("El statement es forward-only, de solo lectura y con fetch size de streaming")
+    void testPreparar() throws SQLException {
+        logger.info("Test: statement en modo streaming");
+        ConsultaStreaming.preparar(conn, "SELECT id FROM pacientes");
+
+        verify(conn).prepareStatement("SELECT id FROM pacientes",
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        verify(stmt).setFetchSize(Integer.MIN_VALUE);
+    }
+
+    @Test
+    @DisplayName("El stream lee solo las filas que se piden y al cerrarse libera todo")
+    void testStreamPerezoso() throws SQLException {
+        final List<Integer> primeras;
+        try (Stream<Integer> filas = ConsultaStreaming.stream(conn, "SELECT id FROM pacientes WHERE activo = ?",
+                s -> s.setBoolean(1, true), r -> r.getInt("id"))) {
+            primeras = filas.limit(2).toList();
+        }
+
+        assertEquals(List.of(1, 2), primeras);
+        verify(stmt).setBoolean(1, true);
+        verify(rs, times(2)).next();
+        verify(rs).close();
+        verify(stmt).close();
+        verify(conn).close();
+    }
+
+    @Test
+    @DisplayName("Si falla la ejecucion se cierra la conexion y se propaga el error")
+    void testErrorAlEjecutar() throws SQLException {
+        when(stmt.executeQuery()).thenThrow(new SQLException("sin conexion"));
+
+        assertThrows(SQLException.class, () -> ConsultaStreaming.stream(conn, "SELECT id FROM pacientes",
+                ConsultaStreaming.Parametros.NINGUNO, r -> r.getInt("id")));
+        verify(stmt).close();
+        verify(conn).close();
+    }
+
+    @Test
+    @DisplayName("Un error al leer una fila se lanza como ErrorLectura con la causa original")
+    void testErrorAlLeer() throws SQLException {
+        final SQLException causa = new SQLException("socket cerrado");
+        when(rs.next()).thenReturn(true).thenThrow(causa);
+
+        try (Stream<Integer> filas = ConsultaStreaming.stream(conn, "SELECT id FROM pacientes",
+                ConsultaStreaming.Parametros.NINGUNO, r -> r.getInt("id"))) {
+            final ConsultaStreaming.ErrorLectura error =
+                    assertThrows(ConsultaStreaming.ErrorLectura.class, filas::toList);
+            assertSame(causa, error.getCause());
+        }
+        verify(conn).close();
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.ceragen_2.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de unidad del escritor CSV de exportaciones.
+ */
+@DisplayName("Tests de Unidad - EscritorCsv")
+class EscritorCsvTest {
+    private static final Logger logger = LoggerFactory.getLogger(EscritorCsvTest.class);
+
+    @TempDir
+    Path carpeta;
+
+    private List<String> lineas(final Path archivo) throws IOException {
+        final byte[] bytes = Files.readAllBytes(archivo);
+        assertEquals((byte) 0xEF, bytes[0], "Debe empezar con BOM UTF-8");
+        return List.of(new String(bytes, 3, bytes.length - 3, StandardCharsets.UTF_8).split("\r\n"));
+    }
+
+    @Test
+    @DisplayName("Escribe encabezados y filas con comillas, tildes y formatos de fecha y numero")
+    void testFormato() throws IOException {
+        logger.info("Test: formato CSV");
+        final Path archivo = carpeta.resolve("citas.csv");
+        try (EscritorCsv escritor = new EscritorCsv(archivo)) {
+            escritor.encabezados("Paciente", "Fecha", "Costo", "Motivo");
+            escritor.fila("Núñez, José", LocalDateTime.of(2024, 6, 3, 9, 30), new BigDecimal("25.50"),
+                    "Dolor \"fuerte\"\nen la espalda");
+            escritor.fila("Ana", null, 1.0E7, null);
+            escritor.finalizar();
+        }
+
+        final String contenido = String.join("\r\n", lineas(archivo));
+        assertEquals("Paciente,Fecha,Costo,Motivo\r\n"
+                + "\"Núñez, José\",2024-06-03 09:30:00,25.50,\"Dolor \"\"fuerte\"\"\nen la espalda\"\r\n"
+                + "Ana,,10000000,", contenido);
+    }
+
+    @Test
+    @DisplayName("El texto que parece formula se escribe como texto; los numeros negativos no")
+    void testProteccionFormulas() throws IOException {
+        final Path archivo = carpeta.resolve("pacientes.csv");
+        try (EscritorCsv escritor = new EscritorCsv(archivo)) {
+            escritor.fila("=HYPERLINK(\"x\")", "-5", -5, "@SUM(A1)");
+            escritor.finalizar();
+        }
+
+        assertEquals("\"'=HYPERLINK(\"\"x\"\")\",'-5,-5,'@SUM(A1)", lineas(archivo).get(0));
+    }
+
+    @Test
+    @DisplayName("Filas mas grandes que el buffer se escriben completas")
+    void testFilasMayoresQueElBuffer() throws IOException {
+        final Path archivo = carpeta.resolve("grande.csv");
+        final String largo = "ñ".repeat(EscritorCsv.TAMANIO_BUFFER);
+        try (EscritorCsv escritor = new EscritorCsv(archivo)) {
+            for (int i = 0; i < 3; i++) {
+                escritor.fila(i, largo);
+            }
+            escritor.finalizar();
+        }
+
+        final List<String> lineas = lineas(archivo);
+        assertEquals(3, lineas.size());
+        assertEquals("2," + largo, lineas.get(2));
+    }
+}
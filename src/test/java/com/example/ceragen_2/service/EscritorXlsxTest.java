@@ -0,0 +1,88 @@
+package com.example.ceragen_2.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.zip.ZipFile;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de unidad del escritor XLSX de exportaciones.
+ */
+@DisplayName("Tests de Unidad - EscritorXlsx")
+class EscritorXlsxTest {
+    private static final Logger logger = LoggerFactory.getLogger(EscritorXlsxTest.class);
+
+    @TempDir
+    Path carpeta;
+
+    private String leer(final ZipFile zip, final String entrada) throws IOException {
+        assertNotNull(zip.getEntry(entrada), "Falta " + entrada);
+        return new String(zip.getInputStream(zip.getEntry(entrada)).readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("Genera un libro valido con texto escapado y numeros como valores")
+    void testLibro() throws IOException {
+        logger.info("Test: libro XLSX");
+        final Path archivo = carpeta.resolve("facturas.xlsx");
+        try (EscritorXlsx escritor = new EscritorXlsx(archivo)) {
+            escritor.encabezados("Numero", "Total");
+            escritor.fila("FAC-<1>&", 12.5);
+            escritor.finalizar();
+        }
+
+        try (ZipFile zip = new ZipFile(archivo.toFile())) {
+            final String hoja = leer(zip, "xl/worksheets/sheet1.xml");
+            assertTrue(hoja.contains("<t xml:space=\"preserve\">FAC-&lt;1&gt;&amp;</t>"));
+            assertTrue(hoja.contains("<c><v>12.5</v></c>"));
+            assertTrue(leer(zip, "xl/workbook.xml").contains("<sheet name=\"Hoja1\" sheetId=\"1\" r:id=\"rId1\"/>"));
+            assertTrue(leer(zip, "[Content_Types].xml").contains("/xl/worksheets/sheet1.xml"));
+            assertNotNull(zip.getEntry("_rels/.rels"));
+            assertNotNull(zip.getEntry("xl/_rels/workbook.xml.rels"));
+        }
+    }
+
+    @Test
+    @DisplayName("Al llegar al limite de filas abre otra hoja repitiendo los encabezados")
+    void testVariasHojas() throws IOException {
+        final Path archivo = carpeta.resolve("citas.xlsx");
+        try (EscritorXlsx escritor = new EscritorXlsx(archivo, 3)) {
+            escritor.encabezados("ID");
+            for (int i = 1; i <= 5; i++) {
+                escritor.fila(i);
+            }
+            escritor.finalizar();
+        }
+
+        try (ZipFile zip = new ZipFile(archivo.toFile())) {
+            // 2 filas por hoja + encabezado: 1-2, 3-4, 5
+            assertTrue(leer(zip, "xl/worksheets/sheet3.xml").contains("ID</t>"));
+            assertTrue(leer(zip, "xl/worksheets/sheet3.xml").contains("<v>5</v>"));
+            assertNull(zip.getEntry("xl/worksheets/sheet4.xml"));
+            assertTrue(leer(zip, "xl/_rels/workbook.xml.rels").contains("worksheets/sheet3.xml"));
+        }
+    }
+
+    @Test
+    @DisplayName("Sin filas el libro tiene una hoja solo con encabezados")
+    void testSinFilas() throws IOException {
+        final Path archivo = carpeta.resolve("vacio.xlsx");
+        try (EscritorXlsx escritor = new EscritorXlsx(archivo)) {
+            escritor.encabezados("Cedula");
+            escritor.finalizar();
+        }
+
+        try (ZipFile zip = new ZipFile(archivo.toFile())) {
+            assertTrue(leer(zip, "xl/worksheets/sheet1.xml").contains("Cedula"));
+            assertNull(zip.getEntry("xl/worksheets/sheet2.xml"));
+        }
+    }
+}
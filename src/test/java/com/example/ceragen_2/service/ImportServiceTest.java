@@ -0,0 +1,90 @@
+package com.example.ceragen_2.service;
+
+import com.example.ceragen_2.model.Cliente;
+import com.example.ceragen_2.model.Paciente;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de unidad de la validacion de filas de la importacion masiva (sin base de datos).
+ */
+@DisplayName("Tests de Unidad - ImportService")
+class ImportServiceTest {
+    private static final Logger logger = LoggerFactory.getLogger(ImportServiceTest.class);
+
+    private static ImportService.Fila fila(final String encabezado, final String valores) {
+        final Map<String, Integer> columnas = new HashMap<>();
+        final String[] nombres = encabezado.split(",", -1);
+        for (int i = 0; i < nombres.length; i++) {
+            columnas.put(ImportService.normalizarColumna(nombres[i]), i);
+        }
+        return new ImportService.Fila(2, valores.split(",", -1), columnas);
+    }
+
+    @Test
+    @DisplayName("Normaliza encabezados con tildes, mayusculas y espacios")
+    void testNormalizarColumna() {
+        logger.info("Test: encabezados");
+        assertEquals("cedula", ImportService.normalizarColumna(" Cédula "));
+        assertEquals("fecha_nacimiento", ImportService.normalizarColumna("Fecha nacimiento"));
+        assertEquals("grupo_sanguineo", ImportService.normalizarColumna("GRUPO-SANGUÍNEO"));
+    }
+
+    @Test
+    @DisplayName("Un paciente valido se convierte con genero, fecha y grupo normalizados")
+    void testPacienteValido() {
+        final ImportService.Validada<Paciente> v = ImportService.convertirPaciente(fila(
+                "Cedula,Nombres,Apellidos,Fecha nacimiento,Genero,Telefono,Email,Grupo sanguineo",
+                "0912345678, Ana ,Pérez,05/03/1990,femenino,0991234567,ana@mail.com,ab+"));
+
+        assertNull(v.error());
+        assertEquals("0912345678", v.cedula());
+        assertEquals("Ana", v.entidad().getNombres());
+        assertEquals(LocalDate.of(1990, 3, 5), v.entidad().getFechaNacimiento());
+        assertEquals("F", v.entidad().getGenero());
+        assertEquals("AB+", v.entidad().getGrupoSanguineo());
+    }
+
+    @Test
+    @DisplayName("Reune todos los errores de la fila con las reglas de FormValidationUtil")
+    void testPacienteInvalido() {
+        final ImportService.Validada<Paciente> v = ImportService.convertirPaciente(fila(
+                "cedula,nombres,apellidos,telefono,email,fecha_nacimiento",
+                "12345,,Pérez,099,no-es-email,2990-01-01"));
+
+        assertNull(v.entidad());
+        assertEquals("12345", v.cedula());
+        assertTrue(v.error().contains("Cedula debe tener exactamente 10 digitos"));
+        assertTrue(v.error().contains("Los nombres son obligatorios"));
+        assertTrue(v.error().contains("Telefono debe tener exactamente 10 digitos"));
+        assertTrue(v.error().contains("Formato de email invalido"));
+        assertTrue(v.error().contains("La fecha de nacimiento no puede ser futura"));
+    }
+
+    @Test
+    @DisplayName("Cliente con campos opcionales vacios es valido")
+    void testClienteOpcionales() {
+        final ImportService.Validada<Cliente> v = ImportService.convertirCliente(fila(
+                "cedula,nombres,apellidos,telefono,email,direccion", "0912345678,Luis,Mora,,,"));
+
+        assertNull(v.error());
+        assertNull(v.entidad().getTelefono());
+        assertNull(v.entidad().getEmail());
+    }
+
+    @Test
+    @DisplayName("El reporte de errores se crea junto al archivo importado")
+    void testRutaReporte() {
+        assertEquals(Path.of("/datos/pacientes_errores.csv"),
+                ImportService.rutaReporte(Path.of("/datos/pacientes.csv")));
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.ceragen_2.service;
+
+import com.example.ceragen_2.model.Paciente;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de unidad del indice por prefijo usado para las sugerencias.
+ */
+@DisplayName("Tests de Unidad - IndicePrefijos")
+class IndicePrefijosTest {
+    private static final Logger logger = LoggerFactory.getLogger(IndicePrefijosTest.class);
+
+    private IndicePrefijos<Paciente> indice;
+
+    private Paciente paciente(final int id, final String cedula, final String nombres, final String apellidos) {
+        final Paciente paciente = new Paciente();
+        paciente.setId(id);
+        paciente.setCedula(cedula);
+        paciente.setNombres(nombres);
+        paciente.setApellidos(apellidos);
+        return paciente;
+    }
+
+    private List<Integer> ids(final List<Paciente> pacientes) {
+        return pacientes.stream().map(Paciente::getId).toList();
+    }
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndicePrefijos<>(Paciente::getId,
+                p -> List.of(p.getCedula(), p.getNombres(), p.getApellidos()));
+        assertTrue(indice.reemplazarSi(indice.getVersion(), List.of(
+                paciente(1, "0912345678", "José Luis", "Núñez Pérez"),
+                paciente(2, "0923456789", "María", "Pérez"),
+                paciente(3, "1701234567", "Josefina", "Andrade"))));
+    }
+
+    @Test
+    @DisplayName("Busca por prefijo de cedula y de cualquier palabra del nombre, sin tildes")
+    void testPrefijos() {
+        logger.info("Test: busqueda por prefijo");
+        assertEquals(List.of(1, 2), ids(indice.buscar("09", 10)).stream().sorted().toList());
+        assertEquals(List.of(1), ids(indice.buscar("nun", 10)));
+        assertEquals(List.of(1, 2), ids(indice.buscar("PÉR", 10)).stream().sorted().toList());
+        assertTrue(indice.buscar("xyz", 10).isEmpty());
+        assertTrue(indice.buscar("  ", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Varias palabras deben coincidir todas y la clave exacta va primero")
+    void testVariasPalabrasYOrden() {
+        assertEquals(List.of(1), ids(indice.buscar("jos perez", 10)));
+        assertEquals(List.of(1, 3), ids(indice.buscar("jose", 10)));
+        assertEquals(1, indice.buscar("jos", 1).size());
+    }
+
+    @Test
+    @DisplayName("Actualizar y eliminar mantienen el indice al dia")
+    void testPutYRemove() {
+        indice.put(paciente(2, "0923456789", "María", "Zambrano"));
+        assertEquals(List.of(1), ids(indice.buscar("perez", 10)));
+        assertEquals(List.of(2), ids(indice.buscar("zam", 10)));
+
+        indice.remove(3);
+        assertTrue(indice.buscar("andrade", 10).isEmpty());
+        assertEquals(2, indice.size());
+        assertEquals(List.of(1, 2), ids(indice.todos(Comparator.comparing(Paciente::getId))));
+    }
+
+    @Test
+    @DisplayName("Una carga completa no pisa cambios hechos mientras se leia")
+    void testReemplazoConCambiosConcurrentes() {
+        final long version = indice.getVersion();
+        indice.put(paciente(4, "1100000000", "Carlos", "Mora"));
+
+        assertFalse(indice.reemplazarSi(version, List.of()));
+        assertEquals(List.of(4), ids(indice.buscar("mora", 10)));
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.ceragen_2.service;
+
+import com.example.ceragen_2.model.Cita;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de unidad de la paginacion por clave (sin base de datos).
+ */
+@DisplayName("Tests de Unidad - KeysetPage y PageCursor")
+class KeysetPageTest {
+    private static final Logger logger = LoggerFactory.getLogger(KeysetPageTest.class);
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 5, 10, 9, 0);
+
+    private Cita cita(final int id, final int minutos) {
+        final Cita cita = new Cita();
+        cita.setId(id);
+        cita.setFechaHora(BASE.plusMinutes(minutos));
+        return cita;
+    }
+
+    private List<Cita> filas(final Cita... citas) {
+        return new ArrayList<>(List.of(citas));
+    }
+
+    @Test
+    @DisplayName("El token conserva direccion, fecha e id")
+    void testTokenIdaYVuelta() {
+        logger.info("Test: codificar y decodificar token");
+        final String siguiente = PageCursor.siguiente(BASE, 42);
+        final String anterior = PageCursor.anterior(BASE, 42);
+
+        final PageCursor c1 = PageCursor.decode(siguiente);
+        assertFalse(c1.isHaciaAtras());
+        assertEquals(BASE, c1.getFecha());
+        assertEquals(42, c1.getId());
+        assertTrue(PageCursor.decode(anterior).isHaciaAtras());
+        assertNull(PageCursor.siguiente(null, 42), "Sin fecha no hay token");
+    }
+
+    @Test
+    @DisplayName("Token corrupto lanza IllegalArgumentException")
+    void testTokenInvalido() {
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode("no-es-un-token"));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode("%%%"));
+    }
+
+    @Test
+    @DisplayName("Primera pagina con fila extra: hay siguiente y no hay anterior")
+    void testPrimeraPagina() {
+        final KeysetPage<Cita> pagina = KeysetPage.of(
+                filas(cita(5, 50), cita(4, 40), cita(3, 30)), 2, null, Cita::getFechaHora, Cita::getId);
+
+        assertEquals(2, pagina.items().size());
+        assertEquals(4, pagina.items().get(1).getId());
+        assertNull(pagina.previousToken());
+        final PageCursor siguiente = PageCursor.decode(pagina.nextToken());
+        assertEquals(4, siguiente.getId());
+        assertFalse(siguiente.isHaciaAtras());
+    }
+
+    @Test
+    @DisplayName("Ultima pagina hacia adelante: sin token siguiente")
+    void testUltimaPagina() {
+        final PageCursor cursor = PageCursor.decode(PageCursor.siguiente(BASE.plusMinutes(30), 3));
+        final KeysetPage<Cita> pagina = KeysetPage.of(
+                filas(cita(2, 20), cita(1, 10)), 2, cursor, Cita::getFechaHora, Cita::getId);
+
+        assertNull(pagina.nextToken());
+        assertEquals(2, PageCursor.decode(pagina.previousToken()).getId());
+    }
+
+    @Test
+    @DisplayName("Pagina anterior: invierte el orden y marca si hay mas atras")
+    void testPaginaAnterior() {
+        final PageCursor cursor = PageCursor.decode(PageCursor.anterior(BASE.plusMinutes(20), 2));
+        // La consulta hacia atras devuelve en orden ascendente
+        final KeysetPage<Cita> pagina = KeysetPage.of(
+                filas(cita(3, 30), cita(4, 40), cita(5, 50)), 2, cursor, Cita::getFechaHora, Cita::getId);
+
+        assertEquals(4, pagina.items().get(0).getId());
+        assertEquals(3, pagina.items().get(1).getId());
+        assertEquals(4, PageCursor.decode(pagina.previousToken()).getId());
+        assertEquals(3, PageCursor.decode(pagina.nextToken()).getId());
+    }
+
+    @Test
+    @DisplayName("Condicion y orden SQL segun la direccion del cursor")
+    void testSqlGenerado() {
+        final PageCursor adelante = PageCursor.decode(PageCursor.siguiente(BASE, 1));
+        final StringBuilder sql = new StringBuilder("SELECT * FROM citas c WHERE 1=1");
+        adelante.appendCondicion(sql, "c.fecha_hora", "c.id");
+        PageCursor.appendOrden(sql, adelante, "c.fecha_hora", "c.id");
+        assertTrue(sql.toString().endsWith(
+                " AND (c.fecha_hora < ? OR (c.fecha_hora = ? AND c.id < ?)) ORDER BY c.fecha_hora DESC, c.id DESC"));
+
+        final PageCursor atras = PageCursor.decode(PageCursor.anterior(BASE, 1));
+        final StringBuilder sqlAtras = new StringBuilder();
+        atras.appendCondicion(sqlAtras, "fecha_registro", "id");
+        PageCursor.appendOrden(sqlAtras, atras, "fecha_registro", "id");
+        assertEquals(" AND (fecha_registro > ? OR (fecha_registro = ? AND id > ?)) ORDER BY fecha_registro ASC, id ASC",
+                sqlAtras.toString());
+    }
+}
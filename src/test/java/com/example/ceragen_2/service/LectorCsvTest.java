@@ -0,0 +1,58 @@
+package com.example.ceragen_2.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de unidad del lector CSV de importaciones.
+ */
+@DisplayName("Tests de Unidad - LectorCsv")
+class LectorCsvTest {
+    private static final Logger logger = LoggerFactory.getLogger(LectorCsvTest.class);
+
+    @Test
+    @DisplayName("Lee campos con comillas, comillas dobles y saltos de linea internos")
+    void testComillas() throws IOException {
+        logger.info("Test: comillas y saltos de linea");
+        try (LectorCsv lector = new LectorCsv(new StringReader(
+                "\uFEFFcedula,nombres,direccion\r\n"
+                        + "0912345678,\"Pérez, Ana\",\"Calle \"\"A\"\"\nPiso 2\"\r\n"
+                        + "0987654321,Luis,\n"))) {
+            assertArrayEquals(new String[]{"cedula", "nombres", "direccion"}, lector.siguiente());
+            assertEquals(1, lector.getLinea());
+            assertArrayEquals(new String[]{"0912345678", "Pérez, Ana", "Calle \"A\"\nPiso 2"}, lector.siguiente());
+            assertEquals(2, lector.getLinea());
+            assertArrayEquals(new String[]{"0987654321", "Luis", ""}, lector.siguiente());
+            assertEquals(4, lector.getLinea(), "La linea cuenta los saltos dentro de comillas");
+            assertNull(lector.siguiente());
+        }
+    }
+
+    @Test
+    @DisplayName("Detecta punto y coma como separador y entonces la coma es texto")
+    void testPuntoYComa() throws IOException {
+        try (LectorCsv lector = new LectorCsv(new StringReader("cedula;nombres\n0912345678;Ana, María"))) {
+            assertArrayEquals(new String[]{"cedula", "nombres"}, lector.siguiente());
+            assertArrayEquals(new String[]{"0912345678", "Ana, María"}, lector.siguiente());
+            assertNull(lector.siguiente());
+        }
+    }
+
+    @Test
+    @DisplayName("Registros que cruzan el limite del buffer se leen completos")
+    void testRegistrosLargos() throws IOException {
+        final String largo = "x".repeat(100_000);
+        try (LectorCsv lector = new LectorCsv(new StringReader("a,\"" + largo + "\"\r\nb," + largo + "\r\n"))) {
+            assertEquals(largo, lector.siguiente()[1]);
+            assertEquals(largo, lector.siguiente()[1]);
+            assertNull(lector.siguiente());
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.ceragen_2.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests de unidad de las formas canonicas de SQL.
+ */
+@DisplayName("Tests de Unidad - PlantillaSql")
+class PlantillaSqlTest {
+    private static final Logger logger = LoggerFactory.getLogger(PlantillaSqlTest.class);
+
+    @Test
+    @DisplayName("Redondea la cantidad de marcadores a la siguiente potencia de dos")
+    void testTamanioCanonico() {
+        logger.info("Test: tamanio canonico");
+        assertEquals(0, PlantillaSql.tamanioCanonico(0));
+        assertEquals(1, PlantillaSql.tamanioCanonico(1));
+        assertEquals(2, PlantillaSql.tamanioCanonico(2));
+        assertEquals(4, PlantillaSql.tamanioCanonico(3));
+        assertEquals(8, PlantillaSql.tamanioCanonico(8));
+        assertEquals(1024, PlantillaSql.tamanioCanonico(1000));
+        assertEquals("?,?,?,?", PlantillaSql.marcadoresIn(3));
+    }
+
+    @Test
+    @DisplayName("Rellena repitiendo el ultimo valor y asigna todos los marcadores")
+    void testAsignarIn() throws SQLException {
+        logger.info("Test: asignar IN rellenado");
+        assertEquals(List.of("a", "b", "c", "c"), PlantillaSql.rellenar(List.of("a", "b", "c")));
+        assertTrue(PlantillaSql.rellenar(List.of()).isEmpty());
+
+        final PreparedStatement stmt = mock(PreparedStatement.class);
+        assertEquals(7, PlantillaSql.asignarIn(stmt, 3, List.of("x", "y", "z")));
+        verify(stmt).setString(3, "x");
+        verify(stmt).setString(5, "z");
+        verify(stmt).setString(6, "z");
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.ceragen_2.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de unidad de la cache de datos de referencia.
+ */
+@DisplayName("Tests de Unidad - ReferenceCache")
+class ReferenceCacheTest {
+    private static final Logger logger = LoggerFactory.getLogger(ReferenceCacheTest.class);
+
+    private final AtomicLong ahora = new AtomicLong();
+    private final AtomicInteger cargas = new AtomicInteger();
+
+    private ReferenceCache<Integer, String> crear(final int maxEntradas) {
+        return new ReferenceCache<>("test", maxEntradas, Duration.ofSeconds(30), ahora::get);
+    }
+
+    private String cargar(final Integer id) {
+        cargas.incrementAndGet();
+        return id < 0 ? null : "valor-" + id;
+    }
+
+    @Test
+    @DisplayName("La segunda lectura se resuelve desde la cache")
+    void testHitDespuesDeMiss() {
+        logger.info("Test: hit despues de miss");
+        final ReferenceCache<Integer, String> cache = crear(10);
+
+        assertEquals("valor-1", cache.get(1, this::cargar));
+        assertEquals("valor-1", cache.get(1, this::cargar));
+
+        assertEquals(1, cargas.get());
+        assertEquals(1, cache.getStats().hits());
+        assertEquals(1, cache.getStats().misses());
+        assertEquals(0.5, cache.getStats().hitRatio());
+    }
+
+    @Test
+    @DisplayName("No se guardan resultados nulos")
+    void testNoGuardaNulos() {
+        final ReferenceCache<Integer, String> cache = crear(10);
+
+        assertNull(cache.get(-1, this::cargar));
+        assertNull(cache.get(-1, this::cargar));
+
+        assertEquals(2, cargas.get());
+        assertEquals(0, cache.getStats().size());
+    }
+
+    @Test
+    @DisplayName("Las entradas vencidas se vuelven a cargar")
+    void testVencimiento() {
+        final ReferenceCache<Integer, String> cache = crear(10);
+        cache.get(1, this::cargar);
+
+        ahora.addAndGet(Duration.ofSeconds(31).toNanos());
+        cache.get(1, this::cargar);
+
+        assertEquals(2, cargas.get());
+        assertEquals(1, cache.getStats().expirations());
+    }
+
+    @Test
+    @DisplayName("Al superar el tamanio se descarta la entrada menos usada")
+    void testEvictionPorTamanio() {
+        final ReferenceCache<Integer, String> cache = crear(2);
+        cache.get(1, this::cargar);
+        cache.get(2, this::cargar);
+        cache.get(1, this::cargar);
+        cache.get(3, this::cargar);
+
+        assertEquals(1, cache.getStats().evictions());
+        cache.get(1, this::cargar);
+        assertEquals(3, cargas.get(), "La entrada 1 se uso hace poco y debe seguir en cache");
+        cache.get(2, this::cargar);
+        assertEquals(4, cargas.get(), "La entrada 2 debio descartarse");
+    }
+
+    @Test
+    @DisplayName("Una carga que cruza una invalidacion no se guarda")
+    void testInvalidacionDuranteCarga() {
+        final ReferenceCache<Integer, String> cache = crear(10);
+
+        cache.get(1, id -> {
+            cache.invalidar();
+            return cargar(id);
+        });
+
+        assertEquals(0, cache.getStats().size());
+        cache.get(1, this::cargar);
+        assertEquals(2, cargas.get());
+    }
+}
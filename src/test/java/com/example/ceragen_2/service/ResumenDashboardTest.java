@@ -0,0 +1,76 @@
+package com.example.ceragen_2.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de unidad de los indicadores del dashboard.
+ */
+@DisplayName("Tests de Unidad - ResumenDashboard")
+class ResumenDashboardTest {
+    private static final Logger logger = LoggerFactory.getLogger(ResumenDashboardTest.class);
+
+    private static ResumenDashboard.IngresoDiario ingreso(LocalDate fecha, int facturas, String total) {
+        return new ResumenDashboard.IngresoDiario(fecha, facturas, 0, new BigDecimal(total),
+                BigDecimal.ZERO, BigDecimal.ZERO, new BigDecimal(total));
+    }
+
+    @Test
+    @DisplayName("Completa con ceros los dias sin facturas del rango")
+    void testCompletarDias() {
+        logger.info("Test: completar dias del rango");
+        final LocalDate desde = LocalDate.of(2024, 3, 1);
+        final LocalDate hasta = LocalDate.of(2024, 3, 5);
+
+        List<ResumenDashboard.IngresoDiario> dias = DashboardService.completarDias(desde, hasta, List.of(
+                ingreso(desde.plusDays(1), 2, "50.00"),
+                ingreso(hasta, 1, "25.50")));
+
+        assertEquals(5, dias.size());
+        assertEquals(desde, dias.get(0).fecha());
+        assertEquals(0, dias.get(0).facturas());
+        assertEquals(new BigDecimal("50.00"), dias.get(1).total());
+        assertEquals(BigDecimal.ZERO, dias.get(2).total());
+        assertEquals(hasta, dias.get(4).fecha());
+        assertEquals(1, dias.get(4).facturas());
+    }
+
+    @Test
+    @DisplayName("Calcula totales y tasas de cancelacion e inasistencia")
+    void testTasas() {
+        logger.info("Test: tasas del dashboard");
+        final LocalDate dia = LocalDate.of(2024, 3, 1);
+        ResumenDashboard resumen = new ResumenDashboard(dia, dia,
+                List.of(ingreso(dia, 2, "100.00"), ingreso(dia, 1, "15.25")),
+                List.of(new ResumenDashboard.CitasProfesional(1, "Dr. A", 10, 1, 1, 6, 2, 2),
+                        new ResumenDashboard.CitasProfesional(2, "Dr. B", 10, 0, 0, 8, 2, 0)));
+
+        assertEquals(new BigDecimal("115.25"), resumen.totalIngresos());
+        assertEquals(3, resumen.totalFacturas());
+        assertEquals(20, resumen.totalCitas());
+        assertEquals(0.2, resumen.tasaCancelacion(), 1e-9);
+        // 2 inasistencias sobre 14 atendidas + 2 inasistencias
+        assertEquals(2.0 / 16, resumen.tasaInasistencia(), 1e-9);
+        assertEquals(0.25, resumen.citas().get(0).tasaInasistencia(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Las tasas sin citas son cero y no dividen entre cero")
+    void testSinCitas() {
+        logger.info("Test: rango sin citas");
+        final LocalDate dia = LocalDate.of(2024, 3, 1);
+        ResumenDashboard resumen = new ResumenDashboard(dia, dia, List.of(), List.of());
+
+        assertEquals(BigDecimal.ZERO, resumen.totalIngresos());
+        assertEquals(0.0, resumen.tasaCancelacion());
+        assertEquals(0.0, resumen.tasaInasistencia());
+    }
+}
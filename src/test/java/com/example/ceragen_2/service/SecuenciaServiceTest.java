@@ -0,0 +1,87 @@
+package com.example.ceragen_2.service;
+
+import com.example.ceragen_2.config.DatabaseConfig;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de integracion de la inicializacion de la secuencia de facturas.
+ * Todo se hace en una transaccion que se revierte al final.
+ */
+@DisplayName("Tests de Integracion - SecuenciaService")
+class SecuenciaServiceTest {
+    private static final Logger logger = LoggerFactory.getLogger(SecuenciaServiceTest.class);
+
+    private static Connection conectar() {
+        try {
+            return DatabaseConfig.getInstance().getConnection();
+        } catch (SQLException e) {
+            Assumptions.abort("Se requiere la base de datos: " + e.getMessage());
+            return null;
+        }
+    }
+
+    @Test
+    @DisplayName("Inicializa despues del mayor numero FAC-NNNNNN ignorando otros formatos")
+    void testInicializarConFormatosMezclados() throws SQLException {
+        logger.info("Test: inicializar secuencia con numeros FAC-2025-001 y FAC-000006");
+        try (Connection conn = conectar()) {
+            conn.setAutoCommit(false);
+            try {
+                final int clienteId = insertarCliente(conn);
+                insertarFactura(conn, "FAC-2025-001", clienteId);
+                insertarFactura(conn, "FAC-999998-2", clienteId);
+                insertarFactura(conn, "FAC-999990", clienteId);
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.executeUpdate("DELETE FROM secuencias WHERE nombre = 'FACTURA'");
+                }
+
+                SecuenciaService.inicializarFactura(conn, SecuenciaService.FACTURA);
+
+                try (Statement stmt = conn.createStatement();
+                     ResultSet rs = stmt.executeQuery(
+                             "SELECT siguiente_valor FROM secuencias WHERE nombre = 'FACTURA'")) {
+                    assertTrue(rs.next());
+                    assertEquals(999_991, rs.getLong(1),
+                            "Solo cuenta FAC-999990; FAC-2025-001 y FAC-999998-2 no son numeros canonicos");
+                }
+            } finally {
+                conn.rollback();
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    private static int insertarCliente(final Connection conn) throws SQLException {
+        final String sql = "INSERT INTO clientes (cedula, nombres, apellidos) VALUES (?, 'Secuencia', 'Test')";
+        try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            stmt.setString(1, "SEQ" + System.nanoTime() % 1_000_000_000L);
+            stmt.executeUpdate();
+            try (ResultSet rs = stmt.getGeneratedKeys()) {
+                assertTrue(rs.next());
+                return rs.getInt(1);
+            }
+        }
+    }
+
+    private static void insertarFactura(final Connection conn, final String numero, final int clienteId)
+            throws SQLException {
+        final String sql = "INSERT INTO facturas (numero_factura, cliente_id) VALUES (?, ?)";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, numero);
+            stmt.setInt(2, clienteId);
+            stmt.executeUpdate();
+        }
+    }
+}
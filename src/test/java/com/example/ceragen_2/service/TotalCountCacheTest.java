@@ -0,0 +1,64 @@
+package com.example.ceragen_2.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de unidad de la cache de totales de listados.
+ */
+@DisplayName("Tests de Unidad - TotalCountCache")
+class TotalCountCacheTest {
+    private static final Logger logger = LoggerFactory.getLogger(TotalCountCacheTest.class);
+
+    private final AtomicLong ahora = new AtomicLong();
+    private final TotalCountCache cache = new TotalCountCache(Duration.ofSeconds(10), ahora::get);
+
+    @Test
+    @DisplayName("Devuelve el total guardado mientras esta vigente")
+    void testTotalVigente() {
+        logger.info("Test: total vigente");
+        final String clave = TotalCountCache.clave("ana", "TODOS");
+        cache.put(clave, 120);
+
+        ahora.addAndGet(Duration.ofSeconds(9).toNanos());
+        assertEquals(120, cache.get(clave));
+        assertNull(cache.get(TotalCountCache.clave("ana", "FEMENINO")), "Otra firma no comparte total");
+    }
+
+    @Test
+    @DisplayName("El total vence pasado el TTL")
+    void testTotalVencido() {
+        final String clave = TotalCountCache.clave(null, 5, "PENDIENTE");
+        cache.put(clave, 7);
+
+        ahora.addAndGet(Duration.ofSeconds(11).toNanos());
+        assertNull(cache.get(clave));
+    }
+
+    @Test
+    @DisplayName("Invalidar descarta todos los totales")
+    void testInvalidar() {
+        cache.put("a", 1);
+        cache.put("b", 2);
+
+        cache.invalidar();
+
+        assertNull(cache.get("a"));
+        assertNull(cache.get("b"));
+    }
+
+    @Test
+    @DisplayName("PageResult calcula al menos una pagina")
+    void testTotalPaginas() {
+        assertEquals(1, new PageResult<>(List.of(), 0).totalPaginas(10));
+        assertEquals(3, new PageResult<>(List.of(), 21).totalPaginas(10));
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.ceragen_2.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de unidad del costo de BCrypt y la deteccion de hashes a regenerar.
+ */
+@DisplayName("Tests de Unidad - PasswordUtil")
+class PasswordUtilTest {
+    private static final Logger logger = LoggerFactory.getLogger(PasswordUtilTest.class);
+
+    @Test
+    @DisplayName("Lee el costo de un hash BCrypt")
+    void testGetRounds() {
+        logger.info("Test: costo de hash BCrypt");
+        final String hash = PasswordUtil.hashPassword("clave", 5);
+
+        assertEquals(5, PasswordUtil.getRounds(hash));
+        assertTrue(PasswordUtil.verifyPassword("clave", hash));
+        assertEquals(-1, PasswordUtil.getRounds("texto-plano"));
+        assertEquals(-1, PasswordUtil.getRounds(null));
+    }
+
+    @Test
+    @DisplayName("Solo se regeneran hashes validos con otro costo")
+    void testNeedsRehash() {
+        final int configurado = PasswordUtil.getRounds();
+        final int otro = configurado == 4 ? 5 : 4;
+
+        assertTrue(PasswordUtil.needsRehash(PasswordUtil.hashPassword("clave", otro)));
+        assertFalse(PasswordUtil.needsRehash("$2a$" + String.format("%02d", configurado) + "$abc"));
+        assertFalse(PasswordUtil.needsRehash("no-es-bcrypt"));
+    }
+
+    @Test
+    @DisplayName("El costo configurado se limita al rango de BCrypt")
+    void testLeerRounds() {
+        assertEquals(12, PasswordUtil.leerRounds(null));
+        assertEquals(10, PasswordUtil.leerRounds(" 10 "));
+        assertEquals(4, PasswordUtil.leerRounds("1"));
+        assertEquals(31, PasswordUtil.leerRounds("40"));
+        assertEquals(12, PasswordUtil.leerRounds("doce"));
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.ceragen_2.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de unidad de la vigilancia del hilo FX. Un executor de un solo hilo
+ * hace de hilo de JavaFX.
+ */
+@DisplayName("Tests de Unidad - VigilanteHiloFx")
+class VigilanteHiloFxTest {
+    private static final Logger logger = LoggerFactory.getLogger(VigilanteHiloFxTest.class);
+    private static final long UMBRAL_MS = 100;
+
+    private ExecutorService hiloFx;
+    private VigilanteHiloFx vigilante;
+
+    @BeforeEach
+    void setUp() {
+        hiloFx = Executors.newSingleThreadExecutor(r -> new Thread(r, "fx-simulado"));
+        vigilante = new VigilanteHiloFx(UMBRAL_MS, hiloFx::execute);
+    }
+
+    @AfterEach
+    void tearDown() {
+        vigilante.detener();
+        hiloFx.shutdownNow();
+    }
+
+    private void bloquearHilo() {
+        try {
+            Thread.sleep(4 * UMBRAL_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Espera a que el hilo simulado procese todo lo encolado hasta ahora.
+     */
+    private void esperarHiloFx() throws Exception {
+        hiloFx.submit(() -> { }).get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("Registra el bloqueo y el metodo que lo causo")
+    void testDetectaBloqueo() throws Exception {
+        logger.info("Test: bloqueo del hilo FX simulado");
+        // Los ticks se llaman a mano para no depender del muestreador
+        vigilante.revisar();
+        esperarHiloFx();
+
+        hiloFx.execute(this::bloquearHilo);
+        vigilante.revisar();
+        Thread.sleep(2 * UMBRAL_MS);
+        vigilante.revisar();
+        vigilante.revisar();
+        esperarHiloFx();
+
+        final BloqueosFxStats stats = vigilante.getStats();
+        assertEquals(1, stats.bloqueos());
+        assertTrue(stats.maxMillis() >= UMBRAL_MS, "Bloqueo de " + stats.maxMillis() + " ms");
+        assertEquals("VigilanteHiloFxTest.bloquearHilo", stats.ultimoCulpable());
+    }
+
+    @Test
+    @DisplayName("Un hilo que responde no registra bloqueos")
+    void testHiloLibre() throws InterruptedException {
+        vigilante.iniciar();
+        Thread.sleep(5 * UMBRAL_MS);
+
+        final BloqueosFxStats stats = vigilante.getStats();
+        assertEquals(0, stats.bloqueos());
+        assertNull(stats.ultimoCulpable());
+    }
+
+    @Test
+    @DisplayName("Umbral 0 desactiva la vigilancia")
+    void testDesactivado() throws InterruptedException {
+        vigilante = new VigilanteHiloFx(0, hiloFx::execute);
+        vigilante.iniciar();
+
+        hiloFx.execute(this::bloquearHilo);
+        Thread.sleep(5 * UMBRAL_MS);
+
+        assertEquals(0, vigilante.getStats().bloqueos());
+    }
+
+    @Test
+    @DisplayName("El culpable es el primer metodo de la aplicacion en la pila")
+    void testMetodoApp() {
+        final StackTraceElement[] pila = {
+                new StackTraceElement("java.lang.Thread", "sleep", null, -1),
+                new StackTraceElement("com.example.ceragen_2.service.CitaService", "getCitas", null, 120),
+                new StackTraceElement("com.example.ceragen_2.controller.CitaController", "cargarCitas", null, 80)
+        };
+        assertEquals("CitaService.getCitas", VigilanteHiloFx.metodoApp(pila));
+
+        final StackTraceElement[] pulso = {
+                new StackTraceElement("com.sun.javafx.tk.quantum.QuantumToolkit", "pulse", null, -1)
+        };
+        assertEquals("com.sun.javafx.tk.quantum.QuantumToolkit.pulse", VigilanteHiloFx.metodoApp(pulso));
+    }
+}